@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Sustained onNext throughput and end-to-end latency of {@link EmitterProcessor} for a varying number of subscribers
+ * and one or many producer threads. Unlike the processors measured by {@link ProcessorBenchmark} it does not take a
+ * {@link reactor.core.util.WaitStrategy}, so it is only varied by its buffer size.
+ * <p>
+ * Multi producer runs guard the processor with a monitor since it does not support concurrent onNext.
+ *
+ * @since 2.5
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class EmitterProcessorBenchmark {
+
+	@Param({"1", "4"})
+	public int subscribers;
+
+	@Param({"32", "1024"})
+	public int bufferSize;
+
+	EmitterProcessor<Integer> target;
+	Subscriber<Integer>       input;
+
+	EmitterProcessor<Integer> latencyTarget;
+	AtomicLong                received;
+	long                      expected;
+
+	@Setup
+	public void setup(BenchmarkParams params, Blackhole bh) {
+		target = EmitterProcessor.<Integer>create(bufferSize).connect();
+		for (int i = 0; i < subscribers; i++) {
+			target.subscribe(new PerfSubscriber(bh));
+		}
+		input = params.getThreads() > 1 ? new LockedSubscriber<>(target) : target;
+
+		latencyTarget = EmitterProcessor.<Integer>create(bufferSize).connect();
+		received = new AtomicLong();
+		expected = 0L;
+		for (int i = 0; i < subscribers; i++) {
+			latencyTarget.subscribe(new ProcessorLatencyBenchmark.CountingSubscriber(received));
+		}
+	}
+
+	@TearDown
+	public void teardown() {
+		target.onComplete();
+		latencyTarget.onComplete();
+	}
+
+	@Benchmark
+	@Threads(1)
+	public void singleProducer() {
+		input.onNext(1);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void multiProducer() {
+		input.onNext(1);
+	}
+
+	@Benchmark
+	@Threads(1)
+	@BenchmarkMode(Mode.SampleTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public long roundTrip() {
+		long e = expected + subscribers;
+		expected = e;
+		latencyTarget.onNext(1);
+		AtomicLong received = this.received;
+		long r;
+		while ((r = received.get()) < e) {
+			//spin until every subscriber observed the signal
+		}
+		return r;
+	}
+
+	static final class LockedSubscriber<T> implements Subscriber<T> {
+
+		final Subscriber<T> actual;
+
+		LockedSubscriber(Subscriber<T> actual) {
+			this.actual = actual;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			actual.onSubscribe(s);
+		}
+
+		@Override
+		public synchronized void onNext(T t) {
+			actual.onNext(t);
+		}
+
+		@Override
+		public synchronized void onError(Throwable t) {
+			actual.onError(t);
+		}
+
+		@Override
+		public synchronized void onComplete() {
+			actual.onComplete();
+		}
+	}
+}
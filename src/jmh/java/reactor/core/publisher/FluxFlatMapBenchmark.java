@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * {@link FluxFlatMap} and {@link FluxConcatMap} with scalar ({@link Flux#just(Object)}), synchronous
+ * ({@link Flux#range(int, int)}) and asynchronous ({@link Flux#publishOn} hop) inner publishers.
+ * <p>
+ * The {@code flatMapCacheHit*} benchmarks model a lookup whose values are all cached, the mapper returning a
+ * {@link Mono#just(Object)} or {@link Mono#fromCallable} per element. Run them with {@code -prof gc} to compare
+ * the allocation rate per element with the subscribed {@code flatMapScalarHidden} case.
+ *
+ * @since 2.5
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class FluxFlatMapBenchmark {
+
+	@Param({"1", "1000", "1000000"})
+	public int times;
+
+	Flux<Integer> source;
+
+	Map<Integer, Integer> cache;
+
+	SchedulerGroup group;
+
+	@Setup
+	public void setup() {
+		source = Flux.range(1, times);
+		cache = new HashMap<>();
+		for (int i = 1; i <= times; i++) {
+			cache.put(i, -i);
+		}
+		group = SchedulerGroup.async("flatmap-bench", 1024, 2, false);
+	}
+
+	@TearDown
+	public void teardown() {
+		group.shutdown();
+	}
+
+	@Benchmark
+	public void flatMapScalar(Blackhole bh) {
+		source.flatMap(Flux::just)
+		      .subscribe(new PerfSubscriber(bh));
+	}
+
+	@Benchmark
+	public void flatMapScalarHidden(Blackhole bh) {
+		source.flatMap(v -> Flux.just(v).hide())
+		      .subscribe(new PerfSubscriber(bh));
+	}
+
+	@Benchmark
+	public void flatMapCacheHitJust(Blackhole bh) {
+		source.flatMap(v -> Mono.just(cache.get(v)))
+		      .subscribe(new PerfSubscriber(bh));
+	}
+
+	@Benchmark
+	public void flatMapCacheHitCallable(Blackhole bh) {
+		source.flatMap(v -> Mono.fromCallable(() -> cache.get(v)))
+		      .subscribe(new PerfSubscriber(bh));
+	}
+
+	@Benchmark
+	public void flatMapRange(Blackhole bh) {
+		source.flatMap(v -> Flux.range(v, 2))
+		      .subscribe(new PerfSubscriber(bh));
+	}
+
+	@Benchmark
+	public void flatMapAsync(Blackhole bh) throws InterruptedException {
+		PerfSubscriber s = new PerfSubscriber(bh);
+		source.flatMap(v -> Flux.just(v).publishOn(group))
+		      .subscribe(s);
+		s.await();
+	}
+
+	@Benchmark
+	public void concatMapScalar(Blackhole bh) {
+		source.concatMap(Flux::just)
+		      .subscribe(new PerfSubscriber(bh));
+	}
+
+	@Benchmark
+	public void concatMapRange(Blackhole bh) {
+		source.concatMap(v -> Flux.range(v, 2))
+		      .subscribe(new PerfSubscriber(bh));
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Synchronous {@link FluxRange}/{@link FluxArray} sources chained with {@link FluxMap} and {@link FluxFilter},
+ * once with operator fusion available and once with {@link Flux#hide()} between each stage.
+ *
+ * @since 2.5
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class FluxOperatorBenchmark {
+
+	@Param({"1", "1000", "1000000"})
+	public int times;
+
+	Flux<Integer> range;
+	Flux<Integer> array;
+
+	@Setup
+	public void setup() {
+		Integer[] values = new Integer[times];
+		Arrays.fill(values, 777);
+		range = Flux.range(1, times);
+		array = Flux.fromArray(values);
+	}
+
+	@Benchmark
+	public void range(Blackhole bh) {
+		range.subscribe(new PerfSubscriber(bh));
+	}
+
+	@Benchmark
+	public void rangeMap(Blackhole bh) {
+		range.map(v -> v + 1)
+		     .subscribe(new PerfSubscriber(bh));
+	}
+
+	@Benchmark
+	public void rangeMapHidden(Blackhole bh) {
+		range.hide()
+		     .map(v -> v + 1)
+		     .hide()
+		     .subscribe(new PerfSubscriber(bh));
+	}
+
+	@Benchmark
+	public void rangeFilter(Blackhole bh) {
+		range.filter(v -> (v & 1) == 0)
+		     .subscribe(new PerfSubscriber(bh));
+	}
+
+	@Benchmark
+	public void rangeFilterHidden(Blackhole bh) {
+		range.hide()
+		     .filter(v -> (v & 1) == 0)
+		     .hide()
+		     .subscribe(new PerfSubscriber(bh));
+	}
+
+	@Benchmark
+	public void rangeMapFilter(Blackhole bh) {
+		range.map(v -> v + 1)
+		     .filter(v -> (v & 1) == 0)
+		     .subscribe(new PerfSubscriber(bh));
+	}
+
+	@Benchmark
+	public void rangeMapFilterHidden(Blackhole bh) {
+		range.hide()
+		     .map(v -> v + 1)
+		     .hide()
+		     .filter(v -> (v & 1) == 0)
+		     .hide()
+		     .subscribe(new PerfSubscriber(bh));
+	}
+
+	@Benchmark
+	public void arrayMapFilter(Blackhole bh) {
+		array.map(v -> v + 1)
+		     .filter(v -> (v & 1) == 0)
+		     .subscribe(new PerfSubscriber(bh));
+	}
+
+	@Benchmark
+	public void arrayMapFilterHidden(Blackhole bh) {
+		array.hide()
+		     .map(v -> v + 1)
+		     .hide()
+		     .filter(v -> (v & 1) == 0)
+		     .hide()
+		     .subscribe(new PerfSubscriber(bh));
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Thread hops through {@link FluxDispatchOn} and {@link FluxPublishOn} backed by {@link SchedulerGroup#single},
+ * {@link SchedulerGroup#io} and {@link SchedulerGroup#workStealing} schedulers.
+ *
+ * @since 2.5
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class FluxSchedulingBenchmark {
+
+	@Param({"1", "1000", "1000000"})
+	public int times;
+
+	Flux<Integer> source;
+
+	SchedulerGroup single;
+	SchedulerGroup io;
+	SchedulerGroup workStealing;
+
+	@Setup
+	public void setup() {
+		source = Flux.range(1, times);
+		single = SchedulerGroup.single("bench-single", 1024, false);
+		io = SchedulerGroup.io("bench-io", 1024, 1, false);
+		workStealing = SchedulerGroup.workStealing("bench-ws", 2, null, null, false);
+	}
+
+	@TearDown
+	public void teardown() {
+		single.shutdown();
+		io.shutdown();
+		workStealing.shutdown();
+	}
+
+	@Benchmark
+	public void dispatchOn(Blackhole bh) throws InterruptedException {
+		PerfSubscriber s = new PerfSubscriber(bh);
+		source.dispatchOn(single)
+		      .subscribe(s);
+		s.await();
+	}
+
+	@Benchmark
+	public void dispatchOnHidden(Blackhole bh) throws InterruptedException {
+		PerfSubscriber s = new PerfSubscriber(bh);
+		source.hide()
+		      .dispatchOn(single)
+		      .subscribe(s);
+		s.await();
+	}
+
+	@Benchmark
+	public void publishOn(Blackhole bh) throws InterruptedException {
+		PerfSubscriber s = new PerfSubscriber(bh);
+		source.publishOn(io)
+		      .subscribe(s);
+		s.await();
+	}
+
+	@Benchmark
+	public void publishOnDispatchOn(Blackhole bh) throws InterruptedException {
+		PerfSubscriber s = new PerfSubscriber(bh);
+		source.publishOn(io)
+		      .dispatchOn(single)
+		      .subscribe(s);
+		s.await();
+	}
+
+	@Benchmark
+	public void dispatchOnWorkStealing(Blackhole bh) throws InterruptedException {
+		PerfSubscriber s = new PerfSubscriber(bh);
+		source.dispatchOn(workStealing)
+		      .subscribe(s);
+		s.await();
+	}
+
+	@Benchmark
+	public void publishOnWorkStealing(Blackhole bh) throws InterruptedException {
+		PerfSubscriber s = new PerfSubscriber(bh);
+		source.publishOn(workStealing)
+		      .subscribe(s);
+		s.await();
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * {@link FluxZip} pairing two synchronous sources, fused and {@link Flux#hide() hidden}.
+ *
+ * @since 2.5
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class FluxZipBenchmark {
+
+	@Param({"1", "1000", "1000000"})
+	public int times;
+
+	Flux<Integer> source;
+
+	@Setup
+	public void setup() {
+		source = Flux.range(1, times);
+	}
+
+	@Benchmark
+	public void zipTuple(Blackhole bh) {
+		Flux.zip(source, source)
+		    .subscribe(new PerfSubscriber(bh));
+	}
+
+	@Benchmark
+	public void zipCombinator(Blackhole bh) {
+		Flux.zip(source, source, (a, b) -> a + b)
+		    .subscribe(new PerfSubscriber(bh));
+	}
+
+	@Benchmark
+	public void zipHidden(Blackhole bh) {
+		Flux.zip(source.hide(), source.hide(), (a, b) -> a + b)
+		    .subscribe(new PerfSubscriber(bh));
+	}
+}
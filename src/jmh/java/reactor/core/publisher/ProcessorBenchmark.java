@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Subscriber;
+import reactor.core.util.WaitStrategy;
+
+/**
+ * Sustained onNext throughput of {@link TopicProcessor} and {@link WorkQueueProcessor} for each {@link WaitStrategy}
+ * factory, a varying number of subscribers and one or many producer threads. {@link EmitterProcessor} does not take
+ * a {@link WaitStrategy} and is measured by {@link EmitterProcessorBenchmark}.
+ * <p>
+ * Single producer runs use the {@code create()} flavor while multi producer runs use {@code share()}. More producers
+ * can be simulated with {@code -t N} on the {@code multiProducer} benchmark.
+ *
+ * @since 2.5
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class ProcessorBenchmark {
+
+	@Param({"topic", "workQueue"})
+	public String processor;
+
+	@Param({"blocking", "liteBlocking", "busySpin", "yielding", "sleeping", "phasedOffLiteLock",
+			"phasedOffLock", "phasedOffSleep"})
+	public String waitStrategy;
+
+	@Param({"1", "4"})
+	public int subscribers;
+
+	@Param({"1024"})
+	public int bufferSize;
+
+	FluxProcessor<Integer, Integer> target;
+	Subscriber<Integer>             input;
+
+	@Setup
+	public void setup(BenchmarkParams params, Blackhole bh) {
+		boolean shared = params.getThreads() > 1;
+		target = create(processor, bufferSize, waitStrategy(waitStrategy), shared);
+		for (int i = 0; i < subscribers; i++) {
+			target.subscribe(new PerfSubscriber(bh));
+		}
+		input = target;
+	}
+
+	@TearDown
+	public void teardown() {
+		shutdown(target);
+	}
+
+	@Benchmark
+	@Threads(1)
+	public void singleProducer() {
+		input.onNext(1);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void multiProducer() {
+		input.onNext(1);
+	}
+
+	static FluxProcessor<Integer, Integer> create(String processor,
+			int bufferSize,
+			WaitStrategy strategy,
+			boolean shared) {
+		switch (processor) {
+			case "topic":
+				return shared ? TopicProcessor.share("bench-topic", bufferSize, strategy) :
+						TopicProcessor.create("bench-topic", bufferSize, strategy);
+			case "workQueue":
+				return shared ? WorkQueueProcessor.share("bench-workqueue", bufferSize, strategy) :
+						WorkQueueProcessor.create("bench-workqueue", bufferSize, strategy);
+			default:
+				throw new IllegalArgumentException("Unknown processor " + processor);
+		}
+	}
+
+	static WaitStrategy waitStrategy(String name) {
+		switch (name) {
+			case "blocking":
+				return WaitStrategy.blocking();
+			case "liteBlocking":
+				return WaitStrategy.liteBlocking();
+			case "busySpin":
+				return WaitStrategy.busySpin();
+			case "yielding":
+				return WaitStrategy.yielding();
+			case "sleeping":
+				return WaitStrategy.sleeping();
+			case "phasedOffLiteLock":
+				return WaitStrategy.phasedOffLiteLock(200, 100, TimeUnit.MILLISECONDS);
+			case "phasedOffLock":
+				return WaitStrategy.phasedOffLock(200, 100, TimeUnit.MILLISECONDS);
+			case "phasedOffSleep":
+				return WaitStrategy.phasedOffSleep(200, 100, TimeUnit.MILLISECONDS);
+			default:
+				throw new IllegalArgumentException("Unknown wait strategy " + name);
+		}
+	}
+
+	static void shutdown(FluxProcessor<Integer, Integer> processor) {
+		if (processor instanceof EventLoopProcessor) {
+			((EventLoopProcessor<?, ?>) processor).forceShutdown();
+		}
+		else {
+			processor.onComplete();
+		}
+	}
+}
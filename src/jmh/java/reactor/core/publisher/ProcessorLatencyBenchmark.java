@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * End-to-end latency of a single signal travelling from {@code onNext} to every subscriber of a
+ * {@link TopicProcessor} or {@link WorkQueueProcessor}. Measured in {@link Mode#SampleTime} so the
+ * report includes the p50 to p99.99 latency percentiles for each {@link reactor.core.util.WaitStrategy} factory.
+ * {@link EmitterProcessor} does not take a wait strategy and is measured by {@link EmitterProcessorBenchmark}.
+ *
+ * @since 2.5
+ */
+@BenchmarkMode(Mode.SampleTime)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class ProcessorLatencyBenchmark {
+
+	@Param({"topic", "workQueue"})
+	public String processor;
+
+	@Param({"blocking", "liteBlocking", "busySpin", "yielding", "sleeping", "phasedOffLiteLock",
+			"phasedOffLock", "phasedOffSleep"})
+	public String waitStrategy;
+
+	@Param({"1", "4"})
+	public int subscribers;
+
+	FluxProcessor<Integer, Integer> target;
+	AtomicLong                      received;
+	long                            expected;
+	int                             perSignal;
+
+	@Setup
+	public void setup() {
+		target = ProcessorBenchmark.create(processor,
+				1024,
+				ProcessorBenchmark.waitStrategy(waitStrategy),
+				false);
+		received = new AtomicLong();
+		expected = 0L;
+		//a work queue delivers each signal to a single subscriber
+		perSignal = "workQueue".equals(processor) ? 1 : subscribers;
+		for (int i = 0; i < subscribers; i++) {
+			target.subscribe(new CountingSubscriber(received));
+		}
+	}
+
+	@TearDown
+	public void teardown() {
+		ProcessorBenchmark.shutdown(target);
+	}
+
+	@Benchmark
+	public long roundTrip() {
+		long e = expected + perSignal;
+		expected = e;
+		target.onNext(1);
+		AtomicLong received = this.received;
+		long r;
+		while ((r = received.get()) < e) {
+			//spin until every subscriber observed the signal
+		}
+		return r;
+	}
+
+	static final class CountingSubscriber implements Subscriber<Integer> {
+
+		final AtomicLong received;
+
+		CountingSubscriber(AtomicLong received) {
+			this.received = received;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			s.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(Integer integer) {
+			received.incrementAndGet();
+		}
+
+		@Override
+		public void onError(Throwable t) {
+		}
+
+		@Override
+		public void onComplete() {
+		}
+	}
+}
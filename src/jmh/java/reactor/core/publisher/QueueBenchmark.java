@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.queue.QueueSupplier;
+
+/**
+ * Multi-producer, single-consumer offer/poll throughput of the {@link QueueSupplier} multi-producer queues against
+ * a {@link ConcurrentLinkedQueue}. Seven producer threads offer while one consumer polls; each producer backs off
+ * once it is roughly its share of {@code maxPending} values ahead of the consumer so unbounded queues do not grow
+ * without limit.
+ *
+ * @since 2.5
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Group)
+public class QueueBenchmark {
+
+	static final int PRODUCERS = 7;
+
+	@Param({"sharded", "ringBuffer", "clq"})
+	public String queue;
+
+	@Param({"65536"})
+	public int maxPending;
+
+	Queue<Integer> q;
+
+	volatile long consumed;
+
+	@Setup
+	public void setup() {
+		switch (queue) {
+			case "sharded":
+				q = QueueSupplier.<Integer>sharded().get();
+				break;
+			case "ringBuffer":
+				q = QueueSupplier.<Integer>get(maxPending, true, true).get();
+				break;
+			default:
+				q = new ConcurrentLinkedQueue<>();
+				break;
+		}
+	}
+
+	@Benchmark
+	@Group("mpsc")
+	@GroupThreads(PRODUCERS)
+	public void offer(Producer p) {
+		if (p.produced - consumed / PRODUCERS > maxPending / PRODUCERS || !q.offer(1)) {
+			Blackhole.consumeCPU(16);
+			return;
+		}
+		p.produced++;
+	}
+
+	@Benchmark
+	@Group("mpsc")
+	@GroupThreads(1)
+	public Integer poll() {
+		Integer v = q.poll();
+		if (v != null) {
+			consumed = consumed + 1;
+		}
+		return v;
+	}
+
+	@State(Scope.Thread)
+	public static class Producer {
+
+		long produced;
+	}
+}
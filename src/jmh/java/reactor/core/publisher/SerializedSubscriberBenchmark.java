@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.subscriber.Subscribers;
+import reactor.core.util.EmptySubscription;
+
+/**
+ * Contended onNext throughput of {@link Subscribers#serialize(Subscriber)} against a plain monitor guarding the
+ * downstream {@link Subscriber}. Four producer threads signal the same serialized subscriber, the {@code single}
+ * group measures the uncontended fast path.
+ *
+ * @since 2.5
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Group)
+public class SerializedSubscriberBenchmark {
+
+	@Param({"lockFree", "synchronized"})
+	public String serializer;
+
+	Subscriber<Object> subscriber;
+
+	@Setup
+	public void setup(Blackhole bh) {
+		PerfSubscriber actual = new PerfSubscriber(bh);
+		subscriber = "lockFree".equals(serializer) ? Subscribers.serialize(actual) : new MonitorSubscriber(actual);
+		subscriber.onSubscribe(EmptySubscription.INSTANCE);
+	}
+
+	@Benchmark
+	@Group("contended")
+	@GroupThreads(4)
+	public void contended() {
+		subscriber.onNext(Boolean.TRUE);
+	}
+
+	@Benchmark
+	@Group("single")
+	@GroupThreads(1)
+	public void single() {
+		subscriber.onNext(Boolean.TRUE);
+	}
+
+	/**
+	 * The baseline: every signal is emitted while holding the subscriber monitor.
+	 */
+	static final class MonitorSubscriber implements Subscriber<Object> {
+
+		final Subscriber<Object> actual;
+
+		MonitorSubscriber(Subscriber<Object> actual) {
+			this.actual = actual;
+		}
+
+		@Override
+		public synchronized void onSubscribe(Subscription s) {
+			actual.onSubscribe(s);
+		}
+
+		@Override
+		public synchronized void onNext(Object o) {
+			actual.onNext(o);
+		}
+
+		@Override
+		public synchronized void onError(Throwable t) {
+			actual.onError(t);
+		}
+
+		@Override
+		public synchronized void onComplete() {
+			actual.onComplete();
+		}
+	}
+}
@@ -47,6 +47,13 @@ public interface Fuseable {
 	 * thread bound this way.
 	 */
 	int THREAD_BARRIER = 4;
+	/**
+	 * Indicates that the queue will be drained in bulk via {@link QueueSubscription#poll(Object[], int)} (input only).
+	 * <p>
+	 * Intermediate operators should propagate this flag upstream so the bulk poll reaches the source, the activated
+	 * mode returned by {@link QueueSubscription#requestFusion(int)} never contains it.
+	 */
+	int BATCH = 8;
 
 	/**
 	 * A subscriber variant that can immediately tell if it consumed
@@ -109,6 +116,28 @@ public interface Fuseable {
 		 */
 		void drop();
 
+		/**
+		 * Polls up to {@code max} values into the given buffer, starting at index 0, amortizing the per-value
+		 * overhead of {@link #poll()} for sources and fused intermediate operators that can produce values in bulk.
+		 * <p>
+		 * Like {@link #poll()}, an empty result means no value is currently available in ASYNC mode and the end of the
+		 * sequence in SYNC mode.
+		 *
+		 * @param buffer the array to fill, at least {@code max} long
+		 * @param max the maximum number of values to poll
+		 * @return the number of values polled into the buffer
+		 */
+		default int poll(Object[] buffer, int max) {
+			int n = 0;
+			while (n < max) {
+				T v = poll();
+				if (v == null) {
+					break;
+				}
+				buffer[n++] = v;
+			}
+			return n;
+		}
 
 		@Override
 		default boolean add(T t) {
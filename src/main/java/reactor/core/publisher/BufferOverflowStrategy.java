@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+/**
+ * Strategies to deal with overflow of a bounded {@link Flux#onBackpressureBuffer(int, java.util.function.Consumer,
+ * BufferOverflowStrategy) backpressure buffer}.
+ *
+ * @since 2.5
+ */
+public enum BufferOverflowStrategy {
+
+	/**
+	 * Cancel the upstream and signal an overflow error downstream, after notifying the overflow callback with the
+	 * value which could not be buffered.
+	 */
+	ERROR,
+
+	/**
+	 * Drop the oldest buffered value to make room for the new one, notifying the overflow callback with the dropped
+	 * value.
+	 */
+	DROP_OLDEST,
+
+	/**
+	 * Drop the new value which could not be buffered, notifying the overflow callback with it.
+	 */
+	DROP_LATEST
+}
@@ -0,0 +1,898 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ToDoubleFunction;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.flow.Producer;
+import reactor.core.flow.Receiver;
+import reactor.core.state.Cancellable;
+import reactor.core.state.Completable;
+import reactor.core.state.Requestable;
+import reactor.core.subscriber.DeferredScalarSubscriber;
+import reactor.core.util.BackpressureUtils;
+import reactor.core.util.EmptySubscription;
+import reactor.core.util.Exceptions;
+
+/**
+ * A {@link Publisher} of {@code double} values whose operators pass values along unboxed.
+ * <p>
+ * Within a DoubleFlux pipeline each stage subscribes to the previous one with a {@link Subscriber} that also implements
+ * {@link DoubleConsumer}, and values are only delivered through {@link DoubleConsumer#accept(double)}. Values are boxed
+ * into {@link Double} at the edge only, when the final {@link Subscriber} does not implement {@link DoubleConsumer}.
+ * Consecutive {@link #map} or {@link #filter} stages are fused into a single stage, {@link #boxed()} converts back
+ * to a {@link Flux} to apply generic operators.
+ *
+ * @since 2.5
+ */
+public abstract class DoubleFlux implements Publisher<Double> {
+
+	/**
+	 * Create a {@link DoubleFlux} emitting the given values.
+	 *
+	 * @param values the values to emit
+	 *
+	 * @return a new {@link DoubleFlux}
+	 */
+	public static DoubleFlux fromArray(double... values) {
+		return new DoubleFluxArray(Objects.requireNonNull(values, "values"));
+	}
+
+	/**
+	 * Adapt a {@link Publisher} of {@link Double} to a {@link DoubleFlux}. A {@link DoubleFlux} source is returned as is and a source
+	 * honoring the {@link DoubleConsumer} side channel,
+	 * such as another stage of this family, delivers its values unboxed.
+	 *
+	 * @param source the {@link Publisher} to adapt
+	 *
+	 * @return a {@link DoubleFlux} relaying the source values
+	 */
+	public static DoubleFlux from(Publisher<Double> source) {
+		if (source instanceof DoubleFlux) {
+			return (DoubleFlux) source;
+		}
+		return new DoubleFluxFrom(Objects.requireNonNull(source, "source"));
+	}
+
+	/**
+	 * Map each value of a {@link Publisher} to a {@code double} without boxing the result.
+	 *
+	 * @param source the {@link Publisher} to map
+	 * @param mapper the mapping function
+	 * @param <T> the source value type
+	 *
+	 * @return a new {@link DoubleFlux}
+	 */
+	public static <T> DoubleFlux map(Publisher<? extends T> source, ToDoubleFunction<? super T> mapper) {
+		return new DoubleFluxMapFrom<>(Objects.requireNonNull(source, "source"), Objects.requireNonNull(mapper, "mapper"));
+	}
+
+	/**
+	 * Transform each value with the given function. Consecutive maps are composed into a single stage.
+	 *
+	 * @param mapper the mapping function
+	 *
+	 * @return a new {@link DoubleFlux}
+	 */
+	public final DoubleFlux map(DoubleUnaryOperator mapper) {
+		Objects.requireNonNull(mapper, "mapper");
+		if (this instanceof DoubleFluxMap) {
+			DoubleFluxMap m = (DoubleFluxMap) this;
+			return new DoubleFluxMap(m.source, m.mapper.andThen(mapper));
+		}
+		return new DoubleFluxMap(this, mapper);
+	}
+
+	/**
+	 * Transform each value into an object.
+	 *
+	 * @param mapper the mapping function
+	 * @param <R> the mapped type
+	 *
+	 * @return a new {@link Flux}
+	 */
+	public final <R> Flux<R> mapToObj(DoubleFunction<? extends R> mapper) {
+		return new DoubleFluxMapToObj<>(this, Objects.requireNonNull(mapper, "mapper"));
+	}
+
+	/**
+	 * Only relay the values matching the given predicate. Consecutive filters are composed into a single stage.
+	 *
+	 * @param predicate the filter predicate
+	 *
+	 * @return a new {@link DoubleFlux}
+	 */
+	public final DoubleFlux filter(DoublePredicate predicate) {
+		Objects.requireNonNull(predicate, "predicate");
+		if (this instanceof DoubleFluxFilter) {
+			DoubleFluxFilter f = (DoubleFluxFilter) this;
+			return new DoubleFluxFilter(f.source, f.predicate.and(predicate));
+		}
+		return new DoubleFluxFilter(this, predicate);
+	}
+
+	/**
+	 * Aggregate the values with the given function, starting with the first value. Completes empty if there is no
+	 * value.
+	 *
+	 * @param aggregator the aggregating function
+	 *
+	 * @return a new {@link Mono} of the aggregated value
+	 */
+	public final Mono<Double> reduce(DoubleBinaryOperator aggregator) {
+		return new DoubleFluxReduce(this, false, 0d, Objects.requireNonNull(aggregator, "aggregator"));
+	}
+
+	/**
+	 * Aggregate the values with the given function, starting from the given initial value.
+	 *
+	 * @param initial the initial value
+	 * @param aggregator the aggregating function
+	 *
+	 * @return a new {@link Mono} of the aggregated value
+	 */
+	public final Mono<Double> reduce(double initial, DoubleBinaryOperator aggregator) {
+		return new DoubleFluxReduce(this, true, initial, Objects.requireNonNull(aggregator, "aggregator"));
+	}
+
+	/**
+	 * Sum the values, emitting {@code 0} if there is no value.
+	 *
+	 * @return a new {@link Mono} of the sum
+	 */
+	public final Mono<Double> sum() {
+		return reduce(0d, Double::sum);
+	}
+
+	/**
+	 * Collect the values into {@code double[]} windows of the given size, the last one possibly shorter.
+	 *
+	 * @param maxSize the window size
+	 *
+	 * @return a new {@link Flux} of {@code double[]} windows
+	 */
+	public final Flux<double[]> window(int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+		}
+		return new DoubleFluxWindow(this, maxSize);
+	}
+
+	/**
+	 * Box the values into a {@link Flux} of {@link Double}, to use the generic {@link Flux} operators.
+	 *
+	 * @return a {@link Flux} of the boxed values
+	 */
+	public final Flux<Double> boxed() {
+		return FluxSource.wrap(this);
+	}
+
+	@Override
+	public final void subscribe(Subscriber<? super Double> s) {
+		if (s instanceof DoubleConsumer) {
+			subscribe(s, (DoubleConsumer) s);
+		}
+		else {
+			subscribe(s, v -> s.onNext(v));
+		}
+	}
+
+	/**
+	 * Subscribe the given {@link Subscriber}, delivering values to the given consumer instead of
+	 * {@link Subscriber#onNext(Object)}.
+	 *
+	 * @param s the {@link Subscriber} receiving the subscription and terminal signals
+	 * @param consumer the consumer receiving the values
+	 */
+	abstract void subscribe(Subscriber<? super Double> s, DoubleConsumer consumer);
+
+	/**
+	 * Base subscription of the index based sources, emitting in a fast path on unbounded demand.
+	 */
+	static abstract class IndexedSubscription implements Subscription, Cancellable, Requestable, Completable,
+	                                                     Producer {
+
+		final Subscriber<? super Double> actual;
+
+		final DoubleConsumer consumer;
+
+		final long end;
+
+		long index;
+
+		volatile boolean cancelled;
+
+		volatile long requested;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<IndexedSubscription> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(IndexedSubscription.class, "requested");
+
+		IndexedSubscription(Subscriber<? super Double> actual, DoubleConsumer consumer, long start, long end) {
+			this.actual = actual;
+			this.consumer = consumer;
+			this.index = start;
+			this.end = end;
+		}
+
+		abstract double get(long index);
+
+		@Override
+		public final void request(long n) {
+			if (BackpressureUtils.validate(n)) {
+				if (BackpressureUtils.addAndGet(REQUESTED, this, n) == 0) {
+					if (n == Long.MAX_VALUE) {
+						fastPath();
+					}
+					else {
+						slowPath(n);
+					}
+				}
+			}
+		}
+
+		@Override
+		public final void cancel() {
+			cancelled = true;
+		}
+
+		void fastPath() {
+			final long e = end;
+			final DoubleConsumer c = consumer;
+
+			for (long i = index; i != e; i++) {
+				if (cancelled) {
+					return;
+				}
+
+				c.accept(get(i));
+			}
+
+			if (cancelled) {
+				return;
+			}
+
+			actual.onComplete();
+		}
+
+		void slowPath(long n) {
+			final DoubleConsumer c = consumer;
+
+			long f = end;
+			long e = 0;
+			long i = index;
+
+			for (; ; ) {
+
+				if (cancelled) {
+					return;
+				}
+
+				while (e != n && i != f) {
+
+					c.accept(get(i));
+
+					if (cancelled) {
+						return;
+					}
+
+					e++;
+					i++;
+				}
+
+				if (cancelled) {
+					return;
+				}
+
+				if (i == f) {
+					actual.onComplete();
+					return;
+				}
+
+				n = requested;
+				if (n == e) {
+					index = i;
+					n = REQUESTED.addAndGet(this, -e);
+					if (n == 0) {
+						return;
+					}
+					e = 0;
+				}
+			}
+		}
+
+		@Override
+		public final boolean isCancelled() {
+			return cancelled;
+		}
+
+		@Override
+		public final boolean isStarted() {
+			return end != index;
+		}
+
+		@Override
+		public final boolean isTerminated() {
+			return end == index;
+		}
+
+		@Override
+		public final Object downstream() {
+			return actual;
+		}
+
+		@Override
+		public final long requestedFromDownstream() {
+			return requested;
+		}
+	}
+
+	static final class DoubleFluxArray extends DoubleFlux {
+
+		final double[] array;
+
+		DoubleFluxArray(double[] array) {
+			this.array = array;
+		}
+
+		@Override
+		void subscribe(Subscriber<? super Double> s, DoubleConsumer consumer) {
+			if (array.length == 0) {
+				EmptySubscription.complete(s);
+				return;
+			}
+			s.onSubscribe(new IndexedSubscription(s, consumer, 0L, array.length) {
+				@Override
+				double get(long index) {
+					return array[(int) index];
+				}
+			});
+		}
+	}
+
+	/**
+	 * Base of the intermediate stages: a {@link Subscriber} receiving unboxed values from its source and relaying its
+	 * {@link Subscription}.
+	 */
+	static abstract class DoubleOperatorSubscriber<O>
+			implements Subscriber<Double>, DoubleConsumer, Subscription, Receiver, Producer, Completable {
+
+		final Subscriber<? super O> actual;
+
+		Subscription s;
+
+		boolean done;
+
+		DoubleOperatorSubscriber(Subscriber<? super O> actual) {
+			this.actual = actual;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (BackpressureUtils.validate(this.s, s)) {
+				this.s = s;
+				actual.onSubscribe(this);
+			}
+		}
+
+		@Override
+		public final void onNext(Double t) {
+			accept(t);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (done) {
+				Exceptions.onErrorDropped(t);
+				return;
+			}
+			done = true;
+			actual.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			if (done) {
+				return;
+			}
+			done = true;
+			actual.onComplete();
+		}
+
+		final void fail(Throwable e) {
+			s.cancel();
+			Exceptions.throwIfFatal(e);
+			onError(Exceptions.unwrap(e));
+		}
+
+		@Override
+		public void request(long n) {
+			s.request(n);
+		}
+
+		@Override
+		public void cancel() {
+			s.cancel();
+		}
+
+		@Override
+		public boolean isStarted() {
+			return s != null;
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return done;
+		}
+
+		@Override
+		public Object downstream() {
+			return actual;
+		}
+
+		@Override
+		public Object upstream() {
+			return s;
+		}
+	}
+
+	static final class DoubleFluxFrom extends DoubleFlux implements Receiver {
+
+		final Publisher<Double> source;
+
+		DoubleFluxFrom(Publisher<Double> source) {
+			this.source = source;
+		}
+
+		@Override
+		void subscribe(Subscriber<? super Double> s, DoubleConsumer consumer) {
+			source.subscribe(new DoubleOperatorSubscriber<Double>(s) {
+				@Override
+				public void accept(double value) {
+					consumer.accept(value);
+				}
+			});
+		}
+
+		@Override
+		public Object upstream() {
+			return source;
+		}
+	}
+
+	static final class DoubleFluxMapFrom<T> extends DoubleFlux implements Receiver {
+
+		final Publisher<? extends T> source;
+
+		final ToDoubleFunction<? super T> mapper;
+
+		DoubleFluxMapFrom(Publisher<? extends T> source, ToDoubleFunction<? super T> mapper) {
+			this.source = source;
+			this.mapper = mapper;
+		}
+
+		@Override
+		void subscribe(Subscriber<? super Double> s, DoubleConsumer consumer) {
+			source.subscribe(new Subscriber<T>() {
+
+				Subscription subscription;
+
+				boolean done;
+
+				@Override
+				public void onSubscribe(Subscription subscription) {
+					if (BackpressureUtils.validate(this.subscription, subscription)) {
+						this.subscription = subscription;
+						s.onSubscribe(subscription);
+					}
+				}
+
+				@Override
+				public void onNext(T t) {
+					if (done) {
+						Exceptions.onNextDropped(t);
+						return;
+					}
+
+					double v;
+
+					try {
+						v = mapper.applyAsDouble(t);
+					}
+					catch (Throwable e) {
+						subscription.cancel();
+						Exceptions.throwIfFatal(e);
+						onError(Exceptions.unwrap(e));
+						return;
+					}
+
+					consumer.accept(v);
+				}
+
+				@Override
+				public void onError(Throwable t) {
+					if (done) {
+						Exceptions.onErrorDropped(t);
+						return;
+					}
+					done = true;
+					s.onError(t);
+				}
+
+				@Override
+				public void onComplete() {
+					if (done) {
+						return;
+					}
+					done = true;
+					s.onComplete();
+				}
+			});
+		}
+
+		@Override
+		public Object upstream() {
+			return source;
+		}
+	}
+
+	static final class DoubleFluxMap extends DoubleFlux implements Receiver {
+
+		final DoubleFlux source;
+
+		final DoubleUnaryOperator mapper;
+
+		DoubleFluxMap(DoubleFlux source, DoubleUnaryOperator mapper) {
+			this.source = source;
+			this.mapper = mapper;
+		}
+
+		@Override
+		void subscribe(Subscriber<? super Double> s, DoubleConsumer consumer) {
+			source.subscribe(new DoubleOperatorSubscriber<Double>(s) {
+				@Override
+				public void accept(double value) {
+					if (done) {
+						return;
+					}
+
+					double v;
+
+					try {
+						v = mapper.applyAsDouble(value);
+					}
+					catch (Throwable e) {
+						fail(e);
+						return;
+					}
+
+					consumer.accept(v);
+				}
+			});
+		}
+
+		@Override
+		public Object upstream() {
+			return source;
+		}
+	}
+
+	static final class DoubleFluxFilter extends DoubleFlux implements Receiver {
+
+		final DoubleFlux source;
+
+		final DoublePredicate predicate;
+
+		DoubleFluxFilter(DoubleFlux source, DoublePredicate predicate) {
+			this.source = source;
+			this.predicate = predicate;
+		}
+
+		@Override
+		void subscribe(Subscriber<? super Double> s, DoubleConsumer consumer) {
+			source.subscribe(new DoubleOperatorSubscriber<Double>(s) {
+				@Override
+				public void accept(double value) {
+					if (done) {
+						return;
+					}
+
+					boolean b;
+
+					try {
+						b = predicate.test(value);
+					}
+					catch (Throwable e) {
+						fail(e);
+						return;
+					}
+
+					if (b) {
+						consumer.accept(value);
+					}
+					else {
+						s.request(1);
+					}
+				}
+			});
+		}
+
+		@Override
+		public Object upstream() {
+			return source;
+		}
+	}
+
+	static final class DoubleFluxMapToObj<R> extends Flux<R> implements Receiver {
+
+		final DoubleFlux source;
+
+		final DoubleFunction<? extends R> mapper;
+
+		DoubleFluxMapToObj(DoubleFlux source, DoubleFunction<? extends R> mapper) {
+			this.source = source;
+			this.mapper = mapper;
+		}
+
+		@Override
+		public void subscribe(Subscriber<? super R> s) {
+			source.subscribe(new DoubleOperatorSubscriber<R>(s) {
+				@Override
+				public void accept(double value) {
+					if (done) {
+						return;
+					}
+
+					R v;
+
+					try {
+						v = mapper.apply(value);
+					}
+					catch (Throwable e) {
+						fail(e);
+						return;
+					}
+
+					if (v == null) {
+						fail(new NullPointerException("The mapper returned a null value."));
+						return;
+					}
+
+					actual.onNext(v);
+				}
+			});
+		}
+
+		@Override
+		public Object upstream() {
+			return source;
+		}
+	}
+
+	static final class DoubleFluxWindow extends Flux<double[]> implements Receiver {
+
+		final DoubleFlux source;
+
+		final int size;
+
+		DoubleFluxWindow(DoubleFlux source, int size) {
+			this.source = source;
+			this.size = size;
+		}
+
+		@Override
+		public void subscribe(Subscriber<? super double[]> s) {
+			source.subscribe(new DoubleOperatorSubscriber<double[]>(s) {
+
+				double[] window;
+
+				int index;
+
+				@Override
+				public void accept(double value) {
+					if (done) {
+						return;
+					}
+
+					double[] w = window;
+					if (w == null) {
+						w = new double[size];
+						window = w;
+					}
+
+					w[index++] = value;
+
+					if (index == size) {
+						window = null;
+						index = 0;
+						actual.onNext(w);
+					}
+				}
+
+				@Override
+				public void onError(Throwable t) {
+					window = null;
+					super.onError(t);
+				}
+
+				@Override
+				public void onComplete() {
+					if (done) {
+						return;
+					}
+					double[] w = window;
+					if (w != null) {
+						window = null;
+						double[] last = new double[index];
+						System.arraycopy(w, 0, last, 0, index);
+						actual.onNext(last);
+					}
+					super.onComplete();
+				}
+
+				@Override
+				public void request(long n) {
+					if (BackpressureUtils.validate(n)) {
+						s.request(BackpressureUtils.multiplyCap(n, size));
+					}
+				}
+			});
+		}
+
+		@Override
+		public Object upstream() {
+			return source;
+		}
+	}
+
+	static final class DoubleFluxReduce extends Mono<Double> implements Receiver {
+
+		final DoubleFlux source;
+
+		final boolean seeded;
+
+		final double initial;
+
+		final DoubleBinaryOperator aggregator;
+
+		DoubleFluxReduce(DoubleFlux source, boolean seeded, double initial, DoubleBinaryOperator aggregator) {
+			this.source = source;
+			this.seeded = seeded;
+			this.initial = initial;
+			this.aggregator = aggregator;
+		}
+
+		@Override
+		public void subscribe(Subscriber<? super Double> s) {
+			source.subscribe(new ReduceSubscriber(s, seeded, initial, aggregator));
+		}
+
+		@Override
+		public Object upstream() {
+			return source;
+		}
+	}
+
+	static final class ReduceSubscriber extends DeferredScalarSubscriber<Double, Double> implements DoubleConsumer, Receiver {
+
+		final DoubleBinaryOperator aggregator;
+
+		Subscription s;
+
+		double result;
+
+		boolean hasValue;
+
+		boolean done;
+
+		ReduceSubscriber(Subscriber<? super Double> actual, boolean seeded, double initial, DoubleBinaryOperator aggregator) {
+			super(actual);
+			this.aggregator = aggregator;
+			this.hasValue = seeded;
+			this.result = initial;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (BackpressureUtils.validate(this.s, s)) {
+				this.s = s;
+
+				subscriber.onSubscribe(this);
+
+				s.request(Long.MAX_VALUE);
+			}
+		}
+
+		@Override
+		public void onNext(Double t) {
+			accept(t);
+		}
+
+		@Override
+		public void accept(double value) {
+			if (done) {
+				return;
+			}
+			if (!hasValue) {
+				hasValue = true;
+				result = value;
+				return;
+			}
+			try {
+				result = aggregator.applyAsDouble(result, value);
+			}
+			catch (Throwable e) {
+				s.cancel();
+				Exceptions.throwIfFatal(e);
+				onError(Exceptions.unwrap(e));
+			}
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (done) {
+				Exceptions.onErrorDropped(t);
+				return;
+			}
+			done = true;
+			subscriber.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			if (done) {
+				return;
+			}
+			done = true;
+			if (hasValue) {
+				complete(result);
+			}
+			else {
+				subscriber.onComplete();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			super.cancel();
+			s.cancel();
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return done;
+		}
+
+		@Override
+		public Object upstream() {
+			return s;
+		}
+
+		@Override
+		public Object connectedInput() {
+			return aggregator;
+		}
+	}
+}
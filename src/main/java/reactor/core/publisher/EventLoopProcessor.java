@@ -18,6 +18,8 @@ package reactor.core.publisher;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
 
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
@@ -51,6 +53,8 @@ public abstract class EventLoopProcessor<IN, OUT> extends FluxProcessor<IN, OUT>
 	@SuppressWarnings("unused")
 	volatile       int                                                  subscriberCount  = 0;
 
+	volatile SharedRequestTask sharedRequestTask;
+
 	protected EventLoopProcessor(String name, ExecutorService executor,
 			boolean autoCancel) {
 		this.autoCancel = autoCancel;
@@ -206,6 +210,33 @@ public abstract class EventLoopProcessor<IN, OUT> extends FluxProcessor<IN, OUT>
 		}
 	}
 
+	/**
+	 * Signal a batch of values at once. Ring buffer backed processors claim and publish the whole range in a single
+	 * step instead of once per value, which suits producers that already receive their data in bulk. The processor
+	 * must not be signalled concurrently unless it has been created shared.
+	 *
+	 * @param items the array holding the values to signal
+	 * @param offset the index of the first value to signal
+	 * @param count the number of values to signal
+	 */
+	public void onNextBatch(IN[] items, int offset, int count) {
+		checkBatch(items, offset, count);
+		for (int i = offset; i < offset + count; i++) {
+			onNext(items[i]);
+		}
+	}
+
+	/**
+	 * Signal all the values of the passed array at once.
+	 *
+	 * @param items the values to signal
+	 *
+	 * @see #onNextBatch(Object[], int, int)
+	 */
+	public final void onNextBatch(IN[] items) {
+		onNextBatch(items, 0, items.length);
+	}
+
 	/**
 	 * Shutdown this active {@code Processor} such that it can no longer be used. If the resource carries any work, it
 	 * will wait (but NOT blocking the caller) for all the remaining tasks to perform before closing the resource.
@@ -261,6 +292,48 @@ public abstract class EventLoopProcessor<IN, OUT> extends FluxProcessor<IN, OUT>
 		//implementation might run a specific request task for the given subscription
 	}
 
+	/**
+	 * Replenish the given upstream {@link Subscription} from a request task run each time
+	 * {@link #signalRequestTask()} reports subscriber progress, rather than from a thread blocked on a wait strategy.
+	 *
+	 * @param s the upstream subscription
+	 * @param postRequestCallback an optional callback receiving the read count each time more is requested
+	 * @param readCount the sequence read by the slowest subscriber
+	 * @param prefetch the ring buffer capacity
+	 */
+	final void startRequestTask(Subscription s, LongConsumer postRequestCallback, LongSupplier readCount, int prefetch) {
+		SharedRequestTask task = SharedRequestTask.create(name,
+				s,
+				this::checkRequestTask,
+				postRequestCallback,
+				readCount,
+				this,
+				prefetch);
+		sharedRequestTask = task;
+		task.signal();
+	}
+
+	/**
+	 * Notify the request task, if any, that subscribers progressed or that this processor is terminating.
+	 */
+	final void signalRequestTask() {
+		SharedRequestTask task = sharedRequestTask;
+		if (task != null) {
+			task.signal();
+		}
+	}
+
+	final void checkRequestTask() {
+		if (!alive()) {
+			if (cancelled) {
+				throw Exceptions.CancelException.INSTANCE;
+			}
+			else {
+				throw Exceptions.AlertException.INSTANCE;
+			}
+		}
+	}
+
 	protected final boolean startSubscriber(Subscriber<? super OUT> subscriber, Subscription subscription){
 		try {
 			Thread.currentThread()
@@ -274,5 +347,20 @@ public abstract class EventLoopProcessor<IN, OUT> extends FluxProcessor<IN, OUT>
 		}
 	}
 
+	static void checkBatch(Object[] items, int offset, int count) {
+		if (items == null) {
+			throw Exceptions.argumentIsNullException();
+		}
+		if (offset < 0 || count < 0 || offset > items.length - count) {
+			throw new IndexOutOfBoundsException("offset: " + offset + ", count: " + count +
+					", length: " + items.length);
+		}
+		for (int i = offset; i < offset + count; i++) {
+			if (items[i] == null) {
+				throw Exceptions.argumentIsNullException();
+			}
+		}
+	}
+
 	abstract void doError(Throwable throwable);
 }
@@ -38,6 +38,9 @@ import java.util.function.Function;
 import java.util.function.LongConsumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.logging.Level;
 import java.util.stream.Stream;
 
@@ -185,7 +188,7 @@ public abstract class Flux<T> implements Publisher<T>, Introspectable, Backpress
 
 		return new FluxCombineLatest<>(sources,
 				combinator,
-				QueueSupplier.<FluxCombineLatest.SourceAndArray>get(prefetch),
+				QueueSupplier.<FluxCombineLatest.SourceAndValue>mpsc(),
 				prefetch);
 	}
 
@@ -375,7 +378,7 @@ public abstract class Flux<T> implements Publisher<T>, Introspectable, Backpress
 
 		return new FluxCombineLatest<>(sources,
 				combinator,
-				QueueSupplier.<FluxCombineLatest.SourceAndArray>get(prefetch),
+				QueueSupplier.<FluxCombineLatest.SourceAndValue>mpsc(),
 				prefetch);
 	}
 
@@ -1852,6 +1855,33 @@ public abstract class Flux<T> implements Publisher<T>, Introspectable, Backpress
 	public final Flux<T> cache(int history) {
 		return multicast(EmitterProcessor.<T>replay(history)).autoConnect();
 	}
+
+	/**
+	 * Turn this {@link Flux} into a hot source and cache the signals emitted in the last {@code ttl} for further
+	 * {@link Subscriber}. Completion and Error will also be replayed.
+	 *
+	 * @param ttl the maximum age of the retained onNext signals
+	 *
+	 * @return a replaying {@link Flux}
+	 * @see ReplayProcessor#create(Duration)
+	 */
+	public final Flux<T> cache(Duration ttl) {
+		return multicast(ReplayProcessor.<T>create(ttl)).autoConnect();
+	}
+
+	/**
+	 * Turn this {@link Flux} into a hot source and cache up to the given history size of signals emitted in the last
+	 * {@code ttl} for further {@link Subscriber}. Completion and Error will also be replayed.
+	 *
+	 * @param history number of events retained in history excluding complete and error
+	 * @param ttl the maximum age of the retained onNext signals
+	 *
+	 * @return a replaying {@link Flux}
+	 * @see ReplayProcessor#create(int, Duration)
+	 */
+	public final Flux<T> cache(int history, Duration ttl) {
+		return multicast(ReplayProcessor.<T>create(history, ttl)).autoConnect();
+	}
 	
 	/**
 	 * Cast the current {@link Flux} produced type into a target produced type.
@@ -2671,6 +2701,81 @@ public abstract class Flux<T> implements Publisher<T>, Introspectable, Backpress
 		);
 	}
 
+	/**
+	 * Transform the items emitted by this {@link Flux} into Publishers, subscribe to them eagerly like
+	 * {@link #flatMap(Function)} but emit their values in the order of the source items like
+	 * {@link #concatMap(Function)}. The values of an inner {@link Publisher} are buffered until all the previous
+	 * ones have completed.
+	 *
+	 * @param mapper the {@link Function} to transform input sequence into N sequences {@link Publisher}
+	 * @param <R> the ordered output sequence type
+	 *
+	 * @return a new {@link Flux} of the inner values in source order
+	 */
+	public final <R> Flux<R> flatMapSequential(Function<? super T, ? extends Publisher<? extends R>> mapper) {
+		return flatMapSequential(mapper, getPrefetchOrDefault(PlatformDependent.SMALL_BUFFER_SIZE),
+				PlatformDependent.XS_BUFFER_SIZE);
+	}
+
+	/**
+	 * Transform the items emitted by this {@link Flux} into Publishers, subscribe to up to {@code maxConcurrency}
+	 * of them eagerly like {@link #flatMap(Function, int)} but emit their values in the order of the source items
+	 * like {@link #concatMap(Function)}. The values of an inner {@link Publisher} are buffered until all the
+	 * previous ones have completed.
+	 *
+	 * @param mapper the {@link Function} to transform input sequence into N sequences {@link Publisher}
+	 * @param maxConcurrency the maximum number of inner {@link Publisher} subscribed at the same time
+	 * @param <R> the ordered output sequence type
+	 *
+	 * @return a new {@link Flux} of the inner values in source order
+	 */
+	public final <R> Flux<R> flatMapSequential(Function<? super T, ? extends Publisher<? extends R>> mapper,
+			int maxConcurrency) {
+		return flatMapSequential(mapper, maxConcurrency, PlatformDependent.XS_BUFFER_SIZE);
+	}
+
+	/**
+	 * Transform the items emitted by this {@link Flux} into Publishers, subscribe to up to {@code maxConcurrency}
+	 * of them eagerly like {@link #flatMap(Function, int, int)} but emit their values in the order of the source
+	 * items like {@link #concatMap(Function)}. Each inner {@link Publisher} is prefetched into its own queue of
+	 * {@code prefetch} values until all the previous ones have completed.
+	 *
+	 * @param mapper the {@link Function} to transform input sequence into N sequences {@link Publisher}
+	 * @param maxConcurrency the maximum number of inner {@link Publisher} subscribed at the same time
+	 * @param prefetch the maximum in-flight elements from each inner {@link Publisher} sequence
+	 * @param <R> the ordered output sequence type
+	 *
+	 * @return a new {@link Flux} of the inner values in source order
+	 */
+	public final <R> Flux<R> flatMapSequential(Function<? super T, ? extends Publisher<? extends R>> mapper,
+			int maxConcurrency, int prefetch) {
+		return flatMapSequential(mapper, maxConcurrency, prefetch, false);
+	}
+
+	/**
+	 * Transform the items emitted by this {@link Flux} into Publishers, subscribe to up to {@code maxConcurrency}
+	 * of them eagerly like {@link #flatMap(Function, int, int, boolean)} but emit their values in the order of the
+	 * source items like {@link #concatMap(Function)}. Each inner {@link Publisher} is prefetched into its own queue
+	 * of {@code prefetch} values until all the previous ones have completed.
+	 *
+	 * @param mapper the {@link Function} to transform input sequence into N sequences {@link Publisher}
+	 * @param maxConcurrency the maximum number of inner {@link Publisher} subscribed at the same time
+	 * @param prefetch the maximum in-flight elements from each inner {@link Publisher} sequence
+	 * @param delayError should any error be delayed after all the inner {@link Publisher} have been emitted
+	 * @param <R> the ordered output sequence type
+	 *
+	 * @return a new {@link Flux} of the inner values in source order
+	 */
+	public final <R> Flux<R> flatMapSequential(Function<? super T, ? extends Publisher<? extends R>> mapper,
+			int maxConcurrency, int prefetch, boolean delayError) {
+		return new FluxFlatMapSequential<>(this,
+				mapper,
+				maxConcurrency,
+				prefetch,
+				delayError,
+				QueueSupplier.<R>get(prefetch));
+	}
+
 	@Override
 	public int getMode() {
 		return FACTORY;
@@ -2731,6 +2836,97 @@ public abstract class Flux<T> implements Publisher<T>, Introspectable, Backpress
 				PlatformDependent.SMALL_BUFFER_SIZE);
 	}
 
+	/**
+	 * Re-route this sequence into dynamically created {@link Flux} for each unique key evaluated by the given
+	 * key mapper, keeping at most {@code maxGroups} groups open. When a new key arrives while {@code maxGroups}
+	 * groups are open, the least recently active group is completed and a later element for its key opens a new
+	 * group.
+	 *
+	 * @param keyMapper the key mapping {@link Function} that evaluates an incoming data and returns a key.
+	 * @param maxGroups the maximum number of groups open at the same time
+	 *
+	 * @return a {@link Flux} of {@link GroupedFlux} grouped sequences
+	 */
+	@SuppressWarnings("unchecked")
+	public final <K> Flux<GroupedFlux<K, T>> groupBy(Function<? super T, ? extends K> keyMapper, int maxGroups) {
+		return groupBy(keyMapper, Function.identity(), maxGroups);
+	}
+
+	/**
+	 * Re-route this sequence into dynamically created {@link Flux} for each unique key evaluated by the given
+	 * key mapper, keeping at most {@code maxGroups} groups open. It will use the given value mapper to extract the
+	 * element to route. When a new key arrives while {@code maxGroups} groups are open, the least recently active
+	 * group is completed and a later element for its key opens a new group.
+	 *
+	 * @param keyMapper the key mapping function that evaluates an incoming data and returns a key.
+	 * @param valueMapper the value mapping function that evaluates which data to extract for re-routing.
+	 * @param maxGroups the maximum number of groups open at the same time
+	 *
+	 * @return a {@link Flux} of {@link GroupedFlux} grouped sequences
+	 */
+	public final <K, V> Flux<GroupedFlux<K, V>> groupBy(Function<? super T, ? extends K> keyMapper,
+			Function<? super T, ? extends V> valueMapper, int maxGroups) {
+		return new FluxGroupBy<>(this, keyMapper, valueMapper,
+				QueueSupplier.<GroupedFlux<K, V>>small(),
+				QueueSupplier.<V>unbounded(),
+				PlatformDependent.SMALL_BUFFER_SIZE,
+				maxGroups,
+				0L,
+				null);
+	}
+
+	/**
+	 * Re-route this sequence into dynamically created {@link Flux} for each unique key evaluated by the given
+	 * key mapper, keeping at most {@code maxGroups} groups open and completing the groups which did not receive
+	 * any element for {@code idleTimeout}. A later element for an evicted key opens a new group. Idle groups are
+	 * swept every {@code idleTimeout} on the configured or global {@link Timer}, so a group is completed after
+	 * being idle between one and two timeouts.
+	 *
+	 * @param keyMapper the key mapping function that evaluates an incoming data and returns a key.
+	 * @param valueMapper the value mapping function that evaluates which data to extract for re-routing.
+	 * @param maxGroups the maximum number of groups open at the same time
+	 * @param idleTimeout the duration after which a group without any element is completed
+	 *
+	 * @return a {@link Flux} of {@link GroupedFlux} grouped sequences
+	 */
+	public final <K, V> Flux<GroupedFlux<K, V>> groupBy(Function<? super T, ? extends K> keyMapper,
+			Function<? super T, ? extends V> valueMapper, int maxGroups, Duration idleTimeout) {
+		Timer timer = getTimer();
+		return groupBy(keyMapper, valueMapper, maxGroups, idleTimeout, timer != null ? timer : Timer.globalOrNew());
+	}
+
+	/**
+	 * Re-route this sequence into dynamically created {@link Flux} for each unique key evaluated by the given
+	 * key mapper, keeping at most {@code maxGroups} groups open and completing the groups which did not receive
+	 * any element for {@code idleTimeout}. A later element for an evicted key opens a new group. Idle groups are
+	 * swept every {@code idleTimeout} on the given {@link Timer}, so a group is completed after being idle between
+	 * one and two timeouts. The timeout is rounded up to a multiple of the {@link Timer} resolution.
+	 *
+	 * @param keyMapper the key mapping function that evaluates an incoming data and returns a key.
+	 * @param valueMapper the value mapping function that evaluates which data to extract for re-routing.
+	 * @param maxGroups the maximum number of groups open at the same time
+	 * @param idleTimeout the duration after which a group without any element is completed
+	 * @param timer the {@link Timer} to sweep the idle groups on
+	 *
+	 * @return a {@link Flux} of {@link GroupedFlux} grouped sequences
+	 */
+	public final <K, V> Flux<GroupedFlux<K, V>> groupBy(Function<? super T, ? extends K> keyMapper,
+			Function<? super T, ? extends V> valueMapper, int maxGroups, Duration idleTimeout, Timer timer) {
+		Objects.requireNonNull(timer, "timer");
+		long timeout = idleTimeout.toMillis();
+		long resolution = timer.period();
+		if (resolution > 0L && timeout % resolution != 0L) {
+			timeout = timeout - timeout % resolution + resolution;
+		}
+		return new FluxGroupBy<>(this, keyMapper, valueMapper,
+				QueueSupplier.<GroupedFlux<K, V>>small(),
+				QueueSupplier.<V>unbounded(),
+				PlatformDependent.SMALL_BUFFER_SIZE,
+				maxGroups,
+				timeout,
+				timer);
+	}
+
 	/**
 	 * Emit a single boolean true if this {@link Flux} sequence has at least one element.
 	 * <p>
@@ -2878,6 +3074,42 @@ public abstract class Flux<T> implements Publisher<T>, Introspectable, Backpress
 		return new FluxMap<>(this, mapper);
 	}
 
+	/**
+	 * Transform the items emitted by this {@link Flux} into {@code double} values, continuing with a {@link DoubleFlux} whose
+	 * operators don't box them.
+	 *
+	 * @param mapper the transforming function
+	 *
+	 * @return a transformed {@link DoubleFlux}
+	 */
+	public final DoubleFlux mapToDouble(ToDoubleFunction<? super T> mapper) {
+		return DoubleFlux.map(this, mapper);
+	}
+
+	/**
+	 * Transform the items emitted by this {@link Flux} into {@code int} values, continuing with an {@link IntFlux} whose
+	 * operators don't box them.
+	 *
+	 * @param mapper the transforming function
+	 *
+	 * @return a transformed {@link IntFlux}
+	 */
+	public final IntFlux mapToInt(ToIntFunction<? super T> mapper) {
+		return IntFlux.map(this, mapper);
+	}
+
+	/**
+	 * Transform the items emitted by this {@link Flux} into {@code long} values, continuing with a {@link LongFlux} whose
+	 * operators don't box them.
+	 *
+	 * @param mapper the transforming function
+	 *
+	 * @return a transformed {@link LongFlux}
+	 */
+	public final LongFlux mapToLong(ToLongFunction<? super T> mapper) {
+		return LongFlux.map(this, mapper);
+	}
+
 	/**
 	 * Transform the incoming onNext, onError and onComplete signals into {@link Signal}.
 	 * Since the error is materialized as a {@code Signal}, the propagation will be stopped and onComplete will be
@@ -2892,6 +3124,24 @@ public abstract class Flux<T> implements Publisher<T>, Introspectable, Backpress
 		return new FluxMaterialize<>(this);
 	}
 
+	/**
+	 * Transform the incoming onNext, onError and onComplete signals into {@link Signal}, optionally recycling a
+	 * single onNext {@link Signal} instance per subscriber to avoid allocating one per item.
+	 * <p>
+	 * A recycled {@link Signal} is only valid until the downstream {@code onNext} call returns and is
+	 * {@link Signal#isRecyclable() flagged} as such: it must not be queued, buffered or otherwise retained, e.g.
+	 * behind {@link #dispatchOn} or {@link #buffer}, unless copied first. {@link #dematerialize()} directly after it
+	 * is always safe.
+	 *
+	 * @param recycle true to reuse the same onNext {@link Signal} for every item
+	 *
+	 * @return a {@link Flux} of materialized {@link Signal}
+	 * @see #materialize()
+	 */
+	public final Flux<Signal<T>> materialize(boolean recycle) {
+		return new FluxMaterialize<>(this, recycle);
+	}
+
 	/**
 	 * Merge emissions of this {@link Flux} with the provided {@link Publisher}, so that they may interleave.
 	 * <p>
@@ -3112,6 +3362,71 @@ public abstract class Flux<T> implements Publisher<T>, Introspectable, Backpress
 		return new FluxBackpressureBuffer<>(this);
 	}
 
+	/**
+	 * Request an unbounded demand and push the returned {@link Flux}, or park up to {@code maxSize} observed elements
+	 * if not enough demand is requested downstream. Overflowing the buffer cancels this {@link Flux} and emits
+	 * onError from {@link Exceptions#failWithOverflow}, dropping the buffered elements.
+	 *
+	 * @param maxSize maximum number of buffered elements
+	 *
+	 * @return a bounded buffering {@link Flux}
+	 */
+	public final Flux<T> onBackpressureBuffer(int maxSize) {
+		return onBackpressureBuffer(maxSize, null, BufferOverflowStrategy.ERROR);
+	}
+
+	/**
+	 * Request an unbounded demand and push the returned {@link Flux}, or park up to {@code maxSize} observed elements
+	 * if not enough demand is requested downstream. Overflowing the buffer notifies {@code onOverflow} with the
+	 * element which could not be buffered, cancels this {@link Flux} and emits onError from
+	 * {@link Exceptions#failWithOverflow}, dropping the buffered elements.
+	 *
+	 * @param maxSize maximum number of buffered elements
+	 * @param onOverflow callback receiving the element which could not be buffered
+	 *
+	 * @return a bounded buffering {@link Flux}
+	 */
+	public final Flux<T> onBackpressureBuffer(int maxSize, Consumer<? super T> onOverflow) {
+		return onBackpressureBuffer(maxSize, onOverflow, BufferOverflowStrategy.ERROR);
+	}
+
+	/**
+	 * Request an unbounded demand and push the returned {@link Flux}, or park up to {@code maxSize} observed elements
+	 * if not enough demand is requested downstream. Overflowing the buffer applies the given
+	 * {@link BufferOverflowStrategy}, notifying {@code onOverflow} with each dropped element.
+	 *
+	 * @param maxSize maximum number of buffered elements
+	 * @param onOverflow callback receiving the dropped elements, or null
+	 * @param strategy the {@link BufferOverflowStrategy} to apply on overflow
+	 *
+	 * @return a bounded buffering {@link Flux}
+	 */
+	public final Flux<T> onBackpressureBuffer(int maxSize, Consumer<? super T> onOverflow,
+			BufferOverflowStrategy strategy) {
+		return new FluxBackpressureBufferStrategy<>(this, maxSize, onOverflow, strategy);
+	}
+
+	/**
+	 * Request an unbounded demand and push the returned {@link Flux}, or park up to {@code maxSize} observed elements
+	 * for at most {@code ttl} if not enough demand is requested downstream. The oldest element is dropped when the
+	 * buffer overflows and the elements older than {@code ttl} are dropped before the next element is emitted or
+	 * buffered, each dropped element being passed to {@code onBufferEviction}.
+	 *
+	 * @param ttl maximum time an element can stay buffered
+	 * @param maxSize maximum number of buffered elements
+	 * @param onBufferEviction callback receiving the evicted elements, or null
+	 *
+	 * @return a bounded buffering {@link Flux} evicting stale elements
+	 */
+	public final Flux<T> onBackpressureBuffer(Duration ttl, int maxSize, Consumer<? super T> onBufferEviction) {
+		return new FluxBackpressureBufferStrategy<>(this,
+				maxSize,
+				onBufferEviction,
+				BufferOverflowStrategy.DROP_OLDEST,
+				ttl.toMillis(),
+				System::currentTimeMillis);
+	}
+
 	/**
 	 * Request an unbounded demand and push the returned {@link Flux}, or drop the observed elements if not enough
 	 * demand is requested downstream.
@@ -3194,6 +3509,42 @@ public abstract class Flux<T> implements Publisher<T>, Introspectable, Backpress
 		return switchOnError(just(fallbackValue));
 	}
 
+	/**
+	 * Prepare to consume this {@link Flux} on {@link SchedulerGroup#DEFAULT_POOL_SIZE} 'rails' in a round-robin
+	 * fashion. Unlike {@link #partition()}, the values are not keyed: each one goes to the next rail ready to
+	 * receive it.
+	 *
+	 * @return a new {@link ParallelFlux}
+	 * @see ParallelFlux#runOn(Callable)
+	 * @see ParallelFlux#sequential()
+	 */
+	public final ParallelFlux<T> parallel() {
+		return parallel(SchedulerGroup.DEFAULT_POOL_SIZE);
+	}
+
+	/**
+	 * Prepare to consume this {@link Flux} on the given number of 'rails' in a round-robin fashion.
+	 *
+	 * @param parallelism the number of rails
+	 *
+	 * @return a new {@link ParallelFlux}
+	 */
+	public final ParallelFlux<T> parallel(int parallelism) {
+		return parallel(parallelism, PlatformDependent.SMALL_BUFFER_SIZE);
+	}
+
+	/**
+	 * Prepare to consume this {@link Flux} on the given number of 'rails' in a round-robin fashion, prefetching
+	 * the given amount of values from this {@link Flux}.
+	 *
+	 * @param parallelism the number of rails
+	 * @param prefetch the number of values to prefetch from this {@link Flux}
+	 *
+	 * @return a new {@link ParallelFlux}
+	 */
+	public final ParallelFlux<T> parallel(int parallelism, int prefetch) {
+		return ParallelFlux.from(this, parallelism, prefetch, QueueSupplier.<T>get(prefetch));
+	}
 
 	/**
 	 * Re-route incoming values into a dynamically created {@link Flux} for each unique key evaluated by the given
@@ -211,6 +211,27 @@ extends Flux<T>
 			return null;
 		}
 
+		@Override
+		public int poll(Object[] buffer, int max) {
+			int i = index;
+			T[] a = array;
+			int n = Math.min(max, a.length - i);
+			for (int j = 0; j < n; j++) {
+				T t = a[i + j];
+				if (t == null) {
+					index = i + j;
+					if (j == 0) {
+						throw new NullPointerException();
+					}
+					//hand over the values before the null one, the next poll fails on it
+					return j;
+				}
+				buffer[j] = t;
+			}
+			index = i + n;
+			return n;
+		}
+
 		@Override
 		public T peek() {
 			int i = index;
@@ -0,0 +1,480 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.flow.Producer;
+import reactor.core.flow.Receiver;
+import reactor.core.queue.QueueSupplier;
+import reactor.core.state.Backpressurable;
+import reactor.core.state.Cancellable;
+import reactor.core.state.Completable;
+import reactor.core.state.Requestable;
+import reactor.core.util.BackpressureUtils;
+import reactor.core.util.Exceptions;
+
+/**
+ * Buffers up to a maximum number of values while the downstream is not ready to receive them, applying a
+ * {@link BufferOverflowStrategy} once full, and optionally evicts the buffered values older than a given time to
+ * live.
+ * <p>
+ * The values are held in an unbounded linked-array single-producer single-consumer queue whose chunks are released
+ * as the buffer drains, the bound being enforced by a size counter before each value is offered. Only the drain loop
+ * polls the queue: the oldest and expired values are evicted from its head by whichever thread owns the drain, before
+ * each emission and whenever it runs out of demand, so a downstream never receives an evicted value. With
+ * {@link BufferOverflowStrategy#DROP_OLDEST} the values received while the downstream is being signalled from
+ * another thread are trimmed back to the maximum size as soon as the drain loop regains control.
+ *
+ * @param <T> the value type
+ * @since 2.5
+ */
+final class FluxBackpressureBufferStrategy<T> extends FluxSource<T, T> {
+
+	final int maxSize;
+
+	final Consumer<? super T> onOverflow;
+
+	final BufferOverflowStrategy strategy;
+
+	final long ttl;
+
+	final LongSupplier clock;
+
+	public FluxBackpressureBufferStrategy(Publisher<? extends T> source,
+			int maxSize,
+			Consumer<? super T> onOverflow,
+			BufferOverflowStrategy strategy) {
+		this(source, maxSize, onOverflow, strategy, Long.MAX_VALUE, System::currentTimeMillis);
+	}
+
+	public FluxBackpressureBufferStrategy(Publisher<? extends T> source,
+			int maxSize,
+			Consumer<? super T> onOverflow,
+			BufferOverflowStrategy strategy,
+			long ttl,
+			LongSupplier clock) {
+		super(source);
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+		}
+		if (ttl <= 0L) {
+			throw new IllegalArgumentException("ttl > 0 required but it was " + ttl);
+		}
+		this.maxSize = maxSize;
+		this.onOverflow = onOverflow;
+		this.strategy = Objects.requireNonNull(strategy, "strategy");
+		this.ttl = ttl;
+		this.clock = Objects.requireNonNull(clock, "clock");
+	}
+
+	@Override
+	public long getCapacity() {
+		return maxSize;
+	}
+
+	@Override
+	public void subscribe(Subscriber<? super T> s) {
+		source.subscribe(new BackpressureBufferSubscriber<>(s, maxSize, onOverflow, strategy, ttl, clock));
+	}
+
+	/**
+	 * A buffered value and the time it was buffered at, used when a time to live is set
+	 */
+	static final class Timed<T> {
+
+		final T value;
+
+		final long time;
+
+		Timed(T value, long time) {
+			this.value = value;
+			this.time = time;
+		}
+	}
+
+	static final class BackpressureBufferSubscriber<T>
+			implements Subscriber<T>, Subscription, Producer, Receiver, Completable, Cancellable, Requestable,
+			           Backpressurable {
+
+		final Subscriber<? super T> actual;
+
+		final int maxSize;
+
+		final Consumer<? super T> onOverflow;
+
+		final BufferOverflowStrategy strategy;
+
+		final long ttl;
+
+		final LongSupplier clock;
+
+		/**
+		 * True if the drain loop has to evict values from the head of the queue before emitting
+		 */
+		final boolean evicting;
+
+		final Queue<Object> queue;
+
+		Subscription s;
+
+		volatile boolean done;
+
+		volatile Throwable error;
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<BackpressureBufferSubscriber, Throwable> ERROR =
+				AtomicReferenceFieldUpdater.newUpdater(BackpressureBufferSubscriber.class, Throwable.class, "error");
+
+		volatile boolean cancelled;
+
+		/**
+		 * The number of buffered values, incremented by the producer after offering and decremented by the drain
+		 * loop after polling or evicting
+		 */
+		volatile long size;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<BackpressureBufferSubscriber> SIZE =
+				AtomicLongFieldUpdater.newUpdater(BackpressureBufferSubscriber.class, "size");
+
+		volatile int wip;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<BackpressureBufferSubscriber> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(BackpressureBufferSubscriber.class, "wip");
+
+		volatile long requested;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<BackpressureBufferSubscriber> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(BackpressureBufferSubscriber.class, "requested");
+
+		BackpressureBufferSubscriber(Subscriber<? super T> actual,
+				int maxSize,
+				Consumer<? super T> onOverflow,
+				BufferOverflowStrategy strategy,
+				long ttl,
+				LongSupplier clock) {
+			this.actual = actual;
+			this.maxSize = maxSize;
+			this.onOverflow = onOverflow;
+			this.strategy = strategy;
+			this.ttl = ttl;
+			this.clock = clock;
+			this.evicting = strategy == BufferOverflowStrategy.DROP_OLDEST || ttl != Long.MAX_VALUE;
+			this.queue = QueueSupplier.unbounded()
+			                          .get();
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (BackpressureUtils.validate(this.s, s)) {
+				this.s = s;
+
+				actual.onSubscribe(this);
+
+				s.request(Long.MAX_VALUE);
+			}
+		}
+
+		@Override
+		public void onNext(T t) {
+			if (done) {
+				Exceptions.onNextDropped(t);
+				return;
+			}
+
+			if (size >= maxSize && ttl != Long.MAX_VALUE) {
+				//give the drain loop a chance to evict the expired values before deciding on an overflow
+				drain();
+				if (done) {
+					return;
+				}
+			}
+
+			//DROP_OLDEST offers anyway and lets the drain loop evict the head values past the maximum size
+			if (size >= maxSize && strategy != BufferOverflowStrategy.DROP_OLDEST) {
+				if (strategy == BufferOverflowStrategy.DROP_LATEST) {
+					if (!overflow(t)) {
+						s.cancel();
+						drain();
+					}
+					return;
+				}
+				else {
+					s.cancel();
+					if (overflow(t)) {
+						fail(Exceptions.failWithOverflow());
+					}
+					drain();
+					return;
+				}
+			}
+
+			queue.offer(ttl != Long.MAX_VALUE ? new Timed<>(t, clock.getAsLong()) : t);
+			SIZE.incrementAndGet(this);
+			drain();
+		}
+
+		/**
+		 * Notify the overflow callback with a value which has been dropped, terminating with the callback error if it
+		 * fails.
+		 *
+		 * @return false if the callback failed
+		 */
+		boolean overflow(T t) {
+			Consumer<? super T> c = onOverflow;
+			if (c != null) {
+				try {
+					c.accept(t);
+				}
+				catch (Throwable e) {
+					Exceptions.throwIfFatal(e);
+					fail(Exceptions.unwrap(e));
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Record a terminal error raised by this operator from either the producer or the drain loop.
+		 */
+		void fail(Throwable e) {
+			if (Exceptions.addThrowable(ERROR, this, e)) {
+				done = true;
+			}
+			else {
+				Exceptions.onErrorDropped(e);
+			}
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (done) {
+				Exceptions.onErrorDropped(t);
+				return;
+			}
+			fail(t);
+			drain();
+		}
+
+		@Override
+		public void onComplete() {
+			if (done) {
+				return;
+			}
+			done = true;
+			drain();
+		}
+
+		@Override
+		public void request(long n) {
+			if (BackpressureUtils.validate(n)) {
+				BackpressureUtils.getAndAdd(REQUESTED, this, n);
+				drain();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			if (!cancelled) {
+				cancelled = true;
+				s.cancel();
+
+				if (WIP.getAndIncrement(this) == 0) {
+					queue.clear();
+				}
+			}
+		}
+
+		/**
+		 * Drop the values past the maximum size with {@link BufferOverflowStrategy#DROP_OLDEST} then the values older
+		 * than the time to live from the head of the buffer, only called by the drain loop.
+		 *
+		 * @return false if the overflow callback failed
+		 */
+		@SuppressWarnings("unchecked")
+		boolean evict() {
+			final Queue<Object> q = queue;
+
+			if (strategy == BufferOverflowStrategy.DROP_OLDEST) {
+				while (size > maxSize) {
+					Object o = q.poll();
+					if (o == null) {
+						break;
+					}
+					SIZE.decrementAndGet(this);
+					if (!overflow(value(o))) {
+						return false;
+					}
+				}
+			}
+
+			if (ttl != Long.MAX_VALUE) {
+				long cutoff = clock.getAsLong() - ttl;
+				for (;;) {
+					Timed<T> o = (Timed<T>) q.peek();
+					if (o == null || o.time > cutoff) {
+						break;
+					}
+					q.poll();
+					SIZE.decrementAndGet(this);
+					if (!overflow(o.value)) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+
+		@SuppressWarnings("unchecked")
+		T value(Object o) {
+			if (ttl != Long.MAX_VALUE) {
+				return ((Timed<T>) o).value;
+			}
+			return (T) o;
+		}
+
+		void drain() {
+			if (WIP.getAndIncrement(this) != 0) {
+				return;
+			}
+
+			int missed = 1;
+
+			final Subscriber<? super T> a = actual;
+			final Queue<Object> q = queue;
+
+			for (;;) {
+
+				long r = requested;
+				long e = 0L;
+
+				while (e != r) {
+					if (evicting && !evict()) {
+						s.cancel();
+					}
+
+					boolean d = done;
+
+					Object o = q.poll();
+
+					boolean empty = o == null;
+
+					if (checkTerminated(d, empty, a, q)) {
+						return;
+					}
+
+					if (empty) {
+						break;
+					}
+
+					SIZE.decrementAndGet(this);
+
+					a.onNext(value(o));
+
+					e++;
+				}
+
+				if (e == r) {
+					if (evicting && !evict()) {
+						s.cancel();
+					}
+
+					if (checkTerminated(done, q.isEmpty(), a, q)) {
+						return;
+					}
+				}
+
+				if (e != 0L && r != Long.MAX_VALUE) {
+					REQUESTED.addAndGet(this, -e);
+				}
+
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+
+		boolean checkTerminated(boolean d, boolean empty, Subscriber<? super T> a, Queue<Object> q) {
+			if (cancelled) {
+				q.clear();
+				return true;
+			}
+			if (d) {
+				Throwable e = error;
+				if (e != null) {
+					q.clear();
+					a.onError(e);
+					return true;
+				}
+				else if (empty) {
+					a.onComplete();
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		@Override
+		public boolean isStarted() {
+			return s != null && !done;
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return done;
+		}
+
+		@Override
+		public Object downstream() {
+			return actual;
+		}
+
+		@Override
+		public Object upstream() {
+			return s;
+		}
+
+		@Override
+		public long requestedFromDownstream() {
+			return requested;
+		}
+
+		@Override
+		public long getCapacity() {
+			return maxSize;
+		}
+
+		@Override
+		public long getPending() {
+			return size;
+		}
+	}
+}
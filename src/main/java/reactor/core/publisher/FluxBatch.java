@@ -16,6 +16,8 @@
 
 package reactor.core.publisher;
 
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.function.Consumer;
@@ -23,14 +25,15 @@ import java.util.function.Consumer;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
+import reactor.core.queue.QueueSupplier;
 import reactor.core.state.Introspectable;
 import reactor.core.state.Pausable;
 import reactor.core.state.Requestable;
 
 import reactor.core.subscriber.SubscriberBarrier;
-import reactor.core.subscriber.Subscribers;
 import reactor.core.timer.Timer;
 import reactor.core.util.BackpressureUtils;
+import reactor.core.util.Exceptions;
 
 /**
  * @author Stephane Maldini
@@ -72,15 +75,6 @@ abstract class FluxBatch<T, V> extends FluxSource<T, V> {
 		this.batchSize = batchSize;
 	}
 
-	protected final Subscriber<? super V> prepareSub(Subscriber<? super V> actual) {
-		if (timer != null) {
-			return Subscribers.serialize(actual);
-		}
-		else {
-			return actual;
-		}
-	}
-
 	static protected abstract class BatchAction<T, V> extends SubscriberBarrier<T, V>
 			implements Requestable, Introspectable {
 
@@ -148,6 +142,11 @@ abstract class FluxBatch<T, V> extends FluxSource<T, V> {
 		@Override
 		protected void doComplete() {
 			if (TERMINATED.compareAndSet(this, NOT_TERMINATED, TERMINATED_WITH_SUCCESS)) {
+				if (timer != null) {
+					done = true;
+					drain();
+					return;
+				}
 				checkedComplete();
 				doTerminate();
 			}
@@ -156,6 +155,11 @@ abstract class FluxBatch<T, V> extends FluxSource<T, V> {
 		@Override
 		protected void doError(Throwable throwable) {
 			if (TERMINATED.compareAndSet(this, NOT_TERMINATED, TERMINATED_WITH_ERROR)) {
+				if (timer != null) {
+					error = throwable;
+					drain();
+					return;
+				}
 				checkedError(throwable);
 				doTerminate();
 			}
@@ -201,7 +205,23 @@ abstract class FluxBatch<T, V> extends FluxSource<T, V> {
 		protected final Timer          timer;
 		protected final Consumer<Long> flushTask;
 
-		private volatile int index = 0;
+		/**
+		 * Values arriving while the timer thread is flushing, only used if timed.
+		 */
+		final Queue<T> queue;
+
+		volatile int wip;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<BatchAction> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(BatchAction.class, "wip");
+
+		volatile boolean timedOut;
+
+		volatile Throwable error;
+
+		volatile boolean done;
+
+		private int index = 0;
 		private Pausable timespanRegistration;
 
 		public BatchAction(Subscriber<? super V> actual,
@@ -217,19 +237,13 @@ abstract class FluxBatch<T, V> extends FluxSource<T, V> {
 			if (timespan > 0 && timer != null) {
 				this.timespan = timespan;
 				this.timer = timer;
+				this.queue = QueueSupplier.<T>unbounded().get();
 				this.flushTask = new Consumer<Long>() {
 					@Override
 					public void accept(Long aLong) {
 						if (!isTerminated()) {
-							synchronized (timer) {
-								if (index == 0) {
-									return;
-								}
-								else {
-									index = 0;
-								}
-							}
-							flushCallback(null);
+							timedOut = true;
+							drain();
 						}
 					}
 				};
@@ -237,6 +251,7 @@ abstract class FluxBatch<T, V> extends FluxSource<T, V> {
 			else {
 				this.timespan = -1L;
 				this.timer = null;
+				this.queue = null;
 				this.flushTask = null;
 			}
 			this.first = first;
@@ -268,19 +283,99 @@ abstract class FluxBatch<T, V> extends FluxSource<T, V> {
 
 		@Override
 		protected void doNext(final T value) {
-			final int index;
-			if (timer != null) {
-				synchronized (timer) {
-					index = ++this.index;
+			if (timer == null) {
+				accumulate(value);
+				return;
+			}
+
+			//emit directly if the timer is not flushing, otherwise hand over to the current drainer
+			if (wip == 0 && WIP.compareAndSet(this, 0, 1)) {
+				accumulate(value);
+				if (WIP.decrementAndGet(this) == 0) {
+					return;
 				}
 			}
 			else {
-				index = ++this.index;
+				queue.offer(value);
+				if (WIP.getAndIncrement(this) != 0) {
+					return;
+				}
+			}
+			drainLoop();
+		}
+
+		/**
+		 * Serialize the timer and upstream signals on the current batch, whichever thread wins the work-in-progress
+		 * counter drains on behalf of the other.
+		 */
+		final void drain() {
+			if (WIP.getAndIncrement(this) == 0) {
+				drainLoop();
+			}
+		}
+
+		final void drainLoop() {
+			int missed = 1;
+			final Queue<T> q = queue;
+
+			for (; ; ) {
+				if (isCancelled()) {
+					q.clear();
+					return;
+				}
+
+				Throwable e = error;
+				if (e != null) {
+					q.clear();
+					checkedError(e);
+					doTerminate();
+					return;
+				}
+
+				T v;
+				while (error == null && (v = q.poll()) != null) {
+					accumulate(v);
+				}
+
+				if (done) {
+					checkedComplete();
+					doTerminate();
+					return;
+				}
+
+				if (timedOut) {
+					timedOut = false;
+					if (index != 0) {
+						index = 0;
+						timespanRegistration = null;
+						flushCallback(null);
+					}
+				}
+
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					break;
+				}
 			}
+		}
+
+		final void accumulate(T value) {
+			final int index = ++this.index;
+			Throwable rejected = null;
 
 			if (index == 1) {
 				if (timer != null) {
-					timespanRegistration = timer.submit(flushTask, timespan);
+					try {
+						timespanRegistration = timer.submit(flushTask, timespan);
+					}
+					catch (Exceptions.CancelException ce) {
+						//the timer has been cancelled, throwIfFatal would rethrow this upstream exception
+						rejected = new RejectedExecutionException("The timer has been cancelled");
+					}
+					catch (Throwable e) {
+						Exceptions.throwIfFatal(e);
+						rejected = Exceptions.unwrap(e);
+					}
 				}
 				if (first) {
 					firstCallback(value);
@@ -291,25 +386,41 @@ abstract class FluxBatch<T, V> extends FluxSource<T, V> {
 				nextCallback(value);
 			}
 
+			if (rejected != null) {
+				//flush the batch opened by this value before reporting the timer failure
+				this.index = 0;
+				flushCallback(null);
+				timerRejected(rejected);
+				return;
+			}
+
 			if (index % batchSize == 0) {
-				if (timer != null && timespanRegistration != null) {
+				if (timespanRegistration != null) {
 					timespanRegistration.cancel();
 					timespanRegistration = null;
 				}
-				if (timer != null) {
-					synchronized (timer) {
-						this.index = 0;
-					}
-				}
-				else {
-					this.index = 0;
-				}
+				this.index = 0;
 				if (flush) {
 					flushCallback(value);
 				}
 			}
 		}
 
+		/**
+		 * Terminate with the error of a timer which refused the flush task, e.g. because it has been cancelled. Only
+		 * called while holding the work-in-progress counter which is incremented so the current drainer reports it.
+		 */
+		final void timerRejected(Throwable e) {
+			if (TERMINATED.compareAndSet(this, NOT_TERMINATED, TERMINATED_WITH_ERROR)) {
+				Subscription s = this.subscription;
+				if (s != null) {
+					s.cancel();
+				}
+				error = e;
+				WIP.getAndIncrement(this);
+			}
+		}
+
 		protected void checkedComplete() {
 			try {
 				flushCallback(null);
@@ -35,12 +35,12 @@ final class FluxBufferTimeOrSize<T> extends FluxBatch<T, List<T>> {
 
 	@Override
 	public void subscribe(Subscriber<? super List<T>> subscriber) {
-		source.subscribe(new BufferAction<>(prepareSub(subscriber), batchSize, timespan, timer));
+		source.subscribe(new BufferAction<>(subscriber, batchSize, timespan, timer));
 	}
 
 	final static class BufferAction<T> extends BatchAction<T, List<T>> {
 
-		private final List<T> values = new ArrayList<T>();
+		private List<T> values = new ArrayList<T>();
 
 		public BufferAction(Subscriber<? super List<T>> actual,
 				int maxSize,
@@ -52,48 +52,22 @@ final class FluxBufferTimeOrSize<T> extends FluxBatch<T, List<T>> {
 
 		@Override
 		protected void checkedError(Throwable ev) {
-			if (timer != null) {
-				synchronized (timer) {
-					values.clear();
-				}
-			}
-			else {
-				values.clear();
-			}
+			values.clear();
 			subscriber.onError(ev);
 		}
 
 		@Override
 		public void nextCallback(T value) {
-			if (timer != null) {
-				synchronized (timer) {
-					values.add(value);
-				}
-			}
-			else {
-				values.add(value);
-			}
+			values.add(value);
 		}
 
 		@Override
 		public void flushCallback(T ev) {
-			final List<T> toSend;
-			if (timer != null) {
-				synchronized (timer) {
-					if (values.isEmpty()) {
-						return;
-					}
-					toSend = new ArrayList<T>(values);
-					values.clear();
-				}
-			}
-			else {
-				if (values.isEmpty()) {
-					return;
-				}
-				toSend = new ArrayList<T>(values);
-				values.clear();
+			final List<T> toSend = values;
+			if (toSend.isEmpty()) {
+				return;
 			}
+			values = new ArrayList<T>();
 			subscriber.onNext(toSend);
 		}
 	}
@@ -42,6 +42,9 @@ import reactor.core.util.Exceptions;
 
 /**
  * Combines the latest values from multiple sources through a function.
+ * <p>
+ * Sources don't contend on a lock: each value is offered with its source to a multi-producer queue and a single
+ * drain loop folds the values, in queue order, into the latest values array before combining them.
  *
  * @param <T> the value type of the sources
  * @param <R> the result type
@@ -61,12 +64,12 @@ final class FluxCombineLatest<T, R>
 
 	final Function<Object[], R> combiner;
 	
-	final Supplier<? extends Queue<SourceAndArray>> queueSupplier;
+	final Supplier<? extends Queue<SourceAndValue>> queueSupplier;
 	
 	final int bufferSize;
 
 	public FluxCombineLatest(Publisher<? extends T>[] array,
-			Function<Object[], R> combiner, Supplier<? extends Queue<SourceAndArray>> queueSupplier,
+			Function<Object[], R> combiner, Supplier<? extends Queue<SourceAndValue>> queueSupplier,
 					int bufferSize) {
 		if (bufferSize <= 0) {
 			throw new IllegalArgumentException("BUFFER_SIZE > 0 required but it was " + bufferSize);
@@ -80,7 +83,7 @@ final class FluxCombineLatest<T, R>
 	}
 	
 	public FluxCombineLatest(Iterable<? extends Publisher<? extends T>> iterable,
-			Function<Object[], R> combiner, Supplier<? extends Queue<SourceAndArray>> queueSupplier,
+			Function<Object[], R> combiner, Supplier<? extends Queue<SourceAndValue>> queueSupplier,
 					int bufferSize) {
 		if (bufferSize <= 0) {
 			throw new IllegalArgumentException("BUFFER_SIZE > 0 required but it was " + bufferSize);
@@ -182,7 +185,7 @@ final class FluxCombineLatest<T, R>
 			return;
 		}
 		
-		Queue<SourceAndArray> queue;
+		Queue<SourceAndValue> queue;
 		
 		try {
 			queue = queueSupplier.get();
@@ -212,13 +215,19 @@ final class FluxCombineLatest<T, R>
 		
 		final CombineLatestInner<T>[] subscribers;
 		
-		final Queue<SourceAndArray> queue;
+		final Queue<SourceAndValue> queue;
 		
+		/**
+		 * The latest value of each source, only accessed by the drain loop.
+		 */
 		final Object[] latest;
 
 		int nonEmptySources;
 		
-		int completedSources;
+		volatile int completedSources;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<CombineLatestCoordinator> COMPLETED_SOURCES =
+				AtomicIntegerFieldUpdater.newUpdater(CombineLatestCoordinator.class, "completedSources");
 		
 		volatile boolean cancelled;
 		
@@ -233,6 +242,12 @@ final class FluxCombineLatest<T, R>
 				AtomicIntegerFieldUpdater.newUpdater(CombineLatestCoordinator.class, "wip");
 		
 		volatile boolean done;
+
+		/**
+		 * Set once a source completed without any value: no combination can be produced anymore, so the sequence
+		 * terminates without waiting for demand to drain the queued values.
+		 */
+		volatile boolean emptySourceCompleted;
 		
 		volatile Throwable error;
 		
@@ -241,7 +256,7 @@ final class FluxCombineLatest<T, R>
 				AtomicReferenceFieldUpdater.newUpdater(CombineLatestCoordinator.class, Throwable.class, "error");
 		
 		public CombineLatestCoordinator(Subscriber<? super R> actual, 
-				Function<Object[], R> combiner, int n, Queue<SourceAndArray> queue,
+				Function<Object[], R> combiner, int n, Queue<SourceAndValue> queue,
 				int bufferSize) {
 			this.actual = actual;
 			this.combiner = combiner;
@@ -294,58 +309,21 @@ final class FluxCombineLatest<T, R>
 			}
 		}
 		
-		void innerValue(int index, T value) {
-			
-			boolean replenishInsteadOfDrain;
-			
-			synchronized (this) {
-				Object[] os = latest;
-
-				int localNonEmptySources = nonEmptySources;
-				
-				if (os[index] == null) {
-					localNonEmptySources++;
-					nonEmptySources = localNonEmptySources;
-				}
-				
-				os[index] = value;
-
-				if (os.length == localNonEmptySources) {
-					SourceAndArray sa = new SourceAndArray(subscribers[index], os.clone());
-					
-					queue.offer(sa);
-					
-					replenishInsteadOfDrain = false;
-				} else {
-					replenishInsteadOfDrain = true;
-				}
-			}
-			
-			if (replenishInsteadOfDrain) {
-				subscribers[index].requestOne();
-			} else {
-				drain();
-			}
+		void innerValue(CombineLatestInner<T> inner, T value) {
+			queue.offer(new SourceAndValue(inner, value));
+			drain();
 		}
 		
-		void innerComplete(int index) {
-			synchronized (this) {
-				Object[] os = latest;
-				
-				if (os[index] != null) {
-					int localCompletedSources = completedSources + 1;
-					
-					if (localCompletedSources == os.length) {
-						done = true;
-					} else {
-						completedSources = localCompletedSources;
-						return;
-					}
-				} else {
-					done = true;
-				}
+		void innerComplete(CombineLatestInner<T> inner) {
+			if (!inner.hasValue) {
+				emptySourceCompleted = true;
+				done = true;
+				drain();
+			}
+			else if (COMPLETED_SOURCES.incrementAndGet(this) == subscribers.length) {
+				done = true;
+				drain();
 			}
-			drain();
 		}
 		
 		void innerError(Throwable e) {
@@ -364,11 +342,16 @@ final class FluxCombineLatest<T, R>
 			}
 			
 			final Subscriber<? super R> a = actual;
-			final Queue<SourceAndArray> q = queue;
+			final Queue<SourceAndValue> q = queue;
+			final Object[] os = latest;
 			
 			int missed = 1;
 			
 			for (;;) {
+
+				if (emptySourceCompleted && checkTerminated(true, true, a, q)) {
+					return;
+				}
 				
 				long r = requested;
 				long e = 0L;
@@ -376,7 +359,7 @@ final class FluxCombineLatest<T, R>
 				while (e != r) {
 					boolean d = done;
 					
-					SourceAndArray v = q.poll();
+					SourceAndValue v = q.poll();
 					
 					boolean empty = v == null;
 					
@@ -388,10 +371,21 @@ final class FluxCombineLatest<T, R>
 						break;
 					}
 					
+					int index = v.source.index;
+					if (os[index] == null) {
+						nonEmptySources++;
+					}
+					os[index] = v.value;
+					
+					if (nonEmptySources != os.length) {
+						v.source.requestOne();
+						continue;
+					}
+					
 					R w;
 					
 					try {
-						w = combiner.apply(v.array);
+						w = combiner.apply(os.clone());
 					} catch (Throwable ex) {
 						innerError(Exceptions.unwrap(ex));
 						Exceptions.throwIfFatal(ex);
@@ -481,6 +475,7 @@ final class FluxCombineLatest<T, R>
 
 		int produced;
 		
+		boolean hasValue;
 		
 		public CombineLatestInner(CombineLatestCoordinator<T, ?> parent, int index, int bufferSize) {
 			this.parent = parent;
@@ -525,7 +520,8 @@ final class FluxCombineLatest<T, R>
 
 		@Override
 		public void onNext(T t) {
-			parent.innerValue(index, t);
+			hasValue = true;
+			parent.innerValue(this, t);
 		}
 
 		@Override
@@ -535,7 +531,7 @@ final class FluxCombineLatest<T, R>
 
 		@Override
 		public void onComplete() {
-			parent.innerComplete(index);
+			parent.innerComplete(this);
 		}
 		
 		public void cancel() {
@@ -614,13 +610,13 @@ final class FluxCombineLatest<T, R>
 	/**
 	 * The queue element type for internal use with StreamCombineLatest.
 	 */
-	public static final class SourceAndArray {
+	public static final class SourceAndValue {
 		final CombineLatestInner<?> source;
-		final Object[] array;
+		final Object value;
 		
-		SourceAndArray(CombineLatestInner<?> source, Object[] array) {
+		SourceAndValue(CombineLatestInner<?> source, Object value) {
 			this.source = source;
-			this.array = array;
+			this.value = value;
 		}
 	}
 }
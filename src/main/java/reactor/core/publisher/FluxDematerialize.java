@@ -36,23 +36,47 @@ final class FluxDematerialize<T> extends FluxSource<Signal<T>, T> {
 
 	static final class DematerializeAction<T> extends SubscriberBarrier<Signal<T>, T> {
 
+		boolean done;
+
 		public DematerializeAction(Subscriber<? super T> subscriber) {
 			super(subscriber);
 		}
 
 		@Override
 		protected void doNext(Signal<T> ev) {
-			if(!ev.isOnSubscribe()){
+			if(!done && !ev.isOnSubscribe()){
 				if(ev.isOnNext()){
-					subscriber.onNext(ev.get());
+					T t = ev.get();
+					if (ev.isRecyclable()) {
+						ev.recycle(null);
+					}
+					subscriber.onNext(t);
 				}else if(ev.isOnComplete()){
+					done = true;
 					cancel();
 					subscriber.onComplete();
 				}else{
+					done = true;
 					cancel();
 					subscriber.onError(ev.getThrowable());
 				}
 			}
 		}
+
+		@Override
+		protected void doError(Throwable throwable) {
+			if (!done) {
+				done = true;
+				subscriber.onError(throwable);
+			}
+		}
+
+		@Override
+		protected void doComplete() {
+			if (!done) {
+				done = true;
+				subscriber.onComplete();
+			}
+		}
 	}
 }
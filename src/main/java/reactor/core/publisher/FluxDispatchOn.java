@@ -15,6 +15,7 @@
  */
 package reactor.core.publisher;
 
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.Callable;
@@ -54,6 +55,12 @@ import reactor.core.util.Exceptions;
  */
 final class FluxDispatchOn<T> extends FluxSource<T, T> implements Loopback {
 
+	/**
+	 * The maximum number of values drained at once from a SYNC-fused source supporting
+	 * {@link Fuseable#BATCH} polls.
+	 */
+	static final int SYNC_BATCH_SIZE = 32;
+
 	final Callable<? extends Consumer<Runnable>> schedulerFactory;
 	
 	final boolean delayError;
@@ -171,7 +178,10 @@ final class FluxDispatchOn<T> extends FluxSource<T, T> implements Loopback {
 		int sourceMode;
 		
 		long produced;
-		
+
+		/** Drain buffer for the SYNC-fused source, lazily allocated by the first run. */
+		Object[] batch;
+
 		public DispatchOnSubscriber(
 				Subscriber<? super T> actual,
 				Consumer<Runnable> scheduler,
@@ -199,7 +209,7 @@ final class FluxDispatchOn<T> extends FluxSource<T, T> implements Loopback {
 					@SuppressWarnings("unchecked")
 					Fuseable.QueueSubscription<T> f = (Fuseable.QueueSubscription<T>) s;
 
-					int m = f.requestFusion(Fuseable.ANY | Fuseable.THREAD_BARRIER);
+					int m = f.requestFusion(Fuseable.ANY | Fuseable.THREAD_BARRIER | Fuseable.BATCH);
 					
 					if (m == Fuseable.SYNC) {
 						sourceMode = Fuseable.SYNC;
@@ -305,11 +315,18 @@ final class FluxDispatchOn<T> extends FluxSource<T, T> implements Loopback {
 			scheduler.accept(this);
 		}
 
+		@SuppressWarnings("unchecked")
 		void runSync() {
 			int missed = 1;
 
 			final Subscriber<? super T> a = actual;
-			final Queue<T> q = queue;
+			final Fuseable.QueueSubscription<T> q = (Fuseable.QueueSubscription<T>) queue;
+
+			Object[] b = batch;
+			if (b == null) {
+				b = new Object[Math.min(prefetch, SYNC_BATCH_SIZE)];
+				batch = b;
+			}
 
 			long e = produced;
 
@@ -318,10 +335,10 @@ final class FluxDispatchOn<T> extends FluxSource<T, T> implements Loopback {
 				long r = requested;
 
 				while (e != r) {
-					T v;
+					int n;
 
 					try {
-						v = q.poll();
+						n = q.poll(b, (int) Math.min(r - e, b.length));
 					} catch (Throwable ex) {
 						Exceptions.throwIfFatal(ex);
 						scheduler.accept(null);
@@ -331,18 +348,30 @@ final class FluxDispatchOn<T> extends FluxSource<T, T> implements Loopback {
 					}
 
 					if (cancelled) {
+						Arrays.fill(b, 0, n, null);
 						scheduler.accept(null);
 						return;
 					}
-					if (v == null) {
+					if (n == 0) {
 						scheduler.accept(null);
 						a.onComplete();
 						return;
 					}
 
-					a.onNext(v);
+					for (int i = 0; i < n; i++) {
+						T v = (T) b[i];
+						b[i] = null;
 
-					e++;
+						a.onNext(v);
+
+						if (cancelled) {
+							Arrays.fill(b, i + 1, n, null);
+							scheduler.accept(null);
+							return;
+						}
+					}
+
+					e += n;
 				}
 
 				if (e == r) {
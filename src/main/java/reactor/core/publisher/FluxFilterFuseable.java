@@ -15,6 +15,7 @@
  */
 package reactor.core.publisher;
 
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.function.Predicate;
 
@@ -77,6 +78,12 @@ final class FluxFilterFuseable<T> extends FluxSource<T, T>
 		
 		int sourceMode;
 
+		/**
+		 * A predicate failure raised in the middle of a batch poll, thrown by the next poll once the values accepted
+		 * before it have been handed over
+		 */
+		RuntimeException failure;
+
 		/** Running with regular, arbitrary source. */
 		static final int NORMAL = 0;
 		/** Running with a source that implements SynchronousSource. */
@@ -219,6 +226,7 @@ final class FluxFilterFuseable<T> extends FluxSource<T, T>
 
 		@Override
 		public T poll() {
+			throwFailure();
 			if (sourceMode == ASYNC) {
 				long dropped = 0;
 				for (;;) {
@@ -243,8 +251,64 @@ final class FluxFilterFuseable<T> extends FluxSource<T, T>
 			}
 		}
 
+		@Override
+		@SuppressWarnings("unchecked")
+		public int poll(Object[] buffer, int max) {
+			throwFailure();
+			long dropped = 0;
+			for (;;) {
+				int n = s.poll(buffer, max);
+				if (n == 0) {
+					if (dropped != 0 && sourceMode == ASYNC) {
+						request(dropped);
+					}
+					return 0;
+				}
+				int k = 0;
+				for (int i = 0; i < n; i++) {
+					T v = (T)buffer[i];
+					buffer[i] = null;
+					boolean b;
+					try {
+						b = predicate.test(v);
+					}
+					catch (RuntimeException e) {
+						if (k == 0) {
+							throw e;
+						}
+						//cut the batch at the failing value so the values accepted so far are not lost
+						Arrays.fill(buffer, i + 1, n, null);
+						failure = e;
+						return k;
+					}
+					if (b) {
+						buffer[k++] = v;
+					}
+				}
+				dropped += n - k;
+				if (k != 0) {
+					if (dropped != 0 && sourceMode == ASYNC) {
+						request(dropped);
+					}
+					return k;
+				}
+			}
+		}
+
+		void throwFailure() {
+			RuntimeException e = failure;
+			if (e != null) {
+				failure = null;
+				throw e;
+			}
+		}
+
 		@Override
 		public T peek() {
+			RuntimeException e = failure;
+			if (e != null) {
+				throw e;
+			}
 			if (sourceMode == ASYNC) {
 				long dropped = 0;
 				for (;;) {
@@ -278,6 +342,7 @@ final class FluxFilterFuseable<T> extends FluxSource<T, T>
 
 		@Override
 		public void clear() {
+			failure = null;
 			s.clear();
 		}
 		
@@ -291,7 +356,7 @@ final class FluxFilterFuseable<T> extends FluxSource<T, T>
 			int m;
 			if ((requestedMode & Fuseable.THREAD_BARRIER) != 0) {
 				if ((requestedMode & Fuseable.SYNC) != 0) {
-					m = s.requestFusion(Fuseable.SYNC);
+					m = s.requestFusion(Fuseable.SYNC | (requestedMode & Fuseable.BATCH));
 				} else {
 					m = Fuseable.NONE;
 				}
@@ -320,6 +385,12 @@ final class FluxFilterFuseable<T> extends FluxSource<T, T>
 		
 		int sourceMode;
 
+		/**
+		 * A predicate failure raised in the middle of a batch poll, thrown by the next poll once the values accepted
+		 * before it have been handed over
+		 */
+		RuntimeException failure;
+
 		public FilterFuseableConditionalSubscriber(ConditionalSubscriber<? super T> actual, Predicate<? super T> predicate) {
 			this.actual = actual;
 			this.predicate = predicate;
@@ -454,6 +525,7 @@ final class FluxFilterFuseable<T> extends FluxSource<T, T>
 
 		@Override
 		public T poll() {
+			throwFailure();
 			if (sourceMode == ASYNC) {
 				long dropped = 0;
 				for (;;) {
@@ -478,8 +550,64 @@ final class FluxFilterFuseable<T> extends FluxSource<T, T>
 			}
 		}
 
+		@Override
+		@SuppressWarnings("unchecked")
+		public int poll(Object[] buffer, int max) {
+			throwFailure();
+			long dropped = 0;
+			for (;;) {
+				int n = s.poll(buffer, max);
+				if (n == 0) {
+					if (dropped != 0 && sourceMode == ASYNC) {
+						request(dropped);
+					}
+					return 0;
+				}
+				int k = 0;
+				for (int i = 0; i < n; i++) {
+					T v = (T)buffer[i];
+					buffer[i] = null;
+					boolean b;
+					try {
+						b = predicate.test(v);
+					}
+					catch (RuntimeException e) {
+						if (k == 0) {
+							throw e;
+						}
+						//cut the batch at the failing value so the values accepted so far are not lost
+						Arrays.fill(buffer, i + 1, n, null);
+						failure = e;
+						return k;
+					}
+					if (b) {
+						buffer[k++] = v;
+					}
+				}
+				dropped += n - k;
+				if (k != 0) {
+					if (dropped != 0 && sourceMode == ASYNC) {
+						request(dropped);
+					}
+					return k;
+				}
+			}
+		}
+
+		void throwFailure() {
+			RuntimeException e = failure;
+			if (e != null) {
+				failure = null;
+				throw e;
+			}
+		}
+
 		@Override
 		public T peek() {
+			RuntimeException e = failure;
+			if (e != null) {
+				throw e;
+			}
 			if (sourceMode == ASYNC) {
 				long dropped = 0;
 				for (;;) {
@@ -513,6 +641,7 @@ final class FluxFilterFuseable<T> extends FluxSource<T, T>
 
 		@Override
 		public void clear() {
+			failure = null;
 			s.clear();
 		}
 		
@@ -531,7 +660,7 @@ final class FluxFilterFuseable<T> extends FluxSource<T, T>
 			int m;
 			if ((requestedMode & Fuseable.THREAD_BARRIER) != 0) {
 				if ((requestedMode & Fuseable.SYNC) != 0) {
-					m = s.requestFusion(Fuseable.SYNC);
+					m = s.requestFusion(Fuseable.SYNC | (requestedMode & Fuseable.BATCH));
 				} else {
 					m = Fuseable.NONE;
 				}
@@ -19,6 +19,7 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -392,6 +393,22 @@ final class FluxFlatMap<T, R> extends FluxSource<T, R> {
 					return;
 				}
 				emitScalar(v);
+			} else if (p instanceof Callable) {
+				R v;
+				try {
+					v = ((Callable<R>)p).call();
+				} catch (Throwable e) {
+					Exceptions.throwIfFatal(e);
+					s.cancel();
+					onError(Exceptions.unwrap(e));
+					return;
+				}
+				if (v == null) {
+					s.cancel();
+					onError(new NullPointerException("The callable returned null"));
+					return;
+				}
+				emitScalar(v);
 			} else {
 				FlatMapInner<R> inner = new FlatMapInner<>(this, prefetch, unique++);
 				if (add(inner)) {
@@ -417,8 +434,10 @@ final class FluxFlatMap<T, R> extends FluxSource<T, R> {
 			}
 			if (wip == 0 && WIP.compareAndSet(this, 0, 1)) {
 				long r = requested;
+				Queue<R> sq = scalarQueue;
 
-				if (r != 0L) {
+				//emit directly unless previous scalars are still queued
+				if (r != 0L && (sq == null || sq.isEmpty())) {
 					actual.onNext(v);
 
 					if (r != Long.MAX_VALUE) {
@@ -467,6 +486,10 @@ final class FluxFlatMap<T, R> extends FluxSource<T, R> {
 						drainLoop();
 						return;
 					}
+					if (r != 0L) {
+						drainLoop();
+						return;
+					}
 				}
 				if (WIP.decrementAndGet(this) == 0) {
 					return;
@@ -0,0 +1,630 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.flow.Fuseable;
+import reactor.core.flow.Producer;
+import reactor.core.flow.Receiver;
+import reactor.core.queue.QueueSupplier;
+import reactor.core.state.Backpressurable;
+import reactor.core.state.Cancellable;
+import reactor.core.state.Completable;
+import reactor.core.state.Requestable;
+import reactor.core.util.BackpressureUtils;
+import reactor.core.util.CancelledSubscription;
+import reactor.core.util.Exceptions;
+
+/**
+ * Maps each upstream value into a Publisher, subscribes to up to a maximum number of them eagerly and emits their
+ * values in the order of the upstream values.
+ * <p>
+ * Each inner Publisher is prefetched into its own single-producer single-consumer queue while the inner in front
+ * is being drained, so the ordered sequence does not wait for an inner to be subscribed once its predecessors
+ * complete.
+ *
+ * @param <T> the source value type
+ * @param <R> the output value type
+ * @since 2.5
+ */
+final class FluxFlatMapSequential<T, R> extends FluxSource<T, R> {
+
+	final Function<? super T, ? extends Publisher<? extends R>> mapper;
+
+	final int maxConcurrency;
+
+	final int prefetch;
+
+	final boolean delayError;
+
+	final Supplier<? extends Queue<R>> innerQueueSupplier;
+
+	public FluxFlatMapSequential(Publisher<? extends T> source,
+			Function<? super T, ? extends Publisher<? extends R>> mapper,
+			int maxConcurrency,
+			int prefetch,
+			boolean delayError,
+			Supplier<? extends Queue<R>> innerQueueSupplier) {
+		super(source);
+		if (maxConcurrency <= 0) {
+			throw new IllegalArgumentException("maxConcurrency > 0 required but it was " + maxConcurrency);
+		}
+		if (prefetch <= 0) {
+			throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+		}
+		this.mapper = Objects.requireNonNull(mapper, "mapper");
+		this.maxConcurrency = maxConcurrency;
+		this.prefetch = prefetch;
+		this.delayError = delayError;
+		this.innerQueueSupplier = Objects.requireNonNull(innerQueueSupplier, "innerQueueSupplier");
+	}
+
+	@Override
+	public long getCapacity() {
+		return prefetch;
+	}
+
+	@Override
+	public void subscribe(Subscriber<? super R> s) {
+		if (FluxFlatMap.trySubscribeScalarMap(source, s, mapper)) {
+			return;
+		}
+
+		source.subscribe(new FlatMapSequentialMain<>(s, mapper, maxConcurrency, prefetch, delayError,
+				innerQueueSupplier));
+	}
+
+	static final class FlatMapSequentialMain<T, R>
+			implements Subscriber<T>, Subscription, Producer, Receiver, Completable, Cancellable, Requestable,
+			           Backpressurable {
+
+		final Subscriber<? super R> actual;
+
+		final Function<? super T, ? extends Publisher<? extends R>> mapper;
+
+		final int maxConcurrency;
+
+		final int prefetch;
+
+		final boolean delayError;
+
+		final Supplier<? extends Queue<R>> innerQueueSupplier;
+
+		/**
+		 * The subscribed inners in upstream order, offered by onNext and polled by the drain loop
+		 */
+		final Queue<FlatMapSequentialInner<R>> subscribers;
+
+		/**
+		 * The inner being emitted, only accessed by the drain loop
+		 */
+		FlatMapSequentialInner<R> current;
+
+		Subscription s;
+
+		volatile boolean done;
+
+		volatile boolean cancelled;
+
+		volatile Throwable error;
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<FlatMapSequentialMain, Throwable> ERROR =
+				AtomicReferenceFieldUpdater.newUpdater(FlatMapSequentialMain.class, Throwable.class, "error");
+
+		volatile int wip;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<FlatMapSequentialMain> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(FlatMapSequentialMain.class, "wip");
+
+		volatile long requested;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<FlatMapSequentialMain> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(FlatMapSequentialMain.class, "requested");
+
+		FlatMapSequentialMain(Subscriber<? super R> actual,
+				Function<? super T, ? extends Publisher<? extends R>> mapper,
+				int maxConcurrency,
+				int prefetch,
+				boolean delayError,
+				Supplier<? extends Queue<R>> innerQueueSupplier) {
+			this.actual = actual;
+			this.mapper = mapper;
+			this.maxConcurrency = maxConcurrency;
+			this.prefetch = prefetch;
+			this.delayError = delayError;
+			this.innerQueueSupplier = innerQueueSupplier;
+			this.subscribers = QueueSupplier.<FlatMapSequentialInner<R>>unbounded().get();
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (BackpressureUtils.validate(this.s, s)) {
+				this.s = s;
+
+				actual.onSubscribe(this);
+
+				s.request(maxConcurrency == Integer.MAX_VALUE ? Long.MAX_VALUE : maxConcurrency);
+			}
+		}
+
+		@Override
+		public void onNext(T t) {
+			if (done) {
+				Exceptions.onNextDropped(t);
+				return;
+			}
+
+			Publisher<? extends R> p;
+
+			try {
+				p = mapper.apply(t);
+			}
+			catch (Throwable e) {
+				Exceptions.throwIfFatal(e);
+				s.cancel();
+				onError(Exceptions.unwrap(e));
+				return;
+			}
+
+			if (p == null) {
+				s.cancel();
+				onError(new NullPointerException("The mapper returned a null Publisher"));
+				return;
+			}
+
+			FlatMapSequentialInner<R> inner = new FlatMapSequentialInner<>(this, prefetch);
+
+			if (cancelled) {
+				return;
+			}
+
+			subscribers.offer(inner);
+
+			if (cancelled) {
+				// the drain loop cancels the inners offered so far
+				drain();
+				return;
+			}
+
+			p.subscribe(inner);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (done) {
+				Exceptions.onErrorDropped(t);
+				return;
+			}
+			if (Exceptions.addThrowable(ERROR, this, t)) {
+				done = true;
+				drain();
+			}
+			else {
+				Exceptions.onErrorDropped(t);
+			}
+		}
+
+		@Override
+		public void onComplete() {
+			if (done) {
+				return;
+			}
+			done = true;
+			drain();
+		}
+
+		@Override
+		public void request(long n) {
+			if (BackpressureUtils.validate(n)) {
+				BackpressureUtils.getAndAdd(REQUESTED, this, n);
+				drain();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			if (cancelled) {
+				return;
+			}
+			cancelled = true;
+			s.cancel();
+
+			if (WIP.getAndIncrement(this) == 0) {
+				cancelAll();
+			}
+		}
+
+		void cancelAll() {
+			FlatMapSequentialInner<R> inner = current;
+			current = null;
+			if (inner != null) {
+				inner.cancel();
+			}
+
+			while ((inner = subscribers.poll()) != null) {
+				inner.cancel();
+			}
+		}
+
+		void innerNext(FlatMapSequentialInner<R> inner, R value) {
+			if (!inner.queue.offer(value)) {
+				inner.cancel();
+				innerError(inner, Exceptions.failWithOverflow());
+				return;
+			}
+			drain();
+		}
+
+		void innerError(FlatMapSequentialInner<R> inner, Throwable e) {
+			if (Exceptions.addThrowable(ERROR, this, e)) {
+				inner.done = true;
+				if (!delayError) {
+					s.cancel();
+				}
+				drain();
+			}
+			else {
+				Exceptions.onErrorDropped(e);
+			}
+		}
+
+		void innerComplete(FlatMapSequentialInner<R> inner) {
+			inner.done = true;
+			drain();
+		}
+
+		void drain() {
+			if (WIP.getAndIncrement(this) != 0) {
+				return;
+			}
+
+			int missed = 1;
+
+			final Subscriber<? super R> a = actual;
+
+			for (;;) {
+
+				if (cancelled) {
+					cancelAll();
+					return;
+				}
+
+				FlatMapSequentialInner<R> inner = current;
+
+				if (inner == null) {
+					if (!delayError && error != null) {
+						terminateError(a);
+						return;
+					}
+
+					boolean d = done;
+
+					inner = subscribers.poll();
+
+					if (d && inner == null) {
+						Throwable e = Exceptions.terminate(ERROR, this);
+						if (e != null) {
+							a.onError(e);
+						}
+						else {
+							a.onComplete();
+						}
+						return;
+					}
+
+					current = inner;
+				}
+
+				boolean nextSource = false;
+
+				if (inner != null) {
+					if (!delayError && error != null) {
+						terminateError(a);
+						return;
+					}
+
+					Queue<R> q = inner.queue;
+
+					if (q != null) {
+						long r = requested;
+						long e = 0L;
+
+						while (e != r) {
+							if (cancelled) {
+								cancelAll();
+								return;
+							}
+
+							if (!delayError && error != null) {
+								terminateError(a);
+								return;
+							}
+
+							boolean d = inner.done;
+
+							R v;
+
+							try {
+								v = q.poll();
+							}
+							catch (Throwable ex) {
+								Exceptions.throwIfFatal(ex);
+								Exceptions.addThrowable(ERROR, this, Exceptions.unwrap(ex));
+								terminateError(a);
+								return;
+							}
+
+							boolean empty = v == null;
+
+							if (d && empty) {
+								nextSource = true;
+								break;
+							}
+
+							if (empty) {
+								break;
+							}
+
+							a.onNext(v);
+
+							e++;
+
+							inner.requestOne();
+						}
+
+						if (e == r) {
+							if (cancelled) {
+								cancelAll();
+								return;
+							}
+
+							if (!delayError && error != null) {
+								terminateError(a);
+								return;
+							}
+
+							if (inner.done && q.isEmpty()) {
+								nextSource = true;
+							}
+						}
+
+						if (e != 0L && r != Long.MAX_VALUE) {
+							REQUESTED.addAndGet(this, -e);
+						}
+					}
+					else if (inner.done && inner.queue == null) {
+						// failed before a queue could be established
+						nextSource = true;
+					}
+				}
+
+				if (nextSource) {
+					current = null;
+					if (maxConcurrency != Integer.MAX_VALUE) {
+						s.request(1);
+					}
+					continue;
+				}
+
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+
+		void terminateError(Subscriber<? super R> a) {
+			s.cancel();
+			cancelAll();
+			a.onError(Exceptions.terminate(ERROR, this));
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		@Override
+		public boolean isStarted() {
+			return s != null && !done && !cancelled;
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return done;
+		}
+
+		@Override
+		public long getCapacity() {
+			return maxConcurrency;
+		}
+
+		@Override
+		public long getPending() {
+			return subscribers.size();
+		}
+
+		@Override
+		public long requestedFromDownstream() {
+			return requested;
+		}
+
+		@Override
+		public Object downstream() {
+			return actual;
+		}
+
+		@Override
+		public Object upstream() {
+			return s;
+		}
+	}
+
+	static final class FlatMapSequentialInner<R>
+			implements Subscriber<R>, Receiver, Completable, Cancellable, Backpressurable {
+
+		final FlatMapSequentialMain<?, R> parent;
+
+		final int prefetch;
+
+		final int limit;
+
+		volatile Subscription s;
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<FlatMapSequentialInner, Subscription> S =
+				AtomicReferenceFieldUpdater.newUpdater(FlatMapSequentialInner.class, Subscription.class, "s");
+
+		volatile Queue<R> queue;
+
+		volatile boolean done;
+
+		/**
+		 * The fusion mode established with the inner source, {@link Fuseable#NONE} if not fused
+		 */
+		int sourceMode;
+
+		long produced;
+
+		FlatMapSequentialInner(FlatMapSequentialMain<?, R> parent, int prefetch) {
+			this.parent = parent;
+			this.prefetch = prefetch;
+			this.limit = prefetch - (prefetch >> 2);
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (BackpressureUtils.setOnce(S, this, s)) {
+				if (s instanceof Fuseable.QueueSubscription) {
+					@SuppressWarnings("unchecked") Fuseable.QueueSubscription<R> f =
+							(Fuseable.QueueSubscription<R>) s;
+
+					int m = f.requestFusion(Fuseable.ANY);
+					if (m == Fuseable.SYNC) {
+						sourceMode = m;
+						queue = f;
+						parent.innerComplete(this);
+						return;
+					}
+					if (m == Fuseable.ASYNC) {
+						sourceMode = m;
+						queue = f;
+						s.request(prefetch);
+						return;
+					}
+				}
+
+				Queue<R> q;
+
+				try {
+					q = parent.innerQueueSupplier.get();
+				}
+				catch (Throwable e) {
+					Exceptions.throwIfFatal(e);
+					s.cancel();
+					parent.innerError(this, Exceptions.unwrap(e));
+					return;
+				}
+
+				if (q == null) {
+					s.cancel();
+					parent.innerError(this, new NullPointerException("The innerQueueSupplier returned a null queue"));
+					return;
+				}
+
+				queue = q;
+				s.request(prefetch);
+			}
+		}
+
+		@Override
+		public void onNext(R t) {
+			if (sourceMode == Fuseable.ASYNC) {
+				parent.drain();
+			}
+			else {
+				parent.innerNext(this, t);
+			}
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			parent.innerError(this, t);
+		}
+
+		@Override
+		public void onComplete() {
+			parent.innerComplete(this);
+		}
+
+		void requestOne() {
+			if (sourceMode != Fuseable.SYNC) {
+				long p = produced + 1;
+				if (p == limit) {
+					produced = 0L;
+					s.request(p);
+				}
+				else {
+					produced = p;
+				}
+			}
+		}
+
+		void cancel() {
+			BackpressureUtils.terminate(S, this);
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return s == CancelledSubscription.INSTANCE;
+		}
+
+		@Override
+		public boolean isStarted() {
+			return s != null && !done;
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return done;
+		}
+
+		@Override
+		public long getCapacity() {
+			return prefetch;
+		}
+
+		@Override
+		public long getPending() {
+			Queue<R> q = queue;
+			return done || q == null ? -1L : q.size();
+		}
+
+		@Override
+		public Object upstream() {
+			return s;
+		}
+	}
+}
@@ -16,10 +16,12 @@
 package reactor.core.publisher;
 
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -33,18 +35,25 @@ import reactor.core.flow.Fuseable;
 import reactor.core.flow.MultiProducer;
 import reactor.core.flow.Producer;
 import reactor.core.flow.Receiver;
+import reactor.core.queue.QueueSupplier;
 import reactor.core.state.Backpressurable;
 import reactor.core.state.Cancellable;
 import reactor.core.state.Completable;
 import reactor.core.state.Introspectable;
+import reactor.core.state.Pausable;
 import reactor.core.state.Prefetchable;
 import reactor.core.state.Requestable;
+import reactor.core.timer.Timer;
 import reactor.core.util.BackpressureUtils;
 import reactor.core.util.EmptySubscription;
 import reactor.core.util.Exceptions;
 
 /**
  * Groups upstream items into their own Publisher sequence based on a key selector.
+ * <p>
+ * The number of open groups can be bounded, the least recently active group being completed to make room for a
+ * new key, and groups which did not receive any item for an idle timeout can be completed by a periodic
+ * {@link Timer} sweep. An item for an evicted key opens a new group.
  *
  * @param <T> the source value type
  * @param <K> the key value type
@@ -68,6 +77,12 @@ implements Fuseable, Backpressurable  {
 
 	final int prefetch;
 
+	final int maxGroups;
+
+	final long idleTimeout;
+
+	final Timer timer;
+
 	public FluxGroupBy(
 			Publisher<? extends T> source, 
 			Function<? super T, ? extends K> keySelector,
@@ -75,10 +90,33 @@ implements Fuseable, Backpressurable  {
 			Supplier<? extends Queue<GroupedFlux<K, V>>> mainQueueSupplier,
 			Supplier<? extends Queue<V>> groupQueueSupplier, 
 			int prefetch) {
+		this(source, keySelector, valueSelector, mainQueueSupplier, groupQueueSupplier, prefetch,
+				Integer.MAX_VALUE, 0L, null);
+	}
+
+	public FluxGroupBy(
+			Publisher<? extends T> source,
+			Function<? super T, ? extends K> keySelector,
+			Function<? super T, ? extends V> valueSelector,
+			Supplier<? extends Queue<GroupedFlux<K, V>>> mainQueueSupplier,
+			Supplier<? extends Queue<V>> groupQueueSupplier,
+			int prefetch,
+			int maxGroups,
+			long idleTimeout,
+			Timer timer) {
 		super(source);
 		if (prefetch <= 0) {
 			throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
 		}
+		if (maxGroups <= 0) {
+			throw new IllegalArgumentException("maxGroups > 0 required but it was " + maxGroups);
+		}
+		if (timer != null && idleTimeout <= 0L) {
+			throw new IllegalArgumentException("idleTimeout > 0 required but it was " + idleTimeout);
+		}
+		this.maxGroups = maxGroups;
+		this.idleTimeout = idleTimeout;
+		this.timer = timer;
 		this.keySelector = Objects.requireNonNull(keySelector, "keySelector");
 		this.valueSelector = Objects.requireNonNull(valueSelector, "valueSelector");
 		this.mainQueueSupplier = Objects.requireNonNull(mainQueueSupplier, "mainQueueSupplier");
@@ -103,7 +141,8 @@ implements Fuseable, Backpressurable  {
 			return;
 		}
 		
-		source.subscribe(new GroupByMain<>(s, q, groupQueueSupplier, prefetch, keySelector, valueSelector));
+		source.subscribe(new GroupByMain<>(s, q, groupQueueSupplier, prefetch, keySelector, valueSelector,
+				maxGroups, idleTimeout, timer));
 	}
 
 	@Override
@@ -128,6 +167,39 @@ implements Fuseable, Backpressurable  {
 		final int prefetch;
 		
 		final ConcurrentMap<K, UnicastGroupedFlux<K, V>> groupMap;
+
+		final int maxGroups;
+
+		final long idleTimeout;
+
+		final Timer timer;
+
+		/**
+		 * The open groups in least recently active first order, only maintained when the groups are bounded or
+		 * evicted when idle and only accessed while dispatching.
+		 */
+		final LinkedHashMap<K, UnicastGroupedFlux<K, V>> activity;
+
+		/**
+		 * Items received while the timer sweeps the idle groups, only used if an idle timeout is set.
+		 */
+		final Queue<T> pending;
+
+		/**
+		 * The number of idle sweeps so far, only accessed while dispatching.
+		 */
+		long tick;
+
+		volatile boolean sweepRequested;
+
+		volatile boolean upstreamDone;
+
+		volatile Pausable sweepTask;
+
+		volatile int dispatching;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<GroupByMain> DISPATCHING =
+				AtomicIntegerFieldUpdater.newUpdater(GroupByMain.class, "dispatching");
 		
 		volatile int wip;
 		@SuppressWarnings("rawtypes")
@@ -165,7 +237,10 @@ implements Fuseable, Backpressurable  {
 				Supplier<? extends Queue<V>> groupQueueSupplier, 
 				int prefetch,
 				Function<? super T, ? extends K> keySelector,
-				Function<? super T, ? extends V> valueSelector
+				Function<? super T, ? extends V> valueSelector,
+				int maxGroups,
+				long idleTimeout,
+				Timer timer
 				) {
 			this.actual = actual;
 			this.queue = queue;
@@ -174,6 +249,16 @@ implements Fuseable, Backpressurable  {
 			this.groupMap = new ConcurrentHashMap<>();
 			this.keySelector = keySelector;
 			this.valueSelector = valueSelector;
+			this.maxGroups = maxGroups;
+			this.idleTimeout = idleTimeout;
+			this.timer = timer;
+			if (maxGroups != Integer.MAX_VALUE || timer != null) {
+				this.activity = new LinkedHashMap<>(16, 0.75f, true);
+			}
+			else {
+				this.activity = null;
+			}
+			this.pending = timer != null ? QueueSupplier.<T>unbounded().get() : null;
 			GROUP_COUNT.lazySet(this, 1);
 		}
 
@@ -182,12 +267,144 @@ implements Fuseable, Backpressurable  {
 			if (BackpressureUtils.validate(this.s, s)) {
 				this.s = s;
 				actual.onSubscribe(this);
+				if (timer != null) {
+					try {
+						sweepTask = timer.schedule(n -> requestSweep(), idleTimeout, idleTimeout);
+					}
+					catch (Exceptions.CancelException ce) {
+						//the timer has been cancelled, throwIfFatal would rethrow this upstream exception
+						s.cancel();
+						onError(new RejectedExecutionException("The timer has been cancelled"));
+						return;
+					}
+					catch (Throwable e) {
+						Exceptions.throwIfFatal(e);
+						s.cancel();
+						onError(Exceptions.unwrap(e));
+						return;
+					}
+				}
 				s.request(prefetch);
 			}
 		}
-		
+
 		@Override
 		public void onNext(T t) {
+			if (pending == null) {
+				dispatch(t);
+				return;
+			}
+
+			//dispatch directly if the timer is not sweeping, otherwise hand over to the current dispatcher
+			if (dispatching == 0 && DISPATCHING.compareAndSet(this, 0, 1)) {
+				dispatch(t);
+				if (DISPATCHING.decrementAndGet(this) == 0) {
+					return;
+				}
+			}
+			else {
+				pending.offer(t);
+				if (DISPATCHING.getAndIncrement(this) != 0) {
+					return;
+				}
+			}
+			dispatchLoop();
+		}
+
+		void requestSweep() {
+			sweepRequested = true;
+			requestDispatch();
+		}
+
+		void requestDispatch() {
+			if (DISPATCHING.getAndIncrement(this) == 0) {
+				dispatchLoop();
+			}
+		}
+
+		/**
+		 * Serialize the upstream signals and the timer sweeps on the groups, whichever thread wins the dispatching
+		 * counter dispatches on behalf of the other.
+		 */
+		void dispatchLoop() {
+			int missed = 1;
+			final Queue<T> q = pending;
+
+			for (;;) {
+				T t;
+				while ((t = q.poll()) != null) {
+					dispatch(t);
+				}
+
+				if (sweepRequested) {
+					sweepRequested = false;
+					if (!done) {
+						sweep();
+					}
+				}
+
+				if (upstreamDone && !done) {
+					done = true;
+					if (enableAsyncFusion && error == null) {
+						signalAsyncComplete();
+					}
+					else {
+						drain();
+					}
+				}
+
+				missed = DISPATCHING.addAndGet(this, -missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+
+		/**
+		 * Complete the groups which did not receive any item since the previous sweep.
+		 */
+		void sweep() {
+			long t = ++tick;
+			Iterator<UnicastGroupedFlux<K, V>> it = activity.values().iterator();
+			while (it.hasNext()) {
+				UnicastGroupedFlux<K, V> g = it.next();
+				if (g.terminated == 0 && g.lastTick > t - 2) {
+					break;
+				}
+				it.remove();
+				g.onComplete();
+			}
+		}
+
+		/**
+		 * Complete the least recently active groups until a new group can be opened.
+		 */
+		void evictOverflow() {
+			LinkedHashMap<K, UnicastGroupedFlux<K, V>> m = activity;
+			if (m.size() < maxGroups) {
+				return;
+			}
+			if (m.size() > groupMap.size()) {
+				// purge the groups cancelled by their subscriber before evicting an active one
+				m.values().removeIf(g -> g.terminated != 0);
+			}
+			Iterator<UnicastGroupedFlux<K, V>> it = m.values().iterator();
+			while (m.size() >= maxGroups && it.hasNext()) {
+				UnicastGroupedFlux<K, V> g = it.next();
+				it.remove();
+				g.onComplete();
+			}
+		}
+
+		void cancelSweep() {
+			Pausable p = sweepTask;
+			if (p != null) {
+				sweepTask = null;
+				p.cancel();
+			}
+		}
+
+		void dispatch(T t) {
 			K key;
 			V value;
 			
@@ -237,6 +454,10 @@ implements Fuseable, Backpressurable  {
 			if (g == null) {
 				// if the main is cancelled, don't create new groups
 				if (cancelled == 0) {
+					if (activity != null) {
+						evictOverflow();
+					}
+
 					Queue<V> q;
 					
 					try {
@@ -259,6 +480,10 @@ implements Fuseable, Backpressurable  {
 					g = new UnicastGroupedFlux<>(key, q, this, prefetch);
 					g.onNext(value);
 					groupMap.put(key, g);
+					if (activity != null) {
+						g.lastTick = tick;
+						activity.put(key, g);
+					}
 					
 					queue.offer(g);
 					if (enableAsyncFusion) {
@@ -268,6 +493,10 @@ implements Fuseable, Backpressurable  {
 					}
 				}
 			} else {
+				if (activity != null) {
+					g.lastTick = tick;
+					activity.get(key);
+				}
 				g.onNext(value);
 			}
 		}
@@ -275,6 +504,11 @@ implements Fuseable, Backpressurable  {
 		@Override
 		public void onError(Throwable t) {
 			if (Exceptions.addThrowable(ERROR, this, t)) {
+				if (pending != null) {
+					upstreamDone = true;
+					requestDispatch();
+					return;
+				}
 				done = true;
 				drain();
 			} else {
@@ -284,6 +518,11 @@ implements Fuseable, Backpressurable  {
 		
 		@Override
 		public void onComplete() {
+			if (pending != null) {
+				upstreamDone = true;
+				requestDispatch();
+				return;
+			}
 			done = true;
 			if (enableAsyncFusion) {
 				signalAsyncComplete();
@@ -348,6 +587,7 @@ implements Fuseable, Backpressurable  {
 		}
 
 		void signalAsyncComplete() {
+			cancelSweep();
 			groupCount = 0;
 			for (UnicastGroupedFlux<K, V> g : groupMap.values()) {
 				g.onComplete();
@@ -358,6 +598,7 @@ implements Fuseable, Backpressurable  {
 
 		void signalAsyncError() {
 			Throwable e = Exceptions.terminate(ERROR, this);
+			cancelSweep();
 			groupCount = 0;
 			for (UnicastGroupedFlux<K, V> g : groupMap.values()) {
 				g.onError(e);
@@ -403,12 +644,13 @@ implements Fuseable, Backpressurable  {
 			}
 		}
 		
-		void groupTerminated(K key) {
+		void groupTerminated(K key, UnicastGroupedFlux<K, V> g) {
 			if (groupCount == 0) {
 				return;
 			}
-			groupMap.remove(key);
+			groupMap.remove(key, g);
 			if (GROUP_COUNT.decrementAndGet(this) == 0) {
+				cancelSweep();
 				s.cancel();
 			}
 		}
@@ -515,7 +757,8 @@ implements Fuseable, Backpressurable  {
 
 		@Override
 		public int requestFusion(int requestedMode) {
-			if (requestedMode == Fuseable.ANY || requestedMode == Fuseable.ASYNC) {
+			int m = requestedMode & ~Fuseable.BATCH;
+			if (m == Fuseable.ANY || m == Fuseable.ASYNC) {
 				enableAsyncFusion = true;
 				return Fuseable.ASYNC;
 			}
@@ -546,10 +789,20 @@ implements Fuseable, Backpressurable  {
 		
 		final Queue<V> queue;
 		
-		volatile GroupByMain<?, K, V> parent;
+		/**
+		 * Kept after termination so the items still buffered by a completed or evicted group replenish the main
+		 */
+		final GroupByMain<?, K, V> parent;
+
+		volatile int terminated;
 		@SuppressWarnings("rawtypes")
-		static final AtomicReferenceFieldUpdater<UnicastGroupedFlux, GroupByMain> PARENT =
-				AtomicReferenceFieldUpdater.newUpdater(UnicastGroupedFlux.class, GroupByMain.class, "parent");
+		static final AtomicIntegerFieldUpdater<UnicastGroupedFlux> TERMINATED =
+				AtomicIntegerFieldUpdater.newUpdater(UnicastGroupedFlux.class, "terminated");
+
+		/**
+		 * The parent idle sweep count when this group last received an item, only accessed while dispatching.
+		 */
+		long lastTick;
 		
 		volatile boolean done;
 		Throwable error;
@@ -588,9 +841,8 @@ implements Fuseable, Backpressurable  {
 		}
 		
 		void doTerminate() {
-			GroupByMain<?, K, V> r = parent;
-			if (r != null && PARENT.compareAndSet(this, r, null)) {
-				r.groupTerminated(key);
+			if (terminated == 0 && TERMINATED.compareAndSet(this, 0, 1)) {
+				parent.groupTerminated(key, this);
 			}
 		}
 		
@@ -350,6 +350,32 @@ final class FluxIterable<T>
 			}
 			return null;
 		}
+
+		@Override
+		public int poll(Object[] buffer, int max) {
+			int n = 0;
+			if (max == 0 || isEmpty()) {
+				return 0;
+			}
+			buffer[n++] = poll();
+
+			Iterator<? extends T> it = iterator;
+			while (n < max) {
+				if (!it.hasNext()) {
+					state = STATE_NO_NEXT;
+					break;
+				}
+				T c = it.next();
+				if (c == null) {
+					//hand over the values before the null one, the next poll fails on it
+					current = null;
+					state = STATE_HAS_NEXT_HAS_VALUE;
+					break;
+				}
+				buffer[n++] = c;
+			}
+			return n;
+		}
 		
 		@Override
 		public void drop() {
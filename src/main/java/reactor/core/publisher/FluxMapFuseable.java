@@ -15,6 +15,7 @@
  */
 package reactor.core.publisher;
 
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.function.Function;
 
@@ -88,6 +89,12 @@ final class FluxMapFuseable<T, R> extends FluxSource<T, R>
 
 		int sourceMode;
 
+		/**
+		 * A mapper failure raised in the middle of a batch poll, thrown by the next poll once the values mapped
+		 * before it have been handed over
+		 */
+		RuntimeException failure;
+
 		public MapFuseableSubscriber(Subscriber<? super R> actual, Function<? super T, ? extends R> mapper) {
 			this.actual = actual;
 			this.mapper = mapper;
@@ -196,6 +203,7 @@ final class FluxMapFuseable<T, R> extends FluxSource<T, R>
 
 		@Override
 		public R poll() {
+			throwFailure();
 			// FIXME maybe should cache the result to avoid mapping twice in case of peek/poll pairs
 			T v = s.poll();
 			if (v != null) {
@@ -208,8 +216,47 @@ final class FluxMapFuseable<T, R> extends FluxSource<T, R>
 			return null;
 		}
 
+		@Override
+		@SuppressWarnings("unchecked")
+		public int poll(Object[] buffer, int max) {
+			throwFailure();
+			int n = s.poll(buffer, max);
+			for (int i = 0; i < n; i++) {
+				R u;
+				try {
+					u = mapper.apply((T)buffer[i]);
+					if (u == null) {
+						throw new NullPointerException("The mapper returned a null value.");
+					}
+				}
+				catch (RuntimeException e) {
+					if (i == 0) {
+						throw e;
+					}
+					//cut the batch at the failing value so the values mapped so far are not lost
+					Arrays.fill(buffer, i, n, null);
+					failure = e;
+					return i;
+				}
+				buffer[i] = u;
+			}
+			return n;
+		}
+
+		void throwFailure() {
+			RuntimeException e = failure;
+			if (e != null) {
+				failure = null;
+				throw e;
+			}
+		}
+
 		@Override
 		public R peek() {
+			RuntimeException e = failure;
+			if (e != null) {
+				throw e;
+			}
 			// FIXME maybe should cache the result to avoid mapping twice in case of peek/poll pairs
 			T v = s.peek();
 			if (v != null) {
@@ -224,11 +271,12 @@ final class FluxMapFuseable<T, R> extends FluxSource<T, R>
 
 		@Override
 		public boolean isEmpty() {
-			return s.isEmpty();
+			return failure == null && s.isEmpty();
 		}
 
 		@Override
 		public void clear() {
+			failure = null;
 			s.clear();
 		}
 
@@ -237,7 +285,7 @@ final class FluxMapFuseable<T, R> extends FluxSource<T, R>
 			int m;
 			if ((requestedMode & Fuseable.THREAD_BARRIER) != 0) {
 				if ((requestedMode & Fuseable.SYNC) != 0) {
-					m = s.requestFusion(Fuseable.SYNC);
+					m = s.requestFusion(Fuseable.SYNC | (requestedMode & Fuseable.BATCH));
 				} else {
 					m = Fuseable.NONE;
 				}
@@ -270,6 +318,12 @@ final class FluxMapFuseable<T, R> extends FluxSource<T, R>
 
 		int sourceMode;
 
+		/**
+		 * A mapper failure raised in the middle of a batch poll, thrown by the next poll once the values mapped
+		 * before it have been handed over
+		 */
+		RuntimeException failure;
+
 		public MapFuseableConditionalSubscriber(ConditionalSubscriber<? super R> actual, Function<? super T, ? extends R> mapper) {
 			this.actual = actual;
 			this.mapper = mapper;
@@ -415,6 +469,7 @@ final class FluxMapFuseable<T, R> extends FluxSource<T, R>
 
 		@Override
 		public R poll() {
+			throwFailure();
 			// FIXME maybe should cache the result to avoid mapping twice in case of peek/poll pairs
 			T v = s.poll();
 			if (v != null) {
@@ -427,8 +482,47 @@ final class FluxMapFuseable<T, R> extends FluxSource<T, R>
 			return null;
 		}
 
+		@Override
+		@SuppressWarnings("unchecked")
+		public int poll(Object[] buffer, int max) {
+			throwFailure();
+			int n = s.poll(buffer, max);
+			for (int i = 0; i < n; i++) {
+				R u;
+				try {
+					u = mapper.apply((T)buffer[i]);
+					if (u == null) {
+						throw new NullPointerException("The mapper returned a null value.");
+					}
+				}
+				catch (RuntimeException e) {
+					if (i == 0) {
+						throw e;
+					}
+					//cut the batch at the failing value so the values mapped so far are not lost
+					Arrays.fill(buffer, i, n, null);
+					failure = e;
+					return i;
+				}
+				buffer[i] = u;
+			}
+			return n;
+		}
+
+		void throwFailure() {
+			RuntimeException e = failure;
+			if (e != null) {
+				failure = null;
+				throw e;
+			}
+		}
+
 		@Override
 		public R peek() {
+			RuntimeException e = failure;
+			if (e != null) {
+				throw e;
+			}
 			// FIXME maybe should cache the result to avoid mapping twice in case of peek/poll pairs
 			T v = s.peek();
 			if (v != null) {
@@ -443,11 +537,12 @@ final class FluxMapFuseable<T, R> extends FluxSource<T, R>
 
 		@Override
 		public boolean isEmpty() {
-			return s.isEmpty();
+			return failure == null && s.isEmpty();
 		}
 
 		@Override
 		public void clear() {
+			failure = null;
 			s.clear();
 		}
 
@@ -456,7 +551,7 @@ final class FluxMapFuseable<T, R> extends FluxSource<T, R>
 			int m;
 			if ((requestedMode & Fuseable.THREAD_BARRIER) != 0) {
 				if ((requestedMode & Fuseable.SYNC) != 0) {
-					m = s.requestFusion(Fuseable.SYNC);
+					m = s.requestFusion(Fuseable.SYNC | (requestedMode & Fuseable.BATCH));
 				} else {
 					m = Fuseable.NONE;
 				}
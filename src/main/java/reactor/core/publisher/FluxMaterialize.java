@@ -26,24 +26,49 @@ import reactor.core.subscriber.SubscriberBarrier;
  */
 final class FluxMaterialize<T> extends FluxSource<T, Signal<T>> {
 
+	final boolean recycle;
+
 	public FluxMaterialize(Publisher<T> source) {
+		this(source, false);
+	}
+
+	public FluxMaterialize(Publisher<T> source, boolean recycle) {
 		super(source);
+		this.recycle = recycle;
 	}
 
 	@Override
 	public void subscribe(Subscriber<? super Signal<T>> subscriber) {
-		source.subscribe(new MaterializeAction<>(subscriber));
+		source.subscribe(new MaterializeAction<>(subscriber, recycle));
 	}
 
 	final static class MaterializeAction<T> extends SubscriberBarrier<T, Signal<T>> {
 
+		/**
+		 * The onNext signal reused for every item in recycle mode, null otherwise
+		 */
+		final Signal<T> next;
+
 		public MaterializeAction(Subscriber<? super Signal<T>> subscriber) {
+			this(subscriber, false);
+		}
+
+		public MaterializeAction(Subscriber<? super Signal<T>> subscriber, boolean recycle) {
 			super(subscriber);
+			this.next = recycle ? Signal.<T>recyclable() : null;
 		}
 
 		@Override
 		protected void doNext(T ev) {
-			subscriber.onNext(Signal.next(ev));
+			Signal<T> signal = next;
+			if (signal == null) {
+				subscriber.onNext(Signal.next(ev));
+			}
+			else {
+				signal.recycle(ev);
+				subscriber.onNext(signal);
+				signal.recycle(null);
+			}
 		}
 
 		@Override
@@ -153,6 +153,9 @@ final class FluxPublish<T> extends ConnectableFlux<T>
 				AtomicReferenceFieldUpdater.newUpdater(State.class, Subscription.class, "s");
 		
 		volatile InnerSubscription<T>[] subscribers;
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<State, InnerSubscription[]> SUBSCRIBERS =
+				AtomicReferenceFieldUpdater.newUpdater(State.class, InnerSubscription[].class, "subscribers");
 
 		volatile int wip;
 		@SuppressWarnings("rawtypes")
@@ -293,10 +296,7 @@ final class FluxPublish<T> extends ConnectableFlux<T>
 		}
 		
 		boolean add(InnerSubscription<T> inner) {
-			if (subscribers == TERMINATED) {
-				return false;
-			}
-			synchronized (this) {
+			for (;;) {
 				InnerSubscription<T>[] a = subscribers;
 				if (a == TERMINATED) {
 					return false;
@@ -308,19 +308,16 @@ final class FluxPublish<T> extends ConnectableFlux<T>
 				System.arraycopy(a, 0, b, 0, n);
 				b[n] = inner;
 				
-				subscribers = b;
-				return true;
+				if (SUBSCRIBERS.compareAndSet(this, a, b)) {
+					return true;
+				}
 			}
 		}
 		
 		@SuppressWarnings("unchecked")
 		void remove(InnerSubscription<T> inner) {
-			InnerSubscription<T>[] a = subscribers;
-			if (a == TERMINATED || a == EMPTY) {
-				return;
-			}
-			synchronized (this) {
-				a = subscribers;
+			for (;;) {
+				InnerSubscription<T>[] a = subscribers;
 				if (a == TERMINATED || a == EMPTY) {
 					return;
 				}
@@ -346,7 +343,9 @@ final class FluxPublish<T> extends ConnectableFlux<T>
 					System.arraycopy(a, j + 1, b, j, n - j - 1);
 				}
 				
-				subscribers = b;
+				if (SUBSCRIBERS.compareAndSet(this, a, b)) {
+					return;
+				}
 			}
 		}
 
@@ -356,13 +355,7 @@ final class FluxPublish<T> extends ConnectableFlux<T>
 			if (a == TERMINATED) {
 				return a;
 			}
-			synchronized (this) {
-				a = subscribers;
-				if (a != TERMINATED) {
-					subscribers = TERMINATED;
-				}
-				return a;
-			}
+			return SUBSCRIBERS.getAndSet(this, TERMINATED);
 		}
 
 		@Override
@@ -215,6 +215,17 @@ final class FluxRange
 			return (int)i;
 		}
 
+		@Override
+		public int poll(Object[] buffer, int max) {
+			long i = index;
+			int n = (int)Math.min(max, end - i);
+			for (int j = 0; j < n; j++) {
+				buffer[j] = (int)(i + j);
+			}
+			index = i + n;
+			return n;
+		}
+
 		@Override
 		public Integer peek() {
 			long i = index;
@@ -386,6 +397,17 @@ final class FluxRange
 			return (int)i;
 		}
 
+		@Override
+		public int poll(Object[] buffer, int max) {
+			long i = index;
+			int n = (int)Math.min(max, end - i);
+			for (int j = 0; j < n; j++) {
+				buffer[j] = (int)(i + j);
+			}
+			index = i + n;
+			return n;
+		}
+
 		@Override
 		public Integer peek() {
 			long i = index;
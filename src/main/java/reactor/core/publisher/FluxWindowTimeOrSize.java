@@ -46,7 +46,7 @@ final class FluxWindowTimeOrSize<T> extends FluxBatch<T, Flux<T>> {
 
 	@Override
 	public void subscribe(Subscriber<? super Flux<T>> subscriber) {
-		source.subscribe(new WindowAction<>(prepareSub(subscriber), batchSize, timespan, timer));
+		source.subscribe(new WindowAction<>(subscriber, batchSize, timespan, timer));
 	}
 
 	final static class Window<T> extends Flux<T> implements Subscriber<T>, Subscription, Producer {
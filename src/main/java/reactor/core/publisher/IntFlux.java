@@ -0,0 +1,945 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.flow.Producer;
+import reactor.core.flow.Receiver;
+import reactor.core.state.Cancellable;
+import reactor.core.state.Completable;
+import reactor.core.state.Requestable;
+import reactor.core.subscriber.DeferredScalarSubscriber;
+import reactor.core.util.BackpressureUtils;
+import reactor.core.util.EmptySubscription;
+import reactor.core.util.Exceptions;
+
+/**
+ * A {@link Publisher} of {@code int} values whose operators pass values along unboxed.
+ * <p>
+ * Within an IntFlux pipeline each stage subscribes to the previous one with a {@link Subscriber} that also implements
+ * {@link IntConsumer}, and values are only delivered through {@link IntConsumer#accept(int)}. Values are boxed
+ * into {@link Integer} at the edge only, when the final {@link Subscriber} does not implement {@link IntConsumer}.
+ * Consecutive {@link #map} or {@link #filter} stages are fused into a single stage, {@link #boxed()} converts back
+ * to a {@link Flux} to apply generic operators.
+ *
+ * @since 2.5
+ */
+public abstract class IntFlux implements Publisher<Integer> {
+
+	/**
+	 * Create an {@link IntFlux} emitting {@code count} incrementing values starting from {@code start}.
+	 *
+	 * @param start the first value
+	 * @param count the number of values to emit
+	 *
+	 * @return a new {@link IntFlux}
+	 */
+	public static IntFlux range(int start, int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("count >= required but it was " + count);
+		}
+		long e = (long) start + count;
+		if (e - 1 > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("start + count must be less than Integer.MAX_VALUE + 1");
+		}
+		return new IntFluxRange(start, e);
+	}
+
+	/**
+	 * Create an {@link IntFlux} emitting the given values.
+	 *
+	 * @param values the values to emit
+	 *
+	 * @return a new {@link IntFlux}
+	 */
+	public static IntFlux fromArray(int... values) {
+		return new IntFluxArray(Objects.requireNonNull(values, "values"));
+	}
+
+	/**
+	 * Adapt a {@link Publisher} of {@link Integer} to an {@link IntFlux}. An {@link IntFlux} source is returned as is and a source
+	 * honoring the {@link IntConsumer} side channel,
+	 * such as another stage of this family, delivers its values unboxed.
+	 *
+	 * @param source the {@link Publisher} to adapt
+	 *
+	 * @return an {@link IntFlux} relaying the source values
+	 */
+	public static IntFlux from(Publisher<Integer> source) {
+		if (source instanceof IntFlux) {
+			return (IntFlux) source;
+		}
+		return new IntFluxFrom(Objects.requireNonNull(source, "source"));
+	}
+
+	/**
+	 * Map each value of a {@link Publisher} to a {@code int} without boxing the result.
+	 *
+	 * @param source the {@link Publisher} to map
+	 * @param mapper the mapping function
+	 * @param <T> the source value type
+	 *
+	 * @return a new {@link IntFlux}
+	 */
+	public static <T> IntFlux map(Publisher<? extends T> source, ToIntFunction<? super T> mapper) {
+		return new IntFluxMapFrom<>(Objects.requireNonNull(source, "source"), Objects.requireNonNull(mapper, "mapper"));
+	}
+
+	/**
+	 * Transform each value with the given function. Consecutive maps are composed into a single stage.
+	 *
+	 * @param mapper the mapping function
+	 *
+	 * @return a new {@link IntFlux}
+	 */
+	public final IntFlux map(IntUnaryOperator mapper) {
+		Objects.requireNonNull(mapper, "mapper");
+		if (this instanceof IntFluxMap) {
+			IntFluxMap m = (IntFluxMap) this;
+			return new IntFluxMap(m.source, m.mapper.andThen(mapper));
+		}
+		return new IntFluxMap(this, mapper);
+	}
+
+	/**
+	 * Transform each value into an object.
+	 *
+	 * @param mapper the mapping function
+	 * @param <R> the mapped type
+	 *
+	 * @return a new {@link Flux}
+	 */
+	public final <R> Flux<R> mapToObj(IntFunction<? extends R> mapper) {
+		return new IntFluxMapToObj<>(this, Objects.requireNonNull(mapper, "mapper"));
+	}
+
+	/**
+	 * Only relay the values matching the given predicate. Consecutive filters are composed into a single stage.
+	 *
+	 * @param predicate the filter predicate
+	 *
+	 * @return a new {@link IntFlux}
+	 */
+	public final IntFlux filter(IntPredicate predicate) {
+		Objects.requireNonNull(predicate, "predicate");
+		if (this instanceof IntFluxFilter) {
+			IntFluxFilter f = (IntFluxFilter) this;
+			return new IntFluxFilter(f.source, f.predicate.and(predicate));
+		}
+		return new IntFluxFilter(this, predicate);
+	}
+
+	/**
+	 * Aggregate the values with the given function, starting with the first value. Completes empty if there is no
+	 * value.
+	 *
+	 * @param aggregator the aggregating function
+	 *
+	 * @return a new {@link Mono} of the aggregated value
+	 */
+	public final Mono<Integer> reduce(IntBinaryOperator aggregator) {
+		return new IntFluxReduce(this, false, 0, Objects.requireNonNull(aggregator, "aggregator"));
+	}
+
+	/**
+	 * Aggregate the values with the given function, starting from the given initial value.
+	 *
+	 * @param initial the initial value
+	 * @param aggregator the aggregating function
+	 *
+	 * @return a new {@link Mono} of the aggregated value
+	 */
+	public final Mono<Integer> reduce(int initial, IntBinaryOperator aggregator) {
+		return new IntFluxReduce(this, true, initial, Objects.requireNonNull(aggregator, "aggregator"));
+	}
+
+	/**
+	 * Sum the values, emitting {@code 0} if there is no value. The sum is computed in {@code int} arithmetic and
+	 * silently overflows like {@link Integer#sum(int, int)}, use {@code boxed().mapToLong(v -> v).sum()} to sum
+	 * values which may exceed {@link Integer#MAX_VALUE}.
+	 *
+	 * @return a new {@link Mono} of the sum
+	 */
+	public final Mono<Integer> sum() {
+		return reduce(0, Integer::sum);
+	}
+
+	/**
+	 * Collect the values into {@code int[]} windows of the given size, the last one possibly shorter.
+	 *
+	 * @param maxSize the window size
+	 *
+	 * @return a new {@link Flux} of {@code int[]} windows
+	 */
+	public final Flux<int[]> window(int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+		}
+		return new IntFluxWindow(this, maxSize);
+	}
+
+	/**
+	 * Box the values into a {@link Flux} of {@link Integer}, to use the generic {@link Flux} operators.
+	 *
+	 * @return a {@link Flux} of the boxed values
+	 */
+	public final Flux<Integer> boxed() {
+		return FluxSource.wrap(this);
+	}
+
+	@Override
+	public final void subscribe(Subscriber<? super Integer> s) {
+		if (s instanceof IntConsumer) {
+			subscribe(s, (IntConsumer) s);
+		}
+		else {
+			subscribe(s, v -> s.onNext(v));
+		}
+	}
+
+	/**
+	 * Subscribe the given {@link Subscriber}, delivering values to the given consumer instead of
+	 * {@link Subscriber#onNext(Object)}.
+	 *
+	 * @param s the {@link Subscriber} receiving the subscription and terminal signals
+	 * @param consumer the consumer receiving the values
+	 */
+	abstract void subscribe(Subscriber<? super Integer> s, IntConsumer consumer);
+
+	/**
+	 * Base subscription of the index based sources, emitting in a fast path on unbounded demand.
+	 */
+	static abstract class IndexedSubscription implements Subscription, Cancellable, Requestable, Completable,
+	                                                     Producer {
+
+		final Subscriber<? super Integer> actual;
+
+		final IntConsumer consumer;
+
+		final long end;
+
+		long index;
+
+		volatile boolean cancelled;
+
+		volatile long requested;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<IndexedSubscription> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(IndexedSubscription.class, "requested");
+
+		IndexedSubscription(Subscriber<? super Integer> actual, IntConsumer consumer, long start, long end) {
+			this.actual = actual;
+			this.consumer = consumer;
+			this.index = start;
+			this.end = end;
+		}
+
+		abstract int get(long index);
+
+		@Override
+		public final void request(long n) {
+			if (BackpressureUtils.validate(n)) {
+				if (BackpressureUtils.addAndGet(REQUESTED, this, n) == 0) {
+					if (n == Long.MAX_VALUE) {
+						fastPath();
+					}
+					else {
+						slowPath(n);
+					}
+				}
+			}
+		}
+
+		@Override
+		public final void cancel() {
+			cancelled = true;
+		}
+
+		void fastPath() {
+			final long e = end;
+			final IntConsumer c = consumer;
+
+			for (long i = index; i != e; i++) {
+				if (cancelled) {
+					return;
+				}
+
+				c.accept(get(i));
+			}
+
+			if (cancelled) {
+				return;
+			}
+
+			actual.onComplete();
+		}
+
+		void slowPath(long n) {
+			final IntConsumer c = consumer;
+
+			long f = end;
+			long e = 0;
+			long i = index;
+
+			for (; ; ) {
+
+				if (cancelled) {
+					return;
+				}
+
+				while (e != n && i != f) {
+
+					c.accept(get(i));
+
+					if (cancelled) {
+						return;
+					}
+
+					e++;
+					i++;
+				}
+
+				if (cancelled) {
+					return;
+				}
+
+				if (i == f) {
+					actual.onComplete();
+					return;
+				}
+
+				n = requested;
+				if (n == e) {
+					index = i;
+					n = REQUESTED.addAndGet(this, -e);
+					if (n == 0) {
+						return;
+					}
+					e = 0;
+				}
+			}
+		}
+
+		@Override
+		public final boolean isCancelled() {
+			return cancelled;
+		}
+
+		@Override
+		public final boolean isStarted() {
+			return end != index;
+		}
+
+		@Override
+		public final boolean isTerminated() {
+			return end == index;
+		}
+
+		@Override
+		public final Object downstream() {
+			return actual;
+		}
+
+		@Override
+		public final long requestedFromDownstream() {
+			return requested;
+		}
+	}
+
+	static final class IntFluxRange extends IntFlux {
+
+		final long start;
+
+		final long end;
+
+		IntFluxRange(long start, long end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		void subscribe(Subscriber<? super Integer> s, IntConsumer consumer) {
+			if (start == end) {
+				EmptySubscription.complete(s);
+				return;
+			}
+			s.onSubscribe(new IndexedSubscription(s, consumer, start, end) {
+				@Override
+				int get(long index) {
+					return (int) index;
+				}
+			});
+		}
+	}
+
+	static final class IntFluxArray extends IntFlux {
+
+		final int[] array;
+
+		IntFluxArray(int[] array) {
+			this.array = array;
+		}
+
+		@Override
+		void subscribe(Subscriber<? super Integer> s, IntConsumer consumer) {
+			if (array.length == 0) {
+				EmptySubscription.complete(s);
+				return;
+			}
+			s.onSubscribe(new IndexedSubscription(s, consumer, 0L, array.length) {
+				@Override
+				int get(long index) {
+					return array[(int) index];
+				}
+			});
+		}
+	}
+
+	/**
+	 * Base of the intermediate stages: a {@link Subscriber} receiving unboxed values from its source and relaying its
+	 * {@link Subscription}.
+	 */
+	static abstract class IntOperatorSubscriber<O>
+			implements Subscriber<Integer>, IntConsumer, Subscription, Receiver, Producer, Completable {
+
+		final Subscriber<? super O> actual;
+
+		Subscription s;
+
+		boolean done;
+
+		IntOperatorSubscriber(Subscriber<? super O> actual) {
+			this.actual = actual;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (BackpressureUtils.validate(this.s, s)) {
+				this.s = s;
+				actual.onSubscribe(this);
+			}
+		}
+
+		@Override
+		public final void onNext(Integer t) {
+			accept(t);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (done) {
+				Exceptions.onErrorDropped(t);
+				return;
+			}
+			done = true;
+			actual.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			if (done) {
+				return;
+			}
+			done = true;
+			actual.onComplete();
+		}
+
+		final void fail(Throwable e) {
+			s.cancel();
+			Exceptions.throwIfFatal(e);
+			onError(Exceptions.unwrap(e));
+		}
+
+		@Override
+		public void request(long n) {
+			s.request(n);
+		}
+
+		@Override
+		public void cancel() {
+			s.cancel();
+		}
+
+		@Override
+		public boolean isStarted() {
+			return s != null;
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return done;
+		}
+
+		@Override
+		public Object downstream() {
+			return actual;
+		}
+
+		@Override
+		public Object upstream() {
+			return s;
+		}
+	}
+
+	static final class IntFluxFrom extends IntFlux implements Receiver {
+
+		final Publisher<Integer> source;
+
+		IntFluxFrom(Publisher<Integer> source) {
+			this.source = source;
+		}
+
+		@Override
+		void subscribe(Subscriber<? super Integer> s, IntConsumer consumer) {
+			source.subscribe(new IntOperatorSubscriber<Integer>(s) {
+				@Override
+				public void accept(int value) {
+					consumer.accept(value);
+				}
+			});
+		}
+
+		@Override
+		public Object upstream() {
+			return source;
+		}
+	}
+
+	static final class IntFluxMapFrom<T> extends IntFlux implements Receiver {
+
+		final Publisher<? extends T> source;
+
+		final ToIntFunction<? super T> mapper;
+
+		IntFluxMapFrom(Publisher<? extends T> source, ToIntFunction<? super T> mapper) {
+			this.source = source;
+			this.mapper = mapper;
+		}
+
+		@Override
+		void subscribe(Subscriber<? super Integer> s, IntConsumer consumer) {
+			source.subscribe(new Subscriber<T>() {
+
+				Subscription subscription;
+
+				boolean done;
+
+				@Override
+				public void onSubscribe(Subscription subscription) {
+					if (BackpressureUtils.validate(this.subscription, subscription)) {
+						this.subscription = subscription;
+						s.onSubscribe(subscription);
+					}
+				}
+
+				@Override
+				public void onNext(T t) {
+					if (done) {
+						Exceptions.onNextDropped(t);
+						return;
+					}
+
+					int v;
+
+					try {
+						v = mapper.applyAsInt(t);
+					}
+					catch (Throwable e) {
+						subscription.cancel();
+						Exceptions.throwIfFatal(e);
+						onError(Exceptions.unwrap(e));
+						return;
+					}
+
+					consumer.accept(v);
+				}
+
+				@Override
+				public void onError(Throwable t) {
+					if (done) {
+						Exceptions.onErrorDropped(t);
+						return;
+					}
+					done = true;
+					s.onError(t);
+				}
+
+				@Override
+				public void onComplete() {
+					if (done) {
+						return;
+					}
+					done = true;
+					s.onComplete();
+				}
+			});
+		}
+
+		@Override
+		public Object upstream() {
+			return source;
+		}
+	}
+
+	static final class IntFluxMap extends IntFlux implements Receiver {
+
+		final IntFlux source;
+
+		final IntUnaryOperator mapper;
+
+		IntFluxMap(IntFlux source, IntUnaryOperator mapper) {
+			this.source = source;
+			this.mapper = mapper;
+		}
+
+		@Override
+		void subscribe(Subscriber<? super Integer> s, IntConsumer consumer) {
+			source.subscribe(new IntOperatorSubscriber<Integer>(s) {
+				@Override
+				public void accept(int value) {
+					if (done) {
+						return;
+					}
+
+					int v;
+
+					try {
+						v = mapper.applyAsInt(value);
+					}
+					catch (Throwable e) {
+						fail(e);
+						return;
+					}
+
+					consumer.accept(v);
+				}
+			});
+		}
+
+		@Override
+		public Object upstream() {
+			return source;
+		}
+	}
+
+	static final class IntFluxFilter extends IntFlux implements Receiver {
+
+		final IntFlux source;
+
+		final IntPredicate predicate;
+
+		IntFluxFilter(IntFlux source, IntPredicate predicate) {
+			this.source = source;
+			this.predicate = predicate;
+		}
+
+		@Override
+		void subscribe(Subscriber<? super Integer> s, IntConsumer consumer) {
+			source.subscribe(new IntOperatorSubscriber<Integer>(s) {
+				@Override
+				public void accept(int value) {
+					if (done) {
+						return;
+					}
+
+					boolean b;
+
+					try {
+						b = predicate.test(value);
+					}
+					catch (Throwable e) {
+						fail(e);
+						return;
+					}
+
+					if (b) {
+						consumer.accept(value);
+					}
+					else {
+						s.request(1);
+					}
+				}
+			});
+		}
+
+		@Override
+		public Object upstream() {
+			return source;
+		}
+	}
+
+	static final class IntFluxMapToObj<R> extends Flux<R> implements Receiver {
+
+		final IntFlux source;
+
+		final IntFunction<? extends R> mapper;
+
+		IntFluxMapToObj(IntFlux source, IntFunction<? extends R> mapper) {
+			this.source = source;
+			this.mapper = mapper;
+		}
+
+		@Override
+		public void subscribe(Subscriber<? super R> s) {
+			source.subscribe(new IntOperatorSubscriber<R>(s) {
+				@Override
+				public void accept(int value) {
+					if (done) {
+						return;
+					}
+
+					R v;
+
+					try {
+						v = mapper.apply(value);
+					}
+					catch (Throwable e) {
+						fail(e);
+						return;
+					}
+
+					if (v == null) {
+						fail(new NullPointerException("The mapper returned a null value."));
+						return;
+					}
+
+					actual.onNext(v);
+				}
+			});
+		}
+
+		@Override
+		public Object upstream() {
+			return source;
+		}
+	}
+
+	static final class IntFluxWindow extends Flux<int[]> implements Receiver {
+
+		final IntFlux source;
+
+		final int size;
+
+		IntFluxWindow(IntFlux source, int size) {
+			this.source = source;
+			this.size = size;
+		}
+
+		@Override
+		public void subscribe(Subscriber<? super int[]> s) {
+			source.subscribe(new IntOperatorSubscriber<int[]>(s) {
+
+				int[] window;
+
+				int index;
+
+				@Override
+				public void accept(int value) {
+					if (done) {
+						return;
+					}
+
+					int[] w = window;
+					if (w == null) {
+						w = new int[size];
+						window = w;
+					}
+
+					w[index++] = value;
+
+					if (index == size) {
+						window = null;
+						index = 0;
+						actual.onNext(w);
+					}
+				}
+
+				@Override
+				public void onError(Throwable t) {
+					window = null;
+					super.onError(t);
+				}
+
+				@Override
+				public void onComplete() {
+					if (done) {
+						return;
+					}
+					int[] w = window;
+					if (w != null) {
+						window = null;
+						int[] last = new int[index];
+						System.arraycopy(w, 0, last, 0, index);
+						actual.onNext(last);
+					}
+					super.onComplete();
+				}
+
+				@Override
+				public void request(long n) {
+					if (BackpressureUtils.validate(n)) {
+						s.request(BackpressureUtils.multiplyCap(n, size));
+					}
+				}
+			});
+		}
+
+		@Override
+		public Object upstream() {
+			return source;
+		}
+	}
+
+	static final class IntFluxReduce extends Mono<Integer> implements Receiver {
+
+		final IntFlux source;
+
+		final boolean seeded;
+
+		final int initial;
+
+		final IntBinaryOperator aggregator;
+
+		IntFluxReduce(IntFlux source, boolean seeded, int initial, IntBinaryOperator aggregator) {
+			this.source = source;
+			this.seeded = seeded;
+			this.initial = initial;
+			this.aggregator = aggregator;
+		}
+
+		@Override
+		public void subscribe(Subscriber<? super Integer> s) {
+			source.subscribe(new ReduceSubscriber(s, seeded, initial, aggregator));
+		}
+
+		@Override
+		public Object upstream() {
+			return source;
+		}
+	}
+
+	static final class ReduceSubscriber extends DeferredScalarSubscriber<Integer, Integer> implements IntConsumer, Receiver {
+
+		final IntBinaryOperator aggregator;
+
+		Subscription s;
+
+		int result;
+
+		boolean hasValue;
+
+		boolean done;
+
+		ReduceSubscriber(Subscriber<? super Integer> actual, boolean seeded, int initial, IntBinaryOperator aggregator) {
+			super(actual);
+			this.aggregator = aggregator;
+			this.hasValue = seeded;
+			this.result = initial;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (BackpressureUtils.validate(this.s, s)) {
+				this.s = s;
+
+				subscriber.onSubscribe(this);
+
+				s.request(Long.MAX_VALUE);
+			}
+		}
+
+		@Override
+		public void onNext(Integer t) {
+			accept(t);
+		}
+
+		@Override
+		public void accept(int value) {
+			if (done) {
+				return;
+			}
+			if (!hasValue) {
+				hasValue = true;
+				result = value;
+				return;
+			}
+			try {
+				result = aggregator.applyAsInt(result, value);
+			}
+			catch (Throwable e) {
+				s.cancel();
+				Exceptions.throwIfFatal(e);
+				onError(Exceptions.unwrap(e));
+			}
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (done) {
+				Exceptions.onErrorDropped(t);
+				return;
+			}
+			done = true;
+			subscriber.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			if (done) {
+				return;
+			}
+			done = true;
+			if (hasValue) {
+				complete(result);
+			}
+			else {
+				subscriber.onComplete();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			super.cancel();
+			s.cancel();
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return done;
+		}
+
+		@Override
+		public Object upstream() {
+			return s;
+		}
+
+		@Override
+		public Object connectedInput() {
+			return aggregator;
+		}
+	}
+}
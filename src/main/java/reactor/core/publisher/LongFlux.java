@@ -0,0 +1,942 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToLongFunction;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.flow.Producer;
+import reactor.core.flow.Receiver;
+import reactor.core.state.Cancellable;
+import reactor.core.state.Completable;
+import reactor.core.state.Requestable;
+import reactor.core.subscriber.DeferredScalarSubscriber;
+import reactor.core.util.BackpressureUtils;
+import reactor.core.util.EmptySubscription;
+import reactor.core.util.Exceptions;
+
+/**
+ * A {@link Publisher} of {@code long} values whose operators pass values along unboxed.
+ * <p>
+ * Within a LongFlux pipeline each stage subscribes to the previous one with a {@link Subscriber} that also implements
+ * {@link LongConsumer}, and values are only delivered through {@link LongConsumer#accept(long)}. Values are boxed
+ * into {@link Long} at the edge only, when the final {@link Subscriber} does not implement {@link LongConsumer}.
+ * Consecutive {@link #map} or {@link #filter} stages are fused into a single stage, {@link #boxed()} converts back
+ * to a {@link Flux} to apply generic operators.
+ *
+ * @since 2.5
+ */
+public abstract class LongFlux implements Publisher<Long> {
+
+	/**
+	 * Create a {@link LongFlux} emitting {@code count} incrementing values starting from {@code start}.
+	 *
+	 * @param start the first value
+	 * @param count the number of values to emit
+	 *
+	 * @return a new {@link LongFlux}
+	 */
+	public static LongFlux range(long start, long count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("count >= required but it was " + count);
+		}
+		if (start > Long.MAX_VALUE - count) {
+			throw new IllegalArgumentException("start + count must be less than or equal to Long.MAX_VALUE");
+		}
+		return new LongFluxRange(start, start + count);
+	}
+
+	/**
+	 * Create a {@link LongFlux} emitting the given values.
+	 *
+	 * @param values the values to emit
+	 *
+	 * @return a new {@link LongFlux}
+	 */
+	public static LongFlux fromArray(long... values) {
+		return new LongFluxArray(Objects.requireNonNull(values, "values"));
+	}
+
+	/**
+	 * Adapt a {@link Publisher} of {@link Long} to a {@link LongFlux}. A {@link LongFlux} source is returned as is and a source
+	 * honoring the {@link LongConsumer} side channel,
+	 * such as another stage of this family or {@link LongTopicProcessor}, delivers its values unboxed.
+	 *
+	 * @param source the {@link Publisher} to adapt
+	 *
+	 * @return a {@link LongFlux} relaying the source values
+	 */
+	public static LongFlux from(Publisher<Long> source) {
+		if (source instanceof LongFlux) {
+			return (LongFlux) source;
+		}
+		return new LongFluxFrom(Objects.requireNonNull(source, "source"));
+	}
+
+	/**
+	 * Map each value of a {@link Publisher} to a {@code long} without boxing the result.
+	 *
+	 * @param source the {@link Publisher} to map
+	 * @param mapper the mapping function
+	 * @param <T> the source value type
+	 *
+	 * @return a new {@link LongFlux}
+	 */
+	public static <T> LongFlux map(Publisher<? extends T> source, ToLongFunction<? super T> mapper) {
+		return new LongFluxMapFrom<>(Objects.requireNonNull(source, "source"), Objects.requireNonNull(mapper, "mapper"));
+	}
+
+	/**
+	 * Transform each value with the given function. Consecutive maps are composed into a single stage.
+	 *
+	 * @param mapper the mapping function
+	 *
+	 * @return a new {@link LongFlux}
+	 */
+	public final LongFlux map(LongUnaryOperator mapper) {
+		Objects.requireNonNull(mapper, "mapper");
+		if (this instanceof LongFluxMap) {
+			LongFluxMap m = (LongFluxMap) this;
+			return new LongFluxMap(m.source, m.mapper.andThen(mapper));
+		}
+		return new LongFluxMap(this, mapper);
+	}
+
+	/**
+	 * Transform each value into an object.
+	 *
+	 * @param mapper the mapping function
+	 * @param <R> the mapped type
+	 *
+	 * @return a new {@link Flux}
+	 */
+	public final <R> Flux<R> mapToObj(LongFunction<? extends R> mapper) {
+		return new LongFluxMapToObj<>(this, Objects.requireNonNull(mapper, "mapper"));
+	}
+
+	/**
+	 * Only relay the values matching the given predicate. Consecutive filters are composed into a single stage.
+	 *
+	 * @param predicate the filter predicate
+	 *
+	 * @return a new {@link LongFlux}
+	 */
+	public final LongFlux filter(LongPredicate predicate) {
+		Objects.requireNonNull(predicate, "predicate");
+		if (this instanceof LongFluxFilter) {
+			LongFluxFilter f = (LongFluxFilter) this;
+			return new LongFluxFilter(f.source, f.predicate.and(predicate));
+		}
+		return new LongFluxFilter(this, predicate);
+	}
+
+	/**
+	 * Aggregate the values with the given function, starting with the first value. Completes empty if there is no
+	 * value.
+	 *
+	 * @param aggregator the aggregating function
+	 *
+	 * @return a new {@link Mono} of the aggregated value
+	 */
+	public final Mono<Long> reduce(LongBinaryOperator aggregator) {
+		return new LongFluxReduce(this, false, 0L, Objects.requireNonNull(aggregator, "aggregator"));
+	}
+
+	/**
+	 * Aggregate the values with the given function, starting from the given initial value.
+	 *
+	 * @param initial the initial value
+	 * @param aggregator the aggregating function
+	 *
+	 * @return a new {@link Mono} of the aggregated value
+	 */
+	public final Mono<Long> reduce(long initial, LongBinaryOperator aggregator) {
+		return new LongFluxReduce(this, true, initial, Objects.requireNonNull(aggregator, "aggregator"));
+	}
+
+	/**
+	 * Sum the values, emitting {@code 0} if there is no value.
+	 *
+	 * @return a new {@link Mono} of the sum
+	 */
+	public final Mono<Long> sum() {
+		return reduce(0L, Long::sum);
+	}
+
+	/**
+	 * Collect the values into {@code long[]} windows of the given size, the last one possibly shorter.
+	 *
+	 * @param maxSize the window size
+	 *
+	 * @return a new {@link Flux} of {@code long[]} windows
+	 */
+	public final Flux<long[]> window(int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+		}
+		return new LongFluxWindow(this, maxSize);
+	}
+
+	/**
+	 * Box the values into a {@link Flux} of {@link Long}, to use the generic {@link Flux} operators.
+	 *
+	 * @return a {@link Flux} of the boxed values
+	 */
+	public final Flux<Long> boxed() {
+		return FluxSource.wrap(this);
+	}
+
+	@Override
+	public final void subscribe(Subscriber<? super Long> s) {
+		if (s instanceof LongConsumer) {
+			subscribe(s, (LongConsumer) s);
+		}
+		else {
+			subscribe(s, v -> s.onNext(v));
+		}
+	}
+
+	/**
+	 * Subscribe the given {@link Subscriber}, delivering values to the given consumer instead of
+	 * {@link Subscriber#onNext(Object)}.
+	 *
+	 * @param s the {@link Subscriber} receiving the subscription and terminal signals
+	 * @param consumer the consumer receiving the values
+	 */
+	abstract void subscribe(Subscriber<? super Long> s, LongConsumer consumer);
+
+	/**
+	 * Base subscription of the index based sources, emitting in a fast path on unbounded demand.
+	 */
+	static abstract class IndexedSubscription implements Subscription, Cancellable, Requestable, Completable,
+	                                                     Producer {
+
+		final Subscriber<? super Long> actual;
+
+		final LongConsumer consumer;
+
+		final long end;
+
+		long index;
+
+		volatile boolean cancelled;
+
+		volatile long requested;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<IndexedSubscription> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(IndexedSubscription.class, "requested");
+
+		IndexedSubscription(Subscriber<? super Long> actual, LongConsumer consumer, long start, long end) {
+			this.actual = actual;
+			this.consumer = consumer;
+			this.index = start;
+			this.end = end;
+		}
+
+		abstract long get(long index);
+
+		@Override
+		public final void request(long n) {
+			if (BackpressureUtils.validate(n)) {
+				if (BackpressureUtils.addAndGet(REQUESTED, this, n) == 0) {
+					if (n == Long.MAX_VALUE) {
+						fastPath();
+					}
+					else {
+						slowPath(n);
+					}
+				}
+			}
+		}
+
+		@Override
+		public final void cancel() {
+			cancelled = true;
+		}
+
+		void fastPath() {
+			final long e = end;
+			final LongConsumer c = consumer;
+
+			for (long i = index; i != e; i++) {
+				if (cancelled) {
+					return;
+				}
+
+				c.accept(get(i));
+			}
+
+			if (cancelled) {
+				return;
+			}
+
+			actual.onComplete();
+		}
+
+		void slowPath(long n) {
+			final LongConsumer c = consumer;
+
+			long f = end;
+			long e = 0;
+			long i = index;
+
+			for (; ; ) {
+
+				if (cancelled) {
+					return;
+				}
+
+				while (e != n && i != f) {
+
+					c.accept(get(i));
+
+					if (cancelled) {
+						return;
+					}
+
+					e++;
+					i++;
+				}
+
+				if (cancelled) {
+					return;
+				}
+
+				if (i == f) {
+					actual.onComplete();
+					return;
+				}
+
+				n = requested;
+				if (n == e) {
+					index = i;
+					n = REQUESTED.addAndGet(this, -e);
+					if (n == 0) {
+						return;
+					}
+					e = 0;
+				}
+			}
+		}
+
+		@Override
+		public final boolean isCancelled() {
+			return cancelled;
+		}
+
+		@Override
+		public final boolean isStarted() {
+			return end != index;
+		}
+
+		@Override
+		public final boolean isTerminated() {
+			return end == index;
+		}
+
+		@Override
+		public final Object downstream() {
+			return actual;
+		}
+
+		@Override
+		public final long requestedFromDownstream() {
+			return requested;
+		}
+	}
+
+	static final class LongFluxRange extends LongFlux {
+
+		final long start;
+
+		final long end;
+
+		LongFluxRange(long start, long end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		void subscribe(Subscriber<? super Long> s, LongConsumer consumer) {
+			if (start == end) {
+				EmptySubscription.complete(s);
+				return;
+			}
+			s.onSubscribe(new IndexedSubscription(s, consumer, start, end) {
+				@Override
+				long get(long index) {
+					return index;
+				}
+			});
+		}
+	}
+
+	static final class LongFluxArray extends LongFlux {
+
+		final long[] array;
+
+		LongFluxArray(long[] array) {
+			this.array = array;
+		}
+
+		@Override
+		void subscribe(Subscriber<? super Long> s, LongConsumer consumer) {
+			if (array.length == 0) {
+				EmptySubscription.complete(s);
+				return;
+			}
+			s.onSubscribe(new IndexedSubscription(s, consumer, 0L, array.length) {
+				@Override
+				long get(long index) {
+					return array[(int) index];
+				}
+			});
+		}
+	}
+
+	/**
+	 * Base of the intermediate stages: a {@link Subscriber} receiving unboxed values from its source and relaying its
+	 * {@link Subscription}.
+	 */
+	static abstract class LongOperatorSubscriber<O>
+			implements Subscriber<Long>, LongConsumer, Subscription, Receiver, Producer, Completable {
+
+		final Subscriber<? super O> actual;
+
+		Subscription s;
+
+		boolean done;
+
+		LongOperatorSubscriber(Subscriber<? super O> actual) {
+			this.actual = actual;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (BackpressureUtils.validate(this.s, s)) {
+				this.s = s;
+				actual.onSubscribe(this);
+			}
+		}
+
+		@Override
+		public final void onNext(Long t) {
+			accept(t);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (done) {
+				Exceptions.onErrorDropped(t);
+				return;
+			}
+			done = true;
+			actual.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			if (done) {
+				return;
+			}
+			done = true;
+			actual.onComplete();
+		}
+
+		final void fail(Throwable e) {
+			s.cancel();
+			Exceptions.throwIfFatal(e);
+			onError(Exceptions.unwrap(e));
+		}
+
+		@Override
+		public void request(long n) {
+			s.request(n);
+		}
+
+		@Override
+		public void cancel() {
+			s.cancel();
+		}
+
+		@Override
+		public boolean isStarted() {
+			return s != null;
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return done;
+		}
+
+		@Override
+		public Object downstream() {
+			return actual;
+		}
+
+		@Override
+		public Object upstream() {
+			return s;
+		}
+	}
+
+	static final class LongFluxFrom extends LongFlux implements Receiver {
+
+		final Publisher<Long> source;
+
+		LongFluxFrom(Publisher<Long> source) {
+			this.source = source;
+		}
+
+		@Override
+		void subscribe(Subscriber<? super Long> s, LongConsumer consumer) {
+			source.subscribe(new LongOperatorSubscriber<Long>(s) {
+				@Override
+				public void accept(long value) {
+					consumer.accept(value);
+				}
+			});
+		}
+
+		@Override
+		public Object upstream() {
+			return source;
+		}
+	}
+
+	static final class LongFluxMapFrom<T> extends LongFlux implements Receiver {
+
+		final Publisher<? extends T> source;
+
+		final ToLongFunction<? super T> mapper;
+
+		LongFluxMapFrom(Publisher<? extends T> source, ToLongFunction<? super T> mapper) {
+			this.source = source;
+			this.mapper = mapper;
+		}
+
+		@Override
+		void subscribe(Subscriber<? super Long> s, LongConsumer consumer) {
+			source.subscribe(new Subscriber<T>() {
+
+				Subscription subscription;
+
+				boolean done;
+
+				@Override
+				public void onSubscribe(Subscription subscription) {
+					if (BackpressureUtils.validate(this.subscription, subscription)) {
+						this.subscription = subscription;
+						s.onSubscribe(subscription);
+					}
+				}
+
+				@Override
+				public void onNext(T t) {
+					if (done) {
+						Exceptions.onNextDropped(t);
+						return;
+					}
+
+					long v;
+
+					try {
+						v = mapper.applyAsLong(t);
+					}
+					catch (Throwable e) {
+						subscription.cancel();
+						Exceptions.throwIfFatal(e);
+						onError(Exceptions.unwrap(e));
+						return;
+					}
+
+					consumer.accept(v);
+				}
+
+				@Override
+				public void onError(Throwable t) {
+					if (done) {
+						Exceptions.onErrorDropped(t);
+						return;
+					}
+					done = true;
+					s.onError(t);
+				}
+
+				@Override
+				public void onComplete() {
+					if (done) {
+						return;
+					}
+					done = true;
+					s.onComplete();
+				}
+			});
+		}
+
+		@Override
+		public Object upstream() {
+			return source;
+		}
+	}
+
+	static final class LongFluxMap extends LongFlux implements Receiver {
+
+		final LongFlux source;
+
+		final LongUnaryOperator mapper;
+
+		LongFluxMap(LongFlux source, LongUnaryOperator mapper) {
+			this.source = source;
+			this.mapper = mapper;
+		}
+
+		@Override
+		void subscribe(Subscriber<? super Long> s, LongConsumer consumer) {
+			source.subscribe(new LongOperatorSubscriber<Long>(s) {
+				@Override
+				public void accept(long value) {
+					if (done) {
+						return;
+					}
+
+					long v;
+
+					try {
+						v = mapper.applyAsLong(value);
+					}
+					catch (Throwable e) {
+						fail(e);
+						return;
+					}
+
+					consumer.accept(v);
+				}
+			});
+		}
+
+		@Override
+		public Object upstream() {
+			return source;
+		}
+	}
+
+	static final class LongFluxFilter extends LongFlux implements Receiver {
+
+		final LongFlux source;
+
+		final LongPredicate predicate;
+
+		LongFluxFilter(LongFlux source, LongPredicate predicate) {
+			this.source = source;
+			this.predicate = predicate;
+		}
+
+		@Override
+		void subscribe(Subscriber<? super Long> s, LongConsumer consumer) {
+			source.subscribe(new LongOperatorSubscriber<Long>(s) {
+				@Override
+				public void accept(long value) {
+					if (done) {
+						return;
+					}
+
+					boolean b;
+
+					try {
+						b = predicate.test(value);
+					}
+					catch (Throwable e) {
+						fail(e);
+						return;
+					}
+
+					if (b) {
+						consumer.accept(value);
+					}
+					else {
+						s.request(1);
+					}
+				}
+			});
+		}
+
+		@Override
+		public Object upstream() {
+			return source;
+		}
+	}
+
+	static final class LongFluxMapToObj<R> extends Flux<R> implements Receiver {
+
+		final LongFlux source;
+
+		final LongFunction<? extends R> mapper;
+
+		LongFluxMapToObj(LongFlux source, LongFunction<? extends R> mapper) {
+			this.source = source;
+			this.mapper = mapper;
+		}
+
+		@Override
+		public void subscribe(Subscriber<? super R> s) {
+			source.subscribe(new LongOperatorSubscriber<R>(s) {
+				@Override
+				public void accept(long value) {
+					if (done) {
+						return;
+					}
+
+					R v;
+
+					try {
+						v = mapper.apply(value);
+					}
+					catch (Throwable e) {
+						fail(e);
+						return;
+					}
+
+					if (v == null) {
+						fail(new NullPointerException("The mapper returned a null value."));
+						return;
+					}
+
+					actual.onNext(v);
+				}
+			});
+		}
+
+		@Override
+		public Object upstream() {
+			return source;
+		}
+	}
+
+	static final class LongFluxWindow extends Flux<long[]> implements Receiver {
+
+		final LongFlux source;
+
+		final int size;
+
+		LongFluxWindow(LongFlux source, int size) {
+			this.source = source;
+			this.size = size;
+		}
+
+		@Override
+		public void subscribe(Subscriber<? super long[]> s) {
+			source.subscribe(new LongOperatorSubscriber<long[]>(s) {
+
+				long[] window;
+
+				int index;
+
+				@Override
+				public void accept(long value) {
+					if (done) {
+						return;
+					}
+
+					long[] w = window;
+					if (w == null) {
+						w = new long[size];
+						window = w;
+					}
+
+					w[index++] = value;
+
+					if (index == size) {
+						window = null;
+						index = 0;
+						actual.onNext(w);
+					}
+				}
+
+				@Override
+				public void onError(Throwable t) {
+					window = null;
+					super.onError(t);
+				}
+
+				@Override
+				public void onComplete() {
+					if (done) {
+						return;
+					}
+					long[] w = window;
+					if (w != null) {
+						window = null;
+						long[] last = new long[index];
+						System.arraycopy(w, 0, last, 0, index);
+						actual.onNext(last);
+					}
+					super.onComplete();
+				}
+
+				@Override
+				public void request(long n) {
+					if (BackpressureUtils.validate(n)) {
+						s.request(BackpressureUtils.multiplyCap(n, size));
+					}
+				}
+			});
+		}
+
+		@Override
+		public Object upstream() {
+			return source;
+		}
+	}
+
+	static final class LongFluxReduce extends Mono<Long> implements Receiver {
+
+		final LongFlux source;
+
+		final boolean seeded;
+
+		final long initial;
+
+		final LongBinaryOperator aggregator;
+
+		LongFluxReduce(LongFlux source, boolean seeded, long initial, LongBinaryOperator aggregator) {
+			this.source = source;
+			this.seeded = seeded;
+			this.initial = initial;
+			this.aggregator = aggregator;
+		}
+
+		@Override
+		public void subscribe(Subscriber<? super Long> s) {
+			source.subscribe(new ReduceSubscriber(s, seeded, initial, aggregator));
+		}
+
+		@Override
+		public Object upstream() {
+			return source;
+		}
+	}
+
+	static final class ReduceSubscriber extends DeferredScalarSubscriber<Long, Long> implements LongConsumer, Receiver {
+
+		final LongBinaryOperator aggregator;
+
+		Subscription s;
+
+		long result;
+
+		boolean hasValue;
+
+		boolean done;
+
+		ReduceSubscriber(Subscriber<? super Long> actual, boolean seeded, long initial, LongBinaryOperator aggregator) {
+			super(actual);
+			this.aggregator = aggregator;
+			this.hasValue = seeded;
+			this.result = initial;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (BackpressureUtils.validate(this.s, s)) {
+				this.s = s;
+
+				subscriber.onSubscribe(this);
+
+				s.request(Long.MAX_VALUE);
+			}
+		}
+
+		@Override
+		public void onNext(Long t) {
+			accept(t);
+		}
+
+		@Override
+		public void accept(long value) {
+			if (done) {
+				return;
+			}
+			if (!hasValue) {
+				hasValue = true;
+				result = value;
+				return;
+			}
+			try {
+				result = aggregator.applyAsLong(result, value);
+			}
+			catch (Throwable e) {
+				s.cancel();
+				Exceptions.throwIfFatal(e);
+				onError(Exceptions.unwrap(e));
+			}
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (done) {
+				Exceptions.onErrorDropped(t);
+				return;
+			}
+			done = true;
+			subscriber.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			if (done) {
+				return;
+			}
+			done = true;
+			if (hasValue) {
+				complete(result);
+			}
+			else {
+				subscriber.onComplete();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			super.cancel();
+			s.cancel();
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return done;
+		}
+
+		@Override
+		public Object upstream() {
+			return s;
+		}
+
+		@Override
+		public Object connectedInput() {
+			return aggregator;
+		}
+	}
+}
@@ -0,0 +1,563 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.flow.MultiProducer;
+import reactor.core.flow.Producer;
+import reactor.core.flow.Receiver;
+import reactor.core.queue.LongRingBuffer;
+import reactor.core.queue.RingBuffer;
+import reactor.core.queue.RingBufferReceiver;
+import reactor.core.state.Backpressurable;
+import reactor.core.state.Cancellable;
+import reactor.core.state.Completable;
+import reactor.core.state.Introspectable;
+import reactor.core.state.Requestable;
+import reactor.core.util.BackpressureUtils;
+import reactor.core.util.EmptySubscription;
+import reactor.core.util.Exceptions;
+import reactor.core.util.PlatformDependent;
+import reactor.core.util.Sequence;
+import reactor.core.util.WaitStrategy;
+
+/**
+ * A {@link TopicProcessor} variant specialized for {@code long} signals, backed by a {@link LongRingBuffer} that can
+ * live on or off-heap. Values published with {@link #onNext(long)} are stored without boxing and each subscriber
+ * implementing {@link LongConsumer} reads them back without boxing either, other subscribers receive a boxed
+ * {@link Long} at the edge.
+ * <p>
+ * Created from {@link #share}, the processor authorizes concurrent publishing (multi-producer). Each subscriber is
+ * assigned a dedicated event loop thread and all subscribers receive the same values, as long as their respective
+ * demand is strictly positive.
+ *
+ * @since 2.5
+ */
+public final class LongTopicProcessor extends EventLoopProcessor<Long, Long> implements Backpressurable,
+                                                                                    MultiProducer {
+
+	/**
+	 * Create a new {@link LongTopicProcessor} using {@link PlatformDependent#SMALL_BUFFER_SIZE} backlog size, the
+	 * default wait strategy and heap storage.
+	 *
+	 * @return a fresh processor
+	 */
+	public static LongTopicProcessor create() {
+		return create(LongTopicProcessor.class.getSimpleName(), PlatformDependent.SMALL_BUFFER_SIZE);
+	}
+
+	/**
+	 * Create a new {@link LongTopicProcessor} using the passed backlog size, the default wait strategy and heap
+	 * storage.
+	 *
+	 * @param name processor thread logical name
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers
+	 *
+	 * @return a fresh processor
+	 */
+	public static LongTopicProcessor create(String name, int bufferSize) {
+		return create(name, bufferSize, null, false);
+	}
+
+	/**
+	 * Create a new {@link LongTopicProcessor} using the passed backlog size, wait strategy and storage.
+	 *
+	 * @param name processor thread logical name
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers
+	 * @param strategy A RingBuffer WaitStrategy to use instead of the default
+	 * @param direct true if the backlog should be allocated off-heap
+	 *
+	 * @return a fresh processor
+	 */
+	public static LongTopicProcessor create(String name, int bufferSize, WaitStrategy strategy, boolean direct) {
+		return new LongTopicProcessor(name, null, bufferSize, strategy, false, true, direct);
+	}
+
+	/**
+	 * Create a new shared {@link LongTopicProcessor} using the passed backlog size, the default wait strategy and heap
+	 * storage. A Shared Processor authorizes concurrent onNext calls.
+	 *
+	 * @param name processor thread logical name
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers
+	 *
+	 * @return a fresh processor
+	 */
+	public static LongTopicProcessor share(String name, int bufferSize) {
+		return share(name, bufferSize, null, false);
+	}
+
+	/**
+	 * Create a new shared {@link LongTopicProcessor} using the passed backlog size, wait strategy and storage. A
+	 * Shared Processor authorizes concurrent onNext calls.
+	 *
+	 * @param name processor thread logical name
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers
+	 * @param strategy A RingBuffer WaitStrategy to use instead of the default
+	 * @param direct true if the backlog should be allocated off-heap
+	 *
+	 * @return a fresh processor
+	 */
+	public static LongTopicProcessor share(String name, int bufferSize, WaitStrategy strategy, boolean direct) {
+		return new LongTopicProcessor(name, null, bufferSize, strategy, true, true, direct);
+	}
+
+	final RingBufferReceiver barrier;
+
+	final LongRingBuffer ringBuffer;
+
+	final Sequence minimum;
+
+	LongTopicProcessor(String name,
+			ExecutorService executor,
+			int bufferSize,
+			WaitStrategy waitStrategy,
+			boolean shared,
+			boolean autoCancel,
+			boolean direct) {
+		super(name, executor, autoCancel);
+
+		if (!RingBuffer.isPowerOfTwo(bufferSize)) {
+			throw new IllegalArgumentException("bufferSize must be a power of 2 : " + bufferSize);
+		}
+
+		Runnable spinObserver = () -> {
+			if (!alive() && SUBSCRIBER_COUNT.get(LongTopicProcessor.this) == 0) {
+				throw Exceptions.AlertException.INSTANCE;
+			}
+		};
+
+		WaitStrategy strategy = waitStrategy == null ?
+				WaitStrategy.phasedOffLiteLock(200, 100, TimeUnit.MILLISECONDS) :
+				waitStrategy;
+		if (shared) {
+			this.ringBuffer = LongRingBuffer.createMultiProducer(bufferSize, strategy, spinObserver, direct);
+		}
+		else {
+			this.ringBuffer = LongRingBuffer.createSingleProducer(bufferSize, strategy, spinObserver, direct);
+		}
+
+		this.minimum = RingBuffer.newSequence(-1);
+		this.barrier = ringBuffer.newBarrier();
+	}
+
+	@Override
+	public void subscribe(final Subscriber<? super Long> subscriber) {
+		super.subscribe(subscriber);
+
+		if (!alive()) {
+			coldSource(null).subscribe(subscriber);
+			return;
+		}
+
+		final Sequence pendingRequest = RingBuffer.newSequence(0);
+		final LongTopicSubscriberLoop signalProcessor =
+				new LongTopicSubscriberLoop(this, pendingRequest, subscriber);
+
+		//if only active subscriber, replay missed data
+		if (incrementSubscribers()) {
+			signalProcessor.sequence.set(minimum.getAsLong());
+			ringBuffer.addGatingSequence(signalProcessor.sequence);
+		}
+		else {
+			signalProcessor.sequence.set(ringBuffer.getCursor());
+			ringBuffer.addGatingSequence(signalProcessor.sequence);
+		}
+
+		try {
+			executor.execute(signalProcessor);
+		}
+		catch (Throwable t) {
+			ringBuffer.removeGatingSequence(signalProcessor.sequence);
+			decrementSubscribers();
+			if (!alive() && RejectedExecutionException.class.isAssignableFrom(t.getClass())) {
+				coldSource(t).subscribe(subscriber);
+			}
+			else {
+				EmptySubscription.error(subscriber, t);
+			}
+		}
+	}
+
+	@Override
+	public Flux<Long> drain() {
+		return coldSource(null);
+	}
+
+	@Override
+	public void onNext(Long o) {
+		super.onNext(o);
+		ringBuffer.onNext(o);
+	}
+
+	/**
+	 * Publish a value without boxing.
+	 *
+	 * @param value the value to publish
+	 */
+	public void onNext(long value) {
+		ringBuffer.onNext(value);
+	}
+
+	/**
+	 * Publish a batch of values without boxing, claiming and publishing the whole range at once.
+	 *
+	 * @param values the array holding the values to publish
+	 * @param offset the index of the first value to publish
+	 * @param count the number of values to publish
+	 */
+	public void onNextBatch(long[] values, int offset, int count) {
+		if (offset < 0 || count < 0 || offset > values.length - count) {
+			throw new IndexOutOfBoundsException("offset: " + offset + ", count: " + count +
+					", length: " + values.length);
+		}
+		ringBuffer.onNext(values, offset, count);
+	}
+
+	@Override
+	public void onNextBatch(Long[] items, int offset, int count) {
+		checkBatch(items, offset, count);
+		long[] values = new long[count];
+		for (int i = 0; i < count; i++) {
+			values[i] = items[offset + i];
+		}
+		ringBuffer.onNext(values, 0, count);
+	}
+
+	@Override
+	protected void doError(Throwable t) {
+		signalRequestTask();
+		barrier.signal();
+	}
+
+	@Override
+	protected void doComplete() {
+		signalRequestTask();
+		barrier.signal();
+	}
+
+	Flux<Long> coldSource(Throwable t) {
+		long cursor = ringBuffer.getCursor();
+		List<Long> values = new ArrayList<>();
+		for (long seq = Math.max(minimum.getAsLong(), cursor - ringBuffer.getCapacity()) + 1L; seq <= cursor; seq++) {
+			values.add(ringBuffer.get(seq));
+		}
+		Flux<Long> bufferIterable = fromIterable(values);
+		Throwable error = this.error;
+		if (error != null) {
+			if (t != null) {
+				t.addSuppressed(error);
+				return concat(bufferIterable, Flux.<Long>error(t));
+			}
+			return concat(bufferIterable, Flux.<Long>error(error));
+		}
+		return bufferIterable;
+	}
+
+	@Override
+	public boolean isWork() {
+		return false;
+	}
+
+	@Override
+	public long getPending() {
+		return ringBuffer.getPending();
+	}
+
+	@Override
+	protected void requestTask(Subscription s) {
+		minimum.set(ringBuffer.getCursor());
+		ringBuffer.addGatingSequence(minimum);
+		startRequestTask(s, minimum::set, () -> SUBSCRIBER_COUNT.get(LongTopicProcessor.this) == 0 ?
+				minimum.getAsLong() :
+				ringBuffer.getMinimumGatingSequence(minimum), (int) ringBuffer.getCapacity());
+	}
+
+	@Override
+	protected void cancel(Subscription subscription) {
+		super.cancel(subscription);
+		signalRequestTask();
+	}
+
+	@Override
+	public String toString() {
+		return "LongTopicProcessor{" +
+				"barrier=" + barrier +
+				", remaining=" + ringBuffer.remainingCapacity() +
+				", direct=" + ringBuffer.isDirect() +
+				'}';
+	}
+
+	@Override
+	public long getAvailableCapacity() {
+		return ringBuffer.remainingCapacity();
+	}
+
+	@Override
+	public long getCapacity() {
+		return ringBuffer.getCapacity();
+	}
+
+	@Override
+	public boolean isStarted() {
+		return super.isStarted() || ringBuffer.getAsLong() != -1;
+	}
+
+	@Override
+	public Iterator<?> downstreams() {
+		return Arrays.asList(ringBuffer.getSequenceReceivers()).iterator();
+	}
+
+	@Override
+	public long downstreamCount() {
+		return ringBuffer.getSequenceReceivers().length - (isStarted() ? 1 : 0);
+	}
+
+	/**
+	 * Event loop reading a {@link LongRingBuffer} on behalf of a single subscriber, see {@link TopicProcessor}.
+	 */
+	final static class LongTopicSubscriberLoop
+			implements Runnable, Producer, Backpressurable, Completable, Receiver, Cancellable,
+			           Introspectable, Requestable, Subscription {
+
+		final AtomicBoolean running = new AtomicBoolean(false);
+
+		final Sequence sequence = RingBuffer.wrap(RingBuffer.INITIAL_CURSOR_VALUE, this);
+
+		final LongTopicProcessor processor;
+
+		final Sequence pendingRequest;
+
+		final Subscriber<? super Long> subscriber;
+
+		/**
+		 * The subscriber itself if it can consume primitive values, null otherwise.
+		 */
+		final LongConsumer primitive;
+
+		final Runnable waiter = new Runnable() {
+			@Override
+			public void run() {
+				if (!running.get() || processor.isTerminated()) {
+					throw Exceptions.AlertException.INSTANCE;
+				}
+			}
+		};
+
+		LongTopicSubscriberLoop(LongTopicProcessor processor,
+				Sequence pendingRequest,
+				Subscriber<? super Long> subscriber) {
+			this.processor = processor;
+			this.pendingRequest = pendingRequest;
+			this.subscriber = subscriber;
+			this.primitive = subscriber instanceof LongConsumer ? (LongConsumer) subscriber : null;
+		}
+
+		void halt() {
+			running.set(false);
+			processor.barrier.alert();
+		}
+
+		@Override
+		public void run() {
+			try {
+				if (!running.compareAndSet(false, true)) {
+					EmptySubscription.error(subscriber, new IllegalStateException("Thread is already running"));
+					return;
+				}
+
+				if (!processor.startSubscriber(subscriber, this)) {
+					return;
+				}
+
+				if (!RingBuffer.waitRequestOrTerminalEvent(pendingRequest,
+						processor.barrier,
+						running,
+						sequence,
+						waiter)) {
+					if (!running.get()) {
+						return;
+					}
+					if (processor.terminated == SHUTDOWN) {
+						if (processor.ringBuffer.getAsLong() == -1L) {
+							if (processor.error != null) {
+								subscriber.onError(processor.error);
+								return;
+							}
+							subscriber.onComplete();
+							return;
+						}
+					}
+					else if (processor.terminated == FORCED_SHUTDOWN) {
+						return;
+					}
+				}
+
+				final LongRingBuffer ringBuffer = processor.ringBuffer;
+				final LongConsumer primitive = this.primitive;
+				long nextSequence = sequence.getAsLong() + 1L;
+				final boolean unbounded = pendingRequest.getAsLong() == Long.MAX_VALUE;
+
+				while (true) {
+					try {
+						final long availableSequence = processor.barrier.waitFor(nextSequence, waiter);
+						while (nextSequence <= availableSequence) {
+							long value = ringBuffer.get(nextSequence);
+
+							//if bounded and out of capacity
+							while (!unbounded && BackpressureUtils.getAndSub(pendingRequest, 1L) == 0) {
+								if (!running.get() || processor.isTerminated()) {
+									throw Exceptions.AlertException.INSTANCE;
+								}
+								LockSupport.parkNanos(1L);
+							}
+
+							if (primitive != null) {
+								primitive.accept(value);
+							}
+							else {
+								subscriber.onNext(value);
+							}
+							nextSequence++;
+						}
+						sequence.set(availableSequence);
+
+						if (EmptySubscription.INSTANCE != processor.upstreamSubscription) {
+							processor.signalRequestTask();
+						}
+					}
+					catch (final Exceptions.AlertException | Exceptions.CancelException ex) {
+						if (!running.get()) {
+							break;
+						}
+						else {
+							if (processor.terminated == SHUTDOWN) {
+								if (processor.error != null) {
+									subscriber.onError(processor.error);
+									break;
+								}
+								if (nextSequence > processor.ringBuffer.getAsLong()) {
+									subscriber.onComplete();
+									break;
+								}
+
+								LockSupport.parkNanos(1L);
+							}
+							else if (processor.terminated == FORCED_SHUTDOWN) {
+								break;
+							}
+							processor.barrier.clearAlert();
+						}
+					}
+					catch (final InterruptedException ex) {
+						Thread.currentThread()
+						      .interrupt();
+						break;
+					}
+					catch (final Throwable ex) {
+						Exceptions.throwIfFatal(ex);
+						subscriber.onError(ex);
+						sequence.set(nextSequence);
+						nextSequence++;
+					}
+				}
+			}
+			finally {
+				processor.ringBuffer.removeGatingSequence(sequence);
+				processor.decrementSubscribers();
+				running.set(false);
+				processor.signalRequestTask();
+			}
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return !running.get();
+		}
+
+		@Override
+		public boolean isStarted() {
+			return sequence.getAsLong() != -1L;
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return !running.get();
+		}
+
+		@Override
+		public long requestedFromDownstream() {
+			return pendingRequest.getAsLong();
+		}
+
+		@Override
+		public long getPending() {
+			return processor.ringBuffer.getCursor() - sequence.getAsLong();
+		}
+
+		@Override
+		public long getCapacity() {
+			return processor.getCapacity();
+		}
+
+		@Override
+		public Object downstream() {
+			return subscriber;
+		}
+
+		@Override
+		public Object upstream() {
+			return processor;
+		}
+
+		@Override
+		public void request(long n) {
+			if (BackpressureUtils.checkRequest(n, subscriber)) {
+				if (!running.get()) {
+					return;
+				}
+				BackpressureUtils.getAndAdd(pendingRequest, n);
+			}
+		}
+
+		@Override
+		public void cancel() {
+			halt();
+		}
+
+		@Override
+		public int getMode() {
+			return INNER;
+		}
+
+		@Override
+		public String getName() {
+			return processor.getName() + "#loop";
+		}
+	}
+}
@@ -17,6 +17,7 @@
 package reactor.core.publisher;
 
 import java.time.Duration;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
@@ -195,6 +196,24 @@ public abstract class Mono<T> implements Publisher<T>, Backpressurable, Introspe
 		return delay(duration.toMillis(), timer);
 	}
 
+	/**
+	 * Create a Mono which delays an onNext signal of {@code duration} and complete on the given
+	 * {@link TimedScheduler}, e.g. a {@link SchedulerGroup#workStealing} group or one of its scheduler references
+	 * which run the delay on their own worker without hopping from a timer thread.
+	 * If the demand cannot be produced in time, an onError will be signalled instead.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/projectreactor.io/master/src/main/static/assets/img/marble/delay.png" alt="">
+	 * <p>
+	 * @param duration the duration of the delay
+	 * @param scheduler the scheduler running the delayed signal
+	 *
+	 * @return a new {@link Mono}
+	 */
+	public static Mono<Long> delay(Duration duration, TimedScheduler scheduler) {
+		return new MonoDelay(Objects.requireNonNull(scheduler, "scheduler"), duration.toMillis());
+	}
+
 	/**
 	 * Create a {@link Mono} that completes without emitting any item.
 	 *
@@ -758,6 +777,72 @@ public abstract class Mono<T> implements Publisher<T>, Backpressurable, Introspe
 		return new MonoProcessor<>(this);
 	}
 
+	/**
+	 * Turn this {@link Mono} into a hot source and cache its emitted signal for further {@link Subscriber} during
+	 * the given time to live. The first {@link Subscriber} after the expiry subscribes again to this {@link Mono},
+	 * the {@link Subscriber}s arriving meanwhile waiting for the same result. Expiry is scheduled on the global
+	 * {@link Timer}.
+	 *
+	 * @param ttl the time to live of the cached signal
+	 *
+	 * @return a replaying {@link Mono} refreshed after the time to live
+	 */
+	public final Mono<T> cache(Duration ttl) {
+		return cache(ttl, Timer.global());
+	}
+
+	/**
+	 * Turn this {@link Mono} into a hot source and cache its emitted signal for further {@link Subscriber} during
+	 * the given time to live. The first {@link Subscriber} after the expiry subscribes again to this {@link Mono},
+	 * the {@link Subscriber}s arriving meanwhile waiting for the same result.
+	 *
+	 * @param ttl the time to live of the cached signal
+	 * @param timer the {@link Timer} scheduling the expiry
+	 *
+	 * @return a replaying {@link Mono} refreshed after the time to live
+	 */
+	public final Mono<T> cache(Duration ttl, Timer timer) {
+		return new MonoCacheTime<>(this, ttl, timer);
+	}
+
+	/**
+	 * Turn this {@link Mono} into a hot source and cache its emitted signal for further {@link Subscriber} during a
+	 * time to live computed from that signal. The first {@link Subscriber} after the expiry subscribes again to this
+	 * {@link Mono}, the {@link Subscriber}s arriving meanwhile waiting for the same result. A {@link Duration#ZERO}
+	 * time to live does not cache the signal. Expiry is scheduled on the global {@link Timer}.
+	 *
+	 * @param ttlForValue the time to live of a cached value
+	 * @param ttlForError the time to live of a cached error
+	 * @param ttlForEmpty the time to live of a cached empty completion
+	 *
+	 * @return a replaying {@link Mono} refreshed after the signal time to live
+	 */
+	public final Mono<T> cache(Function<? super T, Duration> ttlForValue,
+			Function<Throwable, Duration> ttlForError,
+			Supplier<Duration> ttlForEmpty) {
+		return cache(ttlForValue, ttlForError, ttlForEmpty, Timer.global());
+	}
+
+	/**
+	 * Turn this {@link Mono} into a hot source and cache its emitted signal for further {@link Subscriber} during a
+	 * time to live computed from that signal. The first {@link Subscriber} after the expiry subscribes again to this
+	 * {@link Mono}, the {@link Subscriber}s arriving meanwhile waiting for the same result. A {@link Duration#ZERO}
+	 * time to live does not cache the signal.
+	 *
+	 * @param ttlForValue the time to live of a cached value
+	 * @param ttlForError the time to live of a cached error
+	 * @param ttlForEmpty the time to live of a cached empty completion
+	 * @param timer the {@link Timer} scheduling the expiry
+	 *
+	 * @return a replaying {@link Mono} refreshed after the signal time to live
+	 */
+	public final Mono<T> cache(Function<? super T, Duration> ttlForValue,
+			Function<Throwable, Duration> ttlForError,
+			Supplier<Duration> ttlForEmpty,
+			Timer timer) {
+		return new MonoCacheTime<>(this, ttlForValue, ttlForError, ttlForEmpty, timer);
+	}
+
 	/**
 	 * Subscribe a {@link Consumer} to this {@link Mono} that will consume all the
 	 * sequence.
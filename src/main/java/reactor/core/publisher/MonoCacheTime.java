@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.flow.Receiver;
+import reactor.core.state.Completable;
+import reactor.core.subscriber.DeferredScalarSubscriber;
+import reactor.core.timer.Timer;
+import reactor.core.util.BackpressureUtils;
+import reactor.core.util.Exceptions;
+
+/**
+ * Caches the signal of the source for a time to live computed from that signal, subscribing again to the source
+ * for the first {@link Subscriber} arriving after the cached signal expired.
+ * <p>
+ * The {@link Subscriber}s arriving while the source is being resolved all wait for the same upstream call. A zero
+ * time to live does not cache the signal and a time to live of at least {@link Long#MAX_VALUE} milliseconds never
+ * expires, otherwise the cached signal is released by the {@link Timer}.
+ *
+ * @param <T> the value type
+ * @since 2.5
+ */
+final class MonoCacheTime<T> extends MonoSource<T, T> {
+
+	static final Duration FOREVER = Duration.ofMillis(Long.MAX_VALUE);
+
+	final Function<? super T, Duration> ttlForValue;
+
+	final Function<Throwable, Duration> ttlForError;
+
+	final Supplier<Duration> ttlForEmpty;
+
+	final Timer timer;
+
+	/**
+	 * The coordinator of the current or last upstream call, null when no signal is cached
+	 */
+	volatile CacheCoordinator<T> state;
+	@SuppressWarnings("rawtypes")
+	static final AtomicReferenceFieldUpdater<MonoCacheTime, CacheCoordinator> STATE =
+			AtomicReferenceFieldUpdater.newUpdater(MonoCacheTime.class, CacheCoordinator.class, "state");
+
+	public MonoCacheTime(Publisher<? extends T> source, Duration ttl, Timer timer) {
+		this(source, v -> ttl, e -> ttl, () -> ttl, timer);
+		Objects.requireNonNull(ttl, "ttl");
+	}
+
+	public MonoCacheTime(Publisher<? extends T> source,
+			Function<? super T, Duration> ttlForValue,
+			Function<Throwable, Duration> ttlForError,
+			Supplier<Duration> ttlForEmpty,
+			Timer timer) {
+		super(source);
+		this.ttlForValue = Objects.requireNonNull(ttlForValue, "ttlForValue");
+		this.ttlForError = Objects.requireNonNull(ttlForError, "ttlForError");
+		this.ttlForEmpty = Objects.requireNonNull(ttlForEmpty, "ttlForEmpty");
+		this.timer = Objects.requireNonNull(timer, "timer");
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void subscribe(Subscriber<? super T> s) {
+		CacheInner<T> inner = new CacheInner<>(s);
+		s.onSubscribe(inner);
+
+		for (;;) {
+			CacheCoordinator<T> c = state;
+
+			if (c == null) {
+				c = new CacheCoordinator<>(this);
+				if (!STATE.compareAndSet(this, null, c)) {
+					continue;
+				}
+				c.add(inner);
+				source.subscribe(c);
+				return;
+			}
+
+			if (c.add(inner)) {
+				return;
+			}
+
+			// resolved before this subscriber could join, the signal is still valid for it
+			inner.signal(c.signal);
+			return;
+		}
+	}
+
+	static final class CacheCoordinator<T> implements Subscriber<T>, Receiver, Completable {
+
+		@SuppressWarnings("rawtypes")
+		static final CacheInner[] EMPTY = new CacheInner[0];
+
+		@SuppressWarnings("rawtypes")
+		static final CacheInner[] TERMINATED = new CacheInner[0];
+
+		final MonoCacheTime<T> main;
+
+		Subscription s;
+
+		/**
+		 * The resolved signal, set before the subscribers are terminated
+		 */
+		volatile Signal<T> signal;
+
+		volatile CacheInner<T>[] subscribers;
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<CacheCoordinator, CacheInner[]> SUBSCRIBERS =
+				AtomicReferenceFieldUpdater.newUpdater(CacheCoordinator.class, CacheInner[].class, "subscribers");
+
+		@SuppressWarnings("unchecked")
+		CacheCoordinator(MonoCacheTime<T> main) {
+			this.main = main;
+			this.subscribers = EMPTY;
+		}
+
+		boolean add(CacheInner<T> inner) {
+			for (;;) {
+				CacheInner<T>[] a = subscribers;
+				if (a == TERMINATED) {
+					return false;
+				}
+				int n = a.length;
+				@SuppressWarnings("unchecked") CacheInner<T>[] b = new CacheInner[n + 1];
+				System.arraycopy(a, 0, b, 0, n);
+				b[n] = inner;
+				if (SUBSCRIBERS.compareAndSet(this, a, b)) {
+					return true;
+				}
+			}
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (BackpressureUtils.validate(this.s, s)) {
+				this.s = s;
+				s.request(Long.MAX_VALUE);
+			}
+		}
+
+		@Override
+		public void onNext(T t) {
+			if (signal != null) {
+				Exceptions.onNextDropped(t);
+				return;
+			}
+			s.cancel();
+			resolve(Signal.next(t));
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (signal != null) {
+				Exceptions.onErrorDropped(t);
+				return;
+			}
+			resolve(Signal.error(t));
+		}
+
+		@Override
+		public void onComplete() {
+			if (signal != null) {
+				return;
+			}
+			resolve(Signal.complete());
+		}
+
+		void resolve(Signal<T> signal) {
+			Duration ttl;
+
+			try {
+				if (signal.isOnNext()) {
+					ttl = main.ttlForValue.apply(signal.get());
+				}
+				else if (signal.isOnError()) {
+					ttl = main.ttlForError.apply(signal.getThrowable());
+				}
+				else {
+					ttl = main.ttlForEmpty.get();
+				}
+				Objects.requireNonNull(ttl, "The time to live is null");
+			}
+			catch (Throwable e) {
+				Exceptions.throwIfFatal(e);
+				signal = Signal.error(Exceptions.unwrap(e));
+				ttl = Duration.ZERO;
+			}
+
+			this.signal = signal;
+
+			// decide on the expiry before terminating the subscribers so they are signalled whatever the timer does
+			if (ttl.isZero() || ttl.isNegative()) {
+				STATE.compareAndSet(main, this, null);
+			}
+			else if (ttl.compareTo(FOREVER) < 0) {
+				try {
+					main.timer.submit(n -> STATE.compareAndSet(main, this, null), ttl.toMillis());
+				}
+				catch (Exceptions.CancelException ce) {
+					// the timer has been cancelled and cannot expire the signal, do not cache it at all
+					STATE.compareAndSet(main, this, null);
+				}
+				catch (Throwable e) {
+					Exceptions.throwIfFatal(e);
+					STATE.compareAndSet(main, this, null);
+				}
+			}
+
+			@SuppressWarnings("unchecked") CacheInner<T>[] a = SUBSCRIBERS.getAndSet(this, TERMINATED);
+
+			for (CacheInner<T> inner : a) {
+				inner.signal(signal);
+			}
+		}
+
+		@Override
+		public boolean isStarted() {
+			return s != null && signal == null;
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return signal != null;
+		}
+
+		@Override
+		public Object upstream() {
+			return s;
+		}
+	}
+
+	static final class CacheInner<T> extends DeferredScalarSubscriber<T, T> {
+
+		CacheInner(Subscriber<? super T> subscriber) {
+			super(subscriber);
+		}
+
+		void signal(Signal<T> signal) {
+			if (signal.isOnNext()) {
+				complete(signal.get());
+			}
+			else if (!isCancelled()) {
+				if (signal.isOnError()) {
+					subscriber.onError(signal.getThrowable());
+				}
+				else {
+					subscriber.onComplete();
+				}
+			}
+		}
+	}
+}
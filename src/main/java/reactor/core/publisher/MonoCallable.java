@@ -37,7 +37,7 @@ import reactor.core.util.Exceptions;
  */
 final class MonoCallable<T> 
 extends Mono<T>
-		implements Receiver {
+		implements Callable<T>, Receiver {
 
 	final Callable<? extends T> callable;
 
@@ -77,7 +77,19 @@ extends Mono<T>
 
 		sds.complete(t);
 	}
-	
+
+	/**
+	 * Invoke the wrapped {@link Callable} directly, letting operators such as flatMap treat this {@link Mono} as a
+	 * synchronous scalar source instead of subscribing to it.
+	 *
+	 * @return the callable value, possibly null
+	 * @throws Exception if the callable failed
+	 */
+	@Override
+	public T call() throws Exception {
+		return callable.call();
+	}
+
 	@Override
 	public T get() {
 		try {
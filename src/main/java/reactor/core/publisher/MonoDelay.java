@@ -15,9 +15,16 @@
  */
 package reactor.core.publisher;
 
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
 import org.reactivestreams.Subscriber;
+import reactor.core.state.Cancellable;
+import reactor.core.state.Pausable;
 import reactor.core.state.Timeable;
 import reactor.core.timer.Timer;
+import reactor.core.util.BackpressureUtils;
 import reactor.core.util.EmptySubscription;
 import reactor.core.util.Exceptions;
 
@@ -26,16 +33,40 @@ import reactor.core.util.Exceptions;
  */
 final class MonoDelay extends Mono<Long> implements Timeable {
 
-	final Timer    parent;
-	final long     delay;
+	final Timer          parent;
+	final TimedScheduler scheduler;
+	final long           delay;
 
 	public MonoDelay(Timer timer, long delay) {
 		this.parent = timer;
+		this.scheduler = null;
+		this.delay = delay;
+	}
+
+	public MonoDelay(TimedScheduler scheduler, long delay) {
+		this.parent = null;
+		this.scheduler = scheduler;
 		this.delay = delay;
 	}
 
 	@Override
 	public void subscribe(Subscriber<? super Long> s) {
+		if (scheduler != null) {
+			MonoDelayRunnable r = new MonoDelayRunnable(s);
+			s.onSubscribe(r);
+			try {
+				r.setCancel(scheduler.schedule(r, delay, TimeUnit.MILLISECONDS));
+			}
+			catch (Exceptions.CancelException ce) {
+				//the scheduler has been shut down, throwIfFatal would rethrow this upstream exception
+				r.reject(new RejectedExecutionException("The scheduler has been shut down"));
+			}
+			catch (Throwable t) {
+				Exceptions.throwIfFatal(t);
+				r.reject(Exceptions.unwrap(t));
+			}
+			return;
+		}
 		try {
 			s.onSubscribe(parent.single(s, delay));
 		}
@@ -50,4 +81,104 @@ final class MonoDelay extends Mono<Long> implements Timeable {
 		return delay;
 	}
 
+	/**
+	 * Emits once run by a {@link TimedScheduler}, failing with a time overflow if no demand was signalled by then.
+	 */
+	static final class MonoDelayRunnable implements Runnable, Pausable, Cancellable {
+
+		static final Pausable CANCELLED = new Pausable() {
+			@Override
+			public void pause() {
+			}
+
+			@Override
+			public void resume() {
+			}
+
+			@Override
+			public void request(long n) {
+			}
+
+			@Override
+			public void cancel() {
+			}
+		};
+
+		final Subscriber<? super Long> actual;
+
+		volatile boolean requested;
+
+		volatile Pausable cancel;
+		static final AtomicReferenceFieldUpdater<MonoDelayRunnable, Pausable> CANCEL =
+				AtomicReferenceFieldUpdater.newUpdater(MonoDelayRunnable.class, Pausable.class, "cancel");
+
+		MonoDelayRunnable(Subscriber<? super Long> actual) {
+			this.actual = actual;
+		}
+
+		void setCancel(Pausable p) {
+			if (!CANCEL.compareAndSet(this, null, p)) {
+				p.cancel();
+			}
+		}
+
+		void reject(Throwable e) {
+			if (CANCEL.getAndSet(this, CANCELLED) != CANCELLED) {
+				actual.onError(e);
+			}
+		}
+
+		@Override
+		public void run() {
+			if (CANCEL.getAndSet(this, CANCELLED) == CANCELLED) {
+				return;
+			}
+			if (requested) {
+				actual.onNext(0L);
+				actual.onComplete();
+			}
+			else {
+				actual.onError(Exceptions.timeOverflow());
+			}
+		}
+
+		@Override
+		public void request(long n) {
+			if (BackpressureUtils.validate(n)) {
+				requested = true;
+			}
+		}
+
+		@Override
+		public void cancel() {
+			Pausable p = cancel;
+			if (p != CANCELLED) {
+				p = CANCEL.getAndSet(this, CANCELLED);
+				if (p != null && p != CANCELLED) {
+					p.cancel();
+				}
+			}
+		}
+
+		@Override
+		public void pause() {
+			Pausable p = cancel;
+			if (p != null) {
+				p.pause();
+			}
+		}
+
+		@Override
+		public void resume() {
+			Pausable p = cancel;
+			if (p != null) {
+				p.resume();
+			}
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancel == CANCELLED;
+		}
+	}
 }
@@ -17,8 +17,10 @@
 package reactor.core.publisher;
 
 import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
 
 import org.reactivestreams.Processor;
 import org.reactivestreams.Publisher;
@@ -71,6 +73,7 @@ public final class MonoProcessor<O> extends Mono<O>
 	volatile int             state;
 	volatile int             wip;
 	volatile int             requested;
+	volatile Waiter          waiters;
 	MonoProcessor(Publisher<? extends O> source) {
 		this.source = source;
 	}
@@ -84,6 +87,7 @@ public final class MonoProcessor<O> extends Mono<O>
 			}
 			if (STATE.compareAndSet(this, state, STATE_CANCELLED)) {
 				subscription = CancelledSubscription.INSTANCE;
+				releaseWaiters();
 				break;
 			}
 			state = this.state;
@@ -106,6 +110,8 @@ public final class MonoProcessor<O> extends Mono<O>
 	/**
 	 * Block the calling thread for the specified time, waiting for the completion of this {@code MonoProcessor}. If the
 	 * {@link MonoProcessor} is completed with an error a RuntimeException that wraps the error is thrown.
+	 * <p>
+	 * The calling thread parks until the terminal signal or a cancellation unparks it, or until the timeout elapses.
 	 *
 	 * @param timeout the timeout value in milliseconds
 	 *
@@ -114,41 +120,53 @@ public final class MonoProcessor<O> extends Mono<O>
 	 */
 	@Override
 	public O get(long timeout) {
-		try {
-			if (!isPending()) {
-				return peek();
+		if (!isPending()) {
+			return peek();
+		}
+		else if(subscription == null) {
+			getOrStart();
+		}
+
+		long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+		long start = System.nanoTime();
+		Waiter w = null;
+
+		for (; ; ) {
+			int endState = this.state;
+			switch (endState) {
+				case STATE_SUCCESS_VALUE:
+					return value;
+				case STATE_ERROR:
+					if (error instanceof RuntimeException) {
+						throw (RuntimeException) error;
+					}
+					throw Exceptions.fail(error);
+				case STATE_COMPLETE_NO_VALUE:
+					return null;
+				case STATE_CANCELLED:
+					throw Exceptions.failWithCancel();
 			}
-			else if(subscription == null) {
-				getOrStart();
+			if (w == null) {
+				w = new Waiter(Thread.currentThread());
 			}
-
-			long delay = System.currentTimeMillis() + timeout;
-
-			for (; ; ) {
-				int endState = this.state;
-				switch (endState) {
-					case STATE_SUCCESS_VALUE:
-						return value;
-					case STATE_ERROR:
-						if (error instanceof RuntimeException) {
-							throw (RuntimeException) error;
-						}
-						throw Exceptions.fail(error);
-					case STATE_COMPLETE_NO_VALUE:
-						return null;
-				}
-				if (delay < System.currentTimeMillis()) {
+			else if (!w.queued) {
+				w.queued = pushWaiter(w);
+			}
+			else {
+				long remaining = timeoutNanos - (System.nanoTime() - start);
+				if (remaining <= 0L) {
+					w.thread = null;
 					cancel();
 					throw Exceptions.failWithCancel();
 				}
-				Thread.sleep(1);
+				LockSupport.parkNanos(this, remaining);
+				if (Thread.interrupted()) {
+					w.thread = null;
+					Thread.currentThread().interrupt();
+					throw Exceptions.failWithCancel();
+				}
 			}
 		}
-		catch (InterruptedException ie) {
-			Thread.currentThread().interrupt();
-
-			throw Exceptions.failWithCancel();
-		}
 	}
 
 	/**
@@ -243,6 +261,7 @@ public final class MonoProcessor<O> extends Mono<O>
 				return;
 			}
 			if (STATE.compareAndSet(this, state, STATE_ERROR)) {
+				releaseWaiters();
 				if(processor == null){
 					if (RuntimeException.class.isInstance(error)) {
 						throw (RuntimeException) error;
@@ -291,6 +310,7 @@ public final class MonoProcessor<O> extends Mono<O>
 				return;
 			}
 			if (STATE.compareAndSet(this, state, finalState)) {
+				releaseWaiters();
 				break;
 			}
 			state = this.state;
@@ -459,6 +479,41 @@ public final class MonoProcessor<O> extends Mono<O>
 		}
 	}
 
+	/**
+	 * Push a blocked {@link #get(long)} caller on the waiter stack unless this processor is already terminated or
+	 * cancelled.
+	 *
+	 * @param w the waiter to push
+	 * @return true if the waiter has been pushed and will be unparked on termination
+	 */
+	final boolean pushWaiter(Waiter w) {
+		for (; ; ) {
+			Waiter h = waiters;
+			if (h == TERMINATED_WAITER) {
+				return false;
+			}
+			w.next = h;
+			if (WAITERS.compareAndSet(this, h, w)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Unpark every blocked {@link #get(long)} caller, to be called once the state is terminal.
+	 */
+	final void releaseWaiters() {
+		Waiter w = WAITERS.getAndSet(this, TERMINATED_WAITER);
+		while (w != null && w != TERMINATED_WAITER) {
+			Thread t = w.thread;
+			if (t != null) {
+				w.thread = null;
+				LockSupport.unpark(t);
+			}
+			w = w.next;
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	Processor<O, O> getOrStart(){
 		Processor<O, O> out = processor;
@@ -511,13 +566,30 @@ public final class MonoProcessor<O> extends Mono<O>
 
 		}
 	}
+	/**
+	 * A thread blocked in {@link #get(long)}, linked in a Treiber stack released on termination.
+	 */
+	final static class Waiter {
+
+		volatile Thread thread;
+		Waiter          next;
+		boolean         queued;
+
+		Waiter(Thread thread) {
+			this.thread = thread;
+		}
+	}
+
 	final static NoopProcessor NOOP_PROCESSOR = new NoopProcessor();
+	final static Waiter        TERMINATED_WAITER = new Waiter(null);
 	final static AtomicIntegerFieldUpdater<MonoProcessor>              STATE     =
 			AtomicIntegerFieldUpdater.newUpdater(MonoProcessor.class, "state");
 	final static AtomicIntegerFieldUpdater<MonoProcessor>              WIP       =
 			AtomicIntegerFieldUpdater.newUpdater(MonoProcessor.class, "wip");
 	final static AtomicReferenceFieldUpdater<MonoProcessor, Processor> PROCESSOR =
 			PlatformDependent.newAtomicReferenceFieldUpdater(MonoProcessor.class, "processor");
+	final static AtomicReferenceFieldUpdater<MonoProcessor, Waiter>    WAITERS   =
+			AtomicReferenceFieldUpdater.newUpdater(MonoProcessor.class, Waiter.class, "waiters");
 	final static int       STATE_CANCELLED         = -1;
 	final static int       STATE_READY             = 0;
 	final static int       STATE_SUBSCRIBED        = 1;
@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import reactor.core.queue.QueueSupplier;
+import reactor.core.util.EmptySubscription;
+import reactor.core.util.PlatformDependent;
+
+/**
+ * Abstract base class for parallel publishers that take an array of {@link Subscriber}s, one per rail.
+ * <p>
+ * Use {@link Flux#parallel(int)} to split a {@link Flux} into rails in a round-robin fashion, {@link #runOn} to
+ * run each rail on its own worker, the per-rail operators such as {@link #map} or {@link #reduce} to process them
+ * and {@link #sequential()} or {@link #sorted(Comparator)} to merge the rails back into a {@link Flux}.
+ * Per-rail operators are plain subscribers chained on each rail without any extra queue.
+ *
+ * @param <T> the value type
+ * @since 2.5
+ */
+public abstract class ParallelFlux<T> {
+
+	/**
+	 * Take a {@link Publisher} and prepare to consume it on multiple 'rails' in a round-robin fashion.
+	 *
+	 * @param source the source {@link Publisher}
+	 * @param parallelism the number of rails
+	 * @param prefetch the number of values to prefetch from the source
+	 * @param queueSupplier the queue structure supplier to hold the prefetched values from the source until there is
+	 * a rail ready to process it
+	 * @param <T> the value type
+	 *
+	 * @return a new {@link ParallelFlux}
+	 */
+	public static <T> ParallelFlux<T> from(Publisher<? extends T> source,
+			int parallelism,
+			int prefetch,
+			Supplier<Queue<T>> queueSupplier) {
+		return new ParallelSource<>(source, parallelism, prefetch, queueSupplier);
+	}
+
+	/**
+	 * Subscribes an array of Subscribers to this {@link ParallelFlux} and triggers the execution chain for all
+	 * 'rails'.
+	 *
+	 * @param subscribers the subscribers array to run in parallel, the number of items must be equal to the
+	 * parallelism level of this ParallelFlux
+	 */
+	public abstract void subscribe(Subscriber<? super T>[] subscribers);
+
+	/**
+	 * Return the number of expected subscribers.
+	 *
+	 * @return the number of expected subscribers
+	 */
+	public abstract int parallelism();
+
+	/**
+	 * Validate the number of subscribers matches the parallelism and signal an {@link IllegalArgumentException} to
+	 * all of them otherwise.
+	 *
+	 * @param subscribers the array of Subscribers
+	 *
+	 * @return true if the number of subscribers is correct
+	 */
+	protected final boolean validate(Subscriber<?>[] subscribers) {
+		int p = parallelism();
+		if (subscribers.length != p) {
+			IllegalArgumentException e =
+					new IllegalArgumentException("parallelism = " + p + ", subscribers = " + subscribers.length);
+			for (Subscriber<?> s : subscribers) {
+				EmptySubscription.error(s, e);
+			}
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Specify where each 'rail' will observe its incoming values with no work-stealing and default prefetch amount.
+	 * <p>
+	 * Each rail calls the scheduler factory once to get its own worker, which is released with the {@link Runnable}
+	 * {@literal null} protocol like {@link Flux#dispatchOn(Callable)}.
+	 *
+	 * @param scheduler the scheduler factory, e.g. a {@link SchedulerGroup}
+	 *
+	 * @return a new {@link ParallelFlux} whose rails are running on their own worker
+	 */
+	public final ParallelFlux<T> runOn(Callable<? extends Consumer<Runnable>> scheduler) {
+		return runOn(scheduler, PlatformDependent.SMALL_BUFFER_SIZE);
+	}
+
+	/**
+	 * Specify where each 'rail' will observe its incoming values with possibly work-stealing and a given prefetch
+	 * amount.
+	 *
+	 * @param scheduler the scheduler factory, e.g. a {@link SchedulerGroup}
+	 * @param prefetch the number of values to request on each rail from upstream and hold in the rail queue
+	 *
+	 * @return a new {@link ParallelFlux} whose rails are running on their own worker
+	 */
+	public final ParallelFlux<T> runOn(Callable<? extends Consumer<Runnable>> scheduler, int prefetch) {
+		return new ParallelRunOn<>(this, scheduler, prefetch, QueueSupplier.<T>get(prefetch));
+	}
+
+	/**
+	 * Map the values on each 'rail' to another value.
+	 *
+	 * @param mapper the mapper function turning Ts into Us
+	 * @param <U> the output value type
+	 *
+	 * @return a new {@link ParallelFlux}
+	 */
+	public final <U> ParallelFlux<U> map(Function<? super T, ? extends U> mapper) {
+		Objects.requireNonNull(mapper, "mapper");
+		return new ParallelLift<T, U>(this, s -> new FluxMap.MapSubscriber<>(s, mapper));
+	}
+
+	/**
+	 * Filter the values on each 'rail'.
+	 *
+	 * @param predicate the function returning true to keep a value or false to drop a value
+	 *
+	 * @return a new {@link ParallelFlux}
+	 */
+	public final ParallelFlux<T> filter(Predicate<? super T> predicate) {
+		Objects.requireNonNull(predicate, "predicate");
+		return new ParallelLift<T, T>(this, s -> new FluxFilter.FilterSubscriber<>(s, predicate));
+	}
+
+	/**
+	 * Generate a {@link Publisher} for each value on each 'rail' and merge their values into the rail.
+	 *
+	 * @param mapper the function to map each rail's value into a {@link Publisher}
+	 * @param <R> the result type
+	 *
+	 * @return a new {@link ParallelFlux}
+	 */
+	public final <R> ParallelFlux<R> flatMap(Function<? super T, ? extends Publisher<? extends R>> mapper) {
+		return flatMap(mapper, PlatformDependent.SMALL_BUFFER_SIZE, PlatformDependent.XS_BUFFER_SIZE);
+	}
+
+	/**
+	 * Generate a {@link Publisher} for each value on each 'rail' and merge their values into the rail, with the given
+	 * maximum concurrency per rail and prefetch amount per inner {@link Publisher}.
+	 *
+	 * @param mapper the function to map each rail's value into a {@link Publisher}
+	 * @param concurrency the maximum number of simultaneous inner {@link Publisher} per rail
+	 * @param prefetch the number of values to prefetch from each inner {@link Publisher}
+	 * @param <R> the result type
+	 *
+	 * @return a new {@link ParallelFlux}
+	 */
+	public final <R> ParallelFlux<R> flatMap(Function<? super T, ? extends Publisher<? extends R>> mapper,
+			int concurrency,
+			int prefetch) {
+		Objects.requireNonNull(mapper, "mapper");
+		if (concurrency <= 0) {
+			throw new IllegalArgumentException("concurrency > 0 required but it was " + concurrency);
+		}
+		if (prefetch <= 0) {
+			throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+		}
+		return new ParallelLift<T, R>(this,
+				s -> new FluxFlatMap.FlatMapMain<>(s,
+						mapper,
+						false,
+						concurrency,
+						QueueSupplier.<R>get(concurrency),
+						prefetch,
+						QueueSupplier.<R>get(prefetch)));
+	}
+
+	/**
+	 * Reduce the values within each 'rail' to a single value, starting from an initial value supplied per rail.
+	 *
+	 * @param initialSupplier the supplier for the initial value of each rail
+	 * @param reducer the function to reduce a previous output of reduce (or the initial value supplied) with a
+	 * current source value
+	 * @param <R> the reduced output type
+	 *
+	 * @return a new {@link ParallelFlux} with each rail emitting its reduced value
+	 */
+	public final <R> ParallelFlux<R> reduce(Supplier<R> initialSupplier, BiFunction<R, ? super T, R> reducer) {
+		Objects.requireNonNull(initialSupplier, "initialSupplier");
+		Objects.requireNonNull(reducer, "reducer");
+		return new ParallelLift<T, R>(this,
+				s -> new MonoReduce.ReduceSubscriber<>(s,
+						reducer,
+						Objects.requireNonNull(initialSupplier.get(), "The initial value supplied is null")));
+	}
+
+	/**
+	 * Reduce all values within each 'rail' and then all the rails' values to a single value.
+	 *
+	 * @param reducer the function to reduce two values into one
+	 *
+	 * @return a {@link Mono} emitting the reduced value or empty if this {@link ParallelFlux} is empty
+	 */
+	public final Mono<T> reduce(BiFunction<T, T, T> reducer) {
+		Objects.requireNonNull(reducer, "reducer");
+		return new ParallelLift<T, T>(this, s -> new MonoAggregate.AggregateSubscriber<>(s, reducer))
+				.sequential()
+				.reduce(reducer);
+	}
+
+	/**
+	 * Collect the values of each 'rail' into a container supplied per rail.
+	 *
+	 * @param collectionSupplier the supplier of the container of each rail
+	 * @param collector the callback collecting a value into the container
+	 * @param <C> the container type
+	 *
+	 * @return a new {@link ParallelFlux} with each rail emitting its container
+	 */
+	public final <C> ParallelFlux<C> collect(Supplier<C> collectionSupplier, BiConsumer<? super C, ? super T> collector) {
+		Objects.requireNonNull(collectionSupplier, "collectionSupplier");
+		Objects.requireNonNull(collector, "collector");
+		return new ParallelLift<T, C>(this,
+				s -> new MonoCollect.CollectSubscriber<>(s,
+						collector,
+						Objects.requireNonNull(collectionSupplier.get(), "The supplier returned a null container")));
+	}
+
+	/**
+	 * Merge the values from each 'rail' in a round-robin or same-order fashion and expose it as a regular
+	 * {@link Flux} sequence, running with a default prefetch value for the rails.
+	 *
+	 * @return the new {@link Flux} instance
+	 */
+	public final Flux<T> sequential() {
+		return sequential(PlatformDependent.SMALL_BUFFER_SIZE);
+	}
+
+	/**
+	 * Merge the values from each 'rail' in a round-robin or same-order fashion and expose it as a regular
+	 * {@link Flux} sequence, running with a given prefetch value for the rails.
+	 *
+	 * @param prefetch the prefetch amount to use for each rail
+	 *
+	 * @return the new {@link Flux} instance
+	 */
+	public final Flux<T> sequential(int prefetch) {
+		return new ParallelJoin<>(this, prefetch, QueueSupplier.<T>get(prefetch));
+	}
+
+	/**
+	 * Sort the values of each 'rail' and merge the sorted rails into a sorted {@link Flux} sequence.
+	 * <p>
+	 * The values are only emitted once all rails have completed.
+	 *
+	 * @param comparator the comparator to use
+	 *
+	 * @return the new {@link Flux} instance
+	 */
+	public final Flux<T> sorted(Comparator<? super T> comparator) {
+		Objects.requireNonNull(comparator, "comparator");
+		return collect(ArrayList<T>::new, ArrayList::add)
+				.map(list -> {
+					Collections.sort(list, comparator);
+					return (List<T>) list;
+				})
+				.reduce((a, b) -> merge(a, b, comparator))
+				.flatMap(Flux::fromIterable);
+	}
+
+	static <T> List<T> merge(List<T> a, List<T> b, Comparator<? super T> comparator) {
+		List<T> r = new ArrayList<>(a.size() + b.size());
+		int i = 0;
+		int j = 0;
+		while (i < a.size() && j < b.size()) {
+			T u = a.get(i);
+			T v = b.get(j);
+			if (comparator.compare(u, v) <= 0) {
+				r.add(u);
+				i++;
+			}
+			else {
+				r.add(v);
+				j++;
+			}
+		}
+		r.addAll(a.subList(i, a.size()));
+		r.addAll(b.subList(j, b.size()));
+		return r;
+	}
+}
@@ -0,0 +1,421 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.flow.Producer;
+import reactor.core.flow.Receiver;
+import reactor.core.state.Cancellable;
+import reactor.core.state.Requestable;
+import reactor.core.util.BackpressureUtils;
+import reactor.core.util.Exceptions;
+
+/**
+ * Merges the values from each 'rail' in a round-robin or same-order fashion and exposes them as a regular
+ * {@link Flux} sequence, each rail buffering up to prefetch values in its own single-producer single-consumer
+ * queue.
+ *
+ * @param <T> the value type
+ */
+final class ParallelJoin<T> extends Flux<T> implements Receiver {
+
+	final ParallelFlux<? extends T> source;
+
+	final int prefetch;
+
+	final Supplier<Queue<T>> queueSupplier;
+
+	ParallelJoin(ParallelFlux<? extends T> source, int prefetch, Supplier<Queue<T>> queueSupplier) {
+		if (prefetch <= 0) {
+			throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+		}
+		this.source = source;
+		this.prefetch = prefetch;
+		this.queueSupplier = Objects.requireNonNull(queueSupplier, "queueSupplier");
+	}
+
+	@Override
+	public Object upstream() {
+		return source;
+	}
+
+	@Override
+	public void subscribe(Subscriber<? super T> s) {
+		JoinSubscription<T> parent = new JoinSubscription<>(s, source.parallelism(), prefetch, queueSupplier);
+		s.onSubscribe(parent);
+		source.subscribe(parent.subscribers);
+	}
+
+	static final class JoinSubscription<T> implements Subscription, Producer, Requestable, Cancellable {
+
+		final Subscriber<? super T> actual;
+
+		final JoinInner<T>[] subscribers;
+
+		volatile Throwable error;
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<JoinSubscription, Throwable> ERROR =
+				AtomicReferenceFieldUpdater.newUpdater(JoinSubscription.class, Throwable.class, "error");
+
+		volatile int wip;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<JoinSubscription> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(JoinSubscription.class, "wip");
+
+		volatile long requested;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<JoinSubscription> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(JoinSubscription.class, "requested");
+
+		volatile boolean cancelled;
+
+		/**
+		 * The number of rails not yet completed
+		 */
+		volatile int done;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<JoinSubscription> DONE =
+				AtomicIntegerFieldUpdater.newUpdater(JoinSubscription.class, "done");
+
+		@SuppressWarnings("unchecked")
+		JoinSubscription(Subscriber<? super T> actual, int n, int prefetch, Supplier<Queue<T>> queueSupplier) {
+			this.actual = actual;
+			JoinInner<T>[] a = new JoinInner[n];
+
+			for (int i = 0; i < n; i++) {
+				a[i] = new JoinInner<>(this, prefetch, queueSupplier);
+			}
+
+			this.subscribers = a;
+			DONE.lazySet(this, n);
+		}
+
+		@Override
+		public void request(long n) {
+			if (BackpressureUtils.validate(n)) {
+				BackpressureUtils.getAndAdd(REQUESTED, this, n);
+				drain();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			if (!cancelled) {
+				cancelled = true;
+
+				cancelAll();
+
+				if (WIP.getAndIncrement(this) == 0) {
+					cleanup();
+				}
+			}
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		@Override
+		public Object downstream() {
+			return actual;
+		}
+
+		@Override
+		public long requestedFromDownstream() {
+			return requested;
+		}
+
+		void cancelAll() {
+			for (JoinInner<T> s : subscribers) {
+				s.cancel();
+			}
+		}
+
+		void cleanup() {
+			for (JoinInner<T> s : subscribers) {
+				Queue<T> q = s.queue;
+				if (q != null) {
+					q.clear();
+				}
+			}
+		}
+
+		void onNext(JoinInner<T> inner, T value) {
+			if (wip == 0 && WIP.compareAndSet(this, 0, 1)) {
+				Queue<T> iq = inner.queue;
+				if (requested != 0 && (iq == null || iq.isEmpty())) {
+					actual.onNext(value);
+					if (requested != Long.MAX_VALUE) {
+						REQUESTED.decrementAndGet(this);
+					}
+					inner.requestOne();
+				}
+				else {
+					Queue<T> q = inner.getQueue();
+
+					if (!q.offer(value)) {
+						cancelAll();
+						Throwable ex = new IllegalStateException("Queue full?!");
+						if (ERROR.compareAndSet(this, null, ex)) {
+							actual.onError(ex);
+						}
+						else {
+							Exceptions.onErrorDropped(ex);
+						}
+						return;
+					}
+				}
+				if (WIP.decrementAndGet(this) == 0) {
+					return;
+				}
+			}
+			else {
+				Queue<T> q = inner.getQueue();
+
+				if (!q.offer(value)) {
+					cancelAll();
+					onError(new IllegalStateException("Queue full?!"));
+					return;
+				}
+
+				if (WIP.getAndIncrement(this) != 0) {
+					return;
+				}
+			}
+
+			drainLoop();
+		}
+
+		void onError(Throwable e) {
+			if (ERROR.compareAndSet(this, null, e)) {
+				cancelAll();
+				drain();
+			}
+			else if (error != e) {
+				Exceptions.onErrorDropped(e);
+			}
+		}
+
+		void onComplete() {
+			DONE.decrementAndGet(this);
+			drain();
+		}
+
+		void drain() {
+			if (WIP.getAndIncrement(this) != 0) {
+				return;
+			}
+
+			drainLoop();
+		}
+
+		void drainLoop() {
+			int missed = 1;
+
+			JoinInner<T>[] s = subscribers;
+			int n = s.length;
+			Subscriber<? super T> a = actual;
+
+			for (;;) {
+
+				long r = requested;
+				long e = 0;
+
+				middle:
+				while (e != r) {
+					if (cancelled) {
+						cleanup();
+						return;
+					}
+
+					Throwable ex = error;
+					if (ex != null) {
+						cleanup();
+						a.onError(ex);
+						return;
+					}
+
+					boolean d = done == 0;
+
+					boolean empty = true;
+
+					for (int i = 0; i < n; i++) {
+						JoinInner<T> inner = s[i];
+
+						Queue<T> q = inner.queue;
+						if (q != null) {
+							T v = q.poll();
+
+							if (v != null) {
+								empty = false;
+								a.onNext(v);
+								inner.requestOne();
+								if (++e == r) {
+									break middle;
+								}
+							}
+						}
+					}
+
+					if (d && empty) {
+						a.onComplete();
+						return;
+					}
+
+					if (empty) {
+						break;
+					}
+				}
+
+				if (e == r) {
+					if (cancelled) {
+						cleanup();
+						return;
+					}
+
+					Throwable ex = error;
+					if (ex != null) {
+						cleanup();
+						a.onError(ex);
+						return;
+					}
+
+					boolean d = done == 0;
+
+					boolean empty = true;
+
+					for (int i = 0; i < n; i++) {
+						Queue<T> q = s[i].queue;
+						if (q != null && !q.isEmpty()) {
+							empty = false;
+							break;
+						}
+					}
+
+					if (d && empty) {
+						a.onComplete();
+						return;
+					}
+				}
+
+				if (e != 0 && r != Long.MAX_VALUE) {
+					REQUESTED.addAndGet(this, -e);
+				}
+
+				int w = wip;
+				if (w == missed) {
+					missed = WIP.addAndGet(this, -missed);
+					if (missed == 0) {
+						break;
+					}
+				}
+				else {
+					missed = w;
+				}
+			}
+		}
+	}
+
+	static final class JoinInner<T> implements Subscriber<T>, Receiver {
+
+		final JoinSubscription<T> parent;
+
+		final int prefetch;
+
+		final int limit;
+
+		final Supplier<Queue<T>> queueSupplier;
+
+		long produced;
+
+		volatile Subscription s;
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<JoinInner, Subscription> S =
+				AtomicReferenceFieldUpdater.newUpdater(JoinInner.class, Subscription.class, "s");
+
+		/**
+		 * Created lazily by the rail when the merged subscriber cannot take a value right away
+		 */
+		volatile Queue<T> queue;
+
+		JoinInner(JoinSubscription<T> parent, int prefetch, Supplier<Queue<T>> queueSupplier) {
+			this.parent = parent;
+			this.prefetch = prefetch;
+			this.limit = prefetch - (prefetch >> 2);
+			this.queueSupplier = queueSupplier;
+		}
+
+		@Override
+		public Object upstream() {
+			return s;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (BackpressureUtils.setOnce(S, this, s)) {
+				s.request(prefetch);
+			}
+		}
+
+		@Override
+		public void onNext(T t) {
+			parent.onNext(this, t);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			parent.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			parent.onComplete();
+		}
+
+		void requestOne() {
+			long p = produced + 1;
+			if (p == limit) {
+				produced = 0;
+				s.request(p);
+			}
+			else {
+				produced = p;
+			}
+		}
+
+		void cancel() {
+			BackpressureUtils.terminate(S, this);
+		}
+
+		Queue<T> getQueue() {
+			Queue<T> q = queue;
+			if (q == null) {
+				q = queueSupplier.get();
+				this.queue = q;
+			}
+			return q;
+		}
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.function.Function;
+
+import org.reactivestreams.Subscriber;
+import reactor.core.flow.Receiver;
+import reactor.core.util.EmptySubscription;
+import reactor.core.util.Exceptions;
+
+/**
+ * Apply a per-rail operator to each 'rail' of a {@link ParallelFlux} by wrapping each rail {@link Subscriber}.
+ *
+ * @param <T> the input value type
+ * @param <R> the output value type
+ */
+final class ParallelLift<T, R> extends ParallelFlux<R> implements Receiver {
+
+	final ParallelFlux<T> source;
+
+	final Function<? super Subscriber<? super R>, ? extends Subscriber<? super T>> lifter;
+
+	ParallelLift(ParallelFlux<T> source,
+			Function<? super Subscriber<? super R>, ? extends Subscriber<? super T>> lifter) {
+		this.source = source;
+		this.lifter = lifter;
+	}
+
+	@Override
+	public int parallelism() {
+		return source.parallelism();
+	}
+
+	@Override
+	public Object upstream() {
+		return source;
+	}
+
+	@Override
+	public void subscribe(Subscriber<? super R>[] subscribers) {
+		if (!validate(subscribers)) {
+			return;
+		}
+
+		int n = subscribers.length;
+		@SuppressWarnings("unchecked")
+		Subscriber<? super T>[] parents = new Subscriber[n];
+
+		for (int i = 0; i < n; i++) {
+			try {
+				parents[i] = lifter.apply(subscribers[i]);
+			}
+			catch (Throwable e) {
+				Exceptions.throwIfFatal(e);
+				for (Subscriber<? super R> s : subscribers) {
+					EmptySubscription.error(s, e);
+				}
+				return;
+			}
+		}
+
+		source.subscribe(parents);
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Subscriber;
+import reactor.core.flow.Fuseable;
+import reactor.core.flow.Receiver;
+import reactor.core.util.EmptySubscription;
+import reactor.core.util.Exceptions;
+
+/**
+ * Ensures each 'rail' from upstream runs on its own worker obtained from the scheduler factory, each rail
+ * holding up to prefetch values in its own single-producer single-consumer queue.
+ *
+ * @param <T> the value type
+ */
+final class ParallelRunOn<T> extends ParallelFlux<T> implements Receiver {
+
+	final ParallelFlux<? extends T> source;
+
+	final Callable<? extends Consumer<Runnable>> schedulerFactory;
+
+	final int prefetch;
+
+	final Supplier<Queue<T>> queueSupplier;
+
+	ParallelRunOn(ParallelFlux<? extends T> source,
+			Callable<? extends Consumer<Runnable>> schedulerFactory,
+			int prefetch,
+			Supplier<Queue<T>> queueSupplier) {
+		if (prefetch <= 0) {
+			throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+		}
+		this.source = source;
+		this.schedulerFactory = Objects.requireNonNull(schedulerFactory, "schedulerFactory");
+		this.prefetch = prefetch;
+		this.queueSupplier = Objects.requireNonNull(queueSupplier, "queueSupplier");
+	}
+
+	@Override
+	public int parallelism() {
+		return source.parallelism();
+	}
+
+	@Override
+	public Object upstream() {
+		return source;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void subscribe(Subscriber<? super T>[] subscribers) {
+		if (!validate(subscribers)) {
+			return;
+		}
+
+		int n = subscribers.length;
+		Subscriber<T>[] parents = new Subscriber[n];
+		Consumer<Runnable>[] schedulers = new Consumer[n];
+
+		for (int i = 0; i < n; i++) {
+			Consumer<Runnable> scheduler;
+
+			try {
+				scheduler = Objects.requireNonNull(schedulerFactory.call(),
+						"The schedulerFactory returned a null Function");
+			}
+			catch (Throwable e) {
+				Exceptions.throwIfFatal(e);
+				for (int j = 0; j < i; j++) {
+					schedulers[j].accept(null);
+				}
+				for (Subscriber<? super T> s : subscribers) {
+					EmptySubscription.error(s, e);
+				}
+				return;
+			}
+
+			schedulers[i] = scheduler;
+
+			Subscriber<? super T> s = subscribers[i];
+			if (s instanceof Fuseable.ConditionalSubscriber) {
+				parents[i] = new FluxDispatchOn.DispatchOnConditionalSubscriber<>(
+						(Fuseable.ConditionalSubscriber<? super T>) s, scheduler, false, prefetch, queueSupplier);
+			}
+			else {
+				parents[i] = new FluxDispatchOn.DispatchOnSubscriber<>(s, scheduler, false, prefetch, queueSupplier);
+			}
+		}
+
+		source.subscribe(parents);
+	}
+}
@@ -0,0 +1,594 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.LongSupplier;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.flow.MultiProducer;
+import reactor.core.flow.Producer;
+import reactor.core.flow.Receiver;
+import reactor.core.state.Cancellable;
+import reactor.core.state.Completable;
+import reactor.core.state.Requestable;
+import reactor.core.util.BackpressureUtils;
+import reactor.core.util.Exceptions;
+import reactor.core.util.PlatformDependent;
+
+/**
+ * A Processor replaying the history of the sequence it observes to each of its {@link Subscriber}, late ones
+ * included, before relaying the live signals.
+ * <p>
+ * The history is either unbounded, bounded by size, by age or by both. It is stored in linked chunks of arrays
+ * written once by the producer: subscribers replay them in place through their own cursor and at their own pace,
+ * slow subscribers never gate the producer which requests an unbounded demand upstream. Chunks falling out of a
+ * bounded history are released for garbage collection once no subscriber cursor references them anymore. Since
+ * chunks are released as a whole, a bounded history may keep up to a chunk of already evicted values reachable.
+ *
+ * @param <T> the input and output type
+ * @since 2.5
+ */
+public final class ReplayProcessor<T> extends FluxProcessor<T, T> implements MultiProducer {
+
+	/**
+	 * Create a new {@link ReplayProcessor} replaying all the values it has observed to its subscribers.
+	 *
+	 * @param <T> Type of processed signals
+	 * @return a fresh processor
+	 */
+	public static <T> ReplayProcessor<T> create() {
+		return new ReplayProcessor<>(PlatformDependent.SMALL_BUFFER_SIZE, Integer.MAX_VALUE, Long.MAX_VALUE,
+				System::currentTimeMillis);
+	}
+
+	/**
+	 * Create a new {@link ReplayProcessor} replaying at most the last {@code historySize} values it has observed to
+	 * its subscribers.
+	 *
+	 * @param historySize the maximum number of values to replay
+	 * @param <T> Type of processed signals
+	 * @return a fresh processor
+	 */
+	public static <T> ReplayProcessor<T> create(int historySize) {
+		return create(historySize, null);
+	}
+
+	/**
+	 * Create a new {@link ReplayProcessor} replaying the values it has observed in the last {@code maxAge} to its
+	 * subscribers.
+	 *
+	 * @param maxAge the maximum age of the values to replay
+	 * @param <T> Type of processed signals
+	 * @return a fresh processor
+	 */
+	public static <T> ReplayProcessor<T> create(Duration maxAge) {
+		return create(Integer.MAX_VALUE, maxAge);
+	}
+
+	/**
+	 * Create a new {@link ReplayProcessor} replaying at most the last {@code historySize} values it has observed in
+	 * the last {@code maxAge} to its subscribers.
+	 *
+	 * @param historySize the maximum number of values to replay
+	 * @param maxAge the maximum age of the values to replay or null for no age limit
+	 * @param <T> Type of processed signals
+	 * @return a fresh processor
+	 */
+	public static <T> ReplayProcessor<T> create(int historySize, Duration maxAge) {
+		return create(historySize, maxAge, System::currentTimeMillis);
+	}
+
+	static <T> ReplayProcessor<T> create(int historySize, Duration maxAge, LongSupplier clock) {
+		if (historySize <= 0) {
+			throw new IllegalArgumentException("historySize > 0 required but it was " + historySize);
+		}
+		long maxAgeMillis = Long.MAX_VALUE;
+		if (maxAge != null) {
+			maxAgeMillis = maxAge.toMillis();
+			if (maxAgeMillis <= 0L) {
+				throw new IllegalArgumentException("maxAge > 0 required but it was " + maxAge);
+			}
+		}
+		return new ReplayProcessor<>(Math.min(historySize, PlatformDependent.XS_BUFFER_SIZE),
+				historySize,
+				maxAgeMillis,
+				clock);
+	}
+
+	static final ReplaySubscription[] EMPTY = new ReplaySubscription[0];
+
+	final int chunkSize;
+
+	final int historySize;
+
+	final long maxAge;
+
+	final LongSupplier clock;
+
+	volatile ReplaySubscription<T>[] subscribers;
+	@SuppressWarnings("rawtypes")
+	static final AtomicReferenceFieldUpdater<ReplayProcessor, ReplaySubscription[]> SUBSCRIBERS =
+			AtomicReferenceFieldUpdater.newUpdater(ReplayProcessor.class, ReplaySubscription[].class, "subscribers");
+
+	/**
+	 * The chunk holding the earliest retained value, only moved forward by the producer
+	 */
+	volatile Chunk head;
+
+	/**
+	 * The index of the earliest retained value
+	 */
+	volatile long first;
+
+	/**
+	 * The number of values ever added, published after each value is written
+	 */
+	volatile long size;
+
+	/**
+	 * The chunk being written by the producer and its write offset, producer side only
+	 */
+	Chunk tail;
+	int   tailOffset;
+
+	volatile boolean done;
+	Throwable error;
+
+	@SuppressWarnings("unchecked")
+	ReplayProcessor(int chunkSize, int historySize, long maxAge, LongSupplier clock) {
+		this.chunkSize = chunkSize;
+		this.historySize = historySize;
+		this.maxAge = maxAge;
+		this.clock = clock;
+		this.subscribers = EMPTY;
+		Chunk c = new Chunk(chunkSize, maxAge != Long.MAX_VALUE, 0L);
+		this.head = c;
+		this.tail = c;
+	}
+
+	@Override
+	protected void doOnSubscribe(Subscription s) {
+		s.request(Long.MAX_VALUE);
+	}
+
+	@Override
+	public void subscribe(Subscriber<? super T> s) {
+		super.subscribe(s);
+		ReplaySubscription<T> rs = new ReplaySubscription<>(s, this);
+		s.onSubscribe(rs);
+
+		add(rs);
+		if (rs.cancelled) {
+			remove(rs);
+			return;
+		}
+		rs.drain();
+	}
+
+	@Override
+	public void onNext(T t) {
+		super.onNext(t);
+		if (done) {
+			Exceptions.onNextDropped(t);
+			return;
+		}
+
+		Chunk c = tail;
+		int offset = tailOffset;
+		long s = size;
+		if (offset == chunkSize) {
+			Chunk n = new Chunk(chunkSize, c.times != null, s);
+			c.next = n;
+			tail = n;
+			c = n;
+			offset = 0;
+		}
+		long now = c.times != null ? clock.getAsLong() : 0L;
+		c.values[offset] = t;
+		if (c.times != null) {
+			c.times[offset] = now;
+		}
+		tailOffset = offset + 1;
+		size = ++s;
+
+		trim(s, now);
+
+		for (ReplaySubscription<T> rs : subscribers) {
+			rs.drain();
+		}
+	}
+
+	@Override
+	public void onError(Throwable t) {
+		super.onError(t);
+		if (done) {
+			Exceptions.onErrorDropped(t);
+			return;
+		}
+		error = t;
+		done = true;
+		for (ReplaySubscription<T> rs : subscribers) {
+			rs.drain();
+		}
+	}
+
+	@Override
+	public void onComplete() {
+		if (done) {
+			return;
+		}
+		done = true;
+		for (ReplaySubscription<T> rs : subscribers) {
+			rs.drain();
+		}
+	}
+
+	/**
+	 * Move the earliest retained value forward to honor the size and age limits, releasing the chunks left behind.
+	 */
+	void trim(long s, long now) {
+		long f = first;
+		long limit = s - historySize;
+		if (f < limit) {
+			f = limit;
+		}
+		Chunk h = head;
+		h = Chunk.locate(h, f, chunkSize);
+		if (h.times != null) {
+			long cutoff = now - maxAge;
+			while (f != s) {
+				int offset = (int) (f - h.index);
+				if (offset == chunkSize) {
+					h = h.next;
+					offset = 0;
+				}
+				if (h.times[offset] > cutoff) {
+					break;
+				}
+				f++;
+			}
+		}
+		if (f != first) {
+			first = f;
+			head = Chunk.locate(h, f, chunkSize);
+		}
+	}
+
+	void add(ReplaySubscription<T> rs) {
+		for (;;) {
+			ReplaySubscription<T>[] a = subscribers;
+			int n = a.length;
+			@SuppressWarnings("unchecked")
+			ReplaySubscription<T>[] b = new ReplaySubscription[n + 1];
+			System.arraycopy(a, 0, b, 0, n);
+			b[n] = rs;
+			if (SUBSCRIBERS.compareAndSet(this, a, b)) {
+				return;
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	void remove(ReplaySubscription<T> rs) {
+		for (;;) {
+			ReplaySubscription<T>[] a = subscribers;
+			int n = a.length;
+			int j = -1;
+			for (int i = 0; i < n; i++) {
+				if (a[i] == rs) {
+					j = i;
+					break;
+				}
+			}
+			if (j < 0) {
+				return;
+			}
+			ReplaySubscription<T>[] b;
+			if (n == 1) {
+				b = EMPTY;
+			}
+			else {
+				b = new ReplaySubscription[n - 1];
+				System.arraycopy(a, 0, b, 0, j);
+				System.arraycopy(a, j + 1, b, j, n - j - 1);
+			}
+			if (SUBSCRIBERS.compareAndSet(this, a, b)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Return the number of values currently retained for replay, including the values which expired since the last
+	 * one was added.
+	 *
+	 * @return the number of retained values
+	 */
+	public int size() {
+		Chunk h = head;
+		long f = first;
+		return (int) (size - Math.max(f, h.index));
+	}
+
+	@Override
+	public Iterator<?> downstreams() {
+		return Arrays.asList(subscribers).iterator();
+	}
+
+	@Override
+	public long downstreamCount() {
+		return subscribers.length;
+	}
+
+	@Override
+	public Throwable getError() {
+		return error;
+	}
+
+	@Override
+	public boolean isStarted() {
+		return upstreamSubscription != null;
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return done;
+	}
+
+	/**
+	 * A chunk of values and their optional timestamps, written once by the producer.
+	 */
+	static final class Chunk {
+
+		final Object[] values;
+
+		final long[] times;
+
+		/**
+		 * The index of the first value of this chunk in the whole sequence
+		 */
+		final long index;
+
+		volatile Chunk next;
+
+		Chunk(int chunkSize, boolean timed, long index) {
+			this.values = new Object[chunkSize];
+			this.times = timed ? new long[chunkSize] : null;
+			this.index = index;
+		}
+
+		/**
+		 * Walk forward from the given chunk to the one holding the value at the given index, or the full chunk
+		 * preceding it if not yet allocated.
+		 */
+		static Chunk locate(Chunk c, long index, int chunkSize) {
+			while (index - c.index > chunkSize) {
+				c = c.next;
+			}
+			return c;
+		}
+	}
+
+	static final class ReplaySubscription<T>
+			implements Subscription, Producer, Receiver, Requestable, Cancellable {
+
+		final Subscriber<? super T> actual;
+
+		final ReplayProcessor<T> parent;
+
+		/**
+		 * The cursor of this subscriber: the current chunk, the offset in it and the absolute index.
+		 * Only accessed from the drain loop
+		 */
+		Chunk node;
+		int   offset;
+		long  index;
+
+		volatile boolean cancelled;
+
+		volatile int wip;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<ReplaySubscription> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(ReplaySubscription.class, "wip");
+
+		volatile long requested;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<ReplaySubscription> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(ReplaySubscription.class, "requested");
+
+		ReplaySubscription(Subscriber<? super T> actual, ReplayProcessor<T> parent) {
+			this.actual = actual;
+			this.parent = parent;
+		}
+
+		@Override
+		public void request(long n) {
+			if (BackpressureUtils.validate(n)) {
+				BackpressureUtils.getAndAdd(REQUESTED, this, n);
+				drain();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			if (!cancelled) {
+				cancelled = true;
+				parent.remove(this);
+				if (WIP.getAndIncrement(this) == 0) {
+					node = null;
+				}
+			}
+		}
+
+		/**
+		 * Position the cursor on the earliest value still retained, skipping the ones which expired since the last
+		 * value was added.
+		 */
+		void start() {
+			ReplayProcessor<T> p = parent;
+			Chunk h = p.head;
+			long i = Math.max(p.first, h.index);
+			long s = p.size;
+			int chunkSize = p.chunkSize;
+
+			h = Chunk.locate(h, i, chunkSize);
+			if (h.times != null) {
+				long cutoff = p.clock.getAsLong() - p.maxAge;
+				while (i != s) {
+					int o = (int) (i - h.index);
+					if (o == chunkSize) {
+						h = h.next;
+						o = 0;
+					}
+					if (h.times[o] > cutoff) {
+						break;
+					}
+					i++;
+				}
+				h = Chunk.locate(h, i, chunkSize);
+			}
+			node = h;
+			offset = (int) (i - h.index);
+			index = i;
+		}
+
+		@SuppressWarnings("unchecked")
+		void drain() {
+			if (WIP.getAndIncrement(this) != 0) {
+				return;
+			}
+
+			int missed = 1;
+
+			final Subscriber<? super T> a = actual;
+			final ReplayProcessor<T> p = parent;
+			final int chunkSize = p.chunkSize;
+
+			if (node == null) {
+				if (cancelled) {
+					return;
+				}
+				start();
+			}
+
+			for (;;) {
+				Chunk c = node;
+				int o = offset;
+				long i = index;
+
+				long r = requested;
+				long e = 0L;
+
+				while (e != r) {
+					if (cancelled) {
+						node = null;
+						return;
+					}
+
+					boolean d = p.done;
+					boolean empty = i == p.size;
+
+					if (d && empty) {
+						node = null;
+						terminate(a, p);
+						return;
+					}
+
+					if (empty) {
+						break;
+					}
+
+					if (o == chunkSize) {
+						c = c.next;
+						o = 0;
+					}
+
+					T t = (T) c.values[o];
+
+					a.onNext(t);
+
+					o++;
+					i++;
+					e++;
+				}
+
+				if (e == r) {
+					if (cancelled) {
+						node = null;
+						return;
+					}
+
+					if (p.done && i == p.size) {
+						node = null;
+						terminate(a, p);
+						return;
+					}
+				}
+
+				node = c;
+				offset = o;
+				index = i;
+
+				if (e != 0L && r != Long.MAX_VALUE) {
+					REQUESTED.addAndGet(this, -e);
+				}
+
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+
+		void terminate(Subscriber<? super T> a, ReplayProcessor<T> p) {
+			p.remove(this);
+			Throwable ex = p.error;
+			if (ex != null) {
+				a.onError(ex);
+			}
+			else {
+				a.onComplete();
+			}
+		}
+
+		@Override
+		public Object downstream() {
+			return actual;
+		}
+
+		@Override
+		public Object upstream() {
+			return parent;
+		}
+
+		@Override
+		public long requestedFromDownstream() {
+			return requested;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancelled;
+		}
+	}
+}
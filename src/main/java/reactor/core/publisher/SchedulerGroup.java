@@ -34,6 +34,8 @@ import reactor.core.flow.Loopback;
 import reactor.core.flow.MultiProducer;
 import reactor.core.state.Completable;
 import reactor.core.state.Introspectable;
+import reactor.core.state.Pausable;
+import reactor.core.timer.Timer;
 import reactor.core.util.EmptySubscription;
 import reactor.core.util.Exceptions;
 import reactor.core.util.Logger;
@@ -61,16 +63,22 @@ import reactor.core.util.WaitStrategy;
  *        <li>{@link #async} : Optimized for fast {@link Runnable} executions </li>
  *        <li>{@link #io} : Optimized for slow {@link Runnable} executions </li>
  *        <li>{@link #single} : Optimized for low-latency {@link Runnable} executions </li>
+ *        <li>{@link #workStealing} : Optimized for {@link Runnable} executions of uneven cost </li>
  *        <li>{@link #create create} : Arbitrary group creation. </li>
  *    </ul>
  *
  * <p>
  * By default the {@link SchedulerGroup} are not guaranteed reentrant and such support is obtained via
  * {@link SchedulerGroup#call(boolean)} or {@link FluxProcessor#async(Callable)}.
+ * <p>
+ * A {@link SchedulerGroup} is a {@link TimedScheduler}, and so are the references returned by {@link #call()} unless
+ * the group is synchronous. Only {@link #workStealing} groups run timed tasks natively on their workers, the other
+ * groups wait on the global {@link Timer} and then hand the task over like any other task. Their reentrant
+ * references returned by {@link #call(boolean) call(true)} do not support timed scheduling.
  * 
  * @author Stephane Maldini
  */
-public class SchedulerGroup implements Callable<Consumer<Runnable>>, Consumer<Runnable>, Loopback,
+public class SchedulerGroup implements Callable<Consumer<Runnable>>, TimedScheduler, Loopback,
                                        Completable {
 
 	static final Logger log = Logger.getLogger(SchedulerGroup.class);
@@ -286,6 +294,80 @@ public class SchedulerGroup implements Callable<Consumer<Runnable>>, Consumer<Ru
 		}, parallelSchedulers, uncaughtExceptionHandler, shutdownHandler, autoShutdown);
 	}
 
+	/**
+	 * A Work-Stealing factory is a scheduler factory with sensible defaults for tasks of uneven cost.
+	 *
+	 * <p>
+	 * It uses {@link #DEFAULT_POOL_SIZE} workers each owning a task deque, idle workers steal pending work from busy
+	 * ones. Each scheduler generation {@link #call} returns a serial scheduler executing its tasks in submission order
+	 * on whichever worker is available, so a slow task does not stall the other schedulers generated by this group.
+	 *
+	 * @return a new {@link SchedulerGroup} tuned for tasks of uneven cost
+	 */
+	public static SchedulerGroup workStealing() {
+		return workStealing("work-stealing", DEFAULT_POOL_SIZE);
+	}
+
+	/**
+	 * A Work-Stealing factory is a scheduler factory with sensible defaults for tasks of uneven cost.
+	 *
+	 * <p>
+	 * It uses {@link #DEFAULT_POOL_SIZE} workers each owning a task deque, idle workers steal pending work from busy
+	 * ones. Each scheduler generation {@link #call} returns a serial scheduler executing its tasks in submission order
+	 * on whichever worker is available, so a slow task does not stall the other schedulers generated by this group.
+	 *
+	 * @param name Group name derived for thread identification
+	 *
+	 * @return a new {@link SchedulerGroup} tuned for tasks of uneven cost
+	 */
+	public static SchedulerGroup workStealing(String name) {
+		return workStealing(name, DEFAULT_POOL_SIZE);
+	}
+
+	/**
+	 * A Work-Stealing factory is a scheduler factory with sensible defaults for tasks of uneven cost.
+	 *
+	 * <p>
+	 * It uses N given {@literal parallelism} workers each owning a task deque, idle workers steal pending work from
+	 * busy ones. Each scheduler generation {@link #call} returns a serial scheduler executing its tasks in submission
+	 * order on whichever worker is available, so a slow task does not stall the other schedulers generated by this
+	 * group.
+	 *
+	 * @param name Group name derived for thread identification
+	 * @param parallelism Number of worker threads
+	 *
+	 * @return a new {@link SchedulerGroup} tuned for tasks of uneven cost
+	 */
+	public static SchedulerGroup workStealing(String name, int parallelism) {
+		return workStealing(name, parallelism, null, null, true);
+	}
+
+	/**
+	 * A Work-Stealing factory is a scheduler factory with sensible defaults for tasks of uneven cost.
+	 *
+	 * <p>
+	 * It uses N given {@literal parallelism} workers each owning a task deque, idle workers steal pending work from
+	 * busy ones. Each scheduler generation {@link #call} returns a serial scheduler executing its tasks in submission
+	 * order on whichever worker is available, so a slow task does not stall the other schedulers generated by this
+	 * group.
+	 *
+	 * @param name Group name derived for thread identification
+	 * @param parallelism Number of worker threads
+	 * @param uncaughtExceptionHandler Unsignalled exceptions consumer, extremely fatal situtions if invoked
+	 * @param shutdownHandler Callback signalled when a worker thread terminates
+	 * @param autoShutdown true if this {@link SchedulerGroup} should automatically shutdown its resources
+	 *
+	 * @return a new {@link SchedulerGroup} tuned for tasks of uneven cost
+	 */
+	public static SchedulerGroup workStealing(String name,
+			int parallelism,
+			Consumer<Throwable> uncaughtExceptionHandler,
+			Runnable shutdownHandler,
+			boolean autoShutdown) {
+		return new WorkStealingSchedulerGroup(name, parallelism, uncaughtExceptionHandler, shutdownHandler,
+				autoShutdown);
+	}
+
 
 	/**
 	 * Create a {@link SchedulerGroup} pool of N {@literal parallelSchedulers} size calling the passed scheduler
@@ -729,6 +811,44 @@ public class SchedulerGroup implements Callable<Consumer<Runnable>>, Consumer<Ru
 		}
 	}
 
+	/**
+	 * Schedule a task for execution after the given delay. The default implementation waits on the global
+	 * {@link Timer} then hands the task over to this group, groups owning their worker threads such as
+	 * {@link #workStealing} run it directly on a worker.
+	 *
+	 * @param task the task to run
+	 * @param delay the delay before running the task
+	 * @param unit the delay unit
+	 *
+	 * @return a {@link Pausable} to cancel the pending task
+	 */
+	@Override
+	public Pausable schedule(Runnable task, long delay, TimeUnit unit) {
+		Objects.requireNonNull(task, "task");
+		return Timer.global()
+		            .submit(t -> accept(task), unit.toMillis(delay));
+	}
+
+	/**
+	 * Schedule a task for execution after the given initial delay then every given period. The default
+	 * implementation waits on the global {@link Timer}, the period must then be a multiple of its resolution, and
+	 * hands each execution over to this group. Groups owning their worker threads such as {@link #workStealing} run
+	 * it directly on a worker.
+	 *
+	 * @param task the task to run
+	 * @param initialDelay the delay before the first execution
+	 * @param period the delay between the start of two executions
+	 * @param unit the delay and period unit
+	 *
+	 * @return a {@link Pausable} to cancel, pause or resume the task
+	 */
+	@Override
+	public Pausable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+		Objects.requireNonNull(task, "task");
+		return Timer.global()
+		            .schedule(t -> accept(task), unit.toMillis(period), unit.toMillis(initialDelay));
+	}
+
 	/**
 	 * Blocking shutdown of the internal {@link EventLoopProcessor} with {@link Processor#onComplete()}. If the
 	 * processor doesn't implement.
@@ -761,7 +881,8 @@ public class SchedulerGroup implements Callable<Consumer<Runnable>>, Consumer<Ru
 	}
 
 	/**
-	 * Return a scheduler reference to this {@link SchedulerGroup}, incrementing use count by 1
+	 * Return a scheduler reference to this {@link SchedulerGroup}, incrementing use count by 1. The reference is a
+	 * {@link TimedScheduler} unless this group is synchronous.
 	 *
 	 * @return a new scheduler reference
 	 */
@@ -775,7 +896,8 @@ public class SchedulerGroup implements Callable<Consumer<Runnable>>, Consumer<Ru
 	}
 
 	/**
-	 * Return a scheduler reference to this {@link SchedulerGroup}, incrementing use count by 1
+	 * Return a scheduler reference to this {@link SchedulerGroup}, incrementing use count by 1. Except for
+	 * {@link #workStealing} groups, a reentrant reference is not a {@link TimedScheduler}.
 	 *
 	 * @param tailRecurse true if the scheduler should be reentrant
 	 *
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.util.Exceptions;
+import reactor.core.util.ExecutorUtils;
+
+/**
+ * Replenish the upstream demand of an {@link EventLoopProcessor} as its subscribers consume the ring buffer.
+ * <p>
+ * Rather than blocking a thread on a wait strategy, the task is scheduled on its executor each time
+ * {@link #signal()} is called, which subscribers do after publishing their progress and processors do on
+ * termination. A run never blocks by itself: it requests more from upstream if the read count has advanced past the
+ * replenish threshold and returns. A work-in-progress counter guarantees a single run at a time per task and no
+ * missed signal.
+ * <p>
+ * By default every task runs on a shared pool, so the thread count does not grow with the number of upstreams. The
+ * pool keeps a quarter of the available processors alive, or the {@code reactor.processor.requestTaskPoolSize}
+ * system property, and hands each concurrent run its own thread up to
+ * {@code reactor.processor.requestTaskMaxPoolSize}: an upstream blocking or emitting synchronously from
+ * {@link Subscription#request(long)} only holds the thread of its own run while the other processors keep being
+ * replenished. Once every pool thread is busy, a run happens on the thread signalling it. Setting the
+ * {@code reactor.processor.shareRequestTask} system property to {@code false} gives each task its own single thread
+ * executor instead, shut down once the task is done.
+ *
+ * @since 2.5
+ */
+final class SharedRequestTask implements Runnable {
+
+	static final boolean SHARED = Boolean.parseBoolean(System.getProperty("reactor.processor.shareRequestTask",
+			"true"));
+
+	static final int POOL_SIZE = Integer.parseInt(System.getProperty("reactor.processor.requestTaskPoolSize",
+			"" + Math.max(1, Runtime.getRuntime()
+			                        .availableProcessors() / 4)));
+
+	static final int MAX_POOL_SIZE = Math.max(POOL_SIZE,
+			Integer.parseInt(System.getProperty("reactor.processor.requestTaskMaxPoolSize",
+					"" + Math.max(16, Runtime.getRuntime()
+					                         .availableProcessors() * 2))));
+
+	/**
+	 * Create a request task running on the shared pool if {@link #SHARED}, on a dedicated thread otherwise.
+	 *
+	 * @param name the prefix of the dedicated thread name
+	 * @param upstream the subscription to request from
+	 * @param stopCondition a barrier throwing {@link Exceptions.AlertException} to stop or {@link
+	 * Exceptions.CancelException} to stop and cancel upstream
+	 * @param postRequestCallback an optional callback receiving the read count each time more is requested
+	 * @param readCount the sequence read by the slowest subscriber
+	 * @param errorSubscriber the subscriber notified if requesting fails
+	 * @param prefetch the ring buffer capacity
+	 *
+	 * @return a new request task
+	 */
+	static SharedRequestTask create(String name,
+			Subscription upstream,
+			Runnable stopCondition,
+			LongConsumer postRequestCallback,
+			LongSupplier readCount,
+			Subscriber<?> errorSubscriber,
+			int prefetch) {
+		if (SHARED) {
+			return new SharedRequestTask(SharedPool.POOL,
+					false,
+					upstream,
+					stopCondition,
+					postRequestCallback,
+					readCount,
+					errorSubscriber,
+					prefetch);
+		}
+		return new SharedRequestTask(Executors.newSingleThreadExecutor(ExecutorUtils.newNamedFactory(
+				name + "[request-task]",
+				null,
+				null,
+				false)), true, upstream, stopCondition, postRequestCallback, readCount, errorSubscriber, prefetch);
+	}
+
+	final ExecutorService executor;
+	final boolean         dedicated;
+	final Subscription  upstream;
+	final Runnable      stopCondition;
+	final LongConsumer  postRequestCallback;
+	final LongSupplier  readCount;
+	final Subscriber<?> errorSubscriber;
+	final int           prefetch;
+	final long          limit;
+
+	long    cursor = -1L;
+	boolean started;
+	boolean done;
+
+	volatile int wip;
+	static final AtomicIntegerFieldUpdater<SharedRequestTask> WIP =
+			AtomicIntegerFieldUpdater.newUpdater(SharedRequestTask.class, "wip");
+
+	/**
+	 * @param executor the executor to run on
+	 * @param dedicated true if the executor only runs this task and should be shut down once it is done
+	 * @param upstream the subscription to request from
+	 * @param stopCondition a barrier throwing {@link Exceptions.AlertException} to stop or {@link
+	 * Exceptions.CancelException} to stop and cancel upstream
+	 * @param postRequestCallback an optional callback receiving the read count each time more is requested
+	 * @param readCount the sequence read by the slowest subscriber
+	 * @param errorSubscriber the subscriber notified if requesting fails
+	 * @param prefetch the ring buffer capacity
+	 */
+	SharedRequestTask(ExecutorService executor,
+			boolean dedicated,
+			Subscription upstream,
+			Runnable stopCondition,
+			LongConsumer postRequestCallback,
+			LongSupplier readCount,
+			Subscriber<?> errorSubscriber,
+			int prefetch) {
+		this.executor = executor;
+		this.dedicated = dedicated;
+		this.upstream = upstream;
+		this.stopCondition = stopCondition;
+		this.postRequestCallback = postRequestCallback;
+		this.readCount = readCount;
+		this.errorSubscriber = errorSubscriber;
+		this.prefetch = prefetch;
+		this.limit = prefetch - Math.max(prefetch >> 2, 1);
+	}
+
+	/**
+	 * Schedule a run on the executor unless one is already pending, in which case it will loop once more.
+	 */
+	void signal() {
+		if (WIP.getAndIncrement(this) == 0) {
+			try {
+				executor.execute(this);
+			}
+			catch (RejectedExecutionException ree) {
+				//IGNORE, a dedicated executor is only shut down once this task is done and the shared pool never is
+			}
+		}
+	}
+
+	@Override
+	public void run() {
+		int missed = 1;
+		for (; ; ) {
+			if (!done) {
+				drain();
+				if (done && dedicated) {
+					executor.shutdown();
+				}
+			}
+			missed = WIP.addAndGet(this, -missed);
+			if (missed == 0) {
+				break;
+			}
+		}
+	}
+
+	void drain() {
+		try {
+			stopCondition.run();
+			if (!started) {
+				started = true;
+				upstream.request(prefetch - 1);
+			}
+			long c;
+			while ((c = readCount.getAsLong()) >= cursor + limit) {
+				cursor = c;
+				if (postRequestCallback != null) {
+					postRequestCallback.accept(c);
+				}
+				upstream.request(limit);
+				stopCondition.run();
+			}
+		}
+		catch (Exceptions.AlertException e) {
+			done = true;
+		}
+		catch (Exceptions.CancelException ce) {
+			done = true;
+			upstream.cancel();
+		}
+		catch (Throwable t) {
+			done = true;
+			Exceptions.throwIfFatal(t);
+			errorSubscriber.onError(t);
+		}
+	}
+
+	static final class SharedPool {
+
+		/**
+		 * Hands each concurrent run an idle or new thread up to {@link #MAX_POOL_SIZE}, then runs on the caller
+		 */
+		static final ExecutorService POOL = new ThreadPoolExecutor(POOL_SIZE,
+				MAX_POOL_SIZE,
+				60L,
+				TimeUnit.SECONDS,
+				new SynchronousQueue<>(),
+				ExecutorUtils.newNamedFactory("reactor-request-task"),
+				new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+}
@@ -33,12 +33,13 @@ import reactor.core.util.SignalKind;
 public final class Signal<T> implements Supplier<T>, Consumer<Subscriber<? super T>>, Serializable {
 
 
-	private static final Signal<Void> ON_COMPLETE = new Signal<>(SignalKind.onComplete, null, null, null);
+	private static final Signal<Void> ON_COMPLETE = new Signal<>(SignalKind.onComplete, null, null, null, false);
 
 	private final SignalKind      type;
 	private final Throwable throwable;
+	private final boolean   recyclable;
 
-	private final T value;
+	private T value;
 
 	private transient final Subscription subscription;
 
@@ -49,7 +50,7 @@ public final class Signal<T> implements Supplier<T>, Consumer<Subscriber<? super
 	 * @return an {@code OnNext} variety of {@code Signal}
 	 */
 	public static <T> Signal<T> next(T t) {
-		return new Signal<T>(SignalKind.onNext, t, null, null);
+		return new Signal<T>(SignalKind.onNext, t, null, null, false);
 	}
 
 	/**
@@ -59,7 +60,7 @@ public final class Signal<T> implements Supplier<T>, Consumer<Subscriber<? super
 	 * @return an {@code OnError} variety of {@code Signal}
 	 */
 	public static <T> Signal<T> error(Throwable e) {
-		return new Signal<T>(SignalKind.onError, null, e, null);
+		return new Signal<T>(SignalKind.onError, null, e, null, false);
 	}
 
 	/**
@@ -80,14 +81,34 @@ public final class Signal<T> implements Supplier<T>, Consumer<Subscriber<? super
 	 */
 	@SuppressWarnings("unchecked")
 	public static <T> Signal<T> subscribe(Subscription subscription) {
-		return new Signal<T>(SignalKind.onSubscribe, null, null, subscription);
+		return new Signal<T>(SignalKind.onSubscribe, null, null, subscription, false);
 	}
 
-	private Signal(SignalKind type, T value, Throwable e, Subscription subscription) {
+	/**
+	 * Creates a recyclable {@code Signal} of variety {@code Type.NEXT} without value, to be assigned with
+	 * {@link #recycle(Object)} by its producer for each emitted item.
+	 *
+	 * @return a recyclable {@code OnNext} variety of {@code Signal}
+	 */
+	static <T> Signal<T> recyclable() {
+		return new Signal<T>(SignalKind.onNext, null, null, null, true);
+	}
+
+	private Signal(SignalKind type, T value, Throwable e, Subscription subscription, boolean recyclable) {
 		this.value = value;
 		this.subscription = subscription;
 		this.throwable = e;
 		this.type = type;
+		this.recyclable = recyclable;
+	}
+
+	/**
+	 * Assign a new item to this recyclable (onNext) signal, or release the current one with {@code null}.
+	 *
+	 * @param value the item to assign
+	 */
+	void recycle(T value) {
+		this.value = value;
 	}
 
 	/**
@@ -135,6 +156,16 @@ public final class Signal<T> implements Supplier<T>, Consumer<Subscriber<? super
 		return isOnError() && throwable != null;
 	}
 
+	/**
+	 * Is this signal reused by its producer for the next item ? A recyclable signal is only valid until the
+	 * {@link Subscriber#onNext(Object)} call it was passed to returns: copy it with {@link #next(Object)} to retain it.
+	 *
+	 * @return a boolean indicating whether or not this signal instance is recycled
+	 */
+	public boolean isRecyclable() {
+		return recyclable;
+	}
+
 	/**
 	 * Read the type of this signal: {@code Subscribe}, {@code Next}, {@code Error}, or {@code Complete}
 	 *
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import reactor.core.state.Pausable;
+
+/**
+ * A {@link Consumer} of {@link Runnable} scheduler that can also run tasks after a delay or periodically.
+ * <p>
+ * Every {@link SchedulerGroup} implements it, as do the scheduler references returned by
+ * {@link SchedulerGroup#call()} except for the synchronous group. Reentrant references returned by
+ * {@link SchedulerGroup#call(boolean) call(true)} only implement it for {@link SchedulerGroup#workStealing} groups.
+ * <p>
+ * Only the {@link SchedulerGroup#workStealing} workers run delayed work on the scheduler that owns a pipeline
+ * without hopping from a timer thread, the other groups wait on the global {@link reactor.core.timer.Timer} before
+ * handing the task over. {@link Mono#delay(java.time.Duration, TimedScheduler)} signals its delayed value from such a
+ * scheduler.
+ *
+ * @since 2.5
+ */
+public interface TimedScheduler extends Consumer<Runnable> {
+
+	/**
+	 * Schedule a task for execution after the given delay.
+	 *
+	 * @param task the task to run
+	 * @param delay the delay before running the task
+	 * @param unit the delay unit
+	 *
+	 * @return a {@link Pausable} to {@link Pausable#cancel() cancel} the pending task
+	 */
+	Pausable schedule(Runnable task, long delay, TimeUnit unit);
+
+	/**
+	 * Schedule a task for execution after the given initial delay then every given period. A paused task skips its
+	 * executions until resumed.
+	 *
+	 * @param task the task to run
+	 * @param initialDelay the delay before the first execution
+	 * @param period the delay between the start of two executions
+	 * @param unit the delay and period unit
+	 *
+	 * @return a {@link Pausable} to {@link Pausable#cancel() cancel}, {@link Pausable#pause() pause} or
+	 * {@link Pausable#resume() resume} the task
+	 */
+	Pausable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit);
+}
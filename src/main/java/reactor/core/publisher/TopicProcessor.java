@@ -19,9 +19,13 @@ package reactor.core.publisher;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.LockSupport;
 import java.util.function.Supplier;
 
@@ -75,7 +79,9 @@ import reactor.core.util.WaitStrategy;
  * start throttling. In effect the smaller the backlog size is defined, the smaller the
  * difference in processing rate between subscribers must remain. Since the sequence for
  * each subscriber will point to various ringBuffer locations, the processor knows when a
- * backlog can't override the previously occupied slot.
+ * backlog can't override the previously occupied slot. <p> Created from {@link #multiplex}, subscribers don't
+ * get a dedicated thread anymore but are scheduled on a fixed pool of workers whenever they lag behind the cursor
+ * with pending demand. Each one then reads a bounded batch before yielding its worker to the others.
  * @param <E> Type of dispatched signal
  * @author Stephane Maldini
  * @author Anatoly Kadyshev
@@ -561,19 +567,93 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E, E> implements
 				autoCancel, null);
 	}
 
+	/**
+	 * Create a new TopicProcessor using the passed backlog size, multiplexing its subscribers over a fixed pool of
+	 * {@code workers} threads instead of dedicating a thread to each. The created processor is not shared and will
+	 * auto-cancel. <p> A multiplexed subscriber is scheduled on the pool when the ring buffer cursor moves past its
+	 * sequence and it has pending demand, or when the processor terminates. It then reads a bounded batch and yields its
+	 * worker, which suits fanning out to many low-rate subscribers without as many threads.
+	 * @param name Assign this name to the worker threads
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers
+	 * @param workers the number of threads shared by all subscribers
+	 * @param <E> Type of processed signals
+	 * @return a fresh processor
+	 */
+	public static <E> TopicProcessor<E> multiplex(String name, int bufferSize, int workers) {
+		return multiplex(name, bufferSize, workers, false, true);
+	}
+
+	/**
+	 * Create a new TopicProcessor using the passed backlog size and auto-cancel settings, multiplexing its subscribers
+	 * over a fixed pool of {@code workers} threads instead of dedicating a thread to each. <p> A Shared Processor
+	 * authorizes concurrent onNext calls and is suited for multi-threaded publisher that will fan-in data.
+	 * @param name Assign this name to the worker threads
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers
+	 * @param workers the number of threads shared by all subscribers
+	 * @param shared true if concurrent onNext calls are authorized
+	 * @param autoCancel Should this propagate cancellation when unregistered by all
+	 * subscribers ?
+	 * @param <E> Type of processed signals
+	 * @return a fresh processor
+	 * @see #multiplex(String, int, int)
+	 */
+	public static <E> TopicProcessor<E> multiplex(String name, int bufferSize, int workers, boolean shared,
+			boolean autoCancel) {
+		if (workers < 1) {
+			throw new IllegalArgumentException("workers must be strictly positive, was: " + workers);
+		}
+		return new TopicProcessor<E>(name, null, bufferSize, null, shared, autoCancel, null, workers);
+	}
+
 	final RingBufferReceiver barrier;
 
 	final RingBuffer<Slot<E>> ringBuffer;
 
 	final Sequence minimum;
 
-	final WaitStrategy readWait = WaitStrategy.liteBlocking();
+	/**
+	 * The pool running the multiplexed subscribers, null if each subscriber runs its own loop.
+	 */
+	final ExecutorService workers;
+
+	final Runnable dispatcher;
+
+	volatile MultiplexedSubscriber<E>[] multiplexed;
+	@SuppressWarnings("rawtypes")
+	static final AtomicReferenceFieldUpdater<TopicProcessor, MultiplexedSubscriber[]> MULTIPLEXED =
+			AtomicReferenceFieldUpdater.newUpdater(TopicProcessor.class, MultiplexedSubscriber[].class, "multiplexed");
+
+	@SuppressWarnings("rawtypes")
+	static final MultiplexedSubscriber[] NO_MULTIPLEXED = new MultiplexedSubscriber[0];
+
+	volatile int dispatchWip;
+	@SuppressWarnings("rawtypes")
+	static final AtomicIntegerFieldUpdater<TopicProcessor> DISPATCH_WIP =
+			AtomicIntegerFieldUpdater.newUpdater(TopicProcessor.class, "dispatchWip");
 
 	private TopicProcessor(String name, ExecutorService executor, int bufferSize,
 	                            WaitStrategy waitStrategy, boolean shared,
 	                            boolean autoCancel, final Supplier<E> signalSupplier) {
+		this(name, executor, bufferSize, waitStrategy, shared, autoCancel, signalSupplier, 0);
+	}
+
+	@SuppressWarnings("unchecked")
+	private TopicProcessor(String name, ExecutorService executor, int bufferSize,
+	                            WaitStrategy waitStrategy, boolean shared,
+	                            boolean autoCancel, final Supplier<E> signalSupplier, int workers) {
 		super(name, executor, autoCancel);
 
+		if (workers > 0) {
+			this.workers = Executors.newFixedThreadPool(workers,
+					ExecutorUtils.newNamedFactory(this.name, contextClassLoader, null, true));
+			this.dispatcher = this::dispatchLoop;
+			MULTIPLEXED.lazySet(this, NO_MULTIPLEXED);
+		}
+		else {
+			this.workers = null;
+			this.dispatcher = null;
+		}
+
 		if (!RingBuffer.isPowerOfTwo(bufferSize) ){
 			throw new IllegalArgumentException("bufferSize must be a power of 2 : "+bufferSize);
 		}
@@ -617,6 +697,11 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E, E> implements
 			return;
 		}
 
+		if (workers != null) {
+			subscribeMultiplexed(subscriber);
+			return;
+		}
+
 		//create a unique eventProcessor for this subscriber
 		final Sequence pendingRequest = RingBuffer.newSequence(0);
 		final TopicSubscriberLoop<E> signalProcessor =
@@ -657,6 +742,140 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E, E> implements
 		}
 	}
 
+	void subscribeMultiplexed(Subscriber<? super E> subscriber) {
+		MultiplexedSubscriber<E> inner = new MultiplexedSubscriber<>(this, subscriber);
+
+		if (incrementSubscribers()) {
+			//if only active subscriber, replay missed data
+			inner.sequence.set(minimum.getAsLong());
+		}
+		else {
+			inner.sequence.set(ringBuffer.getCursor());
+		}
+		ringBuffer.addGatingSequence(inner.sequence);
+		addMultiplexed(inner);
+
+		try {
+			inner.schedule();
+		}
+		catch (Throwable t) {
+			removeMultiplexed(inner);
+			ringBuffer.removeGatingSequence(inner.sequence);
+			decrementSubscribers();
+			if (!alive() && RejectedExecutionException.class.isAssignableFrom(t.getClass())){
+				coldSource(ringBuffer, t, error, minimum).subscribe(subscriber);
+			}
+			else{
+				EmptySubscription.error(subscriber, t);
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	void addMultiplexed(MultiplexedSubscriber<E> inner) {
+		for (; ; ) {
+			MultiplexedSubscriber<E>[] a = multiplexed;
+			int n = a.length;
+			MultiplexedSubscriber<E>[] b = new MultiplexedSubscriber[n + 1];
+			System.arraycopy(a, 0, b, 0, n);
+			b[n] = inner;
+			if (MULTIPLEXED.compareAndSet(this, a, b)) {
+				return;
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	void removeMultiplexed(MultiplexedSubscriber<E> inner) {
+		for (; ; ) {
+			MultiplexedSubscriber<E>[] a = multiplexed;
+			int n = a.length;
+			int j = -1;
+			for (int i = 0; i < n; i++) {
+				if (a[i] == inner) {
+					j = i;
+					break;
+				}
+			}
+			if (j < 0) {
+				return;
+			}
+			MultiplexedSubscriber<E>[] b;
+			if (n == 1) {
+				b = NO_MULTIPLEXED;
+			}
+			else {
+				b = new MultiplexedSubscriber[n - 1];
+				System.arraycopy(a, 0, b, 0, j);
+				System.arraycopy(a, j + 1, b, j, n - j - 1);
+			}
+			if (MULTIPLEXED.compareAndSet(this, a, b)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Schedule the multiplexed subscribers that have something to read after the cursor moved or this processor
+	 * terminated. Scheduling is coalesced: a single dispatch runs at a time and loops once more if signalled meanwhile.
+	 */
+	void dispatch() {
+		if (DISPATCH_WIP.getAndIncrement(this) == 0) {
+			try {
+				workers.execute(dispatcher);
+			}
+			catch (RejectedExecutionException ree) {
+				//no subscriber left to dispatch to
+			}
+		}
+	}
+
+	void dispatchLoop() {
+		int missed = 1;
+		for (; ; ) {
+			long cursor = ringBuffer.getCursor();
+			boolean terminated = !alive();
+			for (MultiplexedSubscriber<E> inner : multiplexed) {
+				if (terminated || inner.isReady(cursor)) {
+					inner.signal();
+				}
+			}
+			missed = DISPATCH_WIP.addAndGet(this, -missed);
+			if (missed == 0) {
+				break;
+			}
+		}
+	}
+
+	void shutdownWorkersIfIdle() {
+		if (!alive() && SUBSCRIBER_COUNT.get(this) == 0) {
+			workers.shutdown();
+		}
+	}
+
+	@Override
+	public boolean awaitAndShutdown(long timeout, TimeUnit timeUnit) {
+		if (workers == null) {
+			return super.awaitAndShutdown(timeout, timeUnit);
+		}
+		try {
+			shutdown();
+			return workers.awaitTermination(timeout, timeUnit);
+		}
+		catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	@Override
+	public Flux<E> forceShutdown() {
+		if (workers != null) {
+			workers.shutdownNow();
+		}
+		return super.forceShutdown();
+	}
+
 	@Override
 	public Flux<E> drain() {
 		return coldSource(ringBuffer, null, error, minimum);
@@ -666,21 +885,40 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E, E> implements
 	public void onNext(E o) {
 		super.onNext(o);
 		RingBuffer.onNext(o, ringBuffer);
+		if (workers != null) {
+			dispatch();
+		}
+	}
+
+	@Override
+	public void onNextBatch(E[] items, int offset, int count) {
+		checkBatch(items, offset, count);
+		RingBuffer.onNext(items, offset, count, ringBuffer);
+		if (workers != null) {
+			dispatch();
+		}
 	}
 
 	@Override
 	protected void doError(Throwable t) {
-		readWait.signalAllWhenBlocking();
+		signalRequestTask();
 		barrier.signal();
 		//ringBuffer.markAsTerminated();
-
+		if (workers != null) {
+			dispatch();
+			shutdownWorkersIfIdle();
+		}
 	}
 
 	@Override
 	protected void doComplete() {
-		readWait.signalAllWhenBlocking();
+		signalRequestTask();
 		barrier.signal();
 		//ringBuffer.markAsTerminated();
+		if (workers != null) {
+			dispatch();
+			shutdownWorkersIfIdle();
+		}
 	}
 
 	static <E> Flux<E> coldSource(RingBuffer<Slot<E>> ringBuffer, Throwable t, Throwable error,
@@ -710,25 +948,19 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E, E> implements
 	protected void requestTask(Subscription s) {
 		minimum.set(ringBuffer.getCursor());
 		ringBuffer.addGatingSequence(minimum);
-		ExecutorUtils.newNamedFactory(name+"[request-task]", null, null, false)
-		             .newThread(RingBuffer.createRequestTask(s, () -> {
-			             if (!alive()) {
-				             if(cancelled){
-					             throw Exceptions.CancelException.INSTANCE;
-				             }
-				             else {
-					             throw Exceptions.AlertException.INSTANCE;
-				             }
-			             }
-		             }, minimum::set, () -> SUBSCRIBER_COUNT.get(TopicProcessor.this) == 0 ?
-						minimum.getAsLong() :
-						ringBuffer.getMinimumGatingSequence(minimum), readWait, this, (int)ringBuffer.getCapacity())).start();
+		startRequestTask(s, minimum::set, () -> SUBSCRIBER_COUNT.get(TopicProcessor.this) == 0 ?
+				minimum.getAsLong() :
+				ringBuffer.getMinimumGatingSequence(minimum), (int) ringBuffer.getCapacity());
 	}
 
 	@Override
 	protected void cancel(Subscription subscription) {
 		super.cancel(subscription);
-		readWait.signalAllWhenBlocking();
+		signalRequestTask();
+		if (workers != null) {
+			dispatch();
+			shutdownWorkersIfIdle();
+		}
 	}
 
 	@Override
@@ -882,7 +1114,7 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E, E> implements
 
 						if (EmptySubscription.INSTANCE !=
 								processor.upstreamSubscription) {
-							processor.readWait.signalAllWhenBlocking();
+							processor.signalRequestTask();
 						}
 					}
 					catch (final Exceptions.AlertException | Exceptions.CancelException ex) {
@@ -923,7 +1155,7 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E, E> implements
 				processor.ringBuffer.removeGatingSequence(sequence);
 				processor.decrementSubscribers();
 				running.set(false);
-				processor.readWait.signalAllWhenBlocking();
+				processor.signalRequestTask();
 			}
 		}
 
@@ -994,4 +1226,228 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E, E> implements
 		}
 	}
 
+	/**
+	 * A subscriber of a multiplexed {@link TopicProcessor}: rather than looping on its own thread, it is scheduled on
+	 * the processor worker pool whenever it may have something to read, then reads at most {@link #BATCH} values and
+	 * yields the worker. A work-in-progress counter guarantees a single worker reads for a given subscriber at a time.
+	 *
+	 * @param <T> the value type
+	 */
+	static final class MultiplexedSubscriber<T>
+			implements Runnable, Producer, Receiver, Cancellable, Introspectable, Requestable, Subscription {
+
+		/**
+		 * Maximum values read before yielding the worker to other subscribers.
+		 */
+		static final int BATCH = 256;
+
+		final TopicProcessor<T>     processor;
+		final Subscriber<? super T> subscriber;
+		final Sequence              sequence;
+
+		volatile long requested;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<MultiplexedSubscriber> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(MultiplexedSubscriber.class, "requested");
+
+		volatile int wip;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<MultiplexedSubscriber> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(MultiplexedSubscriber.class, "wip");
+
+		volatile boolean cancelled;
+
+		boolean started;
+		boolean done;
+
+		MultiplexedSubscriber(TopicProcessor<T> processor, Subscriber<? super T> subscriber) {
+			this.processor = processor;
+			this.subscriber = subscriber;
+			this.sequence = RingBuffer.wrap(RingBuffer.INITIAL_CURSOR_VALUE, this);
+		}
+
+		boolean isReady(long cursor) {
+			return requested != 0L && sequence.getAsLong() < cursor;
+		}
+
+		/**
+		 * Schedule this subscriber on the worker pool if it is not already being read.
+		 *
+		 * @throws RejectedExecutionException if the worker pool has been shut down
+		 */
+		void schedule() {
+			if (WIP.getAndIncrement(this) == 0) {
+				processor.workers.execute(this);
+			}
+		}
+
+		void signal() {
+			if (WIP.getAndIncrement(this) == 0) {
+				try {
+					processor.workers.execute(this);
+				}
+				catch (RejectedExecutionException ree) {
+					//the worker pool is shut down, drain on the calling thread
+					run();
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			int missed = 1;
+			for (; ; ) {
+				if (!done && drain()) {
+					//yield the worker but keep ownership of the subscriber
+					try {
+						processor.workers.execute(this);
+						return;
+					}
+					catch (RejectedExecutionException ree) {
+						//the worker pool is shut down, keep reading on this thread
+						continue;
+					}
+				}
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					return;
+				}
+			}
+		}
+
+		/**
+		 * Read the available values within the current demand.
+		 *
+		 * @return true if the batch limit was reached and the worker should be yielded
+		 */
+		boolean drain() {
+			final TopicProcessor<T> p = processor;
+
+			if (!started) {
+				started = true;
+				if (!p.startSubscriber(subscriber, this)) {
+					terminate();
+					return false;
+				}
+			}
+			if (cancelled) {
+				terminate();
+				return false;
+			}
+
+			long next = sequence.getAsLong() + 1L;
+			long available = p.barrier.available(next);
+			long r = requested;
+			long e = 0L;
+
+			while (next <= available && e != r && e != BATCH) {
+				T v = p.ringBuffer.get(next).value;
+				try {
+					subscriber.onNext(v);
+				}
+				catch (Throwable ex) {
+					Exceptions.throwIfFatal(ex);
+					terminate();
+					subscriber.onError(ex);
+					return false;
+				}
+				next++;
+				e++;
+				if (cancelled) {
+					break;
+				}
+			}
+
+			if (e != 0L) {
+				sequence.set(next - 1L);
+				if (r != Long.MAX_VALUE) {
+					REQUESTED.addAndGet(this, -e);
+				}
+				if (EmptySubscription.INSTANCE != p.upstreamSubscription) {
+					p.signalRequestTask();
+				}
+			}
+
+			if (cancelled) {
+				terminate();
+				return false;
+			}
+
+			int t = p.terminated;
+			if (t == FORCED_SHUTDOWN) {
+				terminate();
+				return false;
+			}
+			if (t == SHUTDOWN) {
+				boolean caughtUp = next > p.barrier.available(next);
+				Throwable error = p.error;
+				if (error != null && (caughtUp || requested == 0L)) {
+					terminate();
+					subscriber.onError(error);
+					return false;
+				}
+				if (error == null && caughtUp) {
+					terminate();
+					subscriber.onComplete();
+					return false;
+				}
+			}
+
+			return e == BATCH;
+		}
+
+		void terminate() {
+			done = true;
+			processor.removeMultiplexed(this);
+			processor.ringBuffer.removeGatingSequence(sequence);
+			processor.decrementSubscribers();
+			processor.signalRequestTask();
+			processor.shutdownWorkersIfIdle();
+		}
+
+		@Override
+		public void request(long n) {
+			if (BackpressureUtils.checkRequest(n, subscriber)) {
+				BackpressureUtils.getAndAdd(REQUESTED, this, n);
+				signal();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			signal();
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		@Override
+		public long requestedFromDownstream() {
+			return requested;
+		}
+
+		@Override
+		public Object downstream() {
+			return subscriber;
+		}
+
+		@Override
+		public Object upstream() {
+			return processor;
+		}
+
+		@Override
+		public int getMode() {
+			return INNER;
+		}
+
+		@Override
+		public String getName() {
+			return processor.getName() + "#multiplexed";
+		}
+	}
+
 }
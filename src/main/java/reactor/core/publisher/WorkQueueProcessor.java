@@ -42,7 +42,6 @@ import reactor.core.state.Requestable;
 import reactor.core.util.BackpressureUtils;
 import reactor.core.util.EmptySubscription;
 import reactor.core.util.Exceptions;
-import reactor.core.util.ExecutorUtils;
 import reactor.core.util.PlatformDependent;
 import reactor.core.util.Sequence;
 import reactor.core.util.WaitStrategy;
@@ -511,7 +510,6 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E, E> implem
 			RETRY_REF = PlatformDependent
 			.newAtomicReferenceFieldUpdater(WorkQueueProcessor.class, "retryBuffer");
 
-	final WaitStrategy readWait = WaitStrategy.liteBlocking();
 	final WaitStrategy writeWait;
 
 	volatile int replaying = 0;
@@ -605,40 +603,35 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E, E> implem
 		RingBuffer.onNext(o, ringBuffer);
 	}
 
+	@Override
+	public void onNextBatch(E[] items, int offset, int count) {
+		checkBatch(items, offset, count);
+		RingBuffer.onNext(items, offset, count, ringBuffer);
+	}
+
 	@Override
 	protected void doError(Throwable t) {
-		readWait.signalAllWhenBlocking();
+		signalRequestTask();
 		writeWait.signalAllWhenBlocking();
 		//ringBuffer.markAsTerminated();
 	}
 
 	@Override
 	protected void doComplete() {
-		readWait.signalAllWhenBlocking();
+		signalRequestTask();
 		writeWait.signalAllWhenBlocking();
 		//ringBuffer.markAsTerminated();
 	}
 
 	@Override
 	protected void requestTask(Subscription s) {
-		ExecutorUtils.newNamedFactory(name+"[request-task]", null, null, false).newThread(RingBuffer.createRequestTask(s,
-				() -> {
-					if (!alive()) {
-						if (cancelled) {
-							throw Exceptions.CancelException.INSTANCE;
-						}
-						else {
-							throw Exceptions.AlertException.INSTANCE;
-						}
-					}
-				}, null,
-				ringBuffer::getMinimumGatingSequence, readWait, this, (int)ringBuffer.getCapacity())).start();
+		startRequestTask(s, null, ringBuffer::getMinimumGatingSequence, (int) ringBuffer.getCapacity());
 	}
 
 	@Override
 	protected void cancel(Subscription subscription) {
 		super.cancel(subscription);
-		readWait.signalAllWhenBlocking();
+		signalRequestTask();
 	}
 
 	@Override
@@ -845,7 +838,7 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E, E> implem
 
 						}
 						else {
-							processor.readWait.signalAllWhenBlocking();
+							processor.signalRequestTask();
 							try {
 								cachedAvailableSequence =
 										barrier.waitFor(nextSequence, waiter);
@@ -950,7 +943,7 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E, E> implem
 							signal = q.get(cursor);
 						}
 						else {
-							processor.readWait.signalAllWhenBlocking();
+							processor.signalRequestTask();
 							return !processor.alive();
 						}
 						if(signal.value != null) {
@@ -983,7 +976,7 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E, E> implem
 				retry.get(seq).value = event.value;
 				retry.publish(seq);
 				barrier.alert();
-				processor.readWait.signalAllWhenBlocking();
+				processor.signalRequestTask();
 			}
 		}
 
@@ -0,0 +1,627 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import reactor.core.flow.MultiProducer;
+import reactor.core.queue.QueueSupplier;
+import reactor.core.state.Introspectable;
+import reactor.core.state.Pausable;
+import reactor.core.util.Exceptions;
+import reactor.core.util.ExecutorUtils;
+
+/**
+ * A {@link SchedulerGroup} running tasks on a fixed set of workers each owning a task deque. A worker polls its own
+ * deque first and steals from the tail of its peers when idle, so a slow task only delays the tasks queued behind
+ * it on the same worker for as long as another worker is not available to take them.
+ * <p>
+ * Every scheduler reference returned by {@link #call()} is a serial lane: its tasks are queued on the lane and the
+ * lane itself is scheduled on a worker whenever it has pending work. A lane is never run by two workers at the same
+ * time, preserving the submission order dispatchOn and publishOn rely on, even after being stolen.
+ * <p>
+ * Lanes take their submissions through {@link QueueSupplier#mpsc() multi-producer} linked queues which keep the
+ * submission order across submitting threads. A lane is only drained by the worker currently running it, or by
+ * {@link #forceShutdown()} once it has been removed from a worker deque. Timed tasks submitted from outside a worker
+ * go through a {@link QueueSupplier#sharded() sharded} queue instead, since the worker reorders them by deadline
+ * anyway and only needs each submitting thread not to contend with the others.
+ * <p>
+ * Delayed and periodic tasks are kept in a deadline-ordered heap local to the worker they are scheduled from, which
+ * runs them itself (or hands them to their lane) when due, rather than waiting on a separate timer thread. Cancelled
+ * timed tasks are purged from the heap once they make up half of it, so cancelled timeouts do not linger until their
+ * deadline. Timed tasks still pending when the group shuts down are discarded.
+ *
+ * @since 2.5
+ */
+final class WorkStealingSchedulerGroup extends SchedulerGroup implements MultiProducer {
+
+	/**
+	 * Maximum tasks a lane will run before yielding its worker back to other lanes.
+	 */
+	static final int LANE_BATCH = 256;
+
+	/**
+	 * Empty polls a worker tolerates before parking until a task is pushed or its next timed task is due.
+	 */
+	static final int IDLE_SPINS = 64;
+
+	final Worker[]       workers;
+	final TaskSubscriber tasks;
+	final CountDownLatch terminated;
+
+	volatile boolean shutdown;
+	volatile boolean cancelled;
+
+	volatile int index;
+	static final AtomicIntegerFieldUpdater<WorkStealingSchedulerGroup> INDEX =
+			AtomicIntegerFieldUpdater.newUpdater(WorkStealingSchedulerGroup.class, "index");
+
+	/**
+	 * The worker bound to the current thread, used to push tasks scheduled from a worker on its own deque.
+	 */
+	static final ThreadLocal<Worker> CURRENT = new ThreadLocal<>();
+
+	volatile long sequence;
+	static final AtomicLongFieldUpdater<WorkStealingSchedulerGroup> SEQUENCE =
+			AtomicLongFieldUpdater.newUpdater(WorkStealingSchedulerGroup.class, "sequence");
+
+	volatile int idle;
+	static final AtomicIntegerFieldUpdater<WorkStealingSchedulerGroup> IDLE =
+			AtomicIntegerFieldUpdater.newUpdater(WorkStealingSchedulerGroup.class, "idle");
+
+	WorkStealingSchedulerGroup(String name,
+			int parallelism,
+			Consumer<Throwable> uncaughtExceptionHandler,
+			Runnable shutdownHandler,
+			boolean autoShutdown) {
+		super(null, parallelism, null, null, autoShutdown);
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be strictly positive, was: " + parallelism);
+		}
+		this.tasks = new TaskSubscriber(uncaughtExceptionHandler, shutdownHandler);
+		this.terminated = new CountDownLatch(parallelism);
+		this.workers = new Worker[parallelism];
+
+		ThreadFactory factory = ExecutorUtils.newNamedFactory(name);
+		for (int i = 0; i < parallelism; i++) {
+			workers[i] = new Worker(i);
+		}
+		for (Worker worker : workers) {
+			worker.thread = factory.newThread(worker);
+			worker.thread.start();
+		}
+	}
+
+	@Override
+	public void accept(Runnable runnable) {
+		if (runnable == null) {
+			decrementReference();
+		}
+		else {
+			schedule(runnable);
+		}
+	}
+
+	@Override
+	public Consumer<Runnable> call() throws Exception {
+		incrementReference();
+		return new Lane(this);
+	}
+
+	@Override
+	public Consumer<Runnable> call(boolean tailRecurse) throws Exception {
+		return call();
+	}
+
+	@Override
+	public Pausable schedule(Runnable task, long delay, TimeUnit unit) {
+		return scheduleTimed(task, null, delay, 0L, unit);
+	}
+
+	@Override
+	public Pausable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+		if (period <= 0L) {
+			throw new IllegalArgumentException("period must be strictly positive, was: " + period);
+		}
+		return scheduleTimed(task, null, initialDelay, period, unit);
+	}
+
+	@Override
+	public void shutdown() {
+		shutdown = true;
+		for (Worker worker : workers) {
+			LockSupport.unpark(worker.thread);
+		}
+	}
+
+	@Override
+	public boolean awaitAndShutdown(long timeout, TimeUnit timeUnit) {
+		shutdown();
+		try {
+			if (timeout < 0) {
+				terminated.await();
+				return true;
+			}
+			return terminated.await(timeout, timeUnit);
+		}
+		catch (InterruptedException ie) {
+			Thread.currentThread()
+			      .interrupt();
+			return false;
+		}
+	}
+
+	@Override
+	public Flux<Runnable> forceShutdown() {
+		cancelled = true;
+		shutdown();
+		List<Runnable> pending = new ArrayList<>();
+		for (Worker worker : workers) {
+			Runnable r;
+			while ((r = worker.deque.poll()) != null) {
+				if (r instanceof Lane) {
+					((Lane) r).drainTo(pending);
+				}
+				else {
+					pending.add(r);
+				}
+			}
+		}
+		return Flux.fromIterable(pending);
+	}
+
+	@Override
+	public boolean isStarted() {
+		return !shutdown;
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return terminated.getCount() == 0L;
+	}
+
+	@Override
+	protected void decrementReference() {
+		if (REF_COUNT.decrementAndGet(this) <= 0 && autoShutdown) {
+			shutdown();
+		}
+	}
+
+	@Override
+	public Iterator<?> downstreams() {
+		return Arrays.asList(workers)
+		             .iterator();
+	}
+
+	@Override
+	public long downstreamCount() {
+		return workers.length;
+	}
+
+	/**
+	 * Schedule a task unless this group has been shutdown.
+	 *
+	 * @param task the task to schedule
+	 */
+	void schedule(Runnable task) {
+		if (shutdown) {
+			Exceptions.onNextDropped(task);
+			return;
+		}
+		push(task);
+	}
+
+	/**
+	 * Push a task on the current worker deque if called from one of this group threads or on the next worker in
+	 * round-robin order otherwise, then wake an idle worker to eventually steal it.
+	 *
+	 * @param task the task to push
+	 */
+	void push(Runnable task) {
+		Worker target = CURRENT.get();
+		if (target == null || target.group() != this) {
+			target = workers[(INDEX.getAndIncrement(this) & Integer.MAX_VALUE) % workers.length];
+		}
+		target.deque.offer(task);
+
+		if (target.parked) {
+			LockSupport.unpark(target.thread);
+		}
+		else if (idle != 0) {
+			for (Worker w : workers) {
+				if (w.parked) {
+					LockSupport.unpark(w.thread);
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Register a timed task on the current worker if called from one of this group threads or on the next worker in
+	 * round-robin order otherwise. The owning worker runs it without any intermediate timer thread.
+	 */
+	Pausable scheduleTimed(Runnable task, Lane lane, long delay, long period, TimeUnit unit) {
+		Objects.requireNonNull(task, "task");
+		if (shutdown) {
+			throw Exceptions.failWithCancel();
+		}
+		TimedTask t = new TimedTask(task,
+				lane,
+				System.nanoTime() + unit.toNanos(Math.max(delay, 0L)),
+				unit.toNanos(period),
+				SEQUENCE.incrementAndGet(this));
+
+		Worker target = CURRENT.get();
+		if (target != null && target.group() == this) {
+			t.owner = target;
+			target.timed.offer(t);
+		}
+		else {
+			target = workers[(INDEX.getAndIncrement(this) & Integer.MAX_VALUE) % workers.length];
+			t.owner = target;
+			target.timedSubmissions.offer(t);
+			if (target.parked) {
+				LockSupport.unpark(target.thread);
+			}
+		}
+		return t;
+	}
+
+	boolean hasPendingTasks() {
+		for (Worker w : workers) {
+			if (!w.deque.isEmpty()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	Runnable steal(Worker thief) {
+		Worker[] a = workers;
+		int n = a.length;
+		for (int i = 1; i < n; i++) {
+			Runnable r = a[(thief.id + i) % n].deque.pollLast();
+			if (r != null) {
+				return r;
+			}
+		}
+		return null;
+	}
+
+	final class Worker implements Runnable, Introspectable {
+
+		final int                             id;
+		final ConcurrentLinkedDeque<Runnable> deque = new ConcurrentLinkedDeque<>();
+
+		/**
+		 * Timed tasks submitted from other threads, moved to {@link #timed} by the worker itself. Their submission order
+		 * does not matter as the heap orders them by deadline then sequence.
+		 */
+		final Queue<TimedTask>         timedSubmissions = QueueSupplier.<TimedTask>sharded().get();
+		/**
+		 * Timed tasks ordered by deadline, only accessed from this worker thread.
+		 */
+		final PriorityQueue<TimedTask> timed            = new PriorityQueue<>();
+		/**
+		 * Timed tasks cancelled since the last purge of {@link #timed}, incremented by the cancelling threads.
+		 */
+		final AtomicInteger            cancelledTimed   = new AtomicInteger();
+
+		Thread thread;
+
+		volatile boolean parked;
+
+		Worker(int id) {
+			this.id = id;
+		}
+
+		@Override
+		public void run() {
+			CURRENT.set(this);
+			try {
+				int spins = 0;
+				for (; ; ) {
+					if (cancelled) {
+						return;
+					}
+					long nextDeadline = runTimed();
+
+					Runnable task = deque.poll();
+					if (task == null) {
+						task = steal(this);
+					}
+					if (task != null) {
+						spins = 0;
+						tasks.accept(task);
+						continue;
+					}
+					if (shutdown) {
+						return;
+					}
+					if (++spins < IDLE_SPINS) {
+						Thread.yield();
+						continue;
+					}
+					spins = 0;
+					IDLE.incrementAndGet(WorkStealingSchedulerGroup.this);
+					parked = true;
+					//pushers check parked and idle after offering, re-check every deque once both are visible
+					if (timedSubmissions.isEmpty() && !hasPendingTasks() && !shutdown) {
+						if (nextDeadline < 0L) {
+							LockSupport.park(this);
+						}
+						else {
+							LockSupport.parkNanos(this, nextDeadline);
+						}
+					}
+					parked = false;
+					IDLE.decrementAndGet(WorkStealingSchedulerGroup.this);
+				}
+			}
+			finally {
+				CURRENT.remove();
+				tasks.accept(null);
+				terminated.countDown();
+			}
+		}
+
+		/**
+		 * Run the due timed tasks and reschedule the periodic ones.
+		 *
+		 * @return the nanoseconds until the next deadline or -1 if no timed task is pending
+		 */
+		long runTimed() {
+			final PriorityQueue<TimedTask> heap = timed;
+			TimedTask t;
+			while ((t = timedSubmissions.poll()) != null) {
+				heap.offer(t);
+			}
+			if (heap.isEmpty()) {
+				return -1L;
+			}
+			//purge the cancelled tasks once they make up half of the heap instead of waiting for their deadline
+			int c = cancelledTimed.get();
+			if (c != 0 && c >= heap.size() >> 1) {
+				cancelledTimed.addAndGet(-c);
+				heap.removeIf(task -> task.state == TimedTask.CANCELLED);
+				if (heap.isEmpty()) {
+					return -1L;
+				}
+			}
+			long now = System.nanoTime();
+			while ((t = heap.peek()) != null) {
+				if (t.state == TimedTask.CANCELLED) {
+					heap.poll();
+					continue;
+				}
+				long delay = t.deadline - now;
+				if (delay > 0L) {
+					return delay;
+				}
+				heap.poll();
+				if (t.state == TimedTask.ACTIVE) {
+					if (t.lane != null) {
+						t.lane.offer(t.task);
+					}
+					else {
+						tasks.accept(t.task);
+					}
+				}
+				if (t.period > 0L && t.state != TimedTask.CANCELLED) {
+					t.deadline += t.period;
+					heap.offer(t);
+				}
+				now = System.nanoTime();
+			}
+			return -1L;
+		}
+
+		WorkStealingSchedulerGroup group() {
+			return WorkStealingSchedulerGroup.this;
+		}
+
+		@Override
+		public int getMode() {
+			return INNER;
+		}
+
+		@Override
+		public String getName() {
+			return thread != null ? thread.getName() : Worker.class.getSimpleName();
+		}
+	}
+
+	/**
+	 * A delayed or periodic task pending on a worker.
+	 */
+	static final class TimedTask implements Pausable, Comparable<TimedTask> {
+
+		static final int ACTIVE    = 0;
+		static final int PAUSED    = 1;
+		static final int CANCELLED = 2;
+
+		final Runnable task;
+		final Lane     lane;
+		final long     period;
+		final long     sequence;
+
+		long   deadline;
+		Worker owner;
+
+		volatile int state;
+		static final AtomicIntegerFieldUpdater<TimedTask> STATE =
+				AtomicIntegerFieldUpdater.newUpdater(TimedTask.class, "state");
+
+		TimedTask(Runnable task, Lane lane, long deadline, long period, long sequence) {
+			this.task = task;
+			this.lane = lane;
+			this.deadline = deadline;
+			this.period = period;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public int compareTo(TimedTask o) {
+			int c = Long.compare(deadline - o.deadline, 0L);
+			return c != 0 ? c : Long.compare(sequence, o.sequence);
+		}
+
+		@Override
+		public void request(long n) {
+			//IGNORE
+		}
+
+		@Override
+		public void cancel() {
+			if (STATE.getAndSet(this, CANCELLED) != CANCELLED) {
+				Worker w = owner;
+				if (w != null) {
+					w.cancelledTimed.incrementAndGet();
+				}
+			}
+		}
+
+		@Override
+		public void pause() {
+			STATE.compareAndSet(this, ACTIVE, PAUSED);
+		}
+
+		@Override
+		public void resume() {
+			STATE.compareAndSet(this, PAUSED, ACTIVE);
+		}
+	}
+
+	/**
+	 * A serial sub-scheduler: tasks are run in submission order by at most one worker at a time.
+	 */
+	static final class Lane implements TimedScheduler, Runnable, Introspectable {
+
+		final WorkStealingSchedulerGroup group;
+		final Queue<Runnable>            queue;
+
+		volatile int wip;
+		static final AtomicIntegerFieldUpdater<Lane> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(Lane.class, "wip");
+
+		volatile int released;
+		static final AtomicIntegerFieldUpdater<Lane> RELEASED =
+				AtomicIntegerFieldUpdater.newUpdater(Lane.class, "released");
+
+		Lane(WorkStealingSchedulerGroup group) {
+			this.group = group;
+			this.queue = QueueSupplier.<Runnable>mpsc().get();
+		}
+
+		@Override
+		public void accept(Runnable runnable) {
+			if (runnable == null) {
+				if (RELEASED.compareAndSet(this, 0, 1)) {
+					group.decrementReference();
+				}
+				return;
+			}
+			queue.offer(runnable);
+			if (WIP.getAndIncrement(this) == 0) {
+				group.schedule(this);
+			}
+		}
+
+		/**
+		 * Enqueue a due timed task on this lane, pushing the lane on the current worker.
+		 *
+		 * @param task the task to run
+		 */
+		void offer(Runnable task) {
+			queue.offer(task);
+			if (WIP.getAndIncrement(this) == 0) {
+				group.push(this);
+			}
+		}
+
+		@Override
+		public Pausable schedule(Runnable task, long delay, TimeUnit unit) {
+			return group.scheduleTimed(task, this, delay, 0L, unit);
+		}
+
+		@Override
+		public Pausable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+			if (period <= 0L) {
+				throw new IllegalArgumentException("period must be strictly positive, was: " + period);
+			}
+			return group.scheduleTimed(task, this, initialDelay, period, unit);
+		}
+
+		@Override
+		public void run() {
+			int missed = 1;
+			final Queue<Runnable> q = queue;
+			final TaskSubscriber tasks = group.tasks;
+
+			for (; ; ) {
+				int n = 0;
+				Runnable task;
+				while ((task = q.poll()) != null) {
+					tasks.accept(task);
+					if (++n == LANE_BATCH) {
+						//yield the worker but keep ownership of the lane
+						group.push(this);
+						return;
+					}
+				}
+
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+
+		void drainTo(List<Runnable> pending) {
+			Runnable r;
+			while ((r = queue.poll()) != null) {
+				pending.add(r);
+			}
+		}
+
+		@Override
+		public int getMode() {
+			return INNER;
+		}
+
+		@Override
+		public String getName() {
+			return Lane.class.getSimpleName();
+		}
+	}
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.queue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+import reactor.core.util.WaitStrategy;
+
+/**
+ * A {@link PrimitiveRingBuffer} exchanging {@code long} values without boxing, stored either in a padded
+ * {@code long[]} or off-heap in a direct {@link ByteBuffer}.
+ * <p>
+ * A producer claims a sequence, writes the value and publishes the sequence:
+ * <pre>
+ * long sequence = ringBuffer.next();
+ * ringBuffer.set(sequence, value);
+ * ringBuffer.publish(sequence);
+ * </pre>
+ *
+ * @since 2.5
+ */
+public abstract class LongRingBuffer extends PrimitiveRingBuffer {
+
+	/**
+	 * Create a new single producer heap {@link LongRingBuffer} using the default wait strategy
+	 * {@link WaitStrategy#busySpin()}.
+	 *
+	 * @param bufferSize number of elements to create within the ring buffer, must be a power of 2
+	 *
+	 * @return a new {@link LongRingBuffer}
+	 */
+	public static LongRingBuffer createSingleProducer(int bufferSize) {
+		return createSingleProducer(bufferSize, WaitStrategy.busySpin(), null, false);
+	}
+
+	/**
+	 * Create a new single producer {@link LongRingBuffer} with the specified wait strategy.
+	 *
+	 * @param bufferSize number of elements to create within the ring buffer, must be a power of 2
+	 * @param waitStrategy used to determine how to wait for new elements to become available.
+	 * @param spinObserver called each time the next claim is spinning and waiting for a slot
+	 * @param direct true if the entries should be allocated off-heap
+	 *
+	 * @return a new {@link LongRingBuffer}
+	 */
+	public static LongRingBuffer createSingleProducer(int bufferSize,
+			WaitStrategy waitStrategy,
+			Runnable spinObserver,
+			boolean direct) {
+		return create(createProducer(bufferSize, false, waitStrategy, spinObserver), direct);
+	}
+
+	/**
+	 * Create a new multiple producer heap {@link LongRingBuffer} using the default wait strategy
+	 * {@link WaitStrategy#busySpin()}.
+	 *
+	 * @param bufferSize number of elements to create within the ring buffer, must be a power of 2
+	 *
+	 * @return a new {@link LongRingBuffer}
+	 */
+	public static LongRingBuffer createMultiProducer(int bufferSize) {
+		return createMultiProducer(bufferSize, WaitStrategy.busySpin(), null, false);
+	}
+
+	/**
+	 * Create a new multiple producer {@link LongRingBuffer} with the specified wait strategy.
+	 *
+	 * @param bufferSize number of elements to create within the ring buffer, must be a power of 2
+	 * @param waitStrategy used to determine how to wait for new elements to become available.
+	 * @param spinObserver called each time the next claim is spinning and waiting for a slot
+	 * @param direct true if the entries should be allocated off-heap
+	 *
+	 * @return a new {@link LongRingBuffer}
+	 */
+	public static LongRingBuffer createMultiProducer(int bufferSize,
+			WaitStrategy waitStrategy,
+			Runnable spinObserver,
+			boolean direct) {
+		return create(createProducer(bufferSize, true, waitStrategy, spinObserver), direct);
+	}
+
+	static LongRingBuffer create(RingBufferProducer sequenceProducer, boolean direct) {
+		if (direct) {
+			return new DirectLongRingBuffer(sequenceProducer);
+		}
+		return new HeapLongRingBuffer(sequenceProducer);
+	}
+
+	LongRingBuffer(RingBufferProducer sequenceProducer) {
+		super(sequenceProducer);
+	}
+
+	/**
+	 * Read the value stored at the given published sequence.
+	 *
+	 * @param sequence the sequence to read
+	 *
+	 * @return the stored value
+	 */
+	public abstract long get(long sequence);
+
+	/**
+	 * Store a value at the given claimed sequence, the value will be visible to consumers once the sequence is
+	 * published.
+	 *
+	 * @param sequence the claimed sequence
+	 * @param value the value to store
+	 */
+	public abstract void set(long sequence, long value);
+
+	/**
+	 * Claim the next sequence, store the value and publish it.
+	 *
+	 * @param value the value to publish
+	 */
+	public final void onNext(long value) {
+		long sequence = next();
+		set(sequence, value);
+		publish(sequence);
+	}
+
+	/**
+	 * Claim a range of sequences, store the values and publish the range at once, at most {@link #getCapacity()}
+	 * values at a time.
+	 *
+	 * @param values the array holding the values to publish
+	 * @param offset the index of the first value to publish
+	 * @param count the number of values to publish
+	 */
+	public final void onNext(long[] values, int offset, int count) {
+		int index = offset;
+		int remaining = count;
+		while (remaining > 0) {
+			int n = Math.min(remaining, bufferSize);
+			long hi = next(n);
+			long lo = hi - n + 1L;
+			for (long sequence = lo; sequence <= hi; sequence++) {
+				set(sequence, values[index++]);
+			}
+			publish(lo, hi);
+			remaining -= n;
+		}
+	}
+}
+
+final class HeapLongRingBuffer extends LongRingBuffer {
+
+	static final int PAD = PAD_BYTES / 8;
+
+	final long[] entries;
+
+	HeapLongRingBuffer(RingBufferProducer sequenceProducer) {
+		super(sequenceProducer);
+		this.entries = new long[bufferSize + 2 * PAD];
+	}
+
+	@Override
+	public long get(long sequence) {
+		return entries[PAD + (int) (sequence & indexMask)];
+	}
+
+	@Override
+	public void set(long sequence, long value) {
+		entries[PAD + (int) (sequence & indexMask)] = value;
+	}
+
+	@Override
+	public boolean isDirect() {
+		return false;
+	}
+}
+
+final class DirectLongRingBuffer extends LongRingBuffer {
+
+	final LongBuffer entries;
+
+	DirectLongRingBuffer(RingBufferProducer sequenceProducer) {
+		super(sequenceProducer);
+		this.entries = ByteBuffer.allocateDirect(bufferSize * 8)
+		                         .order(ByteOrder.nativeOrder())
+		                         .asLongBuffer();
+	}
+
+	@Override
+	public long get(long sequence) {
+		return entries.get((int) (sequence & indexMask));
+	}
+
+	@Override
+	public void set(long sequence, long value) {
+		entries.put((int) (sequence & indexMask), value);
+	}
+
+	@Override
+	public boolean isDirect() {
+		return true;
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.queue;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * An unbounded multi-producer, single-consumer linked queue: producers swap the tail and link the previous node, the
+ * consumer follows the links from a stub head node. Offering never retries and never fails.
+ * <p>
+ * Values are polled in the order their offer swapped the tail, so two offers ordered by a happens-before relation
+ * are polled in that order whatever thread they come from. {@link #size()} walks the pending values and
+ * {@link #iterator()} is not supported.
+ *
+ * @param <T> the value type
+ * @since 2.5
+ */
+final class MpscLinkedQueue<T> extends AbstractQueue<T> {
+
+	protected long p1, p2, p3, p4, p5, p6, p7;
+
+	volatile Node<T> tail;
+	@SuppressWarnings("rawtypes")
+	static final AtomicReferenceFieldUpdater<MpscLinkedQueue, Node> TAIL =
+			AtomicReferenceFieldUpdater.newUpdater(MpscLinkedQueue.class, Node.class, "tail");
+
+	protected long p9, p10, p11, p12, p13, p14, p15;
+
+	/**
+	 * Stub node preceding the next value to poll, only accessed by the consumer.
+	 */
+	Node<T> head;
+
+	MpscLinkedQueue() {
+		Node<T> stub = new Node<>(null);
+		this.head = stub;
+		TAIL.lazySet(this, stub);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean offer(T e) {
+		Objects.requireNonNull(e);
+
+		Node<T> n = new Node<>(e);
+		Node<T> prev = (Node<T>) TAIL.getAndSet(this, n);
+		Node.NEXT.lazySet(prev, n);
+		return true;
+	}
+
+	@Override
+	public T poll() {
+		Node<T> h = head;
+		Node<T> next = h.next;
+		if (next == null) {
+			return null;
+		}
+		T v = next.value;
+		next.value = null;
+		head = next;
+		return v;
+	}
+
+	@Override
+	public T peek() {
+		Node<T> next = head.next;
+		return next != null ? next.value : null;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return head.next == null;
+	}
+
+	@Override
+	public int size() {
+		int n = 0;
+		Node<T> c = head.next;
+		while (c != null && n != Integer.MAX_VALUE) {
+			n++;
+			c = c.next;
+		}
+		return n;
+	}
+
+	@Override
+	public void clear() {
+		while (poll() != null) {
+			//IGNORE
+		}
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		throw new UnsupportedOperationException();
+	}
+
+	static final class Node<T> {
+
+		T value;
+
+		volatile Node<T> next;
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<Node, Node> NEXT =
+				AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+
+		Node(T value) {
+			this.value = value;
+		}
+	}
+}
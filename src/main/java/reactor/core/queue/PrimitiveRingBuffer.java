@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.queue;
+
+import java.util.function.LongSupplier;
+
+import reactor.core.state.Backpressurable;
+import reactor.core.util.Exceptions;
+import reactor.core.util.PlatformDependent;
+import reactor.core.util.Sequence;
+import reactor.core.util.WaitStrategy;
+
+/**
+ * Base of the primitive specialized ring buffers. Unlike {@link RingBuffer} of {@link Slot}, entries are stored
+ * directly in a primitive array or in a direct {@link java.nio.ByteBuffer} so that numeric payloads are exchanged
+ * between producers and consumers without allocation. Sequencing is delegated to the same single or multi producer
+ * sequencers than {@link RingBuffer}.
+ *
+ * @since 2.5
+ */
+public abstract class PrimitiveRingBuffer implements LongSupplier, Backpressurable {
+
+	/**
+	 * Padding, in bytes, added before and after heap entries to avoid false sharing with neighbour objects.
+	 */
+	static final int PAD_BYTES = 128;
+
+	final RingBufferProducer sequenceProducer;
+	final int                bufferSize;
+	final int                indexMask;
+
+	PrimitiveRingBuffer(RingBufferProducer sequenceProducer) {
+		this.sequenceProducer = sequenceProducer;
+		this.bufferSize = sequenceProducer.getBufferSize();
+		this.indexMask = bufferSize - 1;
+	}
+
+	static RingBufferProducer createProducer(int bufferSize,
+			boolean multiProducer,
+			WaitStrategy waitStrategy,
+			Runnable spinObserver) {
+		if (bufferSize < 1) {
+			throw new IllegalArgumentException("bufferSize must not be less than 1");
+		}
+		if (!RingBuffer.isPowerOfTwo(bufferSize)) {
+			throw new IllegalArgumentException("bufferSize must be a power of 2");
+		}
+		if (!multiProducer) {
+			return new SingleProducerSequencer(bufferSize, waitStrategy, spinObserver);
+		}
+		if (PlatformDependent.hasUnsafe()) {
+			return new MultiProducer(bufferSize, waitStrategy, spinObserver);
+		}
+		return new NotFunMultiProducer(bufferSize, waitStrategy, spinObserver);
+	}
+
+	/**
+	 * Add the specified gating sequence to this instance of the ring buffer.
+	 *
+	 * @param gatingSequence The sequence to add.
+	 */
+	public final void addGatingSequence(Sequence gatingSequence) {
+		sequenceProducer.addGatingSequence(gatingSequence);
+	}
+
+	@Override
+	public final long getAsLong() {
+		return getCursor();
+	}
+
+	@Override
+	public final long getCapacity() {
+		return bufferSize;
+	}
+
+	/**
+	 * Get the current cursor value for the ring buffer.
+	 *
+	 * @return the last published sequence
+	 */
+	public final long getCursor() {
+		return sequenceProducer.getCursor();
+	}
+
+	/**
+	 * Get the minimum sequence value from all of the gating sequences added to this ringBuffer.
+	 *
+	 * @return The minimum gating sequence or the cursor sequence if no sequences have been added.
+	 */
+	public final long getMinimumGatingSequence() {
+		return getMinimumGatingSequence(null);
+	}
+
+	/**
+	 * Get the minimum sequence value from all of the gating sequences added to this ringBuffer.
+	 *
+	 * @param sequence a sequence to exclude from the computation
+	 *
+	 * @return The minimum gating sequence or the cursor sequence if no sequences have been added.
+	 */
+	public final long getMinimumGatingSequence(Sequence sequence) {
+		return sequenceProducer.getMinimumSequence(sequence);
+	}
+
+	@Override
+	public final long getPending() {
+		return sequenceProducer.getPending();
+	}
+
+	/**
+	 * @return the cursor {@link Sequence} of this ring buffer
+	 */
+	public final Sequence getSequence() {
+		return sequenceProducer.getSequence();
+	}
+
+	/**
+	 * @return the current list of read cursors
+	 */
+	public final Sequence[] getSequenceReceivers() {
+		return sequenceProducer.getGatingSequences();
+	}
+
+	/**
+	 * @return true if the entries are stored off-heap
+	 */
+	public abstract boolean isDirect();
+
+	/**
+	 * Create a new {@link RingBufferReceiver} to track which entries are available to be read.
+	 *
+	 * @return A sequence barrier that will track the ringbuffer.
+	 */
+	public final RingBufferReceiver newBarrier() {
+		return sequenceProducer.newBarrier();
+	}
+
+	/**
+	 * Increment and return the next sequence for the ring buffer. Calls of this method should ensure that they always
+	 * publish the sequence afterward.
+	 *
+	 * @return The next sequence to publish to.
+	 */
+	public final long next() {
+		return sequenceProducer.next();
+	}
+
+	/**
+	 * Increment and return the next n sequences for the ring buffer.
+	 *
+	 * @param n number of slots to claim
+	 *
+	 * @return The highest claimed sequence
+	 */
+	public final long next(int n) {
+		return sequenceProducer.next(n);
+	}
+
+	/**
+	 * Publish the specified sequence. This action marks this particular entry as being available to be read.
+	 *
+	 * @param sequence the sequence to publish.
+	 */
+	public final void publish(long sequence) {
+		sequenceProducer.publish(sequence);
+	}
+
+	/**
+	 * Publish the specified sequences. This action marks these particular entries as being available to be read.
+	 *
+	 * @param lo the lowest sequence number to be published
+	 * @param hi the highest sequence number to be published
+	 */
+	public final void publish(long lo, long hi) {
+		sequenceProducer.publish(lo, hi);
+	}
+
+	/**
+	 * Get the remaining capacity for this ringBuffer.
+	 *
+	 * @return The number of slots remaining.
+	 */
+	public final long remainingCapacity() {
+		return sequenceProducer.remainingCapacity();
+	}
+
+	/**
+	 * Remove the specified sequence from this ringBuffer.
+	 *
+	 * @param sequence to be removed.
+	 *
+	 * @return true if this sequence was found, false otherwise.
+	 */
+	public final boolean removeGatingSequence(Sequence sequence) {
+		return sequenceProducer.removeGatingSequence(sequence);
+	}
+
+	/**
+	 * Increment and return the next sequence for the ring buffer if capacity is available.
+	 *
+	 * @return The next sequence to publish to.
+	 *
+	 * @throws Exceptions.InsufficientCapacityException if the necessary space in the ring buffer is not available
+	 */
+	public final long tryNext() throws Exceptions.InsufficientCapacityException {
+		return sequenceProducer.tryNext();
+	}
+
+	/**
+	 * Increment and return the next n sequences for the ring buffer if capacity is available.
+	 *
+	 * @param n number of slots to claim
+	 *
+	 * @return The highest claimed sequence
+	 *
+	 * @throws Exceptions.InsufficientCapacityException if the necessary space in the ring buffer is not available
+	 */
+	public final long tryNext(int n) throws Exceptions.InsufficientCapacityException {
+		return sequenceProducer.tryNext(n);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{" +
+				"bufferSize=" + bufferSize +
+				", cursor=" + getCursor() +
+				", direct=" + isDirect() +
+				'}';
+	}
+}
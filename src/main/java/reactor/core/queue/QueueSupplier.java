@@ -37,6 +37,8 @@ public final class QueueSupplier<T> implements Supplier<Queue<T>> {
 	static final Supplier WAITING_XSRB_SUPPLIER    = new QueueSupplier<>(PlatformDependent.XS_BUFFER_SIZE, true, false);
 	static final Supplier WAITING_SMALLRB_SUPPLIER = new QueueSupplier<>(PlatformDependent.SMALL_BUFFER_SIZE, true, false);
 	static final Supplier WAITING_ONE_SUPPLIER     = new QueueSupplier<>(1, true, true);
+	static final Supplier MPSC_SUPPLIER            = () -> new MpscLinkedQueue<>();
+	static final Supplier SHARDED_SUPPLIER         = () -> new ShardedMpscQueue<>();
 
 	final long    batchSize;
 	final boolean waiting;
@@ -147,6 +149,49 @@ public final class QueueSupplier<T> implements Supplier<Queue<T>> {
 		return (Supplier<Queue<T>>) CLQ_SUPPLIER;
 	}
 
+	/**
+	 * Return an unbounded multi-producer, single-consumer {@link Queue} {@link Supplier}. The supplied queues are
+	 * linked and poll values in the order they were offered, including across producer threads.
+	 *
+	 * @param <T> the reified {@link Queue} generic type
+	 * @return an unbounded multi-producer {@link Queue} {@link Supplier}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Supplier<Queue<T>> mpsc() {
+		return (Supplier<Queue<T>>) MPSC_SUPPLIER;
+	}
+
+	/**
+	 * Return an unbounded multi-producer, single-consumer {@link Queue} {@link Supplier}. The supplied queues are
+	 * striped over a power of two number of shards close to the available processors: each producer thread always
+	 * offers to the same shard and the single consumer polls them round-robin. Values from a given producer thread
+	 * keep their order but values from different threads are not ordered relatively to each other, only use it
+	 * when the consumer tolerates such reordering and {@link #mpsc()} otherwise.
+	 *
+	 * @param <T> the reified {@link Queue} generic type
+	 * @return an unbounded sharded {@link Queue} {@link Supplier}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Supplier<Queue<T>> sharded() {
+		return (Supplier<Queue<T>>) SHARDED_SUPPLIER;
+	}
+
+	/**
+	 * Return an unbounded multi-producer, single-consumer {@link Queue} {@link Supplier} striped over the given
+	 * number of shards, rounded up to the next power of two.
+	 *
+	 * @param shards the number of producer shards
+	 * @param <T> the reified {@link Queue} generic type
+	 * @return an unbounded sharded {@link Queue} {@link Supplier}
+	 * @see #sharded()
+	 */
+	public static <T> Supplier<Queue<T>> sharded(int shards) {
+		if (shards < 1) {
+			throw new IllegalArgumentException("shards must be strictly positive, was: " + shards);
+		}
+		return () -> new ShardedMpscQueue<>(shards);
+	}
+
 	/**
 	 *
 	 * @param <T> the reified {@link Queue} generic type
@@ -200,8 +245,8 @@ public final class QueueSupplier<T> implements Supplier<Queue<T>> {
 		}
 		else if(waiting) {
 			return RingBuffer.blockingBoundedQueue(
-					multiproducer ? RingBuffer.<T>createSingleProducer((int) batchSize) :
-							RingBuffer .<T>createMultiProducer((int) batchSize),
+					multiproducer ? RingBuffer.<T>createMultiProducer((int) batchSize) :
+							RingBuffer.<T>createSingleProducer((int) batchSize),
 					-1L);
 		}
 		else{
@@ -76,7 +76,10 @@ public abstract class RingBuffer<E> implements LongSupplier, Backpressurable {
 	 * @param prefetch the target prefetch size
 	 *
 	 * @return a {@link Runnable} loop to execute to start the requesting loop
+	 * @deprecated this loop blocks its thread on the wait strategy, processors now replenish their upstream demand
+	 * from a shared pool driven by their subscribers progress
 	 */
+	@Deprecated
 	public static Runnable createRequestTask(Subscription upstream,
 			Runnable stopCondition,
 			Consumer<Long> postWaitCallback,
@@ -341,6 +344,33 @@ public abstract class RingBuffer<E> implements LongSupplier, Backpressurable {
 		ringBuffer.publish(seqId);
 	}
 
+	/**
+	 * Signal a batch of values to a {@link RingBuffer} typed with {@link Slot}. The slots are claimed and published
+	 * as a range, at most {@link #getCapacity()} at a time, which costs a single sequencer update per range instead of
+	 * one per value.
+	 *
+	 * @param values the array holding the data to store
+	 * @param offset the index of the first value to store
+	 * @param count the number of values to store
+	 * @param ringBuffer the target {@link RingBuffer} of {@link Slot}
+	 * @param <E> the {@link Slot} reified type
+	 */
+	public static <E> void onNext(E[] values, int offset, int count, RingBuffer<Slot<E>> ringBuffer) {
+		final int capacity = (int) ringBuffer.getCapacity();
+		int index = offset;
+		int remaining = count;
+		while (remaining > 0) {
+			final int n = Math.min(remaining, capacity);
+			final long hi = ringBuffer.next(n);
+			final long lo = hi - n + 1L;
+			for (long seqId = lo; seqId <= hi; seqId++) {
+				ringBuffer.get(seqId).value = values[index++];
+			}
+			ringBuffer.publish(lo, hi);
+			remaining -= n;
+		}
+	}
+
 	/**
 	 * Spin CPU until the request {@link LongSupplier} is populated at least once by a strict positive value.
 	 * To relieve the spin loop, the read sequence itself will be used against so it will wake up only when a signal
@@ -83,6 +83,23 @@ public final class RingBufferReceiver implements Runnable, LongSupplier
         return sequenceProducer.getHighestPublishedSequence(sequence, availableSequence);
     }
 
+    /**
+     * Return the highest sequence available for consumption from the given sequence without waiting.
+     *
+     * @param sequence the next sequence to read
+     * @return the sequence up to which is available, lower than {@code sequence} if nothing is
+     */
+    public long available(final long sequence)
+    {
+        long availableSequence = cursorSequence.getAsLong();
+
+        if (availableSequence < sequence) {
+            return availableSequence;
+        }
+
+        return sequenceProducer.getHighestPublishedSequence(sequence, availableSequence);
+    }
+
     /**
          * Get the current cursor value that can be read.
          *
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.queue;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An unbounded multi-producer, single-consumer queue striped over a fixed number of shards. Each producer thread
+ * always offers to the same shard, picked from its thread id, so concurrent producers mostly append to different
+ * tails instead of contending on a single cursor. The consumer drains the shards round-robin.
+ * <p>
+ * Values offered by the same thread are polled in order, values offered by different threads are not ordered
+ * relatively to each other, use {@link MpscLinkedQueue} when a FIFO order across producers is required. Shards are
+ * allocated on first use, each being a {@link MpscLinkedQueue}, {@link #size()} walks the pending values and
+ * {@link #iterator()} is not supported.
+ *
+ * @param <T> the value type
+ * @since 2.5
+ */
+final class ShardedMpscQueue<T> extends AbstractQueue<T> {
+
+	/**
+	 * Default shard count: the next power of two of the available processors.
+	 */
+	static final int DEFAULT_SHARDS =
+			RingBuffer.ceilingNextPowerOfTwo(Runtime.getRuntime()
+			                                        .availableProcessors());
+
+	final AtomicReferenceArray<MpscLinkedQueue<T>> shards;
+	final int                            mask;
+
+	/**
+	 * Next shard to poll from, only accessed by the consumer.
+	 */
+	int consumerShard;
+
+	ShardedMpscQueue() {
+		this(DEFAULT_SHARDS);
+	}
+
+	ShardedMpscQueue(int shards) {
+		if (shards < 1) {
+			throw new IllegalArgumentException("shards must be strictly positive, was: " + shards);
+		}
+		int c = RingBuffer.ceilingNextPowerOfTwo(shards);
+		this.shards = new AtomicReferenceArray<>(c);
+		this.mask = c - 1;
+	}
+
+	@Override
+	public boolean offer(T e) {
+		Objects.requireNonNull(e);
+
+		int i = shardIndex(Thread.currentThread()
+		                         .getId(), mask);
+		MpscLinkedQueue<T> s = shards.get(i);
+		if (s == null) {
+			s = new MpscLinkedQueue<>();
+			if (!shards.compareAndSet(i, null, s)) {
+				s = shards.get(i);
+			}
+		}
+		s.offer(e);
+		return true;
+	}
+
+	@Override
+	public T poll() {
+		final AtomicReferenceArray<MpscLinkedQueue<T>> a = shards;
+		final int m = mask;
+		int start = consumerShard;
+
+		for (int k = 0; k <= m; k++) {
+			int i = (start + k) & m;
+			MpscLinkedQueue<T> s = a.get(i);
+			if (s != null) {
+				T v = s.poll();
+				if (v != null) {
+					consumerShard = i + 1;
+					return v;
+				}
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public T peek() {
+		final AtomicReferenceArray<MpscLinkedQueue<T>> a = shards;
+		final int m = mask;
+		int start = consumerShard;
+
+		for (int k = 0; k <= m; k++) {
+			MpscLinkedQueue<T> s = a.get((start + k) & m);
+			if (s != null) {
+				T v = s.peek();
+				if (v != null) {
+					return v;
+				}
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		final AtomicReferenceArray<MpscLinkedQueue<T>> a = shards;
+		for (int i = 0; i <= mask; i++) {
+			MpscLinkedQueue<T> s = a.get(i);
+			if (s != null && s.peek() != null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int size() {
+		final AtomicReferenceArray<MpscLinkedQueue<T>> a = shards;
+		int n = 0;
+		for (int i = 0; i <= mask; i++) {
+			MpscLinkedQueue<T> s = a.get(i);
+			if (s != null) {
+				n += s.size();
+			}
+		}
+		return n;
+	}
+
+	@Override
+	public void clear() {
+		while (poll() != null) {
+			//IGNORE
+		}
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		throw new UnsupportedOperationException();
+	}
+
+	static int shardIndex(long threadId, int mask) {
+		return (int) ((threadId * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+	}
+}
@@ -16,10 +16,15 @@
 
 package reactor.core.subscriber;
 
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import reactor.core.flow.Producer;
 import reactor.core.flow.Receiver;
+import reactor.core.queue.QueueSupplier;
 import reactor.core.state.Backpressurable;
 import reactor.core.state.Cancellable;
 import reactor.core.state.Completable;
@@ -31,7 +36,9 @@ import reactor.core.util.BackpressureUtils;
  * called concurrently.
  * <p>
  * <p>
- * The implementation uses {@code synchronized (this)} to ensure mutual exclusion.
+ * The implementation is lock-free: a work-in-progress counter elects the emitting thread. An uncontended signal is
+ * emitted directly by the calling thread while signals racing with an emission are offered to a lazily created
+ * multi-producer queue drained by the emitting thread before it leaves.
  * <p>
  * <p>
  * Note that the class implements Subscription to save on allocation.
@@ -44,18 +51,25 @@ final class SerializedSubscriber<T>
 
 	final Subscriber<? super T> actual;
 
-	boolean emitting;
+	volatile int wip;
+	@SuppressWarnings("rawtypes")
+	static final AtomicIntegerFieldUpdater<SerializedSubscriber> WIP =
+			AtomicIntegerFieldUpdater.newUpdater(SerializedSubscriber.class, "wip");
+
+	volatile Queue<T> queue;
+	@SuppressWarnings("rawtypes")
+	static final AtomicReferenceFieldUpdater<SerializedSubscriber, Queue> QUEUE =
+			AtomicReferenceFieldUpdater.newUpdater(SerializedSubscriber.class, Queue.class, "queue");
 
-	boolean missed;
+	volatile int terminated;
+	@SuppressWarnings("rawtypes")
+	static final AtomicIntegerFieldUpdater<SerializedSubscriber> TERMINATED =
+			AtomicIntegerFieldUpdater.newUpdater(SerializedSubscriber.class, "terminated");
 
 	volatile boolean done;
 
 	volatile boolean cancelled;
 
-	LinkedArrayNode<T> head;
-
-	LinkedArrayNode<T> tail;
-
 	Throwable error;
 
 	Subscription s;
@@ -75,17 +89,49 @@ final class SerializedSubscriber<T>
 
 	@Override
 	public void onNext(T t) {
-		serOnNext(t);
+		if (cancelled || done) {
+			return;
+		}
+
+		if (wip == 0 && WIP.compareAndSet(this, 0, 1)) {
+			actual.onNext(t);
+			if (WIP.decrementAndGet(this) == 0) {
+				return;
+			}
+		}
+		else {
+			serQueue().offer(t);
+			if (WIP.getAndIncrement(this) != 0) {
+				return;
+			}
+		}
+
+		serDrainLoop(actual);
 	}
 
 	@Override
 	public void onError(Throwable t) {
-		serOnError(t);
+		if (cancelled || done || !TERMINATED.compareAndSet(this, 0, 1)) {
+			return;
+		}
+		error = t;
+		done = true;
+
+		if (WIP.getAndIncrement(this) == 0) {
+			serDrainLoop(actual);
+		}
 	}
 
 	@Override
 	public void onComplete() {
-		serOnComplete();
+		if (cancelled || done || !TERMINATED.compareAndSet(this, 0, 1)) {
+			return;
+		}
+		done = true;
+
+		if (WIP.getAndIncrement(this) == 0) {
+			serDrainLoop(actual);
+		}
 	}
 
 	@Override
@@ -99,87 +145,57 @@ final class SerializedSubscriber<T>
 		s.cancel();
 	}
 
-	void serAdd(T value) {
-		LinkedArrayNode<T> t = serGetTail();
-
-		if (t == null) {
-			t = new LinkedArrayNode<>(value);
-
-			serSetHead(t);
-			serSetTail(t);
-		}
-		else {
-			if (t.count == LinkedArrayNode.DEFAULT_CAPACITY) {
-				LinkedArrayNode<T> n = new LinkedArrayNode<>(value);
-
-				t.next = n;
-				serSetTail(n);
-			}
-			else {
-				t.array[t.count++] = value;
+	Queue<T> serQueue() {
+		Queue<T> q = queue;
+		if (q == null) {
+			q = QueueSupplier.<T>mpsc().get();
+			if (!QUEUE.compareAndSet(this, null, q)) {
+				q = queue;
 			}
 		}
+		return q;
 	}
 
 	void serDrainLoop(Subscriber<? super T> actual) {
-		for (; ; ) {
-
-			if (isCancelled()) {
-				return;
-			}
-
-			boolean d;
-			Throwable e;
-			LinkedArrayNode<T> n;
-
-			synchronized (serGuard()) {
-				if (isCancelled()) {
-					return;
-				}
-
-				if (!serIsMissed()) {
-					serSetEmitting(false);
-					return;
-				}
-
-				serSetMissed(false);
-
-				d = isTerminated();
-				e = getError();
-				n = serGetHead();
-
-				serSetHead(null);
-				serSetTail(null);
-			}
-
-			while (n != null) {
+		int missed = 1;
 
-				T[] arr = n.array;
-				int c = n.count;
+		for (; ; ) {
+			Queue<T> q = queue;
 
-				for (int i = 0; i < c; i++) {
+			if (q != null) {
+				T v;
 
-					if (isCancelled()) {
+				while ((v = q.poll()) != null) {
+					if (cancelled) {
+						q.clear();
 						return;
 					}
 
-					actual.onNext(arr[i]);
+					actual.onNext(v);
 				}
-
-				n = n.next;
 			}
 
-			if (isCancelled()) {
+			if (cancelled) {
 				return;
 			}
 
-			if (e != null) {
-				actual.onError(e);
-				return;
+			if (done) {
+				q = queue;
+				if (q == null || q.isEmpty()) {
+					Throwable e = error;
+					if (e != null) {
+						actual.onError(e);
+					}
+					else {
+						actual.onComplete();
+					}
+					return;
+				}
 			}
-			else if (d) {
-				actual.onComplete();
-				return;
+
+			missed = WIP.addAndGet(this, -missed);
+			if (missed == 0) {
+				break;
 			}
 		}
 	}
@@ -189,95 +205,6 @@ final class SerializedSubscriber<T>
 		return actual;
 	}
 
-	Object serGuard() {
-		return this;
-	}
-
-	boolean serIsEmitting() {
-		return emitting;
-	}
-
-	void serOnComplete() {
-		if (isCancelled() || isTerminated()) {
-			return;
-		}
-
-		synchronized (this) {
-			if (isCancelled() || isTerminated()) {
-				return;
-			}
-
-			serSetDone(true);
-
-			if (serIsEmitting()) {
-				serSetMissed(true);
-				return;
-			}
-		}
-
-		downstream().onComplete();
-	}
-
-	void serOnError(Throwable e) {
-		if (isCancelled() || isTerminated()) {
-			return;
-		}
-
-		synchronized (serGuard()) {
-			if (isCancelled() || isTerminated()) {
-				return;
-			}
-
-			serSetDone(true);
-			serSetError(e);
-
-			if (serIsEmitting()) {
-				serSetMissed(true);
-				return;
-			}
-		}
-
-		downstream().onError(e);
-	}
-
-	void serOnNext(T t) {
-		if (isCancelled() || isTerminated()) {
-			return;
-		}
-
-		synchronized (serGuard()) {
-			if (isCancelled() || isTerminated()) {
-				return;
-			}
-
-			if (serIsEmitting()) {
-				serAdd(t);
-				serSetMissed(true);
-				return;
-			}
-
-			serSetEmitting(true);
-		}
-
-		Subscriber<? super T> actual = downstream();
-
-		actual.onNext(t);
-
-		serDrainLoop(actual);
-	}
-
-	void serSetEmitting(boolean emitting) {
-		this.emitting = emitting;
-	}
-
-	boolean serIsMissed() {
-		return missed;
-	}
-
-	void serSetMissed(boolean missed) {
-		this.missed = missed;
-	}
-
 	@Override
 	public boolean isCancelled() {
 		return cancelled;
@@ -288,35 +215,11 @@ final class SerializedSubscriber<T>
 		return done;
 	}
 
-	void serSetDone(boolean done) {
-		this.done = done;
-	}
-
 	@Override
 	public Throwable getError() {
 		return error;
 	}
 
-	void serSetError(Throwable error) {
-		this.error = error;
-	}
-
-	LinkedArrayNode<T> serGetHead() {
-		return head;
-	}
-
-	void serSetHead(LinkedArrayNode<T> node) {
-		head = node;
-	}
-
-	LinkedArrayNode<T> serGetTail() {
-		return tail;
-	}
-
-	void serSetTail(LinkedArrayNode<T> node) {
-		tail = node;
-	}
-
 	@Override
 	public boolean isStarted() {
 		return s != null || !cancelled;
@@ -329,9 +232,9 @@ final class SerializedSubscriber<T>
 
 	@Override
 	public long getPending() {
-		LinkedArrayNode<T> node = serGetTail();
-		if (node != null) {
-			return node.count;
+		Queue<T> q = queue;
+		if (q != null) {
+			return q.size();
 		}
 		return 0;
 	}
@@ -341,31 +244,8 @@ final class SerializedSubscriber<T>
 		return 0;
 	}
 
-
 	@Override
 	public long getCapacity() {
-		return LinkedArrayNode.DEFAULT_CAPACITY;
-	}
-
-	/**
-	 * Node in a linked array list that is only appended.
-	 *
-	 * @param <T> the value type
-	 */
-	static final class LinkedArrayNode<T> {
-
-		static final int DEFAULT_CAPACITY = 16;
-
-		final T[] array;
-		int count;
-
-		LinkedArrayNode<T> next;
-
-		@SuppressWarnings("unchecked")
-		public LinkedArrayNode(T value) {
-			array = (T[]) new Object[DEFAULT_CAPACITY];
-			array[0] = value;
-			count = 1;
-		}
+		return Long.MAX_VALUE;
 	}
 }
@@ -0,0 +1,660 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.timer;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.LongSupplier;
+
+import org.reactivestreams.Processor;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.flow.Producer;
+import reactor.core.queue.RingBuffer;
+import reactor.core.state.Cancellable;
+import reactor.core.state.Pausable;
+import reactor.core.state.Requestable;
+import reactor.core.state.Timeable;
+import reactor.core.util.BackpressureUtils;
+import reactor.core.util.Exceptions;
+import reactor.core.util.ExecutorUtils;
+import reactor.core.util.PlatformDependent;
+import reactor.core.util.WaitStrategy;
+
+/**
+ * Hierarchical Wheel Timer, as per the paper: <p> Hashed and hierarchical timing wheels:
+ * http://www.cs.columbia.edu/~nahum/w6998/papers/ton97-timing-wheels.pdf
+ * <p>
+ * Unlike {@link HashWheelTimer} which keeps a sorted set per slot and visits every registration of the current slot
+ * on each tick, this timer stacks N wheels of the same size where each slot of level {@code L} spans
+ * {@code wheelSize^L} ticks. Registrations are stored in intrusive doubly-linked bucket lists: scheduling and
+ * cancelling are O(1) and a tick only visits the registrations expiring on that tick, plus the registrations of a
+ * single upper level slot being cascaded down once every {@code wheelSize} ticks.
+ * <p>
+ * The wheel is only ever mutated by the timer thread. Schedule and cancel requests from other threads are pushed on
+ * lock-free intrusive stacks drained on each tick.
+ *
+ * @since 2.5
+ */
+final class HierarchicalWheelTimer extends Timer {
+
+	public static final int DEFAULT_WHEEL_SIZE = 64;
+	public static final int DEFAULT_LEVELS     = 4;
+
+	static final String DEFAULT_TIMER_NAME = "hierarchical-wheel-timer";
+
+	private final WheelSubscription[][] wheels;
+	private final int                   wheelBits;
+	private final int                   wheelMask;
+	private final long                  maxTicks;
+	private final Thread                loop;
+	private final Executor              executor;
+	private final WaitStrategy          waitStrategy;
+	private final LongSupplier          timeMillisResolver;
+	private final AtomicBoolean started = new AtomicBoolean();
+
+	/**
+	 * Current tick, only read and written by the timer thread
+	 */
+	long tick;
+
+	volatile long subscriptions;
+	static final AtomicLongFieldUpdater<HierarchicalWheelTimer> SUBSCRIPTIONS =
+			AtomicLongFieldUpdater.newUpdater(HierarchicalWheelTimer.class, "subscriptions");
+
+	volatile WheelSubscription pending;
+	static final AtomicReferenceFieldUpdater<HierarchicalWheelTimer, WheelSubscription> PENDING =
+			PlatformDependent.newAtomicReferenceFieldUpdater(HierarchicalWheelTimer.class, "pending");
+
+	volatile WheelSubscription cancelled;
+	static final AtomicReferenceFieldUpdater<HierarchicalWheelTimer, WheelSubscription> CANCELLED =
+			PlatformDependent.newAtomicReferenceFieldUpdater(HierarchicalWheelTimer.class, "cancelled");
+
+	/**
+	 * Create a new {@code HierarchicalWheelTimer} using the given timer {@code res}, {@code wheelSize} and number of
+	 * {@code levels}. All times will rounded up to the closest multiple of this resolution.
+	 * @param res                resolution of this timer in milliseconds
+	 * @param wheelSize          number of slots per wheel level, rounded up to the next power of two. Sane default
+	 *                           is 64.
+	 * @param levels             number of stacked wheels. Delays beyond {@code res * wheelSize^levels} are cascaded
+	 *                           from the last level until they fit. Sane default is 4.
+	 * @param waitStrategy       strategy for waiting for the next tick
+	 */
+	public HierarchicalWheelTimer(int res, int wheelSize, int levels, WaitStrategy waitStrategy) {
+		this(DEFAULT_TIMER_NAME, res, wheelSize, levels, waitStrategy, null, SYSTEM_NOW);
+	}
+
+	/**
+	 * Create a new {@code HierarchicalWheelTimer} using the given timer {@code resolution}, {@code wheelSize} and
+	 * number of {@code levels}. All times will rounded up to the closest multiple of this resolution.
+	 * @param name               name for daemon thread factory to be displayed
+	 * @param res                resolution of this timer in milliseconds
+	 * @param wheelSize          number of slots per wheel level, rounded up to the next power of two. Sane default
+	 *                           is 64.
+	 * @param levels             number of stacked wheels. Delays beyond {@code res * wheelSize^levels} are cascaded
+	 *                           from the last level until they fit. Sane default is 4.
+	 * @param strategy           strategy for waiting for the next tick
+	 * @param exec               {@code Executor} instance to submit tasks to
+	 * @param timeResolver       {@code LongSupplier} supplier returning current time in milliseconds every time it's
+	 *                           called
+	 */
+	public HierarchicalWheelTimer(String name,
+			int res,
+			int wheelSize,
+			int levels,
+			WaitStrategy strategy,
+			Executor exec,
+			LongSupplier timeResolver) {
+		super(res);
+		if (levels < 1) {
+			throw new IllegalArgumentException("levels > 0 required but it was " + levels);
+		}
+
+		this.timeMillisResolver = timeResolver;
+		this.waitStrategy = strategy;
+
+		int size = RingBuffer.ceilingNextPowerOfTwo(Math.max(2, wheelSize));
+		this.wheelBits = Integer.numberOfTrailingZeros(size);
+		this.wheelMask = size - 1;
+
+		//keep the wheel span within a positive long
+		int maxLevels = Math.max(1, 62 / wheelBits);
+		this.wheels = new WheelSubscription[Math.min(levels, maxLevels)][size];
+		this.maxTicks = 1L << (wheelBits * wheels.length);
+
+		if (exec == null) {
+			this.executor =
+					Executors.newFixedThreadPool(1, ExecutorUtils.newNamedFactory(name + "-run", new ClassLoader(Thread.currentThread()
+					                                                                                                                .getContextClassLoader()) {
+					}));
+		}
+		else {
+			this.executor = exec;
+		}
+
+		this.loop = ExecutorUtils.newNamedFactory(name).newThread(new Runnable() {
+			@Override
+			public void run() {
+				long deadline = timeMillisResolver.getAsLong();
+
+				Runnable noop = new Runnable() {
+					@Override
+					public void run() {
+						if (loop.isInterrupted()) {
+							throw Exceptions.AlertException.INSTANCE;
+						}
+					}
+				};
+
+				while (true) {
+					drainCancelled();
+					drainPending();
+
+					if (!expire()) {
+						break;
+					}
+
+					deadline += resolution;
+
+					try {
+						waitStrategy.waitFor(deadline, timeMillisResolver, noop);
+					}
+					catch (Exceptions.AlertException | InterruptedException e) {
+						break;
+					}
+
+					advance();
+				}
+				if (executor instanceof Processor) {
+					((Processor) executor).onComplete();
+				}
+				else if (executor instanceof ExecutorService) {
+					((ExecutorService) executor).shutdown();
+				}
+			}
+		});
+	}
+
+	@Override
+	public long period() {
+		return resolution;
+	}
+
+	@Override
+	public WheelSubscription interval(Subscriber<? super Long> consumer, long period, long delay) {
+		return schedule(period, delay, consumer);
+	}
+
+	@Override
+	public WheelSubscription single(Subscriber<? super Long> subscriber, long period) {
+		return schedule(0, period, subscriber);
+	}
+
+	private WheelSubscription schedule(long recurringTimeout, long firstDelay, Subscriber<? super Long> subscriber) {
+		if (loop.isInterrupted() || !loop.isAlive()) {
+			throw Exceptions.failWithCancel();
+		}
+		if (recurringTimeout != 0) {
+			checkResolution(recurringTimeout, resolution);
+		}
+
+		long periodTicks = recurringTimeout / resolution;
+		long delayTicks = Math.max(1L, firstDelay / resolution + (recurringTimeout != 0 ? 1 : 0));
+
+		WheelSubscription r;
+		if (recurringTimeout != 0) {
+			r = new IntervalSubscription(this, subscriber, delayTicks, periodTicks);
+		}
+		else {
+			r = new TimerSubscription(this, subscriber, delayTicks);
+		}
+
+		SUBSCRIPTIONS.incrementAndGet(this);
+
+		WheelSubscription p;
+		do {
+			p = pending;
+			r.nextPending = p;
+		}
+		while (!PENDING.compareAndSet(this, p, r));
+
+		return r;
+	}
+
+	void cancelled(WheelSubscription r) {
+		WheelSubscription c;
+		do {
+			c = cancelled;
+			r.nextCancelled = c;
+		}
+		while (!CANCELLED.compareAndSet(this, c, r));
+	}
+
+	@Override
+	public boolean isCancelled() {
+		return loop.isInterrupted();
+	}
+
+	/**
+	 * Start the Timer
+	 */
+	@Override
+	public void start() {
+		if (started.compareAndSet(false, true)) {
+			this.loop.start();
+		}
+		else {
+			throw new IllegalStateException("Timer already started");
+		}
+	}
+
+	/**
+	 * Cancel current Timer
+	 */
+	public void cancel() {
+		this.loop.interrupt();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("HierarchicalWheelTimer { Wheel Size: %d, Levels: %d, Resolution: %d }",
+				wheelMask + 1,
+				wheels.length,
+				resolution);
+	}
+
+	/**
+	 * Link the registrations submitted since the last tick, relative to the current tick.
+	 */
+	void drainPending() {
+		WheelSubscription r = PENDING.getAndSet(this, null);
+		while (r != null) {
+			WheelSubscription next = r.nextPending;
+			r.nextPending = null;
+			if (!r.isCancelled()) {
+				r.deadline = tick + r.delayTicks;
+				link(r);
+			}
+			r = next;
+		}
+	}
+
+	/**
+	 * Unlink the registrations cancelled since the last tick.
+	 */
+	void drainCancelled() {
+		WheelSubscription r = CANCELLED.getAndSet(this, null);
+		while (r != null) {
+			WheelSubscription next = r.nextCancelled;
+			r.nextCancelled = null;
+			unlink(r);
+			//an expired single registration has already been discounted
+			if (!r.expired && SUBSCRIPTIONS.decrementAndGet(this) == 0) {
+				cancel();
+			}
+			r = next;
+		}
+	}
+
+	/**
+	 * Run every registration of the current tick level-0 slot.
+	 *
+	 * @return false if the timer has been shutdown
+	 */
+	boolean expire() {
+		WheelSubscription[] slots = wheels[0];
+		int index = (int) (tick & wheelMask);
+		WheelSubscription r = slots[index];
+		slots[index] = null;
+
+		while (r != null) {
+			WheelSubscription next = r.next;
+			r.next = null;
+			r.prev = null;
+			r.level = -1;
+
+			if (!r.isCancelled()) {
+				if (r.isPaused()) {
+					r.deadline = tick + r.rearmTicks();
+					link(r);
+				}
+				else {
+					try {
+						executor.execute(r);
+					}
+					catch (RejectedExecutionException re) {
+						if (loop.isInterrupted()) {
+							return false;
+						}
+						throw re;
+					}
+
+					IntervalSubscription interval = r.asInterval();
+					if (interval != null) {
+						r.deadline = tick + interval.periodTicks;
+						link(r);
+					}
+					else {
+						r.expired = true;
+						SUBSCRIPTIONS.decrementAndGet(this);
+					}
+				}
+			}
+			r = next;
+		}
+		return true;
+	}
+
+	/**
+	 * Move to the next tick and cascade the upper levels slots reaching the current level-0 round.
+	 */
+	void advance() {
+		long t = ++tick;
+		if ((t & wheelMask) != 0) {
+			return;
+		}
+		for (int level = 1; level < wheels.length; level++) {
+			int index = (int) ((t >>> (level * wheelBits)) & wheelMask);
+			WheelSubscription[] slots = wheels[level];
+			WheelSubscription r = slots[index];
+			slots[index] = null;
+
+			while (r != null) {
+				WheelSubscription next = r.next;
+				r.next = null;
+				r.prev = null;
+				r.level = -1;
+				link(r);
+				r = next;
+			}
+
+			if (index != 0) {
+				break;
+			}
+		}
+	}
+
+	void link(WheelSubscription r) {
+		long deadline = r.deadline;
+		long delta = deadline - tick;
+
+		int level;
+		int index;
+		if (delta < wheelMask + 1) {
+			level = 0;
+			index = (int) (Math.max(deadline, tick) & wheelMask);
+		}
+		else {
+			if (delta >= maxTicks) {
+				//park in the furthest slot, it will be cascaded again until it fits
+				deadline = tick + maxTicks - 1;
+				delta = maxTicks - 1;
+			}
+			level = (63 - Long.numberOfLeadingZeros(delta)) / wheelBits;
+			index = (int) ((deadline >>> (level * wheelBits)) & wheelMask);
+		}
+
+		WheelSubscription[] slots = wheels[level];
+		WheelSubscription head = slots[index];
+		r.level = level;
+		r.index = index;
+		r.prev = null;
+		r.next = head;
+		if (head != null) {
+			head.prev = r;
+		}
+		slots[index] = r;
+	}
+
+	void unlink(WheelSubscription r) {
+		int level = r.level;
+		if (level < 0) {
+			return;
+		}
+		WheelSubscription prev = r.prev;
+		WheelSubscription next = r.next;
+		if (prev == null) {
+			wheels[level][r.index] = next;
+		}
+		else {
+			prev.next = next;
+		}
+		if (next != null) {
+			next.prev = prev;
+		}
+		r.prev = null;
+		r.next = null;
+		r.level = -1;
+	}
+
+	static abstract class WheelSubscription
+			implements Runnable, Pausable, Subscription, Cancellable, Producer, Timeable {
+
+		volatile int status;
+		static final AtomicIntegerFieldUpdater<WheelSubscription> STATUS =
+				AtomicIntegerFieldUpdater.newUpdater(WheelSubscription.class, "status");
+
+		final HierarchicalWheelTimer   timer;
+		final Subscriber<? super Long> delegate;
+		final long                     delayTicks;
+
+		/*
+		 * Wheel bucket links, only accessed by the timer thread
+		 */
+		WheelSubscription prev;
+		WheelSubscription next;
+		int               level = -1;
+		int               index;
+		long              deadline;
+		boolean           expired;
+
+		/*
+		 * Intrusive stack links used to hand over to the timer thread
+		 */
+		WheelSubscription nextPending;
+		WheelSubscription nextCancelled;
+
+		WheelSubscription(HierarchicalWheelTimer timer, Subscriber<? super Long> delegate, long delayTicks) {
+			this.timer = timer;
+			this.delegate = Objects.requireNonNull(delegate, "Must provide a subscriber");
+			this.delayTicks = delayTicks;
+			STATUS.lazySet(this, HashWheelTimer.STATUS_READY);
+		}
+
+		/**
+		 * Cancel the registration
+		 */
+		@Override
+		public final void cancel() {
+			if (STATUS.getAndSet(this, HashWheelTimer.STATUS_CANCELLED) != HashWheelTimer.STATUS_CANCELLED) {
+				timer.cancelled(this);
+			}
+		}
+
+		/**
+		 * Check whether the current Registration is cancelled
+		 *
+		 * @return whether or not the current Registration is cancelled
+		 */
+		@Override
+		public final boolean isCancelled() {
+			return status == HashWheelTimer.STATUS_CANCELLED;
+		}
+
+		/**
+		 * Pause the current Registration
+		 */
+		@Override
+		public final void pause() {
+			STATUS.compareAndSet(this, HashWheelTimer.STATUS_READY, HashWheelTimer.STATUS_PAUSED);
+		}
+
+		/**
+		 * Check whether the current Registration is paused
+		 *
+		 * @return whether or not the current Registration is paused
+		 */
+		boolean isPaused() {
+			return this.status == HashWheelTimer.STATUS_PAUSED;
+		}
+
+		/**
+		 * Resume current Registration
+		 */
+		@Override
+		public final void resume() {
+			STATUS.compareAndSet(this, HashWheelTimer.STATUS_PAUSED, HashWheelTimer.STATUS_READY);
+		}
+
+		/**
+		 * @return the number of ticks to wait before checking again a paused registration
+		 */
+		abstract long rearmTicks();
+
+		abstract IntervalSubscription asInterval();
+
+		@Override
+		public final String toString() {
+			return String.format("HierarchicalWheelTimer { Deadline: %d, Status: %d }", deadline, status);
+		}
+
+		@Override
+		public final Object downstream() {
+			return delegate;
+		}
+
+		@Override
+		public final long period() {
+			return delayTicks * timer.resolution;
+		}
+	}
+
+	static final class IntervalSubscription extends WheelSubscription implements Requestable {
+
+		final long periodTicks;
+
+		long increment;
+
+		volatile long requested;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<IntervalSubscription> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(IntervalSubscription.class, "requested");
+
+		IntervalSubscription(HierarchicalWheelTimer timer,
+				Subscriber<? super Long> delegate,
+				long delayTicks,
+				long periodTicks) {
+			super(timer, delegate, delayTicks);
+			this.periodTicks = periodTicks;
+		}
+
+		@Override
+		IntervalSubscription asInterval() {
+			return this;
+		}
+
+		@Override
+		long rearmTicks() {
+			return periodTicks;
+		}
+
+		@Override
+		public void run() {
+			if (isCancelled() || isPaused()) {
+				return;
+			}
+			if (BackpressureUtils.getAndSub(REQUESTED, this, 1L) != 0L) {
+				delegate.onNext(increment++);
+			}
+			else {
+				cancel();
+				delegate.onError(Exceptions.timeOverflow());
+			}
+		}
+
+		@Override
+		public void request(long n) {
+			if (BackpressureUtils.checkRequest(n, delegate)) {
+				BackpressureUtils.getAndAdd(REQUESTED, this, n);
+			}
+		}
+
+		@Override
+		public long requestedFromDownstream() {
+			return requested;
+		}
+	}
+
+	static final class TimerSubscription extends WheelSubscription {
+
+		final static int STATUS_REQUESTED        = 2;
+		final static int STATUS_PAUSED_REQUESTED = 3;
+		final static int STATUS_EMITTED          = 4;
+
+		TimerSubscription(HierarchicalWheelTimer timer, Subscriber<? super Long> delegate, long delayTicks) {
+			super(timer, delegate, delayTicks);
+		}
+
+		@Override
+		IntervalSubscription asInterval() {
+			return null;
+		}
+
+		@Override
+		long rearmTicks() {
+			return delayTicks;
+		}
+
+		@Override
+		public void run() {
+			if (STATUS.compareAndSet(this, STATUS_REQUESTED, STATUS_EMITTED)) {
+				delegate.onNext(HashWheelTimer.TIMER_LONG);
+				if (STATUS.compareAndSet(this, STATUS_EMITTED, HashWheelTimer.STATUS_CANCELLED)) {
+					delegate.onComplete();
+				}
+			}
+			else if (STATUS.get(this) == HashWheelTimer.STATUS_READY) {
+				delegate.onError(Exceptions.timeOverflow());
+			}
+		}
+
+		@Override
+		public void request(long n) {
+			if (BackpressureUtils.checkRequest(n, delegate)) {
+				for (; ; ) {
+					if (STATUS.compareAndSet(this, HashWheelTimer.STATUS_READY, STATUS_REQUESTED) ||
+							STATUS.compareAndSet(this, HashWheelTimer.STATUS_PAUSED, STATUS_PAUSED_REQUESTED) ||
+							status > HashWheelTimer.STATUS_PAUSED ||
+							isCancelled()) {
+						break;
+					}
+				}
+			}
+		}
+
+		@Override
+		boolean isPaused() {
+			return super.isPaused() || status == STATUS_PAUSED_REQUESTED;
+		}
+	}
+}
@@ -119,7 +119,47 @@ public class Timer implements Timeable, Cancellable {
 	 *                   return a new {@link Timer}
 	 */
 	public static Timer create(String name, int resolution, int bufferSize) {
-		Timer timer = new HashWheelTimer(name, resolution, bufferSize, WaitStrategy.sleeping(), null);
+		return create(name, resolution, bufferSize, false);
+	}
+
+	/**
+	 * Create a new {@link Timer} using the given timer {@code resolution} and {@code bufferSize}. All times
+	 * will
+	 * rounded up to the closest multiple of this resolution.
+	 * <p>
+	 * A hierarchical timer stacks {@code bufferSize}-slot wheels where each level covers {@code bufferSize} times the
+	 * previous one. Scheduling and cancelling are constant time and each tick only visits expiring tasks, which
+	 * suits large amounts of pending timeouts better than the default hash wheel.
+	 *
+	 * @param name timer thread prefix
+	 * @param resolution resolution of this timer in milliseconds
+	 * @param bufferSize size of the wheel (or of each wheel level if hierarchical) supporting the Timer
+	 * @param hierarchical true if the timer should use a hierarchical wheel
+	 *                   <p>
+	 *                   return a new {@link Timer}
+	 */
+	public static Timer create(String name, int resolution, int bufferSize, boolean hierarchical) {
+		return create(name, resolution, bufferSize, hierarchical, WaitStrategy.sleeping());
+	}
+
+	/**
+	 * Create a new {@link Timer} using the given timer {@code resolution}, {@code bufferSize} and {@link WaitStrategy}
+	 * to wait for the next tick. All times will rounded up to the closest multiple of this resolution.
+	 *
+	 * @param name timer thread prefix
+	 * @param resolution resolution of this timer in milliseconds
+	 * @param bufferSize size of the wheel (or of each wheel level if hierarchical) supporting the Timer
+	 * @param hierarchical true if the timer should use a hierarchical wheel
+	 * @param waitStrategy strategy for waiting for the next tick, e.g. {@link WaitStrategy#adaptive()}
+	 *                   <p>
+	 *                   return a new {@link Timer}
+	 */
+	public static Timer create(String name, int resolution, int bufferSize, boolean hierarchical,
+			WaitStrategy waitStrategy) {
+		Timer timer = hierarchical ?
+				new HierarchicalWheelTimer(name, resolution, bufferSize, HierarchicalWheelTimer.DEFAULT_LEVELS,
+						waitStrategy, null, SYSTEM_NOW) :
+				new HashWheelTimer(name, resolution, bufferSize, waitStrategy, null);
 		timer.start();
 		return timer;
 	}
@@ -17,6 +17,7 @@ package reactor.core.util;
 
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.LockSupport;
@@ -33,6 +34,38 @@ public abstract class WaitStrategy
     final static WaitStrategy SLEEPING  = new Sleeping();
     final static WaitStrategy BUSY_SPIN = new BusySpin();
 
+    /**
+     * Adaptive strategy that spins, then yields, then blocks like {@link #liteBlocking()}, tuning its spin and yield
+     * budgets from the observed gaps between starting to wait and the sequence becoming available.
+     * <p>
+     * Short gaps grow the spin budget and size the yield budget after their moving average, while long gaps (idle)
+     * shrink both so that idle consumers end up blocking right away. The blocking phase waits at most 1 millisecond
+     * at a time so that cursors that are never signalled, such as a timer clock, keep being observed.
+     *
+     * @return a new {@link Adaptive} wait strategy
+     */
+    public static Adaptive adaptive() {
+        return new Adaptive(Adaptive.DEFAULT_MAX_YIELD_NANOS, Adaptive.DEFAULT_PARK_NANOS);
+    }
+
+    /**
+     * Adaptive strategy that spins, then yields, then blocks like {@link #liteBlocking()}, tuning its spin and yield
+     * budgets from the observed gaps between starting to wait and the sequence becoming available.
+     *
+     * @param maxYieldTimeout the maximum time spent spinning and yielding before blocking
+     * @param parkTimeout the maximum time blocked before checking the cursor again when no signal is received
+     * @param units the time unit of the timeouts
+     * @return a new {@link Adaptive} wait strategy
+     * @see #adaptive()
+     */
+    public static Adaptive adaptive(long maxYieldTimeout, long parkTimeout, TimeUnit units) {
+        if (maxYieldTimeout < 0L || parkTimeout <= 0L) {
+            throw new IllegalArgumentException("maxYieldTimeout must be positive and parkTimeout strictly positive, " +
+                    "were: " + maxYieldTimeout + ", " + parkTimeout);
+        }
+        return new Adaptive(units.toNanos(maxYieldTimeout), units.toNanos(parkTimeout));
+    }
+
     /**
      * Blocking strategy that uses a lock and condition variable for ringbuffer consumer waiting on a barrier.
      *
@@ -155,6 +188,256 @@ public abstract class WaitStrategy
 
 
 
+    /**
+     * A {@link WaitStrategy} tuning its spin and yield phases from the observed waiting gaps, see {@link #adaptive()}.
+     * The current budgets, last phase and per-phase counters are exposed for monitoring.
+     * <p>
+     * A single instance is usually shared by every consumer of a processor, so the wait path avoids atomic
+     * read-modify-write operations: the counters are incremented with ordered writes and may miss increments from
+     * racing consumers, and the phase is only written when it changes.
+     */
+    public final static class Adaptive extends WaitStrategy {
+
+        /**
+         * The waiting phases, in the order they are tried.
+         */
+        public enum Phase
+        {
+            SPIN, YIELD, PARK
+        }
+
+        static final long DEFAULT_MAX_YIELD_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+        static final long DEFAULT_PARK_NANOS      = TimeUnit.MILLISECONDS.toNanos(1);
+
+        static final int MIN_SPIN_TRIES = 16;
+        static final int MAX_SPIN_TRIES = 10000;
+
+        private final long maxYieldNanos;
+        private final long parkNanos;
+
+        private final Lock          lock                     = new ReentrantLock();
+        private final Condition     processorNotifyCondition = lock.newCondition();
+        private final AtomicBoolean signalNeeded             = new AtomicBoolean(false);
+
+        volatile int  spinTries;
+        volatile long yieldNanos;
+        volatile long averageWaitNanos;
+        volatile Phase phase;
+
+        volatile long spinHits;
+        volatile long yieldHits;
+        volatile long parkHits;
+        static final AtomicLongFieldUpdater<Adaptive> SPIN_HITS  =
+                AtomicLongFieldUpdater.newUpdater(Adaptive.class, "spinHits");
+        static final AtomicLongFieldUpdater<Adaptive> YIELD_HITS =
+                AtomicLongFieldUpdater.newUpdater(Adaptive.class, "yieldHits");
+        static final AtomicLongFieldUpdater<Adaptive> PARK_HITS  =
+                AtomicLongFieldUpdater.newUpdater(Adaptive.class, "parkHits");
+
+        Adaptive(long maxYieldNanos, long parkNanos)
+        {
+            this.maxYieldNanos = maxYieldNanos;
+            this.parkNanos = parkNanos;
+            this.spinTries = MAX_SPIN_TRIES;
+            this.yieldNanos = maxYieldNanos;
+            this.phase = Phase.SPIN;
+        }
+
+        @Override
+        public void signalAllWhenBlocking()
+        {
+            if (signalNeeded.getAndSet(false))
+            {
+                lock.lock();
+                try
+                {
+                    processorNotifyCondition.signalAll();
+                }
+                finally
+                {
+                    lock.unlock();
+                }
+            }
+        }
+
+        @Override
+        public long waitFor(long sequence, LongSupplier cursor, Runnable barrier)
+                throws Exceptions.AlertException, InterruptedException
+        {
+            long availableSequence;
+            int counter = spinTries;
+
+            while (counter-- != 0)
+            {
+                if ((availableSequence = cursor.getAsLong()) >= sequence)
+                {
+                    SPIN_HITS.lazySet(this, spinHits + 1L);
+                    if (phase != Phase.SPIN)
+                    {
+                        phase = Phase.SPIN;
+                    }
+                    return availableSequence;
+                }
+                barrier.run();
+            }
+
+            long start = System.nanoTime();
+            long yieldBudget = yieldNanos;
+
+            do
+            {
+                if ((availableSequence = cursor.getAsLong()) >= sequence)
+                {
+                    YIELD_HITS.lazySet(this, yieldHits + 1L);
+                    if (phase != Phase.YIELD)
+                    {
+                        phase = Phase.YIELD;
+                    }
+                    adapt(System.nanoTime() - start);
+                    return availableSequence;
+                }
+                barrier.run();
+                Thread.yield();
+            }
+            while (System.nanoTime() - start < yieldBudget);
+
+            if (phase != Phase.PARK)
+            {
+                phase = Phase.PARK;
+            }
+            lock.lock();
+            try
+            {
+                for (;;)
+                {
+                    signalNeeded.getAndSet(true);
+
+                    if ((availableSequence = cursor.getAsLong()) >= sequence)
+                    {
+                        break;
+                    }
+
+                    barrier.run();
+                    processorNotifyCondition.awaitNanos(parkNanos);
+                }
+            }
+            finally
+            {
+                lock.unlock();
+            }
+            PARK_HITS.lazySet(this, parkHits + 1L);
+            adapt(System.nanoTime() - start);
+            return availableSequence;
+        }
+
+        /**
+         * Fold a new waiting gap in the moving average and resize the spin and yield budgets: a gap the yield phase
+         * could cover favors spinning longer, while idle gaps shrink both budgets toward blocking immediately.
+         * Concurrent consumers may race on the update, which only delays the adaptation.
+         *
+         * @param gapNanos the time from the end of the spin phase until the sequence was available
+         */
+        void adapt(long gapNanos)
+        {
+            long average = averageWaitNanos;
+            average += (gapNanos - average) >> 3;
+            averageWaitNanos = average;
+
+            int tries = spinTries;
+            long yield = yieldNanos;
+            int nextTries;
+            long nextYield;
+            if (average <= maxYieldNanos)
+            {
+                nextTries = Math.min(MAX_SPIN_TRIES, tries << 1);
+                nextYield = Math.min(maxYieldNanos, average << 1);
+            }
+            else
+            {
+                nextTries = Math.max(MIN_SPIN_TRIES, tries >> 1);
+                nextYield = yield >> 1;
+            }
+            if (nextTries != tries)
+            {
+                spinTries = nextTries;
+            }
+            if (nextYield != yield)
+            {
+                yieldNanos = nextYield;
+            }
+        }
+
+        /**
+         * @return the phase in which the last wait was satisfied
+         */
+        public Phase currentPhase()
+        {
+            return phase;
+        }
+
+        /**
+         * @return the current number of spins before yielding
+         */
+        public int spinTries()
+        {
+            return spinTries;
+        }
+
+        /**
+         * @return the current time spent yielding before blocking, in nanoseconds
+         */
+        public long yieldTimeoutNanos()
+        {
+            return yieldNanos;
+        }
+
+        /**
+         * @return the moving average of the gaps measured past the spin phase, in nanoseconds
+         */
+        public long averageWaitNanos()
+        {
+            return averageWaitNanos;
+        }
+
+        /**
+         * @return the number of waits satisfied while spinning
+         */
+        public long spinHits()
+        {
+            return spinHits;
+        }
+
+        /**
+         * @return the number of waits satisfied while yielding
+         */
+        public long yieldHits()
+        {
+            return yieldHits;
+        }
+
+        /**
+         * @return the number of waits satisfied after blocking
+         */
+        public long parkHits()
+        {
+            return parkHits;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Adaptive{" +
+                    "phase=" + phase +
+                    ", spinTries=" + spinTries +
+                    ", yieldTimeoutNanos=" + yieldNanos +
+                    ", averageWaitNanos=" + averageWaitNanos +
+                    ", spinHits=" + spinHits +
+                    ", yieldHits=" + yieldHits +
+                    ", parkHits=" + parkHits +
+                    '}';
+        }
+    }
+
     final static class Blocking extends WaitStrategy {
 
         private final Lock      lock                     = new ReentrantLock();
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.test.TestSubscriber;
+
+public class DoubleFluxTest {
+
+	@Test
+	public void arrayBackpressured() {
+		TestSubscriber<Double> ts = new TestSubscriber<>(0);
+
+		DoubleFlux.fromArray(1d, 2d, 3d, 4d, 5d)
+		          .subscribe(ts);
+
+		ts.assertNoValues();
+
+		ts.request(2);
+		ts.assertValues(1d, 2d)
+		  .assertNotComplete();
+
+		ts.request(10);
+		ts.assertValues(1d, 2d, 3d, 4d, 5d)
+		  .assertComplete();
+	}
+
+	@Test
+	public void cancelStopsEmission() {
+		TestSubscriber<Double> ts = new TestSubscriber<>(0);
+
+		DoubleFlux.fromArray(1d, 2d, 3d, 4d, 5d)
+		          .map(v -> v / 2)
+		          .subscribe(ts);
+
+		ts.request(2);
+		ts.cancel();
+		ts.request(5);
+
+		ts.assertValues(0.5d, 1d)
+		  .assertNotComplete()
+		  .assertNoError();
+	}
+
+	@Test
+	public void mapAndFilterAreFused() {
+		DoubleFlux source = DoubleFlux.fromArray(1d, 2d, 3d, 4d, 5d, 6d, 7d, 8d, 9d, 10d);
+		DoubleFlux mapped = source.map(v -> v + 1)
+		                          .map(v -> v * 10);
+		DoubleFlux filtered = mapped.filter(v -> v > 50)
+		                            .filter(v -> v < 100);
+
+		Assert.assertSame(source, ((DoubleFlux.DoubleFluxMap) mapped).source);
+		Assert.assertSame(mapped, ((DoubleFlux.DoubleFluxFilter) filtered).source);
+
+		TestSubscriber<Double> ts = new TestSubscriber<>();
+		filtered.subscribe(ts);
+
+		ts.assertValues(60d, 70d, 80d, 90d)
+		  .assertComplete();
+	}
+
+	@Test
+	public void filterReplenishesDroppedValues() {
+		TestSubscriber<Double> ts = new TestSubscriber<>(2);
+
+		DoubleFlux.fromArray(1d, 2d, 3d, 4d, 5d, 6d, 7d, 8d, 9d, 10d)
+		          .filter(v -> v % 3 == 0)
+		          .subscribe(ts);
+
+		ts.assertValues(3d, 6d)
+		  .assertNotComplete();
+	}
+
+	@Test
+	public void valuesAreNotBoxed() {
+		List<Double> values = new ArrayList<>();
+		List<Object> terminal = new ArrayList<>();
+
+		DoubleFlux.fromArray(1d, 2d, 3d)
+		          .map(v -> v * 2)
+		          .filter(v -> v != 4d)
+		          .subscribe(new PrimitiveSubscriber(values, terminal));
+
+		Assert.assertEquals(Arrays.asList(2d, 6d), values);
+		Assert.assertEquals(Arrays.<Object>asList("complete"), terminal);
+	}
+
+	@Test
+	public void reduceAndSum() {
+		TestSubscriber<Double> sum = new TestSubscriber<>();
+		TestSubscriber<Double> max = new TestSubscriber<>();
+		TestSubscriber<Double> empty = new TestSubscriber<>();
+		TestSubscriber<Double> emptySum = new TestSubscriber<>();
+
+		DoubleFlux.fromArray(0.5d, 1.5d, 2d)
+		          .sum()
+		          .subscribe(sum);
+		DoubleFlux.fromArray(3d, 9d, 4d)
+		          .reduce(Math::max)
+		          .subscribe(max);
+		DoubleFlux.fromArray()
+		          .reduce(Math::max)
+		          .subscribe(empty);
+		DoubleFlux.fromArray()
+		          .sum()
+		          .subscribe(emptySum);
+
+		sum.assertValues(4d)
+		   .assertComplete();
+		max.assertValues(9d)
+		   .assertComplete();
+		empty.assertNoValues()
+		     .assertComplete();
+		emptySum.assertValues(0d)
+		        .assertComplete();
+	}
+
+	@Test
+	public void window() {
+		TestSubscriber<double[]> ts = new TestSubscriber<>(2);
+
+		DoubleFlux.fromArray(1d, 2d, 3d, 4d, 5d)
+		          .window(2)
+		          .subscribe(ts);
+
+		ts.assertValueCount(2)
+		  .assertNotComplete();
+
+		ts.request(1);
+
+		ts.assertValuesWith(w -> Assert.assertArrayEquals(new double[]{1d, 2d}, w, 0d),
+				w -> Assert.assertArrayEquals(new double[]{3d, 4d}, w, 0d),
+				w -> Assert.assertArrayEquals(new double[]{5d}, w, 0d))
+		  .assertComplete();
+	}
+
+	@Test
+	public void mapperFailure() {
+		TestSubscriber<Double> ts = new TestSubscriber<>();
+
+		DoubleFlux.fromArray(1d, 2d)
+		          .map(v -> {
+			          throw new IllegalStateException("boom");
+		          })
+		          .subscribe(ts);
+
+		ts.assertNoValues()
+		  .assertError(IllegalStateException.class);
+	}
+
+	@Test
+	public void predicateFailure() {
+		TestSubscriber<Double> ts = new TestSubscriber<>();
+
+		DoubleFlux.fromArray(1d, 2d)
+		          .filter(v -> {
+			          throw new IllegalStateException("boom");
+		          })
+		          .subscribe(ts);
+
+		ts.assertNoValues()
+		  .assertError(IllegalStateException.class);
+	}
+
+	@Test
+	public void sourceErrorIsRelayed() {
+		TestSubscriber<Double> ts = new TestSubscriber<>();
+
+		DoubleFlux.from(Flux.<Double>error(new IllegalStateException("boom")))
+		          .map(v -> v + 1)
+		          .sum()
+		          .subscribe(ts);
+
+		ts.assertNoValues()
+		  .assertError(IllegalStateException.class);
+	}
+
+	@Test
+	public void convertToAndFromFlux() {
+		TestSubscriber<String> ts = new TestSubscriber<>();
+
+		DoubleFlux.map(Flux.just("a", "bb", "ccc"), String::length)
+		          .map(v -> v / 2)
+		          .boxed()
+		          .map(v -> v * 2)
+		          .as(p -> DoubleFlux.from(p))
+		          .mapToObj(String::valueOf)
+		          .subscribe(ts);
+
+		ts.assertValues("1.0", "2.0", "3.0")
+		  .assertComplete();
+	}
+
+	static final class PrimitiveSubscriber implements Subscriber<Double>, DoubleConsumer {
+
+		final List<Double> values;
+		final List<Object> terminal;
+
+		PrimitiveSubscriber(List<Double> values, List<Object> terminal) {
+			this.values = values;
+			this.terminal = terminal;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			s.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(Double t) {
+			throw new AssertionError("Unexpected boxed value " + t);
+		}
+
+		@Override
+		public void accept(double value) {
+			values.add(value);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			terminal.add(t);
+		}
+
+		@Override
+		public void onComplete() {
+			terminal.add("complete");
+		}
+	}
+}
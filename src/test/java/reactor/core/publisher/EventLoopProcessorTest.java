@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.test.TestSubscriber;
+import reactor.core.util.WaitStrategy;
+
+public class EventLoopProcessorTest {
+
+	@Test
+	public void topicBatchLargerThanBuffer() {
+		assertBatch(TopicProcessor.create("batch-topic", 16));
+	}
+
+	@Test
+	public void sharedTopicBatch() {
+		assertBatch(TopicProcessor.share("batch-topic", 16, WaitStrategy.liteBlocking()));
+	}
+
+	@Test
+	public void workQueueBatchLargerThanBuffer() {
+		assertBatch(WorkQueueProcessor.create("batch-workqueue", 16));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void batchRejectsNullValues() {
+		TopicProcessor<Integer> processor = TopicProcessor.create("batch-topic", 16);
+		try {
+			processor.onNextBatch(new Integer[]{1, null, 3});
+		}
+		finally {
+			processor.shutdown();
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void batchRejectsOutOfBoundsRange() {
+		TopicProcessor<Integer> processor = TopicProcessor.create("batch-topic", 16);
+		try {
+			processor.onNextBatch(new Integer[]{1, 2, 3}, 2, 2);
+		}
+		finally {
+			processor.shutdown();
+		}
+	}
+
+	@Test
+	public void blockingUpstreamOnlyStallsItsProcessor() {
+		CountDownLatch release = new CountDownLatch(1);
+		List<EventLoopProcessor<Integer, Integer>> processors = new ArrayList<>();
+		try {
+			for (int i = 0; i < 4; i++) {
+				EventLoopProcessor<Integer, Integer> blocked = i % 2 == 0 ?
+						TopicProcessor.create("request-blocked", 16) :
+						WorkQueueProcessor.create("request-blocked", 16);
+				processors.add(blocked);
+				blocked.subscribe(new TestSubscriber<>());
+				Flux.<Integer>from(s -> s.onSubscribe(new Subscription() {
+					@Override
+					public void request(long n) {
+						try {
+							release.await();
+						}
+						catch (InterruptedException e) {
+							Thread.currentThread()
+							      .interrupt();
+						}
+					}
+
+					@Override
+					public void cancel() {
+					}
+				}))
+				    .subscribe(blocked);
+			}
+
+			List<TestSubscriber<Integer>> subscribers = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				EventLoopProcessor<Integer, Integer> processor = i % 2 == 0 ?
+						TopicProcessor.create("request-topic", 16) :
+						WorkQueueProcessor.create("request-workqueue", 16);
+				processors.add(processor);
+				TestSubscriber<Integer> ts = new TestSubscriber<>();
+				processor.subscribe(ts);
+				Flux.range(1, 100)
+				    .subscribe(processor);
+				subscribers.add(ts);
+			}
+
+			for (TestSubscriber<Integer> ts : subscribers) {
+				ts.await(Duration.ofSeconds(5))
+				  .assertValueCount(100)
+				  .assertComplete();
+			}
+		}
+		finally {
+			release.countDown();
+			for (EventLoopProcessor<Integer, Integer> processor : processors) {
+				processor.shutdown();
+			}
+		}
+	}
+
+	@Test
+	public void requestTasksShareBoundedPool() {
+		List<EventLoopProcessor<Integer, Integer>> processors = new ArrayList<>();
+		try {
+			List<TestSubscriber<Integer>> subscribers = new ArrayList<>();
+			for (int i = 0; i < 50; i++) {
+				EventLoopProcessor<Integer, Integer> processor = i % 2 == 0 ?
+						TopicProcessor.create("request-topic", 16) :
+						WorkQueueProcessor.create("request-workqueue", 16);
+				processors.add(processor);
+				TestSubscriber<Integer> ts = new TestSubscriber<>();
+				processor.subscribe(ts);
+				Flux.range(1, 100)
+				    .subscribe(processor);
+				subscribers.add(ts);
+			}
+
+			for (TestSubscriber<Integer> ts : subscribers) {
+				ts.await(Duration.ofSeconds(5))
+				  .assertValueCount(100)
+				  .assertComplete();
+			}
+
+			int requestThreads = 0;
+			for (Thread t : Thread.getAllStackTraces()
+			                      .keySet()) {
+				String name = t.getName();
+				Assert.assertFalse(name, name.contains("[request-task]"));
+				if (name.startsWith("reactor-request-task")) {
+					requestThreads++;
+				}
+			}
+			Assert.assertTrue("request threads: " + requestThreads,
+					requestThreads <= SharedRequestTask.MAX_POOL_SIZE);
+		}
+		finally {
+			for (EventLoopProcessor<Integer, Integer> processor : processors) {
+				processor.shutdown();
+			}
+		}
+	}
+
+	static void assertBatch(EventLoopProcessor<Integer, Integer> processor) {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+		processor.subscribe(ts);
+
+		Integer[] values = new Integer[100];
+		List<Integer> expected = new ArrayList<>();
+		for (int i = 0; i < values.length; i++) {
+			values[i] = i;
+			if (i >= 10 && i < 90) {
+				expected.add(i);
+			}
+		}
+		processor.onNextBatch(values, 10, 80);
+		processor.onComplete();
+
+		ts.await(Duration.ofSeconds(5))
+		  .assertValueSequence(expected)
+		  .assertNoError()
+		  .assertComplete();
+	}
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import reactor.core.state.Backpressurable;
+import reactor.core.test.TestSubscriber;
+import reactor.core.util.EmptySubscription;
+import reactor.core.util.Exceptions;
+
+public class FluxBackpressureBufferStrategyTest {
+
+	@Test(expected = IllegalArgumentException.class)
+	public void failMaxSize() {
+		Flux.never()
+		    .onBackpressureBuffer(0);
+	}
+
+	@Test
+	public void normal() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		Flux.range(1, 10)
+		    .onBackpressureBuffer(5)
+		    .subscribe(ts);
+
+		ts.assertValues(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+		  .assertNoError()
+		  .assertComplete();
+	}
+
+	@Test
+	public void bufferedWithinBound() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+		Flux.range(1, 5)
+		    .onBackpressureBuffer(5)
+		    .subscribe(ts);
+
+		ts.assertNoValues()
+		  .assertNoError()
+		  .assertNotComplete();
+
+		ts.request(2);
+
+		ts.assertValues(1, 2)
+		  .assertNotComplete();
+
+		ts.request(3);
+
+		ts.assertValues(1, 2, 3, 4, 5)
+		  .assertNoError()
+		  .assertComplete();
+	}
+
+	@Test
+	public void overflowError() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+		List<Integer> overflow = new ArrayList<>();
+
+		Flux.range(1, 10)
+		    .onBackpressureBuffer(3, overflow::add)
+		    .subscribe(ts);
+
+		ts.assertNoValues()
+		  .assertError(Exceptions.failWithOverflow()
+		                         .getClass())
+		  .assertNotComplete();
+
+		Assert.assertEquals(Arrays.asList(4), overflow);
+	}
+
+	@Test
+	public void overflowDropLatest() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+		List<Integer> overflow = new ArrayList<>();
+
+		Flux.range(1, 10)
+		    .onBackpressureBuffer(3, overflow::add, BufferOverflowStrategy.DROP_LATEST)
+		    .subscribe(ts);
+
+		ts.request(10);
+
+		ts.assertValues(1, 2, 3)
+		  .assertNoError()
+		  .assertComplete();
+
+		Assert.assertEquals(Arrays.asList(4, 5, 6, 7, 8, 9, 10), overflow);
+	}
+
+	@Test
+	public void overflowDropOldest() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+		List<Integer> overflow = new ArrayList<>();
+
+		Flux.range(1, 10)
+		    .onBackpressureBuffer(3, overflow::add, BufferOverflowStrategy.DROP_OLDEST)
+		    .subscribe(ts);
+
+		ts.request(10);
+
+		ts.assertValues(8, 9, 10)
+		  .assertNoError()
+		  .assertComplete();
+
+		Assert.assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7), overflow);
+	}
+
+	@Test
+	public void overflowCallbackFails() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+		Flux.range(1, 10)
+		    .onBackpressureBuffer(3, v -> {
+			    throw new IllegalStateException("forced failure");
+		    }, BufferOverflowStrategy.DROP_LATEST)
+		    .subscribe(ts);
+
+		ts.assertNoValues()
+		  .assertError(IllegalStateException.class)
+		  .assertNotComplete();
+	}
+
+	@Test
+	public void overflowDropOldestTrimmedAfterDraining() {
+		AtomicReference<Subscriber<? super Integer>> upstream = new AtomicReference<>();
+		List<Integer> overflow = new ArrayList<>();
+
+		TestSubscriber<Integer> ts = new TestSubscriber<Integer>(1) {
+			@Override
+			public void onNext(Integer t) {
+				super.onNext(t);
+				if (t == 1) {
+					Subscriber<? super Integer> s = upstream.get();
+					for (int i = 2; i <= 6; i++) {
+						s.onNext(i);
+					}
+				}
+			}
+		};
+
+		new FluxBackpressureBufferStrategy<Integer>(s -> {
+			upstream.set(s);
+			s.onSubscribe(EmptySubscription.INSTANCE);
+		}, 2, overflow::add, BufferOverflowStrategy.DROP_OLDEST).subscribe(ts);
+
+		upstream.get()
+		        .onNext(1);
+
+		ts.assertValues(1);
+		Assert.assertEquals(2L, ((Backpressurable) upstream.get()).getPending());
+		Assert.assertEquals(Arrays.asList(2, 3, 4), overflow);
+
+		ts.request(2);
+
+		ts.assertValues(1, 5, 6)
+		  .assertNoError()
+		  .assertNotComplete();
+	}
+
+	@Test
+	public void ttlEviction() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+		List<Integer> evicted = new ArrayList<>();
+		AtomicLong clock = new AtomicLong();
+		EmitterProcessor<Integer> source = EmitterProcessor.create();
+		source.connect();
+
+		new FluxBackpressureBufferStrategy<>(source,
+				10,
+				evicted::add,
+				BufferOverflowStrategy.DROP_OLDEST,
+				100L,
+				clock::get).subscribe(ts);
+
+		source.onNext(1);
+		source.onNext(2);
+		clock.set(50L);
+		source.onNext(3);
+		clock.set(120L);
+
+		ts.request(1);
+
+		ts.assertValues(3);
+		Assert.assertEquals(Arrays.asList(1, 2), evicted);
+
+		source.onNext(4);
+		source.onComplete();
+
+		ts.request(1);
+
+		ts.assertValues(3, 4)
+		  .assertNoError()
+		  .assertComplete();
+	}
+}
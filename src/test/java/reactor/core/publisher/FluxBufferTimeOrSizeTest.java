@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.core.test.TestSubscriber;
+import reactor.core.timer.Timer;
+
+public class FluxBufferTimeOrSizeTest {
+
+	/**
+	 * A private timer shuts itself down once its last registration is cancelled, which every full buffer does to its
+	 * pending flush. Keep a long periodic registration so the timer stays alive until the test cancels it.
+	 */
+	static Timer bufferTimer() {
+		Timer timer = Timer.create("buffer-test", 10);
+		timer.schedule(n -> {
+		}, 60_000);
+		return timer;
+	}
+
+	@Test
+	public void bufferBySize() {
+		Timer timer = bufferTimer();
+		try {
+			TestSubscriber<List<Integer>> ts = new TestSubscriber<>();
+
+			Flux.range(1, 10)
+			    .buffer(3, Duration.ofSeconds(10), timer)
+			    .subscribe(ts);
+
+			ts.assertValues(Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6), Arrays.asList(7, 8, 9),
+					Arrays.asList(10))
+			  .assertNoError()
+			  .assertComplete();
+		}
+		finally {
+			timer.cancel();
+		}
+	}
+
+	@Test
+	public void bufferByTime() throws Exception {
+		Timer timer = bufferTimer();
+		try {
+			EmitterProcessor<Integer> source = EmitterProcessor.<Integer>create().connect();
+			TestSubscriber<List<Integer>> ts = new TestSubscriber<>();
+
+			source.buffer(100, Duration.ofMillis(50), timer)
+			      .subscribe(ts);
+
+			source.onNext(1);
+			source.onNext(2);
+
+			ts.awaitAndAssertNextValues(Arrays.asList(1, 2));
+
+			source.onNext(3);
+			source.onComplete();
+
+			ts.await()
+			  .assertValues(Arrays.asList(3))
+			  .assertNoError()
+			  .assertComplete();
+		}
+		finally {
+			timer.cancel();
+		}
+	}
+
+	@Test
+	public void bufferByTimeAndSizeDoesNotLoseValues() throws Exception {
+		Timer timer = bufferTimer();
+		try {
+			int count = 100_000;
+			EmitterProcessor<Integer> source = EmitterProcessor.<Integer>create().connect();
+			TestSubscriber<List<Integer>> ts = new TestSubscriber<>();
+			List<Integer> all = new ArrayList<>();
+
+			source.buffer(64, Duration.ofMillis(10), timer)
+			      .doOnNext(buffer -> {
+				      Assert.assertTrue(buffer.size() <= 64);
+				      all.addAll(buffer);
+			      })
+			      .subscribe(ts);
+
+			for (int i = 0; i < count; i++) {
+				source.onNext(i);
+				if (i % 10_000 == 0) {
+					Thread.sleep(15);
+				}
+			}
+			source.onComplete();
+
+			ts.await(Duration.ofSeconds(5))
+			  .assertNoError()
+			  .assertComplete();
+
+			Assert.assertEquals(count, all.size());
+			for (int i = 0; i < count; i++) {
+				Assert.assertEquals(i, all.get(i).intValue());
+			}
+		}
+		finally {
+			timer.cancel();
+		}
+	}
+
+	@Test
+	public void rejectedTimerFlushesOpenedBufferBeforeError() {
+		Timer timer = Timer.create("buffer-test", 10);
+		timer.cancel();
+
+		TestSubscriber<List<Integer>> ts = new TestSubscriber<>();
+
+		Flux.range(1, 10)
+		    .buffer(3, Duration.ofSeconds(10), timer)
+		    .subscribe(ts);
+
+		ts.assertValues(Arrays.asList(1))
+		  .assertError()
+		  .assertNotComplete();
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.core.test.TestSubscriber;
+
+public class FluxCombineLatestTest {
+
+	@Test
+	public void normal() {
+		TestSubscriber<List<Object>> ts = new TestSubscriber<>();
+
+		Flux.combineLatest(Arrays::asList, Flux.just(1, 2), Flux.just(10, 20), Flux.just(100))
+		    .subscribe(ts);
+
+		ts.assertValues(Arrays.asList(2, 20, 100))
+		  .assertNoError()
+		  .assertComplete();
+	}
+
+	@Test
+	public void normalBackpressured() {
+		TestSubscriber<List<Object>> ts = new TestSubscriber<>(0);
+		EmitterProcessor<Integer> first = EmitterProcessor.create();
+		EmitterProcessor<Integer> second = EmitterProcessor.create();
+		first.connect();
+		second.connect();
+
+		Flux.combineLatest(Arrays::asList, first, second)
+		    .subscribe(ts);
+
+		first.onNext(1);
+		second.onNext(10);
+		first.onNext(2);
+
+		ts.assertNoValues();
+
+		ts.request(1);
+		ts.assertValues(Arrays.asList(1, 10));
+
+		ts.request(5);
+		second.onNext(20);
+		first.onComplete();
+		second.onComplete();
+
+		ts.assertValues(Arrays.asList(1, 10), Arrays.asList(2, 10), Arrays.asList(2, 20))
+		  .assertNoError()
+		  .assertComplete();
+	}
+
+	@Test
+	public void emptySourceCompletes() {
+		TestSubscriber<List<Object>> ts = new TestSubscriber<>();
+
+		Flux.combineLatest(Arrays::asList, Flux.just(1, 2), Flux.<Integer>empty())
+		    .subscribe(ts);
+
+		ts.assertNoValues()
+		  .assertNoError()
+		  .assertComplete();
+	}
+
+	@Test
+	public void emptySourceCompletesWithoutDemand() {
+		TestSubscriber<List<Object>> ts = new TestSubscriber<>(0);
+		EmitterProcessor<Integer> first = EmitterProcessor.create();
+		EmitterProcessor<Integer> second = EmitterProcessor.create();
+		first.connect();
+		second.connect();
+
+		Flux.combineLatest(Arrays::asList, first, second)
+		    .subscribe(ts);
+
+		first.onNext(1);
+		first.onNext(2);
+		second.onComplete();
+
+		ts.assertNoValues()
+		  .assertNoError()
+		  .assertComplete();
+	}
+
+	@Test
+	public void combinerFailure() {
+		TestSubscriber<Object> ts = new TestSubscriber<>();
+
+		Flux.combineLatest(a -> {
+			throw new IllegalStateException("boom");
+		}, Flux.just(1), Flux.just(2))
+		    .subscribe(ts);
+
+		ts.assertNoValues()
+		  .assertError(IllegalStateException.class);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void concurrentSourcesKeepTheirOrder() {
+		int n = 4;
+		int count = 10_000;
+		AtomicBoolean outOfOrder = new AtomicBoolean();
+		int[] previous = new int[n];
+
+		Flux<Integer>[] sources = new Flux[n];
+		for (int i = 0; i < n; i++) {
+			sources[i] = Flux.range(1, count)
+			                 .publishOn(SchedulerGroup.io());
+		}
+
+		TestSubscriber<int[]> ts = new TestSubscriber<>();
+		Flux.combineLatest(a -> {
+			int[] values = new int[a.length];
+			for (int i = 0; i < a.length; i++) {
+				values[i] = (Integer) a[i];
+				if (values[i] < previous[i]) {
+					outOfOrder.set(true);
+				}
+				previous[i] = values[i];
+			}
+			return values;
+		}, sources)
+		    .subscribe(ts);
+
+		ts.await(Duration.ofSeconds(10))
+		  .assertNoError()
+		  .assertComplete();
+
+		Assert.assertFalse(outOfOrder.get());
+		for (int i = 0; i < n; i++) {
+			Assert.assertEquals(count, previous[i]);
+		}
+	}
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.flow.Fuseable;
+import reactor.core.test.TestSubscriber;
+
+public class FluxDispatchOnTest {
+
+	@SuppressWarnings("unchecked")
+	static <T> Fuseable.QueueSubscription<T> fuseSync(Publisher<T> source) {
+		Fuseable.QueueSubscription<T>[] ref = new Fuseable.QueueSubscription[1];
+		source.subscribe(new Subscriber<T>() {
+			@Override
+			public void onSubscribe(Subscription s) {
+				ref[0] = (Fuseable.QueueSubscription<T>) s;
+			}
+
+			@Override
+			public void onNext(T t) {
+			}
+
+			@Override
+			public void onError(Throwable t) {
+			}
+
+			@Override
+			public void onComplete() {
+			}
+		});
+		Assert.assertEquals(Fuseable.SYNC,
+				ref[0].requestFusion(Fuseable.ANY | Fuseable.THREAD_BARRIER | Fuseable.BATCH));
+		return ref[0];
+	}
+
+	static void assertBatches(Fuseable.QueueSubscription<?> qs, int max, List<?>... batches) {
+		Object[] buffer = new Object[max];
+		for (List<?> batch : batches) {
+			int n = qs.poll(buffer, max);
+			Assert.assertEquals(batch, Arrays.asList(buffer).subList(0, n));
+		}
+		Assert.assertEquals(0, qs.poll(buffer, max));
+		Assert.assertTrue(qs.isEmpty());
+	}
+
+	@Test
+	public void rangeBatchPoll() {
+		assertBatches(fuseSync(Flux.range(1, 5)), 2,
+				Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5));
+	}
+
+	@Test
+	public void arrayBatchPoll() {
+		assertBatches(fuseSync(Flux.fromArray(new Integer[]{1, 2, 3})), 4, Arrays.asList(1, 2, 3));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void arrayBatchPollContainsNull() {
+		Fuseable.QueueSubscription<Integer> qs = fuseSync(Flux.fromArray(new Integer[]{1, null, 3}));
+		Object[] buffer = new Object[4];
+
+		Assert.assertEquals(1, qs.poll(buffer, 4));
+		Assert.assertEquals(1, buffer[0]);
+		Assert.assertFalse(qs.isEmpty());
+
+		qs.poll(buffer, 4);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void iterableBatchPollContainsNull() {
+		Fuseable.QueueSubscription<Integer> qs = fuseSync(Flux.fromIterable(Arrays.asList(1, 2, null, 4)));
+		Object[] buffer = new Object[4];
+
+		Assert.assertEquals(2, qs.poll(buffer, 4));
+		Assert.assertEquals(Arrays.asList(1, 2), Arrays.asList(buffer).subList(0, 2));
+		Assert.assertFalse(qs.isEmpty());
+
+		qs.poll(buffer, 4);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void mapBatchPollFailsMidBatch() {
+		Fuseable.QueueSubscription<Integer> qs = fuseSync(Flux.range(1, 5)
+		                                                      .map(v -> {
+			                                                      if (v == 3) {
+				                                                      throw new IllegalStateException("forced failure");
+			                                                      }
+			                                                      return v;
+		                                                      }));
+		Object[] buffer = new Object[4];
+
+		Assert.assertEquals(2, qs.poll(buffer, 4));
+		Assert.assertEquals(Arrays.asList(1, 2), Arrays.asList(buffer).subList(0, 2));
+		Assert.assertFalse(qs.isEmpty());
+
+		qs.poll(buffer, 4);
+	}
+
+	@Test
+	public void iterableBatchPoll() {
+		Fuseable.QueueSubscription<Integer> qs = fuseSync(Flux.fromIterable(Arrays.asList(1, 2, 3, 4, 5)));
+
+		Assert.assertEquals((Integer) 1, qs.poll());
+		Assert.assertFalse(qs.isEmpty());
+
+		assertBatches(qs, 3, Arrays.asList(2, 3, 4), Arrays.asList(5));
+	}
+
+	@Test
+	public void mapFilterBatchPoll() {
+		assertBatches(fuseSync(Flux.range(1, 10)
+		                           .map(v -> v * 10)
+		                           .filter(v -> v % 20 == 0)), 3,
+				Arrays.asList(20), Arrays.asList(40, 60), Arrays.asList(80), Arrays.asList(100));
+	}
+
+	@Test
+	public void filterAllBatchPoll() {
+		assertBatches(fuseSync(Flux.range(1, 10)
+		                           .filter(v -> v > 10)), 3);
+	}
+
+	@Test
+	public void dispatchOnBatchedSource() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		Flux.range(1, 1000)
+		    .map(v -> v + 1)
+		    .filter(v -> v % 2 == 0)
+		    .dispatchOn(() -> r -> {
+			    if (r != null) {
+				    r.run();
+			    }
+		    })
+		    .subscribe(ts);
+
+		ts.assertValueCount(500)
+		  .assertNoError()
+		  .assertComplete();
+	}
+
+	@Test
+	public void dispatchOnBatchedSourceMapperFailsMidBatch() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		Flux.range(1, 5)
+		    .map(v -> {
+			    if (v == 3) {
+				    throw new IllegalStateException("forced failure");
+			    }
+			    return v;
+		    })
+		    .dispatchOn(() -> r -> {
+			    if (r != null) {
+				    r.run();
+			    }
+		    })
+		    .subscribe(ts);
+
+		ts.assertValues(1, 2)
+		  .assertError(IllegalStateException.class)
+		  .assertNotComplete();
+	}
+
+	@Test
+	public void dispatchOnBatchedSourceBackpressured() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+		Flux.range(1, 100)
+		    .dispatchOn(() -> r -> {
+			    if (r != null) {
+				    r.run();
+			    }
+		    })
+		    .subscribe(ts);
+
+		ts.assertNoValues();
+
+		ts.request(3);
+
+		ts.assertValues(1, 2, 3)
+		  .assertNotComplete();
+
+		ts.request(97);
+
+		ts.assertValueCount(100)
+		  .assertNoError()
+		  .assertComplete();
+	}
+
+	@Test
+	public void dispatchOnBatchedSourceCancel() {
+		TestSubscriber<Integer> ts = new TestSubscriber<Integer>() {
+			@Override
+			public void onNext(Integer t) {
+				super.onNext(t);
+				if (t == 5) {
+					cancel();
+				}
+			}
+		};
+
+		Flux.range(1, 100)
+		    .dispatchOn(() -> r -> {
+			    if (r != null) {
+				    r.run();
+			    }
+		    })
+		    .subscribe(ts);
+
+		ts.assertValues(1, 2, 3, 4, 5)
+		  .assertNotComplete();
+	}
+}
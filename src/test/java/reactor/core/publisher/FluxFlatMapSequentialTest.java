@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.core.test.TestSubscriber;
+
+public class FluxFlatMapSequentialTest {
+
+	@Test(expected = IllegalArgumentException.class)
+	public void failMaxConcurrency() {
+		Flux.never()
+		    .flatMapSequential(v -> Flux.empty(), 0);
+	}
+
+	@Test
+	public void normal() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		Flux.range(1, 3)
+		    .flatMapSequential(v -> Flux.range(v * 10, 3))
+		    .subscribe(ts);
+
+		ts.assertValues(10, 11, 12, 20, 21, 22, 30, 31, 32)
+		  .assertNoError()
+		  .assertComplete();
+	}
+
+	@Test
+	public void normalBackpressured() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+		Flux.range(1, 3)
+		    .flatMapSequential(v -> Flux.range(v * 10, 2))
+		    .subscribe(ts);
+
+		ts.assertNoValues();
+
+		ts.request(3);
+
+		ts.assertValues(10, 11, 20)
+		  .assertNotComplete();
+
+		ts.request(3);
+
+		ts.assertValues(10, 11, 20, 21, 30, 31)
+		  .assertNoError()
+		  .assertComplete();
+	}
+
+	@Test
+	public void innersAreSubscribedEagerlyAndEmittedInOrder() {
+		EmitterProcessor<Integer> first = EmitterProcessor.<Integer>create().connect();
+		EmitterProcessor<Integer> second = EmitterProcessor.<Integer>create().connect();
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		Flux.just(first, second)
+		    .flatMapSequential(v -> v)
+		    .subscribe(ts);
+
+		Assert.assertEquals(1, first.downstreamCount());
+		Assert.assertEquals(1, second.downstreamCount());
+
+		second.onNext(3);
+		second.onNext(4);
+		second.onComplete();
+
+		ts.assertNoValues();
+
+		first.onNext(1);
+
+		ts.assertValues(1);
+
+		first.onNext(2);
+		first.onComplete();
+
+		ts.assertValues(1, 2, 3, 4)
+		  .assertNoError()
+		  .assertComplete();
+	}
+
+	@Test
+	public void maxConcurrency() {
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		Flux.range(1, 10)
+		    .flatMapSequential(v -> Flux.just(v)
+		                                .doOnSubscribe(s -> maxActive.accumulateAndGet(active.incrementAndGet(),
+				                                Math::max))
+		                                .doOnComplete(active::decrementAndGet), 2, 1)
+		    .subscribe(ts);
+
+		ts.assertValues(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+		  .assertNoError()
+		  .assertComplete();
+
+		Assert.assertTrue(maxActive.get() <= 2);
+	}
+
+	@Test
+	public void innerErrorImmediate() {
+		EmitterProcessor<Integer> second = EmitterProcessor.<Integer>create().connect();
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		Flux.just(1, 2)
+		    .flatMapSequential(v -> v == 1 ? Flux.<Integer>never() : second)
+		    .subscribe(ts);
+
+		second.onError(new IllegalStateException("forced failure"));
+
+		ts.assertNoValues()
+		  .assertError(IllegalStateException.class)
+		  .assertNotComplete();
+	}
+
+	@Test
+	public void mainErrorImmediateBeforeHeadInnerSubscribed() {
+		EmitterProcessor<Integer> main = EmitterProcessor.<Integer>create().connect();
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		main.flatMapSequential(v -> Flux.<Integer>from(s -> {
+		}))
+		    .subscribe(ts);
+
+		main.onNext(1);
+		main.onError(new IllegalStateException("forced failure"));
+
+		ts.assertNoValues()
+		  .assertError(IllegalStateException.class)
+		  .assertNotComplete();
+	}
+
+	@Test
+	public void innerErrorDelayed() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		Flux.range(1, 3)
+		    .flatMapSequential(v -> v == 2 ? Flux.<Integer>error(new IllegalStateException("forced failure")) :
+				    Flux.just(v), 4, 4, true)
+		    .subscribe(ts);
+
+		ts.assertValues(1, 3)
+		  .assertError(IllegalStateException.class)
+		  .assertNotComplete();
+	}
+
+	@Test
+	public void mapperReturnsNull() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		Flux.range(1, 3)
+		    .flatMapSequential(v -> v == 2 ? null : Flux.just(v))
+		    .subscribe(ts);
+
+		ts.assertValues(1)
+		  .assertError(NullPointerException.class)
+		  .assertNotComplete();
+	}
+}
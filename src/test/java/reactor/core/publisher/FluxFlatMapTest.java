@@ -420,5 +420,75 @@ public class FluxFlatMapTest {
 		.assertComplete();
 	}
 
+	@Test
+	public void callableInners() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		FluxArrayTest.range(1, 1000)
+		             .flatMap(v -> Mono.fromCallable(() -> v))
+		             .subscribe(ts);
+
+		List<Integer> expected = new ArrayList<>();
+		for (int i = 1; i <= 1000; i++) {
+			expected.add(i);
+		}
+		ts.assertValueSequence(expected)
+		  .assertNoError()
+		  .assertComplete();
+	}
+
+	@Test
+	public void callableInnersBackpressured() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+		FluxArrayTest.range(1, 10)
+		             .flatMap(v -> Mono.fromCallable(() -> v), 4, 4)
+		             .subscribe(ts);
+
+		ts.assertNoValues()
+		  .assertNotComplete();
+
+		ts.request(3);
+
+		ts.assertValues(1, 2, 3)
+		  .assertNotComplete();
+
+		ts.request(7);
+
+		ts.assertValues(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+		  .assertNoError()
+		  .assertComplete();
+	}
+
+	@Test
+	public void callableInnerError() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		FluxArrayTest.range(1, 10)
+		             .flatMap(v -> Mono.fromCallable(() -> {
+			             if (v == 3) {
+				             throw new IllegalStateException("forced failure");
+			             }
+			             return v;
+		             }))
+		             .subscribe(ts);
+
+		ts.assertValues(1, 2)
+		  .assertError(IllegalStateException.class)
+		  .assertNotComplete();
+	}
+
+	@Test
+	public void callableInnerNull() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		FluxArrayTest.range(1, 10)
+		             .flatMap(v -> Mono.<Integer>fromCallable(() -> null))
+		             .subscribe(ts);
+
+		ts.assertNoValues()
+		  .assertError(NullPointerException.class)
+		  .assertNotComplete();
+	}
 
 }
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.core.test.TestSubscriber;
+import reactor.core.timer.Timer;
+
+public class FluxGroupByTest {
+
+	static String key(String v) {
+		return v.substring(0, 1);
+	}
+
+	static List<TestSubscriber<String>> subscribeGroups(Flux<GroupedFlux<String, String>> groups) {
+		List<TestSubscriber<String>> subscribers = new ArrayList<>();
+		groups.consume(g -> {
+			TestSubscriber<String> ts = new TestSubscriber<>();
+			subscribers.add(ts);
+			g.subscribe(ts);
+		});
+		return subscribers;
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void failMaxGroups() {
+		Flux.never()
+		    .groupBy(v -> v, 0);
+	}
+
+	@Test
+	public void normal() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		Flux.range(1, 10)
+		    .groupBy(v -> v % 2)
+		    .flatMap(g -> g.reduce(0, (a, b) -> a + b))
+		    .subscribe(ts);
+
+		ts.assertValues(30, 25)
+		  .assertNoError()
+		  .assertComplete();
+	}
+
+	@Test
+	public void maxGroupsEvictsLeastRecentlyActive() {
+		EmitterProcessor<String> source = EmitterProcessor.<String>create().connect();
+
+		List<TestSubscriber<String>> groups = subscribeGroups(source.groupBy(FluxGroupByTest::key, 2));
+
+		source.onNext("a1");
+		source.onNext("b1");
+		source.onNext("a2");
+		source.onNext("c1");
+
+		Assert.assertEquals(3, groups.size());
+		groups.get(0)
+		      .assertValues("a1", "a2")
+		      .assertNotComplete();
+		groups.get(1)
+		      .assertValues("b1")
+		      .assertComplete();
+
+		source.onNext("b2");
+
+		Assert.assertEquals(4, groups.size());
+		groups.get(0)
+		      .assertComplete();
+		groups.get(2)
+		      .assertValues("c1")
+		      .assertNotComplete();
+		groups.get(3)
+		      .assertValues("b2")
+		      .assertNotComplete();
+
+		source.onComplete();
+
+		groups.get(2)
+		      .assertComplete();
+		groups.get(3)
+		      .assertComplete();
+	}
+
+	@Test
+	public void cancelledGroupFreesSlot() {
+		EmitterProcessor<String> source = EmitterProcessor.<String>create().connect();
+
+		List<TestSubscriber<String>> groups = subscribeGroups(source.groupBy(FluxGroupByTest::key, 2));
+
+		source.onNext("a1");
+		source.onNext("b1");
+		groups.get(0)
+		      .cancel();
+		source.onNext("c1");
+
+		Assert.assertEquals(3, groups.size());
+		groups.get(1)
+		      .assertValues("b1")
+		      .assertNotComplete();
+		groups.get(2)
+		      .assertValues("c1")
+		      .assertNotComplete();
+	}
+
+	@Test
+	public void idleGroupsAreEvicted() throws Exception {
+		Timer timer = Timer.create("groupby-test", 10);
+		try {
+			EmitterProcessor<String> source = EmitterProcessor.<String>create().connect();
+
+			List<TestSubscriber<String>> groups = subscribeGroups(source.groupBy(FluxGroupByTest::key,
+					Function.identity(),
+					Integer.MAX_VALUE,
+					Duration.ofMillis(100),
+					timer));
+
+			source.onNext("a1");
+			source.onNext("b1");
+
+			TestSubscriber<String> b = groups.get(1);
+			for (int i = 0; i < 500 && !b.isTerminated(); i++) {
+				source.onNext("a");
+				Thread.sleep(10);
+			}
+
+			b.assertValues("b1")
+			 .assertComplete();
+			groups.get(0)
+			      .assertNotComplete();
+
+			source.onNext("b2");
+
+			Assert.assertEquals(3, groups.size());
+			groups.get(2)
+			      .assertValues("b2")
+			      .assertNotComplete();
+
+			source.onComplete();
+
+			groups.get(0)
+			      .assertComplete();
+			groups.get(2)
+			      .assertComplete();
+		}
+		finally {
+			timer.cancel();
+		}
+	}
+
+	@Test
+	public void idleTimeoutRoundedUpToTimerResolution() {
+		Timer timer = Timer.create("groupby-test", 50);
+		try {
+			TestSubscriber<GroupedFlux<Integer, Integer>> ts = new TestSubscriber<>();
+
+			Flux.<Integer>never()
+			    .groupBy(v -> v, Function.identity(), 4, Duration.ofMillis(75), timer)
+			    .subscribe(ts);
+
+			ts.assertNoValues()
+			  .assertNoError()
+			  .assertNotComplete();
+			ts.cancel();
+		}
+		finally {
+			timer.cancel();
+		}
+	}
+
+	@Test
+	public void rejectedSweepCancelsUpstream() {
+		Timer timer = Timer.create("groupby-test", 10);
+		timer.cancel();
+
+		AtomicBoolean cancelled = new AtomicBoolean();
+		TestSubscriber<GroupedFlux<Integer, Integer>> ts = new TestSubscriber<>();
+
+		Flux.<Integer>never()
+		    .doOnCancel(() -> cancelled.set(true))
+		    .groupBy(v -> v, Function.identity(), 4, Duration.ofMillis(100), timer)
+		    .subscribe(ts);
+
+		ts.assertNoValues()
+		  .assertError();
+		Assert.assertTrue(cancelled.get());
+	}
+}
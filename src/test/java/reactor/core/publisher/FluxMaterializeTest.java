@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.core.test.TestSubscriber;
+
+public class FluxMaterializeTest {
+
+	@Test
+	public void normal() {
+		TestSubscriber<Signal<Integer>> ts = new TestSubscriber<>();
+
+		Flux.range(1, 2)
+		    .materialize()
+		    .subscribe(ts);
+
+		ts.assertValuesWith(s -> Assert.assertEquals((Integer) 1, s.get()),
+				s -> Assert.assertEquals((Integer) 2, s.get()),
+				s -> Assert.assertTrue(s.isOnComplete()))
+		  .assertNoError()
+		  .assertComplete();
+	}
+
+	@Test
+	public void recycled() {
+		List<Signal<Integer>> signals = new ArrayList<>();
+		List<Integer> values = new ArrayList<>();
+
+		Flux.range(1, 3)
+		    .materialize(true)
+		    .consume(s -> {
+			    signals.add(s);
+			    if (s.isOnNext()) {
+				    Assert.assertTrue(s.isRecyclable());
+				    values.add(s.get());
+			    }
+		    });
+
+		Assert.assertEquals(4, signals.size());
+		Assert.assertSame(signals.get(0), signals.get(1));
+		Assert.assertSame(signals.get(0), signals.get(2));
+		Assert.assertNull("released after onNext", signals.get(0).get());
+		Assert.assertTrue(signals.get(3).isOnComplete());
+		Assert.assertFalse(signals.get(3).isRecyclable());
+		Assert.assertEquals(values.toString(), "[1, 2, 3]");
+	}
+
+	@Test
+	public void recycledError() {
+		TestSubscriber<Signal<Integer>> ts = new TestSubscriber<>();
+
+		Flux.<Integer>error(new IllegalStateException())
+		    .materialize(true)
+		    .subscribe(ts);
+
+		ts.assertValueCount(1)
+		  .assertNoError()
+		  .assertComplete();
+	}
+
+	@Test
+	public void recycledDematerialize() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		Flux.range(1, 1000)
+		    .materialize(true)
+		    .<Integer>dematerialize()
+		    .subscribe(ts);
+
+		ts.assertValueCount(1000)
+		  .assertNoError()
+		  .assertComplete();
+	}
+
+	@Test
+	public void recycledDematerializeBackpressured() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+		Flux.range(1, 5)
+		    .materialize(true)
+		    .<Integer>dematerialize()
+		    .subscribe(ts);
+
+		ts.assertNoValues();
+
+		ts.request(2);
+
+		ts.assertValues(1, 2)
+		  .assertNotComplete();
+
+		ts.request(3);
+
+		ts.assertValues(1, 2, 3, 4, 5)
+		  .assertComplete();
+	}
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.test.TestSubscriber;
+
+public class IntFluxTest {
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rangeOverflow() {
+		IntFlux.range(Integer.MAX_VALUE, 2);
+	}
+
+	@Test
+	public void rangeBackpressured() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+		IntFlux.range(1, 5)
+		       .subscribe(ts);
+
+		ts.assertNoValues();
+
+		ts.request(2);
+		ts.assertValues(1, 2)
+		  .assertNotComplete();
+
+		ts.request(10);
+		ts.assertValues(1, 2, 3, 4, 5)
+		  .assertComplete();
+	}
+
+	@Test
+	public void arrayBackpressured() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+		IntFlux.fromArray(4, 5, 6)
+		       .map(v -> v * 2)
+		       .subscribe(ts);
+
+		ts.request(1);
+		ts.assertValues(8)
+		  .assertNotComplete();
+
+		ts.request(2);
+		ts.assertValues(8, 10, 12)
+		  .assertComplete();
+	}
+
+	@Test
+	public void cancelStopsEmission() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+		IntFlux.range(1, 10)
+		       .map(v -> v + 1)
+		       .subscribe(ts);
+
+		ts.request(2);
+		ts.cancel();
+		ts.request(5);
+
+		ts.assertValues(2, 3)
+		  .assertNotComplete()
+		  .assertNoError();
+	}
+
+	@Test
+	public void mapAndFilterAreFused() {
+		IntFlux source = IntFlux.range(1, 10);
+		IntFlux mapped = source.map(v -> v + 1)
+		                       .map(v -> v * 10);
+		IntFlux filtered = mapped.filter(v -> v > 50)
+		                         .filter(v -> v < 100);
+
+		Assert.assertSame(source, ((IntFlux.IntFluxMap) mapped).source);
+		Assert.assertSame(mapped, ((IntFlux.IntFluxFilter) filtered).source);
+
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+		filtered.subscribe(ts);
+
+		ts.assertValues(60, 70, 80, 90)
+		  .assertComplete();
+	}
+
+	@Test
+	public void filterReplenishesDroppedValues() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>(2);
+
+		IntFlux.range(1, 10)
+		       .filter(v -> v % 3 == 0)
+		       .subscribe(ts);
+
+		ts.assertValues(3, 6)
+		  .assertNotComplete();
+	}
+
+	@Test
+	public void valuesAreNotBoxed() {
+		List<Integer> values = new ArrayList<>();
+		List<Object> terminal = new ArrayList<>();
+
+		IntFlux.fromArray(1, 2, 3)
+		       .map(v -> v * 2)
+		       .filter(v -> v != 4)
+		       .subscribe(new PrimitiveSubscriber(values, terminal));
+
+		Assert.assertEquals(Arrays.asList(2, 6), values);
+		Assert.assertEquals(Arrays.<Object>asList("complete"), terminal);
+	}
+
+	@Test
+	public void reduceAndSum() {
+		TestSubscriber<Integer> sum = new TestSubscriber<>();
+		TestSubscriber<Integer> max = new TestSubscriber<>();
+		TestSubscriber<Integer> empty = new TestSubscriber<>();
+		TestSubscriber<Integer> emptySum = new TestSubscriber<>();
+
+		IntFlux.range(1, 100)
+		       .sum()
+		       .subscribe(sum);
+		IntFlux.fromArray(3, 9, 4)
+		       .reduce(Math::max)
+		       .subscribe(max);
+		IntFlux.fromArray()
+		       .reduce(Math::max)
+		       .subscribe(empty);
+		IntFlux.fromArray()
+		       .sum()
+		       .subscribe(emptySum);
+
+		sum.assertValues(5050)
+		   .assertComplete();
+		max.assertValues(9)
+		   .assertComplete();
+		empty.assertNoValues()
+		     .assertComplete();
+		emptySum.assertValues(0)
+		        .assertComplete();
+	}
+
+	@Test
+	public void sumOverflows() {
+		TestSubscriber<Integer> ints = new TestSubscriber<>();
+		TestSubscriber<Long> longs = new TestSubscriber<>();
+
+		IntFlux.fromArray(Integer.MAX_VALUE, 1)
+		       .sum()
+		       .subscribe(ints);
+		IntFlux.fromArray(Integer.MAX_VALUE, 1)
+		       .boxed()
+		       .mapToLong(v -> v)
+		       .sum()
+		       .subscribe(longs);
+
+		ints.assertValues(Integer.MIN_VALUE)
+		    .assertComplete();
+		longs.assertValues(Integer.MAX_VALUE + 1L)
+		     .assertComplete();
+	}
+
+	@Test
+	public void window() {
+		TestSubscriber<int[]> ts = new TestSubscriber<>(2);
+
+		IntFlux.range(1, 5)
+		       .window(2)
+		       .subscribe(ts);
+
+		ts.assertValueCount(2)
+		  .assertNotComplete();
+
+		ts.request(1);
+
+		ts.assertValuesWith(w -> Assert.assertArrayEquals(new int[]{1, 2}, w),
+				w -> Assert.assertArrayEquals(new int[]{3, 4}, w),
+				w -> Assert.assertArrayEquals(new int[]{5}, w))
+		  .assertComplete();
+	}
+
+	@Test
+	public void mapperFailure() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		IntFlux.range(1, 5)
+		       .map(v -> {
+			       throw new IllegalStateException("boom");
+		       })
+		       .subscribe(ts);
+
+		ts.assertNoValues()
+		  .assertError(IllegalStateException.class);
+	}
+
+	@Test
+	public void predicateFailure() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		IntFlux.range(1, 5)
+		       .filter(v -> {
+			       throw new IllegalStateException("boom");
+		       })
+		       .subscribe(ts);
+
+		ts.assertNoValues()
+		  .assertError(IllegalStateException.class);
+	}
+
+	@Test
+	public void sourceErrorIsRelayed() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		IntFlux.from(Flux.<Integer>error(new IllegalStateException("boom")))
+		       .map(v -> v + 1)
+		       .sum()
+		       .subscribe(ts);
+
+		ts.assertNoValues()
+		  .assertError(IllegalStateException.class);
+	}
+
+	@Test
+	public void convertToAndFromFlux() {
+		TestSubscriber<String> ts = new TestSubscriber<>();
+
+		IntFlux.map(Flux.just("a", "bb", "ccc"), String::length)
+		       .map(v -> v * v)
+		       .boxed()
+		       .map(v -> v + 1)
+		       .as(p -> IntFlux.from(p))
+		       .mapToObj(String::valueOf)
+		       .subscribe(ts);
+
+		ts.assertValues("2", "5", "10")
+		  .assertComplete();
+	}
+
+	static final class PrimitiveSubscriber implements Subscriber<Integer>, IntConsumer {
+
+		final List<Integer> values;
+		final List<Object>  terminal;
+
+		PrimitiveSubscriber(List<Integer> values, List<Object> terminal) {
+			this.values = values;
+			this.terminal = terminal;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			s.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(Integer t) {
+			throw new AssertionError("Unexpected boxed value " + t);
+		}
+
+		@Override
+		public void accept(int value) {
+			values.add(value);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			terminal.add(t);
+		}
+
+		@Override
+		public void onComplete() {
+			terminal.add("complete");
+		}
+	}
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.LongConsumer;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.test.TestSubscriber;
+
+public class LongFluxTest {
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rangeOverflow() {
+		LongFlux.range(Long.MAX_VALUE, 2);
+	}
+
+	@Test
+	public void rangeBackpressured() {
+		TestSubscriber<Long> ts = new TestSubscriber<>(0);
+
+		LongFlux.range(1, 5)
+		        .subscribe(ts);
+
+		ts.assertNoValues();
+
+		ts.request(2);
+		ts.assertValues(1L, 2L)
+		  .assertNotComplete();
+
+		ts.request(10);
+		ts.assertValues(1L, 2L, 3L, 4L, 5L)
+		  .assertComplete();
+	}
+
+	@Test
+	public void mapAndFilterAreFused() {
+		LongFlux source = LongFlux.range(1, 10);
+		LongFlux mapped = source.map(v -> v + 1)
+		                        .map(v -> v * 10);
+		LongFlux filtered = mapped.filter(v -> v > 50)
+		                          .filter(v -> v < 100);
+
+		Assert.assertSame(source, ((LongFlux.LongFluxMap) mapped).source);
+		Assert.assertSame(mapped, ((LongFlux.LongFluxFilter) filtered).source);
+
+		TestSubscriber<Long> ts = new TestSubscriber<>();
+		filtered.subscribe(ts);
+
+		ts.assertValues(60L, 70L, 80L, 90L)
+		  .assertComplete();
+	}
+
+	@Test
+	public void filterReplenishesDroppedValues() {
+		TestSubscriber<Long> ts = new TestSubscriber<>(2);
+
+		LongFlux.range(1, 10)
+		        .filter(v -> v % 3 == 0)
+		        .subscribe(ts);
+
+		ts.assertValues(3L, 6L)
+		  .assertNotComplete();
+	}
+
+	@Test
+	public void valuesAreNotBoxed() {
+		List<Long> values = new ArrayList<>();
+		List<Object> terminal = new ArrayList<>();
+
+		LongFlux.fromArray(1, 2, 3)
+		        .map(v -> v * 2)
+		        .subscribe(new PrimitiveSubscriber(values, terminal));
+
+		Assert.assertEquals(Arrays.asList(2L, 4L, 6L), values);
+		Assert.assertEquals(Arrays.<Object>asList("complete"), terminal);
+	}
+
+	@Test
+	public void fromLongTopicProcessorIsNotBoxed() throws Exception {
+		LongTopicProcessor processor = LongTopicProcessor.create("long-flux", 16);
+		List<Long> values = new ArrayList<>();
+		List<Object> terminal = new ArrayList<>();
+		PrimitiveSubscriber subscriber = new PrimitiveSubscriber(values, terminal);
+
+		LongFlux.from(processor)
+		        .subscribe(subscriber);
+
+		processor.onNext(1L);
+		processor.onNext(2L);
+		processor.onComplete();
+
+		subscriber.latch.await();
+		Assert.assertEquals(Arrays.asList(1L, 2L), values);
+	}
+
+	@Test
+	public void reduceAndSum() {
+		TestSubscriber<Long> sum = new TestSubscriber<>();
+		TestSubscriber<Long> max = new TestSubscriber<>();
+		TestSubscriber<Long> empty = new TestSubscriber<>();
+		TestSubscriber<Long> emptySum = new TestSubscriber<>();
+
+		LongFlux.range(1, 100)
+		        .sum()
+		        .subscribe(sum);
+		LongFlux.fromArray(3, 9, 4)
+		        .reduce(Math::max)
+		        .subscribe(max);
+		LongFlux.fromArray()
+		        .reduce(Math::max)
+		        .subscribe(empty);
+		LongFlux.fromArray()
+		        .sum()
+		        .subscribe(emptySum);
+
+		sum.assertValues(5050L)
+		   .assertComplete();
+		max.assertValues(9L)
+		   .assertComplete();
+		empty.assertNoValues()
+		     .assertComplete();
+		emptySum.assertValues(0L)
+		        .assertComplete();
+	}
+
+	@Test
+	public void window() {
+		TestSubscriber<long[]> ts = new TestSubscriber<>(2);
+
+		LongFlux.range(1, 5)
+		        .window(2)
+		        .subscribe(ts);
+
+		ts.assertValueCount(2)
+		  .assertNotComplete();
+
+		ts.request(1);
+
+		ts.assertValuesWith(w -> Assert.assertArrayEquals(new long[]{1, 2}, w),
+				w -> Assert.assertArrayEquals(new long[]{3, 4}, w),
+				w -> Assert.assertArrayEquals(new long[]{5}, w))
+		  .assertComplete();
+	}
+
+	@Test
+	public void mapperFailure() {
+		TestSubscriber<Long> ts = new TestSubscriber<>();
+
+		LongFlux.range(1, 5)
+		        .map(v -> {
+			        throw new IllegalStateException("boom");
+		        })
+		        .subscribe(ts);
+
+		ts.assertNoValues()
+		  .assertError(IllegalStateException.class);
+	}
+
+	@Test
+	public void convertToAndFromFlux() {
+		TestSubscriber<String> ts = new TestSubscriber<>();
+
+		Flux.just("a", "bb", "ccc")
+		    .mapToLong(String::length)
+		    .map(v -> v * v)
+		    .boxed()
+		    .map(v -> v + 1)
+		    .mapToDouble(v -> v / 2d)
+		    .mapToObj(String::valueOf)
+		    .subscribe(ts);
+
+		ts.assertValues("1.0", "2.5", "5.0")
+		  .assertComplete();
+	}
+
+	@Test
+	public void intAndDoubleRange() {
+		TestSubscriber<Integer> ints = new TestSubscriber<>();
+		TestSubscriber<Double> doubles = new TestSubscriber<>();
+
+		IntFlux.range(1, 4)
+		       .filter(v -> v % 2 == 0)
+		       .sum()
+		       .subscribe(ints);
+		IntFlux.range(1, 4)
+		       .mapToObj(v -> (double) v)
+		       .as(p -> DoubleFlux.from(p))
+		       .reduce(1d, (a, b) -> a * b)
+		       .subscribe(doubles);
+
+		ints.assertValues(6)
+		    .assertComplete();
+		doubles.assertValues(24d)
+		       .assertComplete();
+	}
+
+	static final class PrimitiveSubscriber implements Subscriber<Long>, LongConsumer {
+
+		final List<Long>   values;
+		final List<Object> terminal;
+		final CountDownLatch latch = new CountDownLatch(1);
+
+		PrimitiveSubscriber(List<Long> values, List<Object> terminal) {
+			this.values = values;
+			this.terminal = terminal;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			s.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(Long t) {
+			throw new AssertionError("Unexpected boxed value " + t);
+		}
+
+		@Override
+		public void accept(long value) {
+			values.add(value);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			terminal.add(t);
+			latch.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			terminal.add("complete");
+			latch.countDown();
+		}
+	}
+}
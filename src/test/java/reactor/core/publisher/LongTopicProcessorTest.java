@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.test.TestSubscriber;
+import reactor.core.util.WaitStrategy;
+
+public class LongTopicProcessorTest {
+
+	@Test
+	public void boxedSubscriberReceivesValues() {
+		LongTopicProcessor processor = LongTopicProcessor.create("long-topic", 16);
+		TestSubscriber<Long> ts = new TestSubscriber<>();
+		processor.subscribe(ts);
+
+		for (long i = 0; i < 100; i++) {
+			processor.onNext(i);
+		}
+		processor.onComplete();
+
+		ts.await(Duration.ofSeconds(5))
+		  .assertValueCount(100)
+		  .assertNoError()
+		  .assertComplete();
+	}
+
+	@Test
+	public void primitiveSubscriberReceivesUnboxedValues() throws Exception {
+		LongTopicProcessor processor =
+				LongTopicProcessor.share("long-topic", 256, WaitStrategy.liteBlocking(), true);
+		PrimitiveSubscriber s = new PrimitiveSubscriber();
+		processor.subscribe(s);
+
+		for (int p = 0; p < 4; p++) {
+			new Thread(() -> {
+				for (long i = 1; i <= 10_000; i++) {
+					processor.onNext(i);
+				}
+			}).start();
+		}
+
+		Assert.assertTrue(s.received.await(10, TimeUnit.SECONDS));
+		Assert.assertEquals(4L * 10_000L * 10_001L / 2L, s.sum.get());
+		Assert.assertEquals(0L, s.boxed.get());
+		processor.shutdown();
+	}
+
+	@Test
+	public void batchPublishesWholeRange() {
+		LongTopicProcessor processor = LongTopicProcessor.create("long-topic", 8);
+		TestSubscriber<Long> ts = new TestSubscriber<>();
+		processor.subscribe(ts);
+
+		processor.onNextBatch(new long[]{1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L}, 2, 10);
+		processor.onComplete();
+
+		ts.await(Duration.ofSeconds(5))
+		  .assertValues(3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L)
+		  .assertComplete();
+	}
+
+	@Test
+	public void backpressuredSubscriber() {
+		LongTopicProcessor processor = LongTopicProcessor.create("long-topic", 16);
+		TestSubscriber<Long> ts = new TestSubscriber<>(0);
+		processor.subscribe(ts);
+
+		Flux.range(1, 10)
+		    .map(Integer::longValue)
+		    .subscribe(processor);
+
+		ts.request(4);
+		ts.awaitAndAssertNextValues(1L, 2L, 3L, 4L);
+		ts.request(Long.MAX_VALUE);
+		ts.await(Duration.ofSeconds(5))
+		  .assertValues(5L, 6L, 7L, 8L, 9L, 10L)
+		  .assertComplete();
+	}
+
+	static final class PrimitiveSubscriber implements Subscriber<Long>, LongConsumer {
+
+		final AtomicLong     sum      = new AtomicLong();
+		final AtomicLong     boxed    = new AtomicLong();
+		final CountDownLatch received = new CountDownLatch(40_000);
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			s.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void accept(long value) {
+			sum.addAndGet(value);
+			received.countDown();
+		}
+
+		@Override
+		public void onNext(Long value) {
+			boxed.incrementAndGet();
+			accept(value);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			t.printStackTrace();
+		}
+
+		@Override
+		public void onComplete() {
+		}
+	}
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.core.test.TestSubscriber;
+import reactor.core.timer.Timer;
+
+public class MonoCacheTimeTest {
+
+	final Timer timer = Timer.create("cache-test", 10);
+
+	@After
+	public void cancelTimer() {
+		timer.cancel();
+	}
+
+	static <T> TestSubscriber<T> subscribe(Mono<T> source) {
+		TestSubscriber<T> ts = new TestSubscriber<>();
+		source.subscribe(ts);
+		return ts;
+	}
+
+	@Test
+	public void cachedWithinTtl() {
+		AtomicInteger calls = new AtomicInteger();
+		Mono<Integer> source = Mono.fromCallable(calls::incrementAndGet)
+		                           .cache(Duration.ofSeconds(10), timer);
+
+		subscribe(source).assertValues(1)
+		                 .assertComplete();
+		subscribe(source).assertValues(1)
+		                 .assertComplete();
+
+		Assert.assertEquals(1, calls.get());
+	}
+
+	@Test
+	public void refreshedAfterTtl() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		Mono<Integer> source = Mono.fromCallable(calls::incrementAndGet)
+		                           .cache(Duration.ofMillis(50), timer);
+
+		subscribe(source).assertValues(1);
+
+		for (int i = 0; i < 500 && calls.get() == 1; i++) {
+			Thread.sleep(10);
+			subscribe(source);
+		}
+
+		Assert.assertEquals(2, calls.get());
+		subscribe(source).assertValues(2)
+		                 .assertComplete();
+	}
+
+	@Test
+	public void concurrentSubscribersShareUpstreamCall() {
+		AtomicInteger calls = new AtomicInteger();
+		EmitterProcessor<Integer> processor = EmitterProcessor.<Integer>create().connect();
+		Mono<Integer> source = Mono.defer(() -> {
+			calls.incrementAndGet();
+			return processor.next();
+		})
+		                           .cache(Duration.ofSeconds(10), timer);
+
+		TestSubscriber<Integer> ts1 = subscribe(source);
+		TestSubscriber<Integer> ts2 = subscribe(source);
+
+		ts1.assertNoValues();
+		ts2.assertNoValues();
+
+		processor.onNext(1);
+
+		ts1.assertValues(1)
+		   .assertComplete();
+		ts2.assertValues(1)
+		   .assertComplete();
+		Assert.assertEquals(1, calls.get());
+	}
+
+	@Test
+	public void backpressured() {
+		Mono<Integer> source = Mono.just(1)
+		                           .cache(Duration.ofSeconds(10), timer);
+
+		subscribe(source);
+
+		TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+		source.subscribe(ts);
+
+		ts.assertNoValues();
+
+		ts.request(1);
+
+		ts.assertValues(1)
+		  .assertComplete();
+	}
+
+	@Test
+	public void errorNotCachedWithZeroTtl() {
+		AtomicInteger calls = new AtomicInteger();
+		Mono<Integer> source = Mono.fromCallable(() -> {
+			if (calls.incrementAndGet() == 1) {
+				throw new IllegalStateException("forced failure");
+			}
+			return calls.get();
+		})
+		                           .cache(v -> Duration.ofSeconds(10), e -> Duration.ZERO, () -> Duration.ZERO,
+				                           timer);
+
+		subscribe(source).assertNoValues()
+		                 .assertError(IllegalStateException.class);
+		subscribe(source).assertValues(2)
+		                 .assertComplete();
+		subscribe(source).assertValues(2)
+		                 .assertComplete();
+
+		Assert.assertEquals(2, calls.get());
+	}
+
+	@Test
+	public void emptyCached() {
+		AtomicInteger calls = new AtomicInteger();
+		Mono<Integer> source = Mono.<Integer>defer(() -> {
+			calls.incrementAndGet();
+			return Mono.empty();
+		})
+		                           .cache(Duration.ofSeconds(10), timer);
+
+		subscribe(source).assertNoValues()
+		                 .assertComplete();
+		subscribe(source).assertNoValues()
+		                 .assertComplete();
+
+		Assert.assertEquals(1, calls.get());
+	}
+
+	@Test
+	public void ttlFunctionFails() {
+		Mono<Integer> source = Mono.just(1)
+		                           .cache(v -> {
+			                           throw new IllegalStateException("forced failure");
+		                           }, e -> Duration.ZERO, () -> Duration.ZERO, timer);
+
+		subscribe(source).assertNoValues()
+		                 .assertError(IllegalStateException.class);
+	}
+
+	@Test
+	public void cancelledTimerDoesNotCache() {
+		Timer cancelled = Timer.create("cache-test-cancelled", 10);
+		cancelled.cancel();
+
+		AtomicInteger calls = new AtomicInteger();
+		Mono<Integer> source = Mono.fromCallable(calls::incrementAndGet)
+		                           .cache(Duration.ofSeconds(10), cancelled);
+
+		subscribe(source).assertValues(1)
+		                 .assertComplete();
+		subscribe(source).assertValues(2)
+		                 .assertComplete();
+
+		Assert.assertEquals(2, calls.get());
+	}
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.core.util.Exceptions;
+
+public class MonoProcessorTest {
+
+	@Test
+	public void getWakesUpOnValue() throws Exception {
+		MonoProcessor<String> mp = MonoProcessor.create();
+
+		Thread t = new Thread(() -> {
+			sleep(50);
+			mp.onNext("test");
+		});
+		t.start();
+
+		Assert.assertEquals("test", mp.get(5000));
+		t.join();
+	}
+
+	@Test
+	public void getWakesUpOnError() {
+		MonoProcessor<String> mp = MonoProcessor.create();
+
+		new Thread(() -> {
+			sleep(50);
+			mp.onError(new IllegalStateException("boom"));
+		}).start();
+
+		try {
+			mp.get(5000);
+			Assert.fail("expected an error");
+		}
+		catch (IllegalStateException e) {
+			Assert.assertEquals("boom", e.getMessage());
+		}
+	}
+
+	@Test
+	public void getWakesUpOnEmptyCompletion() {
+		MonoProcessor<String> mp = MonoProcessor.create();
+
+		new Thread(() -> {
+			sleep(50);
+			mp.onComplete();
+		}).start();
+
+		Assert.assertNull(mp.get(5000));
+	}
+
+	@Test(expected = Exceptions.CancelException.class)
+	public void getTimesOut() {
+		MonoProcessor.<String>create().get(50);
+	}
+
+	@Test(expected = Exceptions.CancelException.class)
+	public void getWakesUpOnCancel() {
+		MonoProcessor<String> mp = MonoProcessor.create();
+
+		new Thread(() -> {
+			sleep(50);
+			mp.cancel();
+		}).start();
+
+		long start = System.nanoTime();
+		try {
+			mp.get(10_000);
+		}
+		finally {
+			Assert.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+		}
+	}
+
+	@Test
+	public void allWaitersAreReleased() throws Exception {
+		MonoProcessor<Integer> mp = MonoProcessor.create();
+		int n = 8;
+		CountDownLatch started = new CountDownLatch(n);
+		CountDownLatch done = new CountDownLatch(n);
+		AtomicInteger sum = new AtomicInteger();
+
+		for (int i = 0; i < n; i++) {
+			new Thread(() -> {
+				started.countDown();
+				sum.addAndGet(mp.get(5000));
+				done.countDown();
+			}).start();
+		}
+		started.await();
+		sleep(50);
+		mp.onNext(1);
+
+		Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+		Assert.assertEquals(n, sum.get());
+	}
+
+	@Test
+	public void interruptedGetIsCancelled() throws Exception {
+		MonoProcessor<String> mp = MonoProcessor.create();
+		CountDownLatch latch = new CountDownLatch(1);
+		Throwable[] error = new Throwable[1];
+
+		Thread t = new Thread(() -> {
+			try {
+				mp.get(10_000);
+			}
+			catch (Throwable e) {
+				error[0] = e;
+			}
+			latch.countDown();
+		});
+		t.start();
+		sleep(50);
+		t.interrupt();
+
+		Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+		Assert.assertTrue(error[0] instanceof Exceptions.CancelException);
+	}
+
+	static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread()
+			      .interrupt();
+		}
+	}
+}
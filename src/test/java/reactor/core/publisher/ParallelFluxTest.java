@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import reactor.core.test.TestSubscriber;
+
+public class ParallelFluxTest {
+
+	@Test
+	public void sequentialMode() {
+		Flux<Integer> source = Flux.range(1, 1_000_000);
+		for (int i = 1; i < 33; i++) {
+			Flux<Integer> result = source.parallel(i)
+			                             .map(v -> v + 1)
+			                             .sequential();
+
+			TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+			result.subscribe(ts);
+
+			ts.assertSubscribed()
+			  .assertValueCount(1_000_000)
+			  .assertComplete()
+			  .assertNoError();
+		}
+	}
+
+	@Test
+	public void sequentialModeBackpressured() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>(0);
+
+		Flux.range(1, 100)
+		    .parallel(3)
+		    .sequential()
+		    .subscribe(ts);
+
+		ts.assertNoValues();
+
+		ts.request(10);
+
+		ts.assertValueCount(10)
+		  .assertNotComplete();
+
+		ts.request(90);
+
+		ts.assertValueCount(100)
+		  .assertComplete()
+		  .assertNoError();
+	}
+
+	@Test
+	public void sequentialModeNotFused() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		FluxArrayTest.range(1, 1000)
+		             .parallel(4)
+		             .filter(v -> v % 2 == 0)
+		             .sequential()
+		             .subscribe(ts);
+
+		ts.assertValueCount(500)
+		  .assertComplete()
+		  .assertNoError();
+	}
+
+	@Test
+	public void parallelMode() {
+		Flux<Integer> source = Flux.range(1, 100_000);
+		int ncpu = Math.max(4, Runtime.getRuntime()
+		                              .availableProcessors());
+		SchedulerGroup scheduler = SchedulerGroup.async("parallel", 1024, ncpu);
+		try {
+			Set<String> threads = ConcurrentHashMap.newKeySet();
+
+			Flux<Integer> result = source.parallel(ncpu)
+			                             .runOn(scheduler)
+			                             .map(v -> {
+				                             threads.add(Thread.currentThread()
+				                                               .getName());
+				                             return v + 1;
+			                             })
+			                             .sequential();
+
+			TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+			result.subscribe(ts);
+
+			ts.await(Duration.ofSeconds(10));
+
+			ts.assertValueCount(100_000)
+			  .assertComplete()
+			  .assertNoError();
+
+			Assert.assertFalse(threads.isEmpty());
+		}
+		finally {
+			scheduler.shutdown();
+		}
+	}
+
+	@Test
+	public void reduceFull() {
+		for (int i = 1; i <= 8; i++) {
+			TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+			Flux.range(1, 10)
+			    .parallel(i)
+			    .reduce((a, b) -> a + b)
+			    .subscribe(ts);
+
+			ts.assertValues(55)
+			  .assertComplete();
+		}
+	}
+
+	@Test
+	public void reduceEmpty() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		Flux.<Integer>empty()
+		    .parallel(4)
+		    .reduce((a, b) -> a + b)
+		    .subscribe(ts);
+
+		ts.assertNoValues()
+		  .assertComplete();
+	}
+
+	@Test
+	public void reducePerRail() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		Flux.range(1, 10)
+		    .parallel(2)
+		    .reduce(() -> 0, (a, b) -> a + b)
+		    .sequential()
+		    .subscribe(ts);
+
+		ts.assertValueCount(2)
+		  .assertComplete();
+
+		Set<Integer> sums = new HashSet<>();
+		ts.assertValuesWith(sums::add, sums::add);
+		Assert.assertEquals(new HashSet<>(java.util.Arrays.asList(25, 30)), sums);
+	}
+
+	@Test
+	public void collect() {
+		TestSubscriber<List<Integer>> ts = new TestSubscriber<>();
+
+		Flux.range(1, 10)
+		    .parallel(3)
+		    .collect(ArrayList<Integer>::new, List::add)
+		    .sequential()
+		    .subscribe(ts);
+
+		ts.assertValueCount(3)
+		  .assertComplete();
+	}
+
+	@Test
+	public void flatMap() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		Flux.range(1, 100)
+		    .parallel(4)
+		    .flatMap(v -> Flux.range(v, 2))
+		    .sequential()
+		    .subscribe(ts);
+
+		ts.assertValueCount(200)
+		  .assertComplete()
+		  .assertNoError();
+	}
+
+	@Test
+	public void sorted() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		Flux.fromArray(new Integer[]{10, 9, 8, 7, 6, 5, 4, 3, 2, 1})
+		    .parallel(3)
+		    .sorted(Comparator.naturalOrder())
+		    .subscribe(ts);
+
+		ts.assertValues(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+		  .assertComplete();
+	}
+
+	@Test
+	public void error() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+		Flux.range(1, 10)
+		    .parallel(2)
+		    .map(v -> {
+			    if (v == 5) {
+				    throw new IllegalStateException("boom");
+			    }
+			    return v;
+		    })
+		    .sequential()
+		    .subscribe(ts);
+
+		ts.assertError(IllegalStateException.class)
+		  .assertNotComplete();
+	}
+
+	@Test
+	public void cancel() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>(5);
+
+		Flux.range(1, 100)
+		    .parallel(2)
+		    .sequential()
+		    .subscribe(ts);
+
+		ts.cancel();
+
+		ts.assertValueCount(5)
+		  .assertNotComplete();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void wrongSubscriberCount() {
+		TestSubscriber<Integer> ts1 = new TestSubscriber<>();
+		TestSubscriber<Integer> ts2 = new TestSubscriber<>();
+
+		Flux.range(1, 10)
+		    .parallel(3)
+		    .subscribe(new Subscriber[]{ts1, ts2});
+
+		ts1.assertError(IllegalArgumentException.class);
+		ts2.assertError(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.core.test.TestSubscriber;
+
+public class ReplayProcessorTest {
+
+	@Test
+	public void unbounded() {
+		ReplayProcessor<Integer> rp = ReplayProcessor.create();
+
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+		rp.subscribe(ts);
+
+		for (int i = 0; i < 1000; i++) {
+			rp.onNext(i);
+		}
+		rp.onComplete();
+
+		ts.assertValueCount(1000)
+		  .assertNoError()
+		  .assertComplete();
+
+		TestSubscriber<Integer> late = new TestSubscriber<>();
+		rp.subscribe(late);
+
+		late.assertValueCount(1000)
+		    .assertNoError()
+		    .assertComplete();
+
+		Assert.assertEquals(1000, rp.size());
+	}
+
+	@Test
+	public void sizeBounded() {
+		ReplayProcessor<Integer> rp = ReplayProcessor.create(3);
+
+		for (int i = 1; i <= 10; i++) {
+			rp.onNext(i);
+		}
+
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+		rp.subscribe(ts);
+
+		ts.assertValues(8, 9, 10)
+		  .assertNotComplete();
+
+		rp.onNext(11);
+		rp.onComplete();
+
+		ts.assertValues(8, 9, 10, 11)
+		  .assertComplete();
+
+		TestSubscriber<Integer> late = new TestSubscriber<>();
+		rp.subscribe(late);
+
+		late.assertValues(9, 10, 11)
+		    .assertComplete();
+	}
+
+	@Test
+	public void sizeBoundedReleasesChunks() {
+		ReplayProcessor<Integer> rp = ReplayProcessor.create(40);
+
+		for (int i = 0; i < 1000; i++) {
+			rp.onNext(i);
+		}
+
+		Assert.assertEquals(40, rp.size());
+		Assert.assertTrue("head chunk not moved forward", rp.head.index >= 1000 - 40 - rp.chunkSize);
+
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+		rp.subscribe(ts);
+
+		ts.assertValueCount(40);
+	}
+
+	@Test
+	public void timeBounded() {
+		AtomicLong clock = new AtomicLong();
+		ReplayProcessor<Integer> rp = ReplayProcessor.create(Integer.MAX_VALUE, Duration.ofMillis(100), clock::get);
+
+		rp.onNext(1);
+		rp.onNext(2);
+		clock.set(50);
+		rp.onNext(3);
+		clock.set(120);
+
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+		rp.subscribe(ts);
+
+		ts.assertValues(3);
+
+		clock.set(200);
+		rp.onNext(4);
+
+		Assert.assertEquals(1, rp.size());
+
+		TestSubscriber<Integer> late = new TestSubscriber<>();
+		rp.subscribe(late);
+
+		late.assertValues(4);
+		ts.assertValues(3, 4);
+	}
+
+	@Test
+	public void timeAndSizeBounded() {
+		AtomicLong clock = new AtomicLong();
+		ReplayProcessor<Integer> rp = ReplayProcessor.create(2, Duration.ofMillis(100), clock::get);
+
+		rp.onNext(1);
+		rp.onNext(2);
+		rp.onNext(3);
+
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+		rp.subscribe(ts);
+		ts.assertValues(2, 3);
+
+		clock.set(150);
+
+		TestSubscriber<Integer> late = new TestSubscriber<>();
+		rp.subscribe(late);
+		late.assertNoValues();
+	}
+
+	@Test
+	public void slowSubscriberDoesNotGateProducer() {
+		ReplayProcessor<Integer> rp = ReplayProcessor.create(5);
+
+		TestSubscriber<Integer> slow = new TestSubscriber<>(0);
+		rp.subscribe(slow);
+
+		for (int i = 0; i < 100; i++) {
+			rp.onNext(i);
+		}
+		rp.onComplete();
+
+		Assert.assertEquals(5, rp.size());
+		slow.assertNoValues();
+
+		slow.request(10);
+
+		slow.assertValueCount(10)
+		    .assertNotComplete();
+
+		slow.request(90);
+
+		slow.assertValueCount(100)
+		    .assertComplete();
+	}
+
+	@Test
+	public void errorReplayed() {
+		ReplayProcessor<Integer> rp = ReplayProcessor.create(2);
+
+		rp.onNext(1);
+		rp.onError(new IllegalStateException("boom"));
+
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+		rp.subscribe(ts);
+
+		ts.assertValues(1)
+		  .assertError(IllegalStateException.class)
+		  .assertNotComplete();
+	}
+
+	@Test
+	public void cancelled() {
+		ReplayProcessor<Integer> rp = ReplayProcessor.create();
+
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+		rp.subscribe(ts);
+
+		rp.onNext(1);
+		ts.cancel();
+		rp.onNext(2);
+
+		ts.assertValues(1);
+		Assert.assertEquals(0, rp.downstreamCount());
+	}
+
+	@Test
+	public void fluxCacheTtl() {
+		Flux<Integer> cached = Flux.range(1, 5)
+		                           .cache(3, Duration.ofMinutes(1));
+
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+		cached.subscribe(ts);
+
+		ts.assertValues(1, 2, 3, 4, 5)
+		  .assertComplete();
+
+		TestSubscriber<Integer> late = new TestSubscriber<>();
+		cached.subscribe(late);
+
+		late.assertValues(3, 4, 5)
+		    .assertComplete();
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.core.test.TestSubscriber;
+
+public class TopicProcessorTest {
+
+	@Test(expected = IllegalArgumentException.class)
+	public void multiplexRejectsNoWorker() {
+		TopicProcessor.multiplex("multiplex-topic", 16, 0);
+	}
+
+	@Test
+	public void multiplexedSubscribersShareWorkers() throws Exception {
+		TopicProcessor<Integer> processor = TopicProcessor.multiplex("multiplex-topic", 16, 2);
+
+		List<TestSubscriber<Integer>> subscribers = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			TestSubscriber<Integer> ts = new TestSubscriber<>();
+			processor.subscribe(ts);
+			subscribers.add(ts);
+		}
+
+		int workerThreads = 0;
+		for (Thread t : Thread.getAllStackTraces()
+		                      .keySet()) {
+			if (t.getName()
+			     .startsWith("multiplex-topic")) {
+				workerThreads++;
+			}
+		}
+		Assert.assertTrue("worker threads: " + workerThreads, workerThreads <= 2);
+
+		List<Integer> expected = new ArrayList<>();
+		for (int i = 1; i <= 1000; i++) {
+			expected.add(i);
+		}
+		Flux.range(1, 1000)
+		    .subscribe(processor);
+
+		for (TestSubscriber<Integer> ts : subscribers) {
+			ts.await(Duration.ofSeconds(5))
+			  .assertValueSequence(expected)
+			  .assertNoError()
+			  .assertComplete();
+		}
+		Assert.assertTrue(processor.awaitAndShutdown(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void multiplexedSubscriberBackpressure() {
+		TopicProcessor<Integer> processor = TopicProcessor.multiplex("multiplex-topic", 16, 1);
+		TestSubscriber<Integer> slow = new TestSubscriber<>(0);
+		TestSubscriber<Integer> fast = new TestSubscriber<>();
+		processor.subscribe(slow);
+		processor.subscribe(fast);
+
+		processor.onNext(1);
+		processor.onNext(2);
+		processor.onNext(3);
+
+		fast.awaitAndAssertNextValues(1, 2, 3);
+		slow.assertNoValues();
+
+		slow.request(2);
+		slow.awaitAndAssertNextValues(1, 2);
+
+		processor.onComplete();
+		slow.assertNotTerminated();
+
+		slow.request(1);
+		slow.awaitAndAssertNextValues(3)
+		    .await(Duration.ofSeconds(5))
+		    .assertComplete();
+		fast.await(Duration.ofSeconds(5))
+		    .assertComplete();
+	}
+
+	@Test
+	public void multiplexedSubscriberError() {
+		TopicProcessor<Integer> processor = TopicProcessor.multiplex("multiplex-topic", 16, 1);
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+		processor.subscribe(ts);
+
+		processor.onNext(1);
+		processor.onError(new IllegalStateException("boom"));
+
+		ts.await(Duration.ofSeconds(5))
+		  .assertValues(1)
+		  .assertError(IllegalStateException.class);
+	}
+
+	@Test
+	public void multiplexedSubscriptionUsableAfterWorkersShutdown() {
+		TopicProcessor<Integer> processor = TopicProcessor.multiplex("multiplex-topic", 16, 1);
+		TestSubscriber<Integer> ts = new TestSubscriber<>(1);
+		processor.subscribe(ts);
+
+		processor.onNext(1);
+		ts.awaitAndAssertNextValues(1);
+
+		for (Thread t : Thread.getAllStackTraces()
+		                      .keySet()) {
+			if (t.getName()
+			     .startsWith("multiplex-topic")) {
+				Assert.assertTrue(t.getName(), t.isDaemon());
+			}
+		}
+
+		processor.onComplete();
+		ts.await(Duration.ofSeconds(5))
+		  .assertComplete();
+		Assert.assertTrue(processor.awaitAndShutdown(5, TimeUnit.SECONDS));
+
+		ts.request(1);
+		ts.cancel();
+
+		ts.assertNoError()
+		  .assertComplete();
+	}
+}
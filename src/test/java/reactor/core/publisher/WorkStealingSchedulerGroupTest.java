@@ -0,0 +1,395 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.core.state.Pausable;
+import reactor.core.test.TestSubscriber;
+
+public class WorkStealingSchedulerGroupTest {
+
+	@Test
+	public void dispatchOnPreservesOrder() {
+		SchedulerGroup group = SchedulerGroup.workStealing("ws-test", 4, null, null, false);
+		try {
+			List<Integer> expected = new ArrayList<>();
+			for (int i = 1; i <= 10_000; i++) {
+				expected.add(i);
+			}
+			TestSubscriber<Integer> ts = new TestSubscriber<>();
+
+			Flux.range(1, 10_000)
+			    .dispatchOn(group)
+			    .subscribe(ts);
+
+			ts.await(Duration.ofSeconds(5))
+			  .assertValueSequence(expected)
+			  .assertNoError()
+			  .assertComplete();
+		}
+		finally {
+			group.shutdown();
+		}
+	}
+
+	@Test
+	public void slowTaskDoesNotStallOtherSchedulers() throws Exception {
+		SchedulerGroup group = SchedulerGroup.workStealing("ws-test", 2, null, null, false);
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			Consumer<Runnable> slow = group.call();
+			Consumer<Runnable> fast = group.call();
+
+			slow.accept(() -> {
+				try {
+					release.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread()
+					      .interrupt();
+				}
+			});
+
+			CountDownLatch done = new CountDownLatch(100);
+			for (int i = 0; i < 100; i++) {
+				fast.accept(done::countDown);
+			}
+
+			Assert.assertTrue("tasks stalled behind a slow task", done.await(5, TimeUnit.SECONDS));
+		}
+		finally {
+			release.countDown();
+			group.shutdown();
+		}
+	}
+
+	@Test
+	public void schedulerRunsTasksSerially() throws Exception {
+		SchedulerGroup group = SchedulerGroup.workStealing("ws-test", 4, null, null, false);
+		try {
+			Consumer<Runnable> scheduler = group.call();
+			AtomicInteger concurrent = new AtomicInteger();
+			AtomicInteger overlaps = new AtomicInteger();
+			int[] order = new int[1];
+			AtomicInteger outOfOrder = new AtomicInteger();
+			CountDownLatch done = new CountDownLatch(10_000);
+
+			for (int i = 0; i < 10_000; i++) {
+				int index = i;
+				scheduler.accept(() -> {
+					if (concurrent.incrementAndGet() != 1) {
+						overlaps.incrementAndGet();
+					}
+					if (order[0]++ != index) {
+						outOfOrder.incrementAndGet();
+					}
+					concurrent.decrementAndGet();
+					done.countDown();
+				});
+			}
+
+			Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+			Assert.assertEquals(0, overlaps.get());
+			Assert.assertEquals(0, outOfOrder.get());
+		}
+		finally {
+			group.shutdown();
+		}
+	}
+
+	@Test
+	public void schedulerKeepsOrderAcrossSubmittingThreads() throws Exception {
+		SchedulerGroup group = SchedulerGroup.workStealing("ws-test", 4, null, null, false);
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			Consumer<Runnable> scheduler = group.call();
+			List<Integer> values = new ArrayList<>();
+			CountDownLatch done = new CountDownLatch(1);
+
+			//hold the lane so the following submissions queue up behind it
+			scheduler.accept(() -> {
+				try {
+					release.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread()
+					      .interrupt();
+				}
+			});
+
+			//each submission happens-before the next one but comes from a different thread
+			for (int i = 0; i < 200; i++) {
+				int index = i;
+				Thread t = new Thread(() -> scheduler.accept(() -> values.add(index)));
+				t.start();
+				t.join();
+			}
+			scheduler.accept(done::countDown);
+			release.countDown();
+
+			Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+			List<Integer> expected = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				expected.add(i);
+			}
+			Assert.assertEquals(expected, values);
+		}
+		finally {
+			release.countDown();
+			group.shutdown();
+		}
+	}
+
+	@Test
+	public void idleWorkersParkUntilTasksArePushed() throws Exception {
+		SchedulerGroup group = SchedulerGroup.workStealing("ws-idle", 2, null, null, false);
+		try {
+			List<Thread> workers = new ArrayList<>();
+			for (int i = 0; i < 500 && workers.size() < 2; i++) {
+				workers.clear();
+				for (Thread t : Thread.getAllStackTraces()
+				                      .keySet()) {
+					if (t.getName()
+					     .startsWith("ws-idle") && t.getState() == Thread.State.WAITING) {
+						workers.add(t);
+					}
+				}
+				Thread.sleep(10);
+			}
+			Assert.assertEquals("workers parked without timeout", 2, workers.size());
+
+			CountDownLatch done = new CountDownLatch(1);
+			group.call()
+			     .accept(done::countDown);
+			Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+		}
+		finally {
+			group.shutdown();
+		}
+	}
+
+	@Test
+	public void awaitAndShutdownRunsPendingTasks() throws Exception {
+		SchedulerGroup group = SchedulerGroup.workStealing("ws-test", 2, null, null, false);
+		AtomicInteger count = new AtomicInteger();
+		Consumer<Runnable> scheduler = group.call();
+		for (int i = 0; i < 1000; i++) {
+			scheduler.accept(count::incrementAndGet);
+		}
+
+		Assert.assertTrue(group.awaitAndShutdown(5, TimeUnit.SECONDS));
+		Assert.assertEquals(1000, count.get());
+		Assert.assertTrue(group.isTerminated());
+	}
+
+	@Test
+	public void scheduleRunsAfterDelayOnWorker() throws Exception {
+		SchedulerGroup group = SchedulerGroup.workStealing("ws-timed", 2, null, null, false);
+		try {
+			CountDownLatch done = new CountDownLatch(1);
+			AtomicReference<String> thread = new AtomicReference<>();
+			long start = System.nanoTime();
+
+			group.schedule(() -> {
+				thread.set(Thread.currentThread()
+				                 .getName());
+				done.countDown();
+			}, 50, TimeUnit.MILLISECONDS);
+
+			Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+			Assert.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+			Assert.assertTrue(thread.get(), thread.get()
+			                                      .startsWith("ws-timed"));
+		}
+		finally {
+			group.shutdown();
+		}
+	}
+
+	@Test
+	public void cancelledScheduleDoesNotRun() throws Exception {
+		SchedulerGroup group = SchedulerGroup.workStealing("ws-timed", 2, null, null, false);
+		try {
+			AtomicInteger count = new AtomicInteger();
+			CountDownLatch sentinel = new CountDownLatch(1);
+
+			Pausable p = group.schedule(count::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+			group.schedule(sentinel::countDown, 100, TimeUnit.MILLISECONDS);
+			p.cancel();
+
+			Assert.assertTrue(sentinel.await(5, TimeUnit.SECONDS));
+			Assert.assertEquals(0, count.get());
+		}
+		finally {
+			group.shutdown();
+		}
+	}
+
+	@Test
+	public void schedulePeriodicallyRepeatsUntilCancelled() throws Exception {
+		SchedulerGroup group = SchedulerGroup.workStealing("ws-timed", 2, null, null, false);
+		try {
+			CountDownLatch ticks = new CountDownLatch(5);
+			AtomicInteger count = new AtomicInteger();
+
+			Pausable p = group.schedulePeriodically(() -> {
+				count.incrementAndGet();
+				ticks.countDown();
+			}, 0, 10, TimeUnit.MILLISECONDS);
+
+			Assert.assertTrue(ticks.await(5, TimeUnit.SECONDS));
+			p.cancel();
+			Thread.sleep(50);
+			int stopped = count.get();
+			Thread.sleep(100);
+			Assert.assertEquals(stopped, count.get());
+		}
+		finally {
+			group.shutdown();
+		}
+	}
+
+	@Test
+	public void timedTasksRunInOrderWithSchedulerTasks() throws Exception {
+		SchedulerGroup group = SchedulerGroup.workStealing("ws-timed", 4, null, null, false);
+		try {
+			TimedScheduler scheduler = (TimedScheduler) group.call();
+			List<Integer> values = new ArrayList<>();
+			CountDownLatch done = new CountDownLatch(1);
+
+			scheduler.schedule(() -> {
+				values.add(2);
+				done.countDown();
+			}, 20, TimeUnit.MILLISECONDS);
+			scheduler.accept(() -> values.add(1));
+
+			Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+			Assert.assertEquals(Arrays.asList(1, 2), values);
+		}
+		finally {
+			group.shutdown();
+		}
+	}
+
+	@Test
+	public void cancelledTimedTasksArePurgedBeforeTheirDeadline() throws Exception {
+		WorkStealingSchedulerGroup group =
+				(WorkStealingSchedulerGroup) SchedulerGroup.workStealing("ws-timed", 2, null, null, false);
+		try {
+			List<Pausable> timeouts = new ArrayList<>();
+			for (int i = 0; i < 1000; i++) {
+				timeouts.add(group.schedule(() -> {
+				}, 1, TimeUnit.HOURS));
+			}
+			for (Pausable p : timeouts) {
+				p.cancel();
+			}
+
+			CountDownLatch sentinels = new CountDownLatch(2);
+			group.schedule(sentinels::countDown, 10, TimeUnit.MILLISECONDS);
+			group.schedule(sentinels::countDown, 10, TimeUnit.MILLISECONDS);
+			Assert.assertTrue(sentinels.await(5, TimeUnit.SECONDS));
+
+			for (WorkStealingSchedulerGroup.Worker w : group.workers) {
+				for (int i = 0; i < 500 && !w.timed.isEmpty(); i++) {
+					Thread.sleep(10);
+				}
+				Assert.assertEquals(0, w.timed.size());
+			}
+		}
+		finally {
+			group.shutdown();
+		}
+	}
+
+	@Test
+	public void timedTasksFromConcurrentThreadsAllRun() throws Exception {
+		SchedulerGroup group = SchedulerGroup.workStealing("ws-timed", 2, null, null, false);
+		try {
+			CountDownLatch done = new CountDownLatch(4 * 1000);
+			List<Thread> threads = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				Thread t = new Thread(() -> {
+					for (int j = 0; j < 1000; j++) {
+						group.schedule(done::countDown, j % 10, TimeUnit.MILLISECONDS);
+					}
+				});
+				threads.add(t);
+				t.start();
+			}
+			for (Thread t : threads) {
+				t.join();
+			}
+
+			Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+		}
+		finally {
+			group.shutdown();
+		}
+	}
+
+	@Test
+	public void monoDelayRunsOnWorker() {
+		SchedulerGroup group = SchedulerGroup.workStealing("ws-timed", 2, null, null, false);
+		try {
+			AtomicReference<String> thread = new AtomicReference<>();
+			TestSubscriber<Long> ts = new TestSubscriber<>();
+
+			Mono.delay(Duration.ofMillis(20), group)
+			    .doOnSuccess(v -> thread.set(Thread.currentThread()
+			                                       .getName()))
+			    .subscribe(ts);
+
+			ts.await(Duration.ofSeconds(5))
+			  .assertValues(0L)
+			  .assertComplete();
+			Assert.assertTrue(thread.get(), thread.get()
+			                                      .startsWith("ws-timed"));
+		}
+		finally {
+			group.shutdown();
+		}
+	}
+
+	@Test
+	public void monoDelayWithoutDemandOverflows() {
+		SchedulerGroup group = SchedulerGroup.workStealing("ws-timed", 2, null, null, false);
+		try {
+			TestSubscriber<Long> ts = new TestSubscriber<>(0);
+
+			Mono.delay(Duration.ofMillis(20), group)
+			    .subscribe(ts);
+
+			ts.await(Duration.ofSeconds(5))
+			  .assertNoValues()
+			  .assertError();
+		}
+		finally {
+			group.shutdown();
+		}
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.queue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.core.util.Sequence;
+import reactor.core.util.WaitStrategy;
+
+public class LongRingBufferTest {
+
+	@Test
+	public void heapSingleProducerWrapsAround() {
+		LongRingBuffer rb = LongRingBuffer.createSingleProducer(8);
+		Assert.assertFalse(rb.isDirect());
+		assertWrapsAround(rb);
+	}
+
+	@Test
+	public void directSingleProducerWrapsAround() {
+		LongRingBuffer rb = LongRingBuffer.createSingleProducer(8, WaitStrategy.busySpin(), null, true);
+		Assert.assertTrue(rb.isDirect());
+		assertWrapsAround(rb);
+	}
+
+	@Test
+	public void intRingBufferStoresValues() {
+		IntRingBuffer rb = IntRingBuffer.createMultiProducer(4, WaitStrategy.busySpin(), null, true);
+		Sequence reader = RingBuffer.newSequence(-1L);
+		rb.addGatingSequence(reader);
+
+		for (int i = 0; i < 4; i++) {
+			rb.onNext(-i);
+		}
+		Assert.assertEquals(0L, rb.remainingCapacity());
+		for (int i = 0; i < 4; i++) {
+			Assert.assertEquals(-i, rb.get(i));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNonPowerOfTwo() {
+		LongRingBuffer.createSingleProducer(6);
+	}
+
+	@Test
+	public void multiProducerPublishesAllValues() throws Exception {
+		final int producers = 4;
+		final int perProducer = 10_000;
+		LongRingBuffer rb = LongRingBuffer.createMultiProducer(1024, WaitStrategy.yielding(), null, true);
+		Sequence reader = RingBuffer.newSequence(-1L);
+		rb.addGatingSequence(reader);
+		RingBufferReceiver barrier = rb.newBarrier();
+
+		CountDownLatch start = new CountDownLatch(1);
+		for (int p = 0; p < producers; p++) {
+			new Thread(() -> {
+				try {
+					start.await();
+				}
+				catch (InterruptedException e) {
+					return;
+				}
+				for (int i = 1; i <= perProducer; i++) {
+					rb.onNext(i);
+				}
+			}).start();
+		}
+		start.countDown();
+
+		long sum = 0L;
+		long next = 0L;
+		long end = producers * perProducer;
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (next < end) {
+			long available = barrier.waitFor(next, () -> {
+				if (System.nanoTime() > deadline) {
+					throw new IllegalStateException("timeout");
+				}
+			});
+			for (; next <= available; next++) {
+				sum += rb.get(next);
+			}
+			reader.set(available);
+		}
+
+		Assert.assertEquals(producers * ((long) perProducer * (perProducer + 1) / 2), sum);
+	}
+
+	static void assertWrapsAround(LongRingBuffer rb) {
+		Sequence reader = RingBuffer.newSequence(-1L);
+		rb.addGatingSequence(reader);
+
+		for (long i = 0; i < 20; i++) {
+			long seq = rb.next();
+			rb.set(seq, i * 1_000_000_000L);
+			rb.publish(seq);
+			Assert.assertEquals(i * 1_000_000_000L, rb.get(seq));
+			reader.set(seq);
+		}
+		Assert.assertEquals(19L, rb.getCursor());
+		Assert.assertEquals(8L, rb.remainingCapacity());
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.queue;
+
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ShardedMpscQueueTest {
+
+	@Test
+	public void singleProducerKeepsOrder() {
+		Queue<Integer> q = QueueSupplier.<Integer>sharded(4).get();
+		Assert.assertTrue(q.isEmpty());
+
+		for (int i = 0; i < 100; i++) {
+			q.offer(i);
+		}
+		Assert.assertEquals(100, q.size());
+		Assert.assertEquals(Integer.valueOf(0), q.peek());
+
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals(Integer.valueOf(i), q.poll());
+		}
+		Assert.assertNull(q.poll());
+		Assert.assertTrue(q.isEmpty());
+	}
+
+	@Test
+	public void multiproducerUnboundedSupplierIsNotSharded() {
+		Assert.assertFalse(QueueSupplier.get(Long.MAX_VALUE, false, true)
+		                                .get() instanceof ShardedMpscQueue);
+		Assert.assertFalse(QueueSupplier.get(Long.MAX_VALUE, false, false)
+		                                .get() instanceof ShardedMpscQueue);
+	}
+
+	@Test
+	public void mpscKeepsOrderAcrossProducers() throws Exception {
+		Queue<Integer> q = QueueSupplier.<Integer>mpsc().get();
+		for (int i = 0; i < 100; i++) {
+			int v = i;
+			Thread t = new Thread(() -> q.offer(v));
+			t.start();
+			t.join();
+		}
+		Assert.assertEquals(100, q.size());
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals(Integer.valueOf(i), q.poll());
+		}
+		Assert.assertNull(q.poll());
+		Assert.assertTrue(q.isEmpty());
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void rejectsNull() {
+		QueueSupplier.sharded()
+		             .get()
+		             .offer(null);
+	}
+
+	@Test
+	public void concurrentProducersKeepPerProducerOrder() throws Exception {
+		final int producers = 8;
+		final int count = 100_000;
+		final Queue<long[]> q = QueueSupplier.<long[]>sharded(4).get();
+		final CountDownLatch start = new CountDownLatch(1);
+
+		for (int p = 0; p < producers; p++) {
+			final int id = p;
+			Thread t = new Thread(() -> {
+				try {
+					start.await();
+				}
+				catch (InterruptedException e) {
+					return;
+				}
+				for (int i = 0; i < count; i++) {
+					q.offer(new long[]{id, i});
+				}
+			});
+			t.setDaemon(true);
+			t.start();
+		}
+		start.countDown();
+
+		long[] next = new long[producers];
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		int received = 0;
+		while (received < producers * count) {
+			long[] v = q.poll();
+			if (v == null) {
+				Assert.assertTrue("timed out after " + received + " values", System.nanoTime() < deadline);
+				Thread.yield();
+				continue;
+			}
+			Assert.assertEquals(next[(int) v[0]]++, v[1]);
+			received++;
+		}
+		Assert.assertNull(q.poll());
+	}
+}
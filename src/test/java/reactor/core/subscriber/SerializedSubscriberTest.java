@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.subscriber;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.test.TestSubscriber;
+import reactor.core.util.EmptySubscription;
+
+public class SerializedSubscriberTest {
+
+	@Test
+	public void sequentialSignals() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+		Subscriber<Integer> serial = Subscribers.serialize(ts);
+		serial.onSubscribe(EmptySubscription.INSTANCE);
+
+		serial.onNext(1);
+		serial.onNext(2);
+		serial.onComplete();
+		serial.onNext(3);
+		serial.onError(new IllegalStateException());
+
+		ts.assertValues(1, 2)
+		  .assertComplete()
+		  .assertNoError();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void reentrantSignalsAreQueued() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+		AtomicBoolean reentered = new AtomicBoolean();
+		AtomicInteger inFlight = new AtomicInteger();
+		Subscriber<Integer>[] serial = new Subscriber[1];
+		serial[0] = Subscribers.serialize(new Subscriber<Integer>() {
+			@Override
+			public void onSubscribe(Subscription s) {
+				ts.onSubscribe(s);
+			}
+
+			@Override
+			public void onNext(Integer t) {
+				int depth = inFlight.incrementAndGet();
+				if (t == 1) {
+					serial[0].onNext(2);
+					serial[0].onError(new IllegalStateException("boom"));
+				}
+				else {
+					reentered.set(depth == 1);
+				}
+				ts.onNext(t);
+				inFlight.decrementAndGet();
+			}
+
+			@Override
+			public void onError(Throwable t) {
+				ts.onError(t);
+			}
+
+			@Override
+			public void onComplete() {
+				ts.onComplete();
+			}
+		});
+		serial[0].onSubscribe(EmptySubscription.INSTANCE);
+
+		serial[0].onNext(1);
+
+		Assert.assertTrue(reentered.get());
+		ts.assertValues(1, 2)
+		  .assertError(IllegalStateException.class);
+	}
+
+	@Test
+	public void concurrentSignalsAreSerialized() throws Exception {
+		int producers = 4;
+		int count = 20_000;
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicBoolean overlap = new AtomicBoolean();
+		AtomicInteger received = new AtomicInteger();
+		CountDownLatch completed = new CountDownLatch(1);
+
+		Subscriber<Integer> serial = Subscribers.serialize(new Subscriber<Integer>() {
+			@Override
+			public void onSubscribe(Subscription s) {
+				s.request(Long.MAX_VALUE);
+			}
+
+			@Override
+			public void onNext(Integer t) {
+				if (inFlight.getAndIncrement() != 0) {
+					overlap.set(true);
+				}
+				received.incrementAndGet();
+				inFlight.decrementAndGet();
+			}
+
+			@Override
+			public void onError(Throwable t) {
+				overlap.set(true);
+			}
+
+			@Override
+			public void onComplete() {
+				completed.countDown();
+			}
+		});
+		serial.onSubscribe(EmptySubscription.INSTANCE);
+
+		CountDownLatch start = new CountDownLatch(1);
+		Thread[] threads = new Thread[producers];
+		for (int i = 0; i < producers; i++) {
+			threads[i] = new Thread(() -> {
+				try {
+					start.await();
+				}
+				catch (InterruptedException e) {
+					return;
+				}
+				for (int j = 0; j < count; j++) {
+					serial.onNext(j);
+				}
+			});
+			threads[i].start();
+		}
+		start.countDown();
+		for (Thread t : threads) {
+			t.join();
+		}
+		serial.onComplete();
+
+		Assert.assertTrue(completed.await(5, TimeUnit.SECONDS));
+		Assert.assertFalse(overlap.get());
+		Assert.assertEquals(producers * count, received.get());
+	}
+
+	@Test
+	public void cancelStopsDelivery() {
+		TestSubscriber<Integer> ts = new TestSubscriber<>();
+		Subscriber<Integer> serial = Subscribers.serialize(ts);
+		serial.onSubscribe(EmptySubscription.INSTANCE);
+
+		serial.onNext(1);
+		ts.cancel();
+		serial.onNext(2);
+		serial.onComplete();
+
+		ts.assertValues(1)
+		  .assertNotTerminated();
+	}
+}
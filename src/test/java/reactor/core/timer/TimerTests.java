@@ -15,6 +15,8 @@
  */
 package reactor.core.timer;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -22,6 +24,7 @@ import java.util.concurrent.Phaser;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 import org.junit.Assert;
@@ -86,6 +89,106 @@ public class TimerTests {
         timeTravelTest(WaitStrategy.sleeping(), 10);
     }
 
+    @Test
+    public void hierarchicalTimerDelaysAndRepeats() throws InterruptedException {
+        Timer timer = Timer.create("hierarchical-timer", 10, 8, true);
+        Assert.assertTrue(timer instanceof HierarchicalWheelTimer);
+
+        CountDownLatch single = new CountDownLatch(1);
+        CountDownLatch recurring = new CountDownLatch(5);
+        AtomicLong elapsed = new AtomicLong();
+        long start = System.currentTimeMillis();
+
+        timer.submit(now -> {
+            elapsed.set(System.currentTimeMillis() - start);
+            single.countDown();
+        }, 200);
+        timer.schedule(now -> recurring.countDown(), 20, 20);
+
+        Assert.assertTrue(single.await(2, TimeUnit.SECONDS));
+        Assert.assertTrue(recurring.await(2, TimeUnit.SECONDS));
+        Assert.assertTrue("fired too early: " + elapsed.get(), elapsed.get() >= 200);
+
+        timer.cancel();
+    }
+
+    @Test
+    public void hierarchicalTimerCascadesLongDelays() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        IncrementingTimeResolver.SettableTimeSupplier timeTravellingSupplier = new IncrementingTimeResolver.SettableTimeSupplier(0L);
+
+        //2 levels of 4 slots: 16 ticks span, a 100 ticks delay is parked and cascaded several times
+        Timer timer = new HierarchicalWheelTimer("time-travelling-hierarchical-timer",
+                                                 10,
+                                                 4,
+                                                 2,
+                                                 WaitStrategy.yielding(),
+                                                 executor,
+                                                 timeTravellingSupplier);
+        timer.start();
+
+        AtomicReference<Long> fired = new AtomicReference<>();
+        timer.submit(now -> {
+            fired.set(now);
+            latch.countDown();
+        }, 1000);
+
+        timeTravellingSupplier.set(950L);
+        Assert.assertFalse(latch.await(500, TimeUnit.MILLISECONDS));
+
+        timeTravellingSupplier.set(1100L);
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(Long.valueOf(0L), fired.get());
+
+        timer.cancel();
+    }
+
+    @Test
+    public void hierarchicalTimerCancelledTasksDoNotRun() throws InterruptedException {
+        Timer timer = Timer.create("hierarchical-timer", 10, 64, true);
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        timer.submit(now -> latch.countDown(), 700);
+        for (int i = 0; i < 10_000; i++) {
+            timer.submit(now -> count.incrementAndGet(), 100 + i % 500).cancel();
+        }
+
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(0, count.get());
+
+        timer.cancel();
+    }
+
+    @Test
+    public void hierarchicalTimerDiscountsExpiredSingleTasks() throws InterruptedException {
+        HierarchicalWheelTimer timer = (HierarchicalWheelTimer) Timer.create("hierarchical-timer", 10, 64, true);
+        CountDownLatch latch = new CountDownLatch(10);
+        List<Pausable> tasks = new ArrayList<>();
+
+        for (int i = 0; i < 10; i++) {
+            tasks.add(timer.submit(now -> latch.countDown(), 20));
+        }
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        //cancelling an expired task must not discount it twice
+        for (Pausable task : tasks) {
+            task.cancel();
+        }
+        CountDownLatch last = new CountDownLatch(1);
+        timer.submit(now -> last.countDown(), 20);
+        Assert.assertTrue(last.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 500 && timer.subscriptions != 0L; i++) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(0L, timer.subscriptions);
+        Assert.assertFalse(timer.isCancelled());
+
+        timer.cancel();
+    }
+
     private void timeTravelTest(WaitStrategy waitStrategy, int iterations) throws InterruptedException {
         AtomicInteger timesCalled = new AtomicInteger(0);
         CountDownLatch latch = new CountDownLatch(iterations);
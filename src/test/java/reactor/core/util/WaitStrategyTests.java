@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.util;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.TopicProcessor;
+import reactor.core.publisher.WorkQueueProcessor;
+import reactor.core.test.TestSubscriber;
+import reactor.core.timer.Timer;
+
+public class WaitStrategyTests {
+
+	@Test
+	public void adaptiveSpinsWhenAvailable() throws Exception {
+		WaitStrategy.Adaptive strategy = WaitStrategy.adaptive();
+
+		Assert.assertEquals(5L, strategy.waitFor(3L, () -> 5L, () -> {
+		}));
+		Assert.assertEquals(1L, strategy.spinHits());
+		Assert.assertEquals(WaitStrategy.Adaptive.Phase.SPIN, strategy.currentPhase());
+	}
+
+	@Test
+	public void adaptiveBacksOffWhenIdle() throws Exception {
+		WaitStrategy.Adaptive strategy = WaitStrategy.adaptive(100, 1, TimeUnit.MICROSECONDS);
+		int initialSpins = strategy.spinTries();
+
+		for (int i = 0; i < 20; i++) {
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(5);
+			strategy.waitFor(1L, () -> System.nanoTime() >= deadline ? 1L : 0L, () -> {
+			});
+		}
+
+		Assert.assertEquals(WaitStrategy.Adaptive.Phase.PARK, strategy.currentPhase());
+		Assert.assertEquals(20L, strategy.spinHits() + strategy.yieldHits() + strategy.parkHits());
+		Assert.assertTrue(strategy.toString(), strategy.spinTries() < initialSpins);
+		Assert.assertTrue(strategy.toString(), strategy.yieldTimeoutNanos() < TimeUnit.MICROSECONDS.toNanos(100));
+		Assert.assertTrue(strategy.toString(), strategy.averageWaitNanos() > TimeUnit.MICROSECONDS.toNanos(100));
+	}
+
+	@Test
+	public void adaptiveWakesUpOnSignal() throws Exception {
+		WaitStrategy.Adaptive strategy = WaitStrategy.adaptive(0, 1, TimeUnit.MINUTES);
+		AtomicLong cursor = new AtomicLong();
+		CountDownLatch parked = new CountDownLatch(1);
+
+		Thread t = new Thread(() -> {
+			try {
+				parked.await();
+				while (strategy.currentPhase() != WaitStrategy.Adaptive.Phase.PARK) {
+					Thread.yield();
+				}
+				Thread.sleep(10);
+				cursor.set(1L);
+				strategy.signalAllWhenBlocking();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		t.start();
+
+		long start = System.nanoTime();
+		strategy.waitFor(1L, cursor::get, parked::countDown);
+		Assert.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+		Assert.assertEquals(1L, strategy.parkHits());
+		t.join();
+	}
+
+	@Test
+	public void adaptiveTopicAndWorkQueue() {
+		TopicProcessor<Integer> topic = TopicProcessor.share("adaptive-topic", 16, WaitStrategy.adaptive());
+		WorkQueueProcessor<Integer> queue = WorkQueueProcessor.share("adaptive-queue", 16, WaitStrategy.adaptive());
+		TestSubscriber<Integer> topicSubscriber = new TestSubscriber<>();
+		TestSubscriber<Integer> queueSubscriber = new TestSubscriber<>();
+		topic.subscribe(topicSubscriber);
+		queue.subscribe(queueSubscriber);
+
+		Flux.range(1, 1000)
+		    .subscribe(topic);
+		Flux.range(1, 1000)
+		    .subscribe(queue);
+
+		topicSubscriber.await(Duration.ofSeconds(5))
+		               .assertValueCount(1000)
+		               .assertComplete();
+		queueSubscriber.await(Duration.ofSeconds(5))
+		               .assertValueCount(1000)
+		               .assertComplete();
+	}
+
+	@Test
+	public void adaptiveTimer() throws Exception {
+		Timer timer = Timer.create("adaptive-timer", 10, 64, false, WaitStrategy.adaptive());
+		try {
+			CountDownLatch latch = new CountDownLatch(1);
+			timer.submit(t -> latch.countDown(), 20);
+			Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+		}
+		finally {
+			timer.cancel();
+		}
+	}
+}